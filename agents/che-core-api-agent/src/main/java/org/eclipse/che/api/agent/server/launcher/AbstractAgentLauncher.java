@@ -16,9 +16,13 @@ import static java.lang.String.format;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.che.api.agent.server.exception.AgentStartException;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ConflictException;
@@ -55,6 +59,10 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
               .setDaemon(true)
               .build());
 
+  /** Ends of the agent processes which are being launched. */
+  private final Map<InstanceProcess, CountDownLatch> processEnds =
+      Collections.synchronizedMap(new IdentityHashMap<>());
+
   private final AgentLaunchingChecker agentLaunchingChecker;
   private final long agentPingDelayMs;
   private final long agentMaxStartTimeMs;
@@ -82,19 +90,33 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
             agentLogger.writeLine(line);
           }
         };
+    InstanceProcess process = null;
     try {
-      final InstanceProcess process = start(machine, agent, lineConsumer);
+      process = start(machine, agent, lineConsumer);
       LOG.debug(
           "Waiting for agent {} is launched. Workspace ID:{}",
           agent.getId(),
           machine.getWorkspaceId());
 
+      // the end of the agent process is a reason to check the agent without waiting for the whole
+      // ping delay, e.g. an agent which is launched once its installation script finishes
+      final CountDownLatch processEnd = processEnds.getOrDefault(process, new CountDownLatch(1));
       final long pingStartTimestamp = System.currentTimeMillis();
-      while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
+      long elapsedMs;
+      while ((elapsedMs = System.currentTimeMillis() - pingStartTimestamp) < agentMaxStartTimeMs) {
         if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
+          LOG.debug(
+              "Agent {} is launched in {} ms. Workspace ID:{}",
+              agent.getId(),
+              elapsedMs,
+              machine.getWorkspaceId());
           return;
+        }
+        final long delayMs = Math.min(agentPingDelayMs, agentMaxStartTimeMs - elapsedMs);
+        if (processEnd.getCount() == 0) {
+          Thread.sleep(delayMs);
         } else {
-          Thread.sleep(agentPingDelayMs);
+          processEnd.await(delayMs, TimeUnit.MILLISECONDS);
         }
       }
       LOG.error(
@@ -110,6 +132,9 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
       Thread.currentThread().interrupt();
       throw new ServerException(format("Launching agent %s is interrupted", agent.getName()));
     } finally {
+      if (process != null) {
+        processEnds.remove(process);
+      }
       try {
         lineConsumer.close();
       } catch (IOException ignored) {
@@ -129,19 +154,29 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
     InstanceProcess process = machine.createProcess(command, null);
 
     CountDownLatch countDownLatch = new CountDownLatch(1);
-    executor.execute(
-        ThreadLocalPropagateContext.wrap(
-            () -> {
-              try {
-                countDownLatch.countDown();
-                process.start(lineConsumer);
-              } catch (ConflictException | MachineException e) {
+    CountDownLatch processEnd = new CountDownLatch(1);
+    processEnds.put(process, processEnd);
+    try {
+      executor.execute(
+          ThreadLocalPropagateContext.wrap(
+              () -> {
                 try {
-                  machine.getLogger().writeLine(format("[ERROR] %s", e.getMessage()));
-                } catch (IOException ignored) {
+                  countDownLatch.countDown();
+                  process.start(lineConsumer);
+                } catch (ConflictException | MachineException e) {
+                  try {
+                    machine.getLogger().writeLine(format("[ERROR] %s", e.getMessage()));
+                  } catch (IOException ignored) {
+                  }
+                } finally {
+                  processEnd.countDown();
                 }
-              }
-            }));
+              }));
+    } catch (RuntimeException e) {
+      // the caller doesn't get the process, so it can't remove its end
+      processEnds.remove(process);
+      throw e;
+    }
     try {
       // ensure that code inside of task submitted to executor is called before end of this method
       countDownLatch.await();
@@ -33,6 +33,12 @@
 #Class path
 [ -z "${CLASSPATH}" ]  && CLASSPATH="${CATALINA_HOME}/conf/:${JAVA_HOME}/lib/tools.jar"
 
+#Keep-alive cache of the JDK should fit the connections HttpJsonRequestFactory opens to a host,
+#see che.core.http_client.max_connections_per_host
+case "${JAVA_OPTS}" in
+  *-Dhttp.maxConnections=*) ;;
+  *) JAVA_OPTS="${JAVA_OPTS} -Dhttp.maxConnections=20" ;;
+esac
 
 export JAVA_OPTS="$JAVA_OPTS  -Dche.logs.dir=${CHE_LOGS_DIR} -Dche.logs.level=${CHE_LOGS_LEVEL} -Djuli-logback.configurationFile=file:$CATALINA_HOME/conf/tomcat-logger.xml"
 
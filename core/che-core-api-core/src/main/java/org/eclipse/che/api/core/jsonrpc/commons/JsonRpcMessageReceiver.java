@@ -69,7 +69,7 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
     List<String> messages = jsonRpcUnmarshaller.unmarshalArray(message);
     for (String innerMessage : messages) {
       if (jsonRpcQualifier.isJsonRpcRequest(innerMessage)) {
-        requestProcessor.process(() -> processRequest(endpointId, innerMessage));
+        processRequest(endpointId, innerMessage);
       } else if (jsonRpcQualifier.isJsonRpcResponse(innerMessage)) {
         processResponse(endpointId, innerMessage);
       } else {
@@ -91,12 +91,21 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
   }
 
   private void processRequest(String endpointId, String innerMessage) {
-    JsonRpcRequest request = null;
+    JsonRpcRequest request;
     try {
       request = jsonRpcUnmarshaller.unmarshalRequest(innerMessage);
+    } catch (JsonRpcException e) {
+      errorTransmitter.transmit(endpointId, e);
+      return;
+    }
+    requestProcessor.process(endpointId, request, () -> dispatchRequest(endpointId, request));
+  }
+
+  private void dispatchRequest(String endpointId, JsonRpcRequest request) {
+    try {
       requestDispatcher.dispatch(endpointId, request);
     } catch (JsonRpcException e) {
-      if (request == null || request.getId() == null) {
+      if (request.getId() == null) {
         errorTransmitter.transmit(endpointId, e);
       } else {
         errorTransmitter.transmit(
@@ -15,7 +15,10 @@ public interface RequestProcessor {
   /**
    * Process a runnable interface
    *
+   * @param endpointId identifier of the endpoint the request came from
+   * @param request request to be processed, implementation may use it to prioritize or order the
+   *     processing, e.g. keep notifications of a single endpoint in order
    * @param runnable runnable to be called for processing of a request
    */
-  void process(Runnable runnable);
+  void process(String endpointId, JsonRpcRequest request, Runnable runnable);
 }
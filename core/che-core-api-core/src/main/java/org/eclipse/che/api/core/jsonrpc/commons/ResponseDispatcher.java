@@ -22,7 +22,10 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 
-/** Dispatches JSON RPC responses */
+/**
+ * Dispatches JSON RPC responses. Promises can be registered concurrently, a timeout action of a
+ * promise is cancelled as soon as the corresponding response is dispatched.
+ */
 @Singleton
 public class ResponseDispatcher {
   private static final Logger LOGGER = getLogger(ResponseDispatcher.class);
@@ -32,6 +35,7 @@ public class ResponseDispatcher {
 
   private final Map<String, SingleTypedPromise<?>> singleTypedPromises = new ConcurrentHashMap<>();
   private final Map<String, ListTypedPromise<?>> listTypedPromises = new ConcurrentHashMap<>();
+  private final Map<String, TimeoutActionRunner.Timeout> timeouts = new ConcurrentHashMap<>();
 
   @Inject
   public ResponseDispatcher(JsonRpcComposer composer, TimeoutActionRunner timeoutActionRunner) {
@@ -64,6 +68,7 @@ public class ResponseDispatcher {
     }
 
     String key = generateKey(endpointId, responseId);
+    cancelTimeout(key);
 
     if (response.hasResult()) {
       dispatchResult(endpointId, response, key);
@@ -74,7 +79,7 @@ public class ResponseDispatcher {
     }
   }
 
-  public synchronized <R> JsonRpcPromise<R> registerPromiseForSingleObject(
+  public <R> JsonRpcPromise<R> registerPromiseForSingleObject(
       String endpointId, String requestId, Class<R> rClass, int timeoutInMillis) {
     checkArguments(endpointId, requestId, rClass);
 
@@ -82,13 +87,12 @@ public class ResponseDispatcher {
     String key = generateKey(endpointId, requestId);
     singleTypedPromises.put(key, promise);
     if (timeoutInMillis > 0) {
-      timeoutActionRunner.schedule(
-          timeoutInMillis, () -> runTimeoutConsumer(singleTypedPromises.remove(key)));
+      scheduleTimeout(key, timeoutInMillis, singleTypedPromises);
     }
     return promise;
   }
 
-  public synchronized <R> JsonRpcPromise<List<R>> registerPromiseForListOfObjects(
+  public <R> JsonRpcPromise<List<R>> registerPromiseForListOfObjects(
       String endpointId, String requestId, Class<R> rClass, int timeoutInMillis) {
     checkArguments(endpointId, requestId, rClass);
 
@@ -96,12 +100,35 @@ public class ResponseDispatcher {
     String key = generateKey(endpointId, requestId);
     listTypedPromises.put(key, promise);
     if (timeoutInMillis > 0) {
-      timeoutActionRunner.schedule(
-          timeoutInMillis, () -> runTimeoutConsumer(listTypedPromises.remove(key)));
+      scheduleTimeout(key, timeoutInMillis, listTypedPromises);
     }
     return promise;
   }
 
+  private void scheduleTimeout(
+      String key, int timeoutInMillis, Map<String, ? extends JsonRpcPromise<?>> promises) {
+    TimeoutActionRunner.Timeout timeout =
+        timeoutActionRunner.schedule(
+            timeoutInMillis,
+            () -> {
+              timeouts.remove(key);
+              runTimeoutConsumer(promises.remove(key));
+            });
+    timeouts.put(key, timeout);
+
+    // the response may be dispatched or the timeout may expire before the timeout is stored
+    if (!promises.containsKey(key)) {
+      cancelTimeout(key);
+    }
+  }
+
+  private void cancelTimeout(String key) {
+    TimeoutActionRunner.Timeout timeout = timeouts.remove(key);
+    if (timeout != null) {
+      timeout.cancel();
+    }
+  }
+
   private void runTimeoutConsumer(JsonRpcPromise<?> promise) {
     Optional.ofNullable(promise)
         .flatMap(JsonRpcPromise::getTimeoutRunnable)
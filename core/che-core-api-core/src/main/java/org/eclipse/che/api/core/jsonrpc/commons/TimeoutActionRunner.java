@@ -12,5 +12,17 @@ package org.eclipse.che.api.core.jsonrpc.commons;
 
 /** Executes operation on timeout */
 public interface TimeoutActionRunner {
-  void schedule(int timeoutInMillis, Runnable runnable);
+  /**
+   * Schedules the operation to be executed after the timeout.
+   *
+   * @param timeoutInMillis timeout in milliseconds
+   * @param runnable operation to execute
+   * @return handle to cancel the operation if it is not needed anymore
+   */
+  Timeout schedule(int timeoutInMillis, Runnable runnable);
+
+  /** Scheduled operation that can be cancelled before it is executed */
+  interface Timeout {
+    void cancel();
+  }
 }
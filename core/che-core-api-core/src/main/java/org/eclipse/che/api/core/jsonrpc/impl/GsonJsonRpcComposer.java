@@ -45,6 +45,10 @@ public class GsonJsonRpcComposer implements JsonRpcComposer {
   }
 
   private <T> T composeOne(Class<T> type, Object paramObject) {
+    if (paramObject instanceof JsonRpcRawValue) {
+      return ((JsonRpcRawValue) paramObject).compose(type);
+    }
+
     if (paramObject instanceof JsonElement) {
       JsonElement jsonElement = (JsonElement) paramObject;
       return DtoFactory.getInstance().createDtoFromJson(jsonElement.toString(), type);
@@ -58,6 +62,10 @@ public class GsonJsonRpcComposer implements JsonRpcComposer {
       return emptyList();
     }
 
+    if (paramsList.get(0) instanceof JsonRpcRawValue) {
+      return ((JsonRpcRawValue) paramsList.get(0)).composeAll(type);
+    }
+
     if (paramsList.get(0) instanceof JsonElement) {
       JsonArray jsonArray = new JsonArray();
       for (int i = 0; i < paramsList.size(); i++) {
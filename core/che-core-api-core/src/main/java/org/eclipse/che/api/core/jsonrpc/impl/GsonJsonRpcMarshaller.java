@@ -155,6 +155,9 @@ public class GsonJsonRpcMarshaller implements JsonRpcMarshaller {
     if (param instanceof JsonElement) {
       return cast(param);
     }
+    if (param instanceof JsonRpcRawValue) {
+      return ((JsonRpcRawValue) param).toJsonElement();
+    }
     if (param instanceof String) {
       return new JsonPrimitive((String) param);
     }
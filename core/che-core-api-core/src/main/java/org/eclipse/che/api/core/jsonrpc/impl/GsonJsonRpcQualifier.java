@@ -14,13 +14,15 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.slf4j.LoggerFactory.getLogger;
 
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
-import com.google.inject.Inject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.inject.Singleton;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcQualifier;
 import org.slf4j.Logger;
 
@@ -28,13 +30,6 @@ import org.slf4j.Logger;
 public class GsonJsonRpcQualifier implements JsonRpcQualifier {
   private static final Logger LOGGER = getLogger(GsonJsonRpcQualifier.class);
 
-  private final JsonParser jsonParser;
-
-  @Inject
-  public GsonJsonRpcQualifier(JsonParser jsonParser) {
-    this.jsonParser = jsonParser;
-  }
-
   @Override
   public boolean isValidJson(String message) {
     checkNotNull(message, "Message must not be null");
@@ -42,12 +37,15 @@ public class GsonJsonRpcQualifier implements JsonRpcQualifier {
 
     LOGGER.debug("Validating message: {}", message);
 
-    try {
-      jsonParser.parse(message);
+    try (JsonReader reader = newReader(message)) {
+      reader.skipValue();
+      if (reader.peek() != JsonToken.END_DOCUMENT) {
+        throw new JsonSyntaxException("Did not consume the entire document");
+      }
 
       LOGGER.debug("Validation successful");
       return true;
-    } catch (JsonParseException e) {
+    } catch (IOException | JsonParseException e) {
       LOGGER.debug("Validation failed: {}", e.getMessage(), e);
       return false;
     }
@@ -59,12 +57,10 @@ public class GsonJsonRpcQualifier implements JsonRpcQualifier {
     checkArgument(!message.isEmpty(), "Message must not be empty");
     LOGGER.debug("Qualifying message: " + message);
 
-    JsonObject jsonObject = jsonParser.parse(message).getAsJsonObject();
-    LOGGER.debug(
-        "Json keys: "
-            + jsonObject.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
+    Set<String> keys = getKeys(message);
+    LOGGER.debug("Json keys: {}", keys);
 
-    if (jsonObject.has("method")) {
+    if (keys.contains("method")) {
       LOGGER.debug("Qualified to request");
       return true;
     } else {
@@ -79,15 +75,34 @@ public class GsonJsonRpcQualifier implements JsonRpcQualifier {
     checkArgument(!message.isEmpty(), "Message must not be empty");
     LOGGER.debug("Qualifying message: " + message);
 
-    JsonObject jsonObject = jsonParser.parse(message).getAsJsonObject();
-    LOGGER.debug(
-        "Json keys: "
-            + jsonObject.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
+    Set<String> keys = getKeys(message);
+    LOGGER.debug("Json keys: {}", keys);
 
-    if (jsonObject.has("error") != jsonObject.has("result")) {
+    if (keys.contains("error") != keys.contains("result")) {
       LOGGER.debug("Qualified to response");
       return true;
     }
     return false;
   }
+
+  /** Reads names of the top level members of the message skipping their values. */
+  private Set<String> getKeys(String message) {
+    Set<String> keys = new HashSet<>();
+    try (JsonReader reader = newReader(message)) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        keys.add(reader.nextName());
+        reader.skipValue();
+      }
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
+    return keys;
+  }
+
+  private static JsonReader newReader(String message) {
+    JsonReader reader = new JsonReader(new StringReader(message));
+    reader.setLenient(true);
+    return reader;
+  }
 }
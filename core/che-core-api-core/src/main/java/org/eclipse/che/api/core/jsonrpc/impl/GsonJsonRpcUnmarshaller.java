@@ -16,11 +16,14 @@ import static java.util.Collections.singletonList;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
@@ -30,8 +33,19 @@ import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcUnmarshaller;
 
+/**
+ * Unmarshals JSON RPC messages with a streaming {@link JsonReader}.
+ *
+ * <p>Only the envelope of a message is read eagerly: {@code id}, {@code method}, {@code error} and
+ * primitive params or results. Objects and arrays inside of params or results are represented by
+ * {@link JsonRpcRawValue} and are read straight into the target DTO when they are composed by
+ * {@link GsonJsonRpcComposer}, so neither a JSON tree nor an intermediate string is created.
+ */
 @Singleton
 public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
+  private static final String PARAMS = "params";
+  private static final String RESULT = "result";
+
   private final JsonParser jsonParser;
 
   @Inject
@@ -41,7 +55,18 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
 
   @Override
   public List<String> unmarshalArray(String message) {
-    return getArray(message, jsonParser.parse(message).isJsonArray());
+    if (!isArray(message)) {
+      return singletonList(message);
+    }
+
+    JsonArray jsonArray = jsonParser.parse(message).getAsJsonArray();
+    int size = jsonArray.size();
+    List<String> result = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      JsonElement jsonElement = jsonArray.get(i);
+      result.add(jsonElement.toString());
+    }
+    return result;
   }
 
   @Override
@@ -49,11 +74,33 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     checkNotNull(message, "Message must not be null");
     checkArgument(!message.isEmpty(), "Message must not be empty");
 
-    JsonObject request = jsonParser.parse(message).getAsJsonObject();
+    String id = null;
+    String method = null;
+    JsonRpcParams params = null;
+
+    try (JsonReader reader = newReader(message)) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "id":
+            id = getId(reader);
+            break;
+          case "method":
+            method = reader.nextString();
+            break;
+          case PARAMS:
+            params = getParams(message, reader);
+            break;
+          default:
+            reader.skipValue();
+        }
+      }
+      reader.endObject();
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
 
-    String method = getMethod(request);
-    String id = getId(request);
-    JsonRpcParams params = getParams(request);
+    checkArgument(method != null, "Request method must not be null");
 
     return new JsonRpcRequest(id, method, params);
   }
@@ -63,110 +110,129 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     checkNotNull(message, "Message must not be null");
     checkArgument(!message.isEmpty(), "Message must not be empty");
 
-    JsonObject response = jsonParser.parse(message).getAsJsonObject();
-
-    String id = getId(response);
-    JsonRpcResult result = getResult(response);
-    JsonRpcError error = getError(response);
+    String id = null;
+    JsonRpcResult result = null;
+    JsonRpcError error = null;
+
+    try (JsonReader reader = newReader(message)) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "id":
+            id = getId(reader);
+            break;
+          case RESULT:
+            result = getResult(message, reader);
+            break;
+          case "error":
+            error = getError(reader);
+            break;
+          default:
+            reader.skipValue();
+        }
+      }
+      reader.endObject();
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
 
     return new JsonRpcResponse(id, result, error);
   }
 
-  private JsonRpcError getError(JsonObject response) {
-    if (!response.has("error")) {
-      return null;
+  private JsonRpcError getError(JsonReader reader) throws IOException {
+    int code = 0;
+    String errorMessage = null;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "code":
+          code = reader.nextInt();
+          break;
+        case "message":
+          errorMessage = reader.nextString();
+          break;
+        default:
+          reader.skipValue();
+      }
     }
+    reader.endObject();
 
-    int code = response.get("error").getAsJsonObject().get("code").getAsInt();
-    String errorMessage = response.get("error").getAsJsonObject().get("message").getAsString();
     return new JsonRpcError(code, errorMessage);
   }
 
-  private JsonRpcResult getResult(JsonObject response) {
-    if (!response.has("result")) {
-      return null;
+  private JsonRpcResult getResult(String message, JsonReader reader) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+      return new JsonRpcResult(getItem(message, RESULT, -1, reader));
     }
 
-    JsonElement jsonElement = response.get("result");
-    if (!jsonElement.isJsonArray()) {
-      return new JsonRpcResult(getInnerItem(jsonElement));
-    }
+    return new JsonRpcResult(getItems(message, RESULT, reader));
+  }
 
-    JsonArray jsonArray = jsonElement.getAsJsonArray();
-    int size = jsonArray.size();
-    List<Object> innerResults = new ArrayList<>(size);
-    for (int i = 0; i < size; i++) {
-      JsonElement innerJsonElement = jsonArray.get(i);
-      innerResults.add(getInnerItem(innerJsonElement));
+  private JsonRpcParams getParams(String message, JsonReader reader) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+      return new JsonRpcParams(getItem(message, PARAMS, -1, reader));
     }
 
-    return new JsonRpcResult(innerResults);
+    return new JsonRpcParams(getItems(message, PARAMS, reader));
   }
 
-  private JsonRpcParams getParams(JsonObject jsonObject) {
-    if (!jsonObject.has("params")) {
+  private String getId(JsonReader reader) throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
       return null;
     }
-
-    JsonElement jsonElement = jsonObject.get("params");
-    if (!jsonElement.isJsonArray()) {
-      return new JsonRpcParams(getInnerItem(jsonElement));
-    }
-
-    JsonArray jsonArray = jsonElement.getAsJsonArray();
-    int size = jsonArray.size();
-    List<Object> innerParameters = new ArrayList<>(size);
-    for (int i = 0; i < size; i++) {
-      JsonElement innerJsonElement = jsonArray.get(i);
-      innerParameters.add(getInnerItem(innerJsonElement));
-    }
-
-    return new JsonRpcParams(innerParameters);
-  }
-
-  private String getId(JsonObject jsonObject) {
-    return jsonObject.has("id") ? jsonObject.get("id").getAsString() : null;
+    return reader.nextString();
   }
 
-  private String getMethod(JsonObject jsonObject) {
-    return jsonObject.get("method").getAsString();
-  }
+  private List<Object> getItems(String message, String member, JsonReader reader)
+      throws IOException {
+    List<Object> items = new ArrayList<>();
 
-  private List<String> getArray(String message, boolean isArray) {
-    if (!isArray) {
-      return singletonList(message);
+    reader.beginArray();
+    for (int i = 0; reader.hasNext(); i++) {
+      items.add(getItem(message, member, i, reader));
     }
+    reader.endArray();
 
-    JsonArray jsonArray = jsonParser.parse(message).getAsJsonArray();
-    int size = jsonArray.size();
-    List<String> result = new ArrayList<>(size);
-    for (int i = 0; i < size; i++) {
-      JsonElement jsonElement = jsonArray.get(i);
-      result.add(jsonElement.toString());
-    }
-    return result;
+    return items;
   }
 
-  private Object getInnerItem(JsonElement jsonElement) {
-    if (jsonElement.isJsonNull()) {
-      return null;
+  /**
+   * Reads a primitive item or skips a structured one, in the latter case the item is represented
+   * by a {@link JsonRpcRawValue} pointing to its location inside of the message.
+   */
+  private Object getItem(String message, String member, int index, JsonReader reader)
+      throws IOException {
+    switch (reader.peek()) {
+      case NULL:
+        reader.nextNull();
+        return null;
+      case NUMBER:
+        return reader.nextDouble();
+      case STRING:
+        return reader.nextString();
+      case BOOLEAN:
+        return reader.nextBoolean();
+      default:
+        reader.skipValue();
+        return new JsonRpcRawValue(message, member, index);
     }
+  }
 
-    if (jsonElement.isJsonObject()) {
-      return jsonElement.getAsJsonObject();
-    }
+  private static JsonReader newReader(String message) {
+    JsonReader reader = new JsonReader(new StringReader(message));
+    reader.setLenient(true);
+    return reader;
+  }
 
-    if (jsonElement.isJsonPrimitive()) {
-      JsonPrimitive jsonPrimitive = jsonElement.getAsJsonPrimitive();
-      if (jsonPrimitive.isNumber()) {
-        return jsonPrimitive.getAsDouble();
-      } else if (jsonPrimitive.isString()) {
-        return jsonPrimitive.getAsString();
-      } else {
-        return jsonPrimitive.getAsBoolean();
+  private static boolean isArray(String message) {
+    for (int i = 0; i < message.length(); i++) {
+      char c = message.charAt(i);
+      if (!Character.isWhitespace(c)) {
+        return c == '[';
       }
     }
-
-    throw new IllegalStateException("Unexpected json element type");
+    return false;
   }
 }
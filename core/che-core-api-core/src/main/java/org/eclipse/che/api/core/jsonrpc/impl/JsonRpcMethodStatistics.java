@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Collects processing statistics of JSON RPC requests of a single method. */
+public class JsonRpcMethodStatistics {
+  private final String method;
+
+  private final AtomicLong processed = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong waitTimeNanos = new AtomicLong();
+  private final AtomicLong maxWaitTimeNanos = new AtomicLong();
+  private final AtomicLong executionTimeNanos = new AtomicLong();
+  private final AtomicLong maxExecutionTimeNanos = new AtomicLong();
+
+  JsonRpcMethodStatistics(String method) {
+    this.method = method;
+  }
+
+  void onProcessed(long waitNanos, long executionNanos) {
+    processed.incrementAndGet();
+    waitTimeNanos.addAndGet(waitNanos);
+    maxWaitTimeNanos.accumulateAndGet(waitNanos, Math::max);
+    executionTimeNanos.addAndGet(executionNanos);
+    maxExecutionTimeNanos.accumulateAndGet(executionNanos, Math::max);
+  }
+
+  void onRejected() {
+    rejected.incrementAndGet();
+  }
+
+  /** Returns the name of the JSON RPC method. */
+  public String getMethod() {
+    return method;
+  }
+
+  /** Returns the number of processed requests. */
+  public long getProcessed() {
+    return processed.get();
+  }
+
+  /** Returns the number of requests rejected because the processor was overloaded. */
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  /** Returns the average time requests spent in a queue before being processed. */
+  public long getAverageWaitTimeMs() {
+    long count = processed.get();
+    return count == 0 ? 0 : NANOSECONDS.toMillis(waitTimeNanos.get() / count);
+  }
+
+  /** Returns the maximum time a request spent in a queue before being processed. */
+  public long getMaxWaitTimeMs() {
+    return NANOSECONDS.toMillis(maxWaitTimeNanos.get());
+  }
+
+  /** Returns the average time of request processing. */
+  public long getAverageExecutionTimeMs() {
+    long count = processed.get();
+    return count == 0 ? 0 : NANOSECONDS.toMillis(executionTimeNanos.get() / count);
+  }
+
+  /** Returns the maximum time of request processing. */
+  public long getMaxExecutionTimeMs() {
+    return NANOSECONDS.toMillis(maxExecutionTimeNanos.get());
+  }
+
+  @Override
+  public String toString() {
+    return "JsonRpcMethodStatistics{"
+        + "method='"
+        + method
+        + '\''
+        + ", processed="
+        + getProcessed()
+        + ", rejected="
+        + getRejected()
+        + ", averageWaitTimeMs="
+        + getAverageWaitTimeMs()
+        + ", maxWaitTimeMs="
+        + getMaxWaitTimeMs()
+        + ", averageExecutionTimeMs="
+        + getAverageExecutionTimeMs()
+        + ", maxExecutionTimeMs="
+        + getMaxExecutionTimeMs()
+        + '}';
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.internal.Streams;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.che.dto.server.DtoFactory;
+
+/**
+ * Structured (object or array) value of JSON RPC params or result which is not parsed until the
+ * type it has to be composed into is known.
+ *
+ * <p>Instead of a copy of the value the original message is kept along with the location of the
+ * value inside of it. When the value is composed the message is read by a {@link JsonReader} which
+ * skips everything up to the value and passes the reader directly to the DTO type adapter, so
+ * neither an intermediate JSON tree nor a string representation of the value is created.
+ */
+final class JsonRpcRawValue {
+  private final String message;
+  private final String member;
+  private final int index;
+
+  /**
+   * @param message the JSON RPC message containing the value
+   * @param member the name of the top level member containing the value, e.g. {@code params}
+   * @param index the index of the value if the member is an array, -1 if the member is the value
+   */
+  JsonRpcRawValue(String message, String member, int index) {
+    this.message = message;
+    this.member = member;
+    this.index = index;
+  }
+
+  /** Composes the value into an instance of the specified DTO type. */
+  <T> T compose(Class<T> type) {
+    try (JsonReader reader = open()) {
+      return DtoFactory.getInstance().createDtoFromJson(reader, type);
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  /**
+   * Composes all the elements of the array this value belongs to into instances of the specified
+   * DTO type, the array is read only once.
+   */
+  <T> List<T> composeAll(Class<T> type) {
+    try (JsonReader reader = open(message, member, -1)) {
+      List<T> result = new ArrayList<>();
+      reader.beginArray();
+      while (reader.hasNext()) {
+        result.add(DtoFactory.getInstance().createDtoFromJson(reader, type));
+      }
+      reader.endArray();
+      return result;
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  /** Parses the value into a JSON tree, used only when the value has to be marshalled back. */
+  JsonElement toJsonElement() {
+    try (JsonReader reader = open()) {
+      return Streams.parse(reader);
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  private JsonReader open() throws IOException {
+    return open(message, member, index);
+  }
+
+  private static JsonReader open(String message, String member, int index) throws IOException {
+    JsonReader reader = new JsonReader(new StringReader(message));
+    reader.setLenient(true);
+    reader.beginObject();
+    while (!member.equals(reader.nextName())) {
+      reader.skipValue();
+    }
+    if (index >= 0) {
+      reader.beginArray();
+      for (int i = 0; i < index; i++) {
+        reader.skipValue();
+      }
+    }
+    return reader;
+  }
+
+  @Override
+  public String toString() {
+    return toJsonElement().toString();
+  }
+}
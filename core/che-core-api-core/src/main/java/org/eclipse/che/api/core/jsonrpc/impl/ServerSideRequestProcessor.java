@@ -10,39 +10,277 @@
  */
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadFactory;
-import javax.annotation.PostConstruct;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcErrorTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessor;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
 
+/**
+ * Processes JSON RPC requests and notifications on two separate bounded thread pools.
+ *
+ * <p>Requests are processed concurrently, when the request pool and its queue are full the request
+ * is rejected and the endpoint receives an error response. Notifications of a single endpoint are
+ * processed strictly in the order they were received (e.g. {@code textDocument/didChange}), while
+ * notifications of different endpoints are processed concurrently. Notifications are never dropped
+ * as they may depend on each other, when the number of pending notifications of an endpoint
+ * reaches the queue capacity the thread which receives a new notification of the endpoint waits
+ * until one of them is processed, which slows down reading of messages from that endpoint only.
+ */
 @Singleton
 public class ServerSideRequestProcessor implements RequestProcessor {
-  private ExecutorService executorService;
+  private static final Logger LOG = getLogger(ServerSideRequestProcessor.class);
+
+  /** JSON RPC server error code reported when a request is rejected. */
+  private static final int SERVER_OVERLOADED_ERROR_CODE = -32000;
+
+  /** Limits the number of tracked methods, the rest are accounted as {@link #OTHER_METHODS}. */
+  private static final int MAX_TRACKED_METHODS = 1000;
+
+  private static final String OTHER_METHODS = "<other>";
+
+  private final JsonRpcErrorTransmitter errorTransmitter;
+  private final int queueCapacity;
+  private final ThreadPoolExecutor requestExecutor;
+  private final ThreadPoolExecutor notificationExecutor;
+
+  private final Map<String, Queue<Runnable>> notificationQueues = new ConcurrentHashMap<>();
+  private final AtomicInteger pendingNotifications = new AtomicInteger();
+  private final Map<String, JsonRpcMethodStatistics> statistics = new ConcurrentHashMap<>();
+
+  @Inject
+  public ServerSideRequestProcessor(
+      JsonRpcErrorTransmitter errorTransmitter,
+      @Named("che.core.jsonrpc.processor_max_pool_size") int maxPoolSize,
+      @Named("che.core.jsonrpc.processor_queue_capacity") int queueCapacity) {
+    this.errorTransmitter = errorTransmitter;
+    this.queueCapacity = queueCapacity;
+    this.requestExecutor = newExecutor("Request", maxPoolSize, queueCapacity);
+    this.notificationExecutor = newExecutor("Notification", maxPoolSize, queueCapacity);
+  }
+
+  @Override
+  public void process(String endpointId, JsonRpcRequest request, Runnable runnable) {
+    JsonRpcMethodStatistics methodStatistics = getStatistics(request.getMethod());
+    Runnable task = measured(runnable, methodStatistics);
+
+    if (request.hasId()) {
+      try {
+        requestExecutor.execute(task);
+      } catch (RejectedExecutionException e) {
+        LOG.warn("Request '{}' of endpoint '{}' is rejected", request.getMethod(), endpointId);
+
+        methodStatistics.onRejected();
+        errorTransmitter.transmit(
+            endpointId,
+            new JsonRpcException(
+                SERVER_OVERLOADED_ERROR_CODE,
+                "Server is overloaded, request is rejected",
+                request.getId()));
+      }
+    } else {
+      processInOrder(endpointId, request.getMethod(), task);
+    }
+  }
+
+  /** Returns processing statistics per JSON RPC method name. */
+  public Map<String, JsonRpcMethodStatistics> getStatistics() {
+    return unmodifiableMap(statistics);
+  }
 
-  @PostConstruct
-  private void postConstruct() {
-    ThreadFactory factory =
-        new ThreadFactoryBuilder()
-            .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-            .setNameFormat(ServerSideRequestProcessor.class.getSimpleName())
-            .setDaemon(true)
-            .build();
+  /** Returns the number of threads that are processing requests or notifications right now. */
+  public int getActiveThreads() {
+    return requestExecutor.getActiveCount() + notificationExecutor.getActiveCount();
+  }
+
+  /** Returns the number of requests waiting to be processed. */
+  public int getPendingRequests() {
+    return requestExecutor.getQueue().size();
+  }
 
-    executorService = newCachedThreadPool(factory);
+  /** Returns the number of notifications waiting to be processed. */
+  public int getPendingNotifications() {
+    return pendingNotifications.get();
   }
 
   @PreDestroy
   private void preDestroy() {
+    shutdown(requestExecutor);
+    shutdown(notificationExecutor);
+  }
+
+  /**
+   * Adds the task to the notification queue of the endpoint, the queue is drained by a single task
+   * at a time which guarantees notifications of an endpoint are processed in order. If the queue is
+   * full the calling thread waits until the queue has room for the task.
+   */
+  private void processInOrder(String endpointId, String method, Runnable task) {
+    boolean interrupted = false;
+    while (true) {
+      boolean[] added = new boolean[1];
+      boolean[] first = new boolean[1];
+      Queue<Runnable> endpointQueue =
+          notificationQueues.compute(
+              endpointId,
+              (id, queue) -> {
+                if (queue == null) {
+                  queue = new ArrayDeque<>();
+                }
+                if (queue.size() < queueCapacity) {
+                  queue.add(task);
+                  pendingNotifications.incrementAndGet();
+                  added[0] = true;
+                  first[0] = queue.size() == 1;
+                }
+                return queue;
+              });
+      if (added[0]) {
+        if (first[0]) {
+          scheduleNext(endpointId);
+        }
+        break;
+      }
+      LOG.debug(
+          "Too many pending notifications, notification '{}' of endpoint '{}' waits",
+          method,
+          endpointId);
+
+      interrupted |= awaitRoom(endpointQueue);
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Waits until a task is polled from the full queue.
+   *
+   * @return true if the thread was interrupted while waiting
+   */
+  private boolean awaitRoom(Queue<Runnable> queue) {
+    synchronized (queue) {
+      try {
+        while (queue.size() >= queueCapacity) {
+          queue.wait();
+        }
+      } catch (InterruptedException e) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void scheduleNext(String endpointId) {
+    try {
+      notificationExecutor.execute(
+          () -> {
+            if (runNext(endpointId)) {
+              scheduleNext(endpointId);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      // the pool is saturated by other endpoints or is shutting down,
+      // process notifications in place not to stall the queue of the endpoint
+      while (runNext(endpointId)) {}
+    }
+  }
+
+  /**
+   * Runs the head of the notification queue of the endpoint and removes it from the queue.
+   *
+   * @return true if there are more notifications in the queue
+   */
+  private boolean runNext(String endpointId) {
+    Runnable[] head = new Runnable[1];
+    notificationQueues.computeIfPresent(
+        endpointId,
+        (id, queue) -> {
+          head[0] = queue.peek();
+          return queue;
+        });
+
+    try {
+      head[0].run();
+    } catch (RuntimeException e) {
+      LOG.error("Error while processing a notification of endpoint '{}'", endpointId, e);
+    } finally {
+      pendingNotifications.decrementAndGet();
+    }
+
+    return notificationQueues.computeIfPresent(
+            endpointId,
+            (id, queue) -> {
+              queue.poll();
+              synchronized (queue) {
+                queue.notifyAll();
+              }
+              return queue.isEmpty() ? null : queue;
+            })
+        != null;
+  }
+
+  private JsonRpcMethodStatistics getStatistics(String method) {
+    JsonRpcMethodStatistics methodStatistics = statistics.get(method);
+    if (methodStatistics != null) {
+      return methodStatistics;
+    }
+    String key = statistics.size() < MAX_TRACKED_METHODS ? method : OTHER_METHODS;
+    return statistics.computeIfAbsent(key, JsonRpcMethodStatistics::new);
+  }
+
+  private static Runnable measured(Runnable runnable, JsonRpcMethodStatistics methodStatistics) {
+    long submitted = System.nanoTime();
+    return () -> {
+      long started = System.nanoTime();
+      try {
+        runnable.run();
+      } finally {
+        methodStatistics.onProcessed(started - submitted, System.nanoTime() - started);
+      }
+    };
+  }
+
+  private static ThreadPoolExecutor newExecutor(String kind, int maxPoolSize, int queueCapacity) {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            maxPoolSize,
+            maxPoolSize,
+            60,
+            SECONDS,
+            new LinkedBlockingQueue<>(queueCapacity),
+            new ThreadFactoryBuilder()
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setNameFormat(ServerSideRequestProcessor.class.getSimpleName() + kind + "-%d")
+                .setDaemon(true)
+                .build(),
+            new ThreadPoolExecutor.AbortPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static void shutdown(ExecutorService executorService) {
     executorService.shutdown();
     try {
-      if (executorService.awaitTermination(5, SECONDS)) {
+      if (!executorService.awaitTermination(5, SECONDS)) {
         executorService.shutdownNow();
         executorService.awaitTermination(5, SECONDS);
       }
@@ -51,9 +289,4 @@ public class ServerSideRequestProcessor implements RequestProcessor {
       Thread.currentThread().interrupt();
     }
   }
-
-  @Override
-  public void process(Runnable runnable) {
-    executorService.execute(runnable);
-  }
 }
@@ -10,24 +10,68 @@
  */
 package org.eclipse.che.api.core.jsonrpc.impl;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Singleton;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import javax.annotation.PreDestroy;
 import org.eclipse.che.api.core.jsonrpc.commons.TimeoutActionRunner;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
 
+/**
+ * Runs timeout actions of all the JSON RPC requests on a single scheduler thread. Actions of the
+ * requests that got their responses in time are cancelled and removed from the scheduler queue.
+ */
 @Singleton
 public class ServerSideTimeoutActionRunner implements TimeoutActionRunner {
+  private static final Logger LOG = getLogger(ServerSideTimeoutActionRunner.class);
+
+  private final ScheduledThreadPoolExecutor executor;
+
+  public ServerSideTimeoutActionRunner() {
+    executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            new ThreadFactoryBuilder()
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setNameFormat(ServerSideTimeoutActionRunner.class.getSimpleName())
+                .setDaemon(true)
+                .build());
+    executor.setRemoveOnCancelPolicy(true);
+    executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+  }
 
   @Override
-  public void schedule(int timeoutInMillis, Runnable runnable) {
-    new Timer()
-        .schedule(
-            new TimerTask() {
-              @Override
-              public void run() {
+  public Timeout schedule(int timeoutInMillis, Runnable runnable) {
+    ScheduledFuture<?> future =
+        executor.schedule(
+            () -> {
+              try {
                 runnable.run();
+              } catch (RuntimeException e) {
+                LOG.error("Error while running JSON RPC timeout action", e);
               }
             },
-            timeoutInMillis);
+            timeoutInMillis,
+            MILLISECONDS);
+    return () -> future.cancel(false);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(5, SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException ie) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
   }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Event subscriber which receives events asynchronously, on a thread of the {@link EventService}
+ * pool instead of the thread which published the event, so a slow subscriber doesn't delay the
+ * publisher.
+ *
+ * <p>Events are delivered through serial queues: events of the same subscriber which have equal
+ * ordering keys are processed one at a time in the order they were published, while events with
+ * different keys may be processed concurrently. By default all the events of a subscriber share a
+ * single queue.
+ *
+ * @see EventService
+ */
+public interface AsyncEventSubscriber<T> extends EventSubscriber<T> {
+
+  /**
+   * Returns the key of the queue the event is delivered through, e.g. id of the workspace the
+   * event belongs to. Events with {@code null} key go to the default queue of the subscriber.
+   */
+  default Object getOrderingKey(T event) {
+    return null;
+  }
+}
@@ -10,19 +10,35 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.Collections.unmodifiableCollection;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +56,11 @@ import org.slf4j.LoggerFactory;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * <p>Subscribers are called synchronously, on the thread which publishes the event, unless they
+ * implement {@link AsyncEventSubscriber}. Events of asynchronous subscribers are put into serial
+ * queues (one per subscriber and ordering key) which are drained by a shared thread pool, so the
+ * publisher doesn't wait for them. Delivery statistics are collected for every subscriber.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -50,9 +71,18 @@ public class EventService {
   private static final int CACHE_MASK = CACHE_NUM - 1;
   private static final int SEG_SIZE = 32;
 
+  private static final int DEFAULT_ASYNC_POOL_SIZE =
+      Math.max(2, Runtime.getRuntime().availableProcessors());
+
   private final LoadingCache<Class<?>, Set<Class<?>>>[] typeCache;
   private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
 
+  private final ThreadPoolExecutor asyncExecutor;
+  private final Map<AsyncQueueKey, Queue<Runnable>> asyncQueues = new ConcurrentHashMap<>();
+  private final AtomicInteger pendingAsyncEvents = new AtomicInteger();
+  private final Map<EventSubscriber<?>, EventSubscriberStatistics> statistics =
+      new ConcurrentHashMap<>();
+
   @SuppressWarnings("unchecked")
   public EventService() {
     subscribersByEventType = new ConcurrentHashMap<>();
@@ -84,6 +114,31 @@ public class EventService {
                     }
                   });
     }
+    asyncExecutor =
+        new ThreadPoolExecutor(
+            DEFAULT_ASYNC_POOL_SIZE,
+            DEFAULT_ASYNC_POOL_SIZE,
+            60,
+            SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setNameFormat(EventService.class.getSimpleName() + "-%d")
+                .setDaemon(true)
+                .build());
+    asyncExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  /** Sets the number of threads delivering events to {@link AsyncEventSubscriber}s. */
+  @com.google.inject.Inject(optional = true)
+  public void setAsyncPoolSize(@Named("che.core.event_service.async_pool_size") int poolSize) {
+    if (poolSize > asyncExecutor.getMaximumPoolSize()) {
+      asyncExecutor.setMaximumPoolSize(poolSize);
+      asyncExecutor.setCorePoolSize(poolSize);
+    } else {
+      asyncExecutor.setCorePoolSize(poolSize);
+      asyncExecutor.setMaximumPoolSize(poolSize);
+    }
   }
 
   /**
@@ -102,11 +157,10 @@ public class EventService {
       final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
       if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
         for (EventSubscriber eventSubscriber : eventSubscribers) {
-          try {
-            LOG.debug("Publish event {} for {}", event, eventSubscriber);
-            eventSubscriber.onEvent(event);
-          } catch (RuntimeException e) {
-            LOG.error(e.getMessage(), e);
+          if (eventSubscriber instanceof AsyncEventSubscriber) {
+            publishAsync((AsyncEventSubscriber) eventSubscriber, event);
+          } else {
+            deliver(eventSubscriber, event, System.nanoTime(), getStatistics(eventSubscriber));
           }
         }
       }
@@ -114,6 +168,21 @@ public class EventService {
     return event;
   }
 
+  /** Returns delivery statistics of the subscribers which received events. */
+  public Collection<EventSubscriberStatistics> getStatistics() {
+    return unmodifiableCollection(statistics.values());
+  }
+
+  /** Returns the number of events queued for asynchronous subscribers and not yet delivered. */
+  public int getPendingAsyncEvents() {
+    return pendingAsyncEvents.get();
+  }
+
+  /** Returns the number of serial queues of asynchronous subscribers which have pending events. */
+  public int getActiveAsyncQueues() {
+    return asyncQueues.size();
+  }
+
   /**
    * Subscribe event listener. The event to subscribe to is inferred by checking the generic type
    * arguments of the given subscriber.
@@ -167,6 +236,7 @@ public class EventService {
     if (entries != null && !entries.isEmpty()) {
       boolean changed = entries.remove(subscriber);
       if (changed) {
+        statistics.remove(subscriber);
         if (entries.isEmpty()) {
           subscribersByEventType.remove(eventType);
         }
@@ -174,6 +244,129 @@ public class EventService {
     }
   }
 
+  @PreDestroy
+  private void stop() {
+    asyncExecutor.shutdown();
+    try {
+      if (!asyncExecutor.awaitTermination(5, SECONDS)) {
+        LOG.warn("{} events are not delivered to asynchronous subscribers", pendingAsyncEvents);
+        asyncExecutor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      asyncExecutor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void deliver(
+      EventSubscriber subscriber,
+      Object event,
+      long published,
+      EventSubscriberStatistics subscriberStatistics) {
+    long started = System.nanoTime();
+    boolean succeed = false;
+    try {
+      LOG.debug("Publish event {} for {}", event, subscriber);
+      subscriber.onEvent(event);
+      succeed = true;
+    } catch (RuntimeException e) {
+      LOG.error(e.getMessage(), e);
+    } finally {
+      subscriberStatistics.onDelivered(started - published, System.nanoTime() - started, succeed);
+    }
+  }
+
+  /**
+   * Adds the event to the serial queue of the subscriber and the ordering key of the event, the
+   * queue is drained by a single task at a time which guarantees the events are delivered in the
+   * order they were published.
+   */
+  @SuppressWarnings("unchecked")
+  private void publishAsync(AsyncEventSubscriber subscriber, Object event) {
+    Object orderingKey = null;
+    try {
+      orderingKey = subscriber.getOrderingKey(event);
+    } catch (RuntimeException e) {
+      LOG.error(e.getMessage(), e);
+    }
+    AsyncQueueKey queueKey = new AsyncQueueKey(subscriber, orderingKey);
+    EventSubscriberStatistics subscriberStatistics = getStatistics(subscriber);
+    long published = System.nanoTime();
+    Runnable task = () -> deliver(subscriber, event, published, subscriberStatistics);
+
+    subscriberStatistics.onQueued();
+    pendingAsyncEvents.incrementAndGet();
+    boolean[] first = new boolean[1];
+    asyncQueues.compute(
+        queueKey,
+        (key, queue) -> {
+          if (queue == null) {
+            queue = new ArrayDeque<>();
+          }
+          queue.add(task);
+          first[0] = queue.size() == 1;
+          return queue;
+        });
+
+    if (first[0]) {
+      scheduleNext(queueKey);
+    }
+  }
+
+  private void scheduleNext(AsyncQueueKey queueKey) {
+    try {
+      asyncExecutor.execute(
+          () -> {
+            if (runNext(queueKey)) {
+              scheduleNext(queueKey);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      // the service is stopped, deliver the rest of events in place
+      while (runNext(queueKey)) {}
+    }
+  }
+
+  /**
+   * Delivers the head of the queue and removes it from the queue.
+   *
+   * @return true if there are more events in the queue
+   */
+  private boolean runNext(AsyncQueueKey queueKey) {
+    Runnable[] head = new Runnable[1];
+    asyncQueues.computeIfPresent(
+        queueKey,
+        (key, queue) -> {
+          head[0] = queue.peek();
+          return queue;
+        });
+
+    try {
+      head[0].run();
+    } finally {
+      pendingAsyncEvents.decrementAndGet();
+    }
+
+    return asyncQueues.computeIfPresent(
+            queueKey,
+            (key, queue) -> {
+              queue.poll();
+              return queue.isEmpty() ? null : queue;
+            })
+        != null;
+  }
+
+  private EventSubscriberStatistics getStatistics(EventSubscriber<?> subscriber) {
+    EventSubscriberStatistics subscriberStatistics = statistics.get(subscriber);
+    if (subscriberStatistics != null) {
+      return subscriberStatistics;
+    }
+    return statistics.computeIfAbsent(
+        subscriber,
+        s -> new EventSubscriberStatistics(s.toString(), s instanceof AsyncEventSubscriber));
+  }
+
   private Class<?> getEventType(EventSubscriber<?> subscriber) {
     Class<?> eventType = null;
     Class<?> clazz = subscriber.getClass();
@@ -182,7 +375,7 @@ public class EventService {
         if (type instanceof ParameterizedType) {
           final ParameterizedType parameterizedType = (ParameterizedType) type;
           final Type rawType = parameterizedType.getRawType();
-          if (EventSubscriber.class == rawType) {
+          if (EventSubscriber.class == rawType || AsyncEventSubscriber.class == rawType) {
             final Type[] typeArguments = parameterizedType.getActualTypeArguments();
             if (typeArguments.length == 1) {
               if (typeArguments[0] instanceof Class) {
@@ -200,4 +393,32 @@ public class EventService {
     }
     return eventType;
   }
+
+  /** Identifies serial queue of events of an asynchronous subscriber. */
+  private static final class AsyncQueueKey {
+    final EventSubscriber<?> subscriber;
+    final Object orderingKey;
+
+    AsyncQueueKey(EventSubscriber<?> subscriber, Object orderingKey) {
+      this.subscriber = subscriber;
+      this.orderingKey = orderingKey;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof AsyncQueueKey)) {
+        return false;
+      }
+      final AsyncQueueKey that = (AsyncQueueKey) obj;
+      return subscriber == that.subscriber && Objects.equals(orderingKey, that.orderingKey);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(subscriber) + Objects.hashCode(orderingKey);
+    }
+  }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Collects delivery statistics of events of a single {@link EventSubscriber}. */
+public class EventSubscriberStatistics {
+  private final String subscriber;
+  private final boolean async;
+
+  private final AtomicLong delivered = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final AtomicInteger maxPending = new AtomicInteger();
+  private final AtomicLong waitTimeNanos = new AtomicLong();
+  private final AtomicLong maxWaitTimeNanos = new AtomicLong();
+  private final AtomicLong handlerTimeNanos = new AtomicLong();
+  private final AtomicLong maxHandlerTimeNanos = new AtomicLong();
+
+  EventSubscriberStatistics(String subscriber, boolean async) {
+    this.subscriber = subscriber;
+    this.async = async;
+  }
+
+  void onQueued() {
+    maxPending.accumulateAndGet(pending.incrementAndGet(), Math::max);
+  }
+
+  void onDelivered(long waitNanos, long handlerNanos, boolean succeed) {
+    if (async) {
+      pending.decrementAndGet();
+    }
+    delivered.incrementAndGet();
+    if (!succeed) {
+      failed.incrementAndGet();
+    }
+    waitTimeNanos.addAndGet(waitNanos);
+    maxWaitTimeNanos.accumulateAndGet(waitNanos, Math::max);
+    handlerTimeNanos.addAndGet(handlerNanos);
+    maxHandlerTimeNanos.accumulateAndGet(handlerNanos, Math::max);
+  }
+
+  /** Returns the description of the subscriber. */
+  public String getSubscriber() {
+    return subscriber;
+  }
+
+  /** Returns true if the subscriber receives events asynchronously. */
+  public boolean isAsync() {
+    return async;
+  }
+
+  /** Returns the number of events delivered to the subscriber. */
+  public long getDelivered() {
+    return delivered.get();
+  }
+
+  /** Returns the number of events the subscriber failed to handle. */
+  public long getFailed() {
+    return failed.get();
+  }
+
+  /** Returns the number of events queued for the subscriber and not yet delivered. */
+  public int getPending() {
+    return pending.get();
+  }
+
+  /** Returns the maximum number of events which were queued for the subscriber at once. */
+  public int getMaxPending() {
+    return maxPending.get();
+  }
+
+  /** Returns the average time events spent in a queue before being delivered. */
+  public long getAverageWaitTimeMs() {
+    long count = delivered.get();
+    return count == 0 ? 0 : NANOSECONDS.toMillis(waitTimeNanos.get() / count);
+  }
+
+  /** Returns the maximum time an event spent in a queue before being delivered. */
+  public long getMaxWaitTimeMs() {
+    return NANOSECONDS.toMillis(maxWaitTimeNanos.get());
+  }
+
+  /** Returns the average time the subscriber spent handling an event. */
+  public long getAverageHandlerTimeMs() {
+    long count = delivered.get();
+    return count == 0 ? 0 : NANOSECONDS.toMillis(handlerTimeNanos.get() / count);
+  }
+
+  /** Returns the maximum time the subscriber spent handling an event. */
+  public long getMaxHandlerTimeMs() {
+    return NANOSECONDS.toMillis(maxHandlerTimeNanos.get());
+  }
+
+  @Override
+  public String toString() {
+    return "EventSubscriberStatistics{"
+        + "subscriber='"
+        + subscriber
+        + '\''
+        + ", async="
+        + async
+        + ", delivered="
+        + getDelivered()
+        + ", failed="
+        + getFailed()
+        + ", pending="
+        + getPending()
+        + ", maxPending="
+        + getMaxPending()
+        + ", averageWaitTimeMs="
+        + getAverageWaitTimeMs()
+        + ", maxWaitTimeMs="
+        + getMaxWaitTimeMs()
+        + ", averageHandlerTimeMs="
+        + getAverageHandlerTimeMs()
+        + ", maxHandlerTimeMs="
+        + getMaxHandlerTimeMs()
+        + '}';
+  }
+}
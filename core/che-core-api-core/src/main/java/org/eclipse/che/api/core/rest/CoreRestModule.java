@@ -21,6 +21,7 @@ public class CoreRestModule extends AbstractModule {
     bind(CheJsonProvider.class);
     bind(ApiExceptionMapper.class);
     bind(RuntimeExceptionMapper.class);
+    bind(HttpJsonRequestStatisticsService.class);
     Multibinder.newSetBinder(binder(), Class.class, Names.named("che.json.ignored_classes"));
   }
 }
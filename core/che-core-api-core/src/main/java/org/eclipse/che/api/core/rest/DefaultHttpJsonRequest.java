@@ -13,6 +13,7 @@ package org.eclipse.che.api.core.rest;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.io.ByteStreams;
 import com.google.common.io.CharStreams;
 import java.io.IOException;
 import java.io.InputStream;
@@ -24,6 +25,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.HttpHeaders;
@@ -38,6 +40,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -54,6 +57,10 @@ import org.eclipse.che.dto.server.JsonStringMapImpl;
  * <p>The instance of this request is reusable, which means that it is possible to call {@link
  * #request()} method more than one time per instance
  *
+ * <p>The response is always read till the end and the connection is not disconnected after a
+ * successful request, so the keep-alive cache of the JDK reuses it for subsequent requests to the
+ * same host. Responses compressed with gzip are accepted.
+ *
  * @author Yevhenii Voevodin
  * @see DefaultHttpJsonRequestFactory
  */
@@ -61,8 +68,11 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
 
   private static final int DEFAULT_QUERY_PARAMS_LIST_SIZE = 5;
   private static final Object[] EMPTY_ARRAY = new Object[0];
+  private static final int DEFAULT_TIMEOUT_MS = 60000;
+  private static final String GZIP = "gzip";
 
   private final String url;
+  private final HttpJsonHostConnections connections;
 
   private int timeout;
   private String method;
@@ -70,9 +80,23 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
   private List<Pair<String, ?>> queryParams;
   private String authorizationHeaderValue;
 
-  protected DefaultHttpJsonRequest(String url, String method) {
+  /**
+   * Creates a request which is sent when the number of requests in progress to the host is lower
+   * than the limit of the given {@code connections}.
+   *
+   * @param url request url
+   * @param method request method
+   * @param connections connections of the host of the url, null when requests are not limited
+   */
+  protected DefaultHttpJsonRequest(
+      String url, String method, @Nullable HttpJsonHostConnections connections) {
     this.url = requireNonNull(url, "Required non-null url");
     this.method = method;
+    this.connections = connections;
+  }
+
+  protected DefaultHttpJsonRequest(String url, String method) {
+    this(url, method, null);
   }
 
   protected DefaultHttpJsonRequest(String url) {
@@ -80,7 +104,11 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
   }
 
   protected DefaultHttpJsonRequest(Link link) {
-    this(requireNonNull(link, "Required non-null link").getHref(), link.getMethod());
+    this(link, null);
+  }
+
+  protected DefaultHttpJsonRequest(Link link, @Nullable HttpJsonHostConnections connections) {
+    this(requireNonNull(link, "Required non-null link").getHref(), link.getMethod(), connections);
   }
 
   @Override
@@ -146,19 +174,52 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
   public HttpJsonResponse request()
       throws IOException, ServerException, UnauthorizedException, ForbiddenException,
           NotFoundException, ConflictException, BadRequestException {
-    if (method == null) {
-      throw new IllegalStateException("Could not perform request, request method wasn't set");
-    }
+    checkMethodIsSet();
     return doRequest(timeout, url, method, body, queryParams, authorizationHeaderValue);
   }
 
+  /** Reads the response directly from the connection without buffering it into a string. */
+  @Override
+  public <T> T requestDto(@NotNull Class<T> dtoInterface)
+      throws IOException, ServerException, UnauthorizedException, ForbiddenException,
+          NotFoundException, ConflictException, BadRequestException {
+    requireNonNull(dtoInterface, "Required non-null dto interface");
+    checkMethodIsSet();
+    return doRequest(
+        timeout,
+        url,
+        method,
+        body,
+        queryParams,
+        authorizationHeaderValue,
+        (in, responseCode) -> DtoFactory.getInstance().createDtoFromJson(in, dtoInterface));
+  }
+
+  /** Reads the response directly from the connection without buffering it into a string. */
+  @Override
+  public <T> List<T> requestList(@NotNull Class<T> dtoInterface)
+      throws IOException, ServerException, UnauthorizedException, ForbiddenException,
+          NotFoundException, ConflictException, BadRequestException {
+    requireNonNull(dtoInterface, "Required non-null dto interface");
+    checkMethodIsSet();
+    return doRequest(
+        timeout,
+        url,
+        method,
+        body,
+        queryParams,
+        authorizationHeaderValue,
+        (in, responseCode) -> DtoFactory.getInstance().createListDtoFromJson(in, dtoInterface));
+  }
+
   /**
    * Makes this request using {@link HttpURLConnection}.
    *
    * <p>Uses {@link HttpHeaders#AUTHORIZATION} header with value from {@link EnvironmentContext}.
    * <br>
    * uses {@link HttpHeaders#ACCEPT} header with "application/json" value. <br>
-   * Encodes query parameters in "UTF-8".
+   * Encodes query parameters in "UTF-8". <br>
+   * Waits for the free connection when the requests to the host are limited.
    *
    * @param timeout request timeout, used only if it is greater than 0
    * @param url request url
@@ -185,6 +246,58 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
       String authorizationHeaderValue)
       throws IOException, ServerException, ForbiddenException, NotFoundException,
           UnauthorizedException, ConflictException, BadRequestException {
+    return doRequest(
+        timeout,
+        url,
+        method,
+        body,
+        parameters,
+        authorizationHeaderValue,
+        (in, responseCode) ->
+            new DefaultHttpJsonResponse(
+                CharStreams.toString(new InputStreamReader(in)), responseCode));
+  }
+
+  /** Acquires the connection to the host, makes the request and records its latency. */
+  private <T> T doRequest(
+      int timeout,
+      String url,
+      String method,
+      Object body,
+      List<Pair<String, ?>> parameters,
+      String authorizationHeaderValue,
+      ResponseReader<T> responseReader)
+      throws IOException, ServerException, ForbiddenException, NotFoundException,
+          UnauthorizedException, ConflictException, BadRequestException {
+    final int timeoutMs = timeout > 0 ? timeout : DEFAULT_TIMEOUT_MS;
+    if (connections == null) {
+      return sendRequest(
+          timeoutMs, url, method, body, parameters, authorizationHeaderValue, responseReader);
+    }
+    connections.acquire(timeoutMs);
+    final long start = System.nanoTime();
+    boolean succeed = false;
+    try {
+      final T response =
+          sendRequest(
+              timeoutMs, url, method, body, parameters, authorizationHeaderValue, responseReader);
+      succeed = true;
+      return response;
+    } finally {
+      connections.release(System.nanoTime() - start, succeed);
+    }
+  }
+
+  private <T> T sendRequest(
+      int timeoutMs,
+      String url,
+      String method,
+      Object body,
+      List<Pair<String, ?>> parameters,
+      String authorizationHeaderValue,
+      ResponseReader<T> responseReader)
+      throws IOException, ServerException, ForbiddenException, NotFoundException,
+          UnauthorizedException, ConflictException, BadRequestException {
     final String authToken = EnvironmentContext.getCurrent().getSubject().getToken();
     final boolean hasQueryParams = parameters != null && !parameters.isEmpty();
     if (hasQueryParams || authToken != null) {
@@ -200,12 +313,14 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
       url = ub.build().toString();
     }
     final HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
-    conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
-    conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+    conn.setConnectTimeout(timeoutMs);
+    conn.setReadTimeout(timeoutMs);
+    boolean responseRead = false;
     try {
       conn.setRequestMethod(method);
       //drop a hint for server side that we want to receive application/json
       conn.addRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+      conn.addRequestProperty(HttpHeaders.ACCEPT_ENCODING, GZIP);
       if (!isNullOrEmpty(authorizationHeaderValue)) {
         conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authorizationHeaderValue);
       } else if (authToken != null) {
@@ -233,9 +348,10 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
           in = conn.getInputStream();
         }
         final String str;
-        try (Reader reader = new InputStreamReader(in)) {
+        try (Reader reader = new InputStreamReader(decode(conn, in))) {
           str = CharStreams.toString(reader);
         }
+        responseRead = true;
         final String contentType = conn.getContentType();
         if (contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON)) {
           final ServiceError serviceError =
@@ -270,14 +386,36 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         throw new IOException(conn.getResponseMessage());
       }
 
-      try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-        return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
+      try (InputStream in = decode(conn, conn.getInputStream())) {
+        final T response = responseReader.read(in, responseCode);
+        ByteStreams.exhaust(in);
+        responseRead = true;
+        return response;
       }
     } finally {
-      conn.disconnect();
+      // connection with completely read response goes to the keep-alive cache to be reused
+      if (!responseRead) {
+        conn.disconnect();
+      }
+    }
+  }
+
+  private void checkMethodIsSet() {
+    if (method == null) {
+      throw new IllegalStateException("Could not perform request, request method wasn't set");
     }
   }
 
+  private static InputStream decode(HttpURLConnection conn, InputStream in) throws IOException {
+    return GZIP.equalsIgnoreCase(conn.getContentEncoding()) ? new GZIPInputStream(in) : in;
+  }
+
+  /** Reads the successful response from the body of the connection. */
+  @FunctionalInterface
+  private interface ResponseReader<T> {
+    T read(InputStream in, int responseCode) throws IOException;
+  }
+
   @Override
   public String toString() {
     return "DefaultHttpJsonRequest{"
@@ -10,25 +10,130 @@
  */
 package org.eclipse.che.api.core.rest;
 
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.validation.constraints.NotNull;
+import javax.ws.rs.HttpMethod;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Creates {@link DefaultHttpJsonRequest} instances.
  *
+ * <p>The number of requests which may be sent to a single host at once is limited by {@link
+ * #setMaxConnectionsPerHost(int)}, the requests above the limit wait for the completion of the
+ * previous ones. Connections are reused by the keep-alive cache of the JDK, so the size of the
+ * cache ({@code http.maxConnections} system property) should not be lower than the limit, the
+ * startup scripts of the master and of the agent set it to the default limit.
+ *
+ * <p>The statistics of the hosts are available via {@link HttpJsonRequestStatisticsService}.
+ * Hosts which weren't requested for {@value #HOST_IDLE_TIMEOUT_MINUTES} minutes and have no
+ * requests in progress are forgotten, their statistics are logged at that moment.
+ *
  * @author Yevhenii Voevodin
  */
 @Singleton
 public class DefaultHttpJsonRequestFactory implements HttpJsonRequestFactory {
+  private static final Logger LOG = LoggerFactory.getLogger(DefaultHttpJsonRequestFactory.class);
+
+  private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 20;
+
+  static final long HOST_IDLE_TIMEOUT_MINUTES = 10;
+
+  private final LoadingCache<String, HttpJsonHostConnections> hostConnections;
+
+  private volatile int maxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+
+  @Inject
+  public DefaultHttpJsonRequestFactory() {
+    this(Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  DefaultHttpJsonRequestFactory(Ticker ticker) {
+    hostConnections =
+        CacheBuilder.newBuilder()
+            .expireAfterAccess(HOST_IDLE_TIMEOUT_MINUTES, MINUTES)
+            .ticker(ticker)
+            .removalListener(this::onHostRemoved)
+            .build(
+                CacheLoader.from(host -> new HttpJsonHostConnections(host, maxConnectionsPerHost)));
+  }
+
+  /**
+   * Configures the maximum number of concurrent requests to a single host, affects only the hosts
+   * which weren't requested yet.
+   */
+  @com.google.inject.Inject(optional = true)
+  public void setMaxConnectionsPerHost(
+      @Named("che.core.http_client.max_connections_per_host") int maxConnectionsPerHost) {
+    if (maxConnectionsPerHost <= 0) {
+      throw new IllegalArgumentException(
+          "Max connections per host must be greater than 0, but was " + maxConnectionsPerHost);
+    }
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+  }
 
   @Override
   public HttpJsonRequest fromUrl(@NotNull String url) {
-    return new DefaultHttpJsonRequest(url);
+    return new DefaultHttpJsonRequest(url, HttpMethod.GET, getConnections(url));
   }
 
   @Override
   public HttpJsonRequest fromLink(@NotNull Link link) {
-    return new DefaultHttpJsonRequest(link);
+    return new DefaultHttpJsonRequest(link, link == null ? null : getConnections(link.getHref()));
+  }
+
+  /** Returns the connection statistics of each host recently requested by this factory. */
+  public List<HttpJsonHostConnections> getStatistics() {
+    hostConnections.cleanUp();
+    return new ArrayList<>(hostConnections.asMap().values());
+  }
+
+  /**
+   * Returns connections of the host of the given url or null if the host of the url can't be
+   * determined, in that case the request fails while connecting.
+   */
+  private HttpJsonHostConnections getConnections(String url) {
+    if (url == null) {
+      return null;
+    }
+    final String host;
+    try {
+      host = URI.create(url).getAuthority();
+    } catch (IllegalArgumentException x) {
+      return null;
+    }
+    if (host == null) {
+      return null;
+    }
+    return hostConnections.getUnchecked(host);
+  }
+
+  /**
+   * Logs the statistics of an idle host which is removed from the cache, a host which still has
+   * requests in progress is put back not to exceed the limit of its connections.
+   */
+  private void onHostRemoved(RemovalNotification<String, HttpJsonHostConnections> notification) {
+    final HttpJsonHostConnections connections = notification.getValue();
+    if (notification.getCause() == RemovalCause.EXPIRED && connections.getActive() > 0) {
+      hostConnections.asMap().putIfAbsent(notification.getKey(), connections);
+    } else {
+      LOG.info("Connections to host '{}' are released, {}", notification.getKey(), connections);
+    }
   }
 }
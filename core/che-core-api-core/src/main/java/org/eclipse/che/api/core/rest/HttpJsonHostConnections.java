@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the number of concurrent requests to a single host and collects the client-side latency
+ * statistics of these requests.
+ */
+public class HttpJsonHostConnections {
+  private final String host;
+  private final int maxConnections;
+  private final Semaphore permits;
+
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong latencyNanos = new AtomicLong();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+  HttpJsonHostConnections(String host, int maxConnections) {
+    this.host = host;
+    this.maxConnections = maxConnections;
+    this.permits = new Semaphore(maxConnections);
+  }
+
+  /**
+   * Waits until the number of requests in progress to the host is less than the maximum.
+   *
+   * @param timeoutMs maximum time to wait
+   * @throws IOException when no connection was freed during the timeout or the thread was
+   *     interrupted
+   */
+  void acquire(long timeoutMs) throws IOException {
+    final boolean acquired;
+    try {
+      acquired = permits.tryAcquire(timeoutMs, MILLISECONDS);
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for connection to " + host);
+    }
+    if (!acquired) {
+      throw new IOException(
+          String.format(
+              "Timed out waiting for connection to %s, %d requests are in progress",
+              host, maxConnections));
+    }
+  }
+
+  void release(long latencyNanos, boolean succeed) {
+    permits.release();
+    requests.incrementAndGet();
+    if (!succeed) {
+      failed.incrementAndGet();
+    }
+    this.latencyNanos.addAndGet(latencyNanos);
+    maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+  }
+
+  /** Returns the host and port the requests are sent to. */
+  public String getHost() {
+    return host;
+  }
+
+  /** Returns the maximum number of requests which may be sent to the host at once. */
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  /** Returns the number of requests to the host which are currently in progress. */
+  public int getActive() {
+    return maxConnections - permits.availablePermits();
+  }
+
+  /** Returns the number of completed requests to the host. */
+  public long getRequests() {
+    return requests.get();
+  }
+
+  /** Returns the number of requests which failed with an error. */
+  public long getFailed() {
+    return failed.get();
+  }
+
+  /** Returns the average time of a request including reading of the response. */
+  public long getAverageLatencyMs() {
+    long count = requests.get();
+    return count == 0 ? 0 : NANOSECONDS.toMillis(latencyNanos.get() / count);
+  }
+
+  /** Returns the maximum time of a request including reading of the response. */
+  public long getMaxLatencyMs() {
+    return NANOSECONDS.toMillis(maxLatencyNanos.get());
+  }
+
+  @Override
+  public String toString() {
+    return "HttpJsonHostConnections{"
+        + "host='"
+        + host
+        + '\''
+        + ", maxConnections="
+        + maxConnections
+        + ", active="
+        + getActive()
+        + ", requests="
+        + getRequests()
+        + ", failed="
+        + getFailed()
+        + ", averageLatencyMs="
+        + getAverageLatencyMs()
+        + ", maxLatencyMs="
+        + getMaxLatencyMs()
+        + '}';
+  }
+}
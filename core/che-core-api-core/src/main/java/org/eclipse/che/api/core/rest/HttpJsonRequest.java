@@ -25,6 +25,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.dto.server.JsonSerializable;
+import org.eclipse.che.dto.shared.DTO;
 
 /**
  * Defines simple set of methods for requesting json objects.
@@ -150,6 +151,44 @@ public interface HttpJsonRequest {
       throws IOException, ServerException, UnauthorizedException, ForbiddenException,
           NotFoundException, ConflictException, BadRequestException;
 
+  /**
+   * Makes the request the same way as {@link #request()} does and reads the response body as
+   * instance of {@link DTO} object. Implementations may read the body directly from the connection
+   * without keeping the whole content of the response in memory.
+   *
+   * <p>Example:
+   *
+   * <pre>{@code
+   * WorkspaceDto workspace = requestFactory.fromUrl(apiEndpoint + "/workspace/" + id)
+   *                                        .useGetMethod()
+   *                                        .requestDto(WorkspaceDto.class);
+   * }</pre>
+   *
+   * @param dtoInterface dto interface class
+   * @return response as a dto instance
+   * @see #request()
+   */
+  default <T> T requestDto(@NotNull Class<T> dtoInterface)
+      throws IOException, ServerException, UnauthorizedException, ForbiddenException,
+          NotFoundException, ConflictException, BadRequestException {
+    return request().asDto(dtoInterface);
+  }
+
+  /**
+   * Makes the request the same way as {@link #request()} does and reads the response body as a
+   * list of {@link DTO} objects. Implementations may read the body directly from the connection
+   * without keeping the whole content of the response in memory.
+   *
+   * @param dtoInterface dto interface class
+   * @return response as list of dto instances
+   * @see #request()
+   */
+  default <T> List<T> requestList(@NotNull Class<T> dtoInterface)
+      throws IOException, ServerException, UnauthorizedException, ForbiddenException,
+          NotFoundException, ConflictException, BadRequestException {
+    return request().asList(dtoInterface);
+  }
+
   /**
    * Uses {@link HttpMethod#GET} as a request method.
    *
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Collections.emptyList;
+
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Exposes the connection statistics of the hosts recently requested by {@link
+ * DefaultHttpJsonRequestFactory}, e.g. the number of requests in progress and their latency.
+ */
+@Path("/http-client/statistics")
+@Singleton
+public class HttpJsonRequestStatisticsService {
+
+  private final HttpJsonRequestFactory requestFactory;
+
+  @Inject
+  public HttpJsonRequestStatisticsService(HttpJsonRequestFactory requestFactory) {
+    this.requestFactory = requestFactory;
+  }
+
+  /** Returns the statistics of each host, empty list if the factory doesn't collect them. */
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<HttpJsonHostConnections> getStatistics() {
+    if (requestFactory instanceof DefaultHttpJsonRequestFactory) {
+      return ((DefaultHttpJsonRequestFactory) requestFactory).getStatistics();
+    }
+    return emptyList();
+  }
+}
@@ -10,11 +10,14 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.stream.Collectors.toMap;
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
@@ -25,6 +28,10 @@ import org.slf4j.Logger;
  * session is not opened adds messages to re-sender to try to send them when session will be opened
  * again.
  *
+ * <p>Each endpoint has its own bounded outbound queue which is drained asynchronously, so that a
+ * slow endpoint does not delay messages transmitted to other endpoints. See {@link
+ * WebSocketEndpointQueue} for the details of how overloaded queues are handled.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
@@ -33,30 +40,72 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
   private final WebSocketSessionRegistry registry;
   private final MessagesReSender reSender;
+  private final int queueCapacity;
+  private final long slowConsumerTimeoutMs;
+
+  private final Map<String, WebSocketEndpointQueue> queues = new ConcurrentHashMap<>();
 
   @Inject
   public BasicWebSocketMessageTransmitter(
-      WebSocketSessionRegistry registry, MessagesReSender reSender) {
+      WebSocketSessionRegistry registry,
+      MessagesReSender reSender,
+      @Named("che.websocket.outbound.queue_capacity") int queueCapacity,
+      @Named("che.websocket.outbound.slow_consumer_timeout_ms") long slowConsumerTimeoutMs) {
     this.registry = registry;
     this.reSender = reSender;
+    this.queueCapacity = queueCapacity;
+    this.slowConsumerTimeoutMs = slowConsumerTimeoutMs;
+
+    registry.addRemovalListener(this::onSessionRemoved);
   }
 
   @Override
-  public synchronized void transmit(String endpointId, String message) {
+  public void transmit(String endpointId, String message) {
     final Optional<Session> sessionOptional = registry.get(endpointId);
 
     if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
       LOG.debug("Session is not registered or closed, adding message to pending");
 
+      final WebSocketEndpointQueue queue = queues.remove(endpointId);
+      if (queue != null) {
+        queue.flushToReSender();
+      }
       reSender.add(endpointId, message);
     } else {
-      LOG.debug("Session registered and open, sending message");
+      LOG.debug("Session registered and open, queueing message");
+
+      final Session session = sessionOptional.get();
+      final WebSocketEndpointQueue queue =
+          queues.compute(
+              endpointId,
+              (id, existing) ->
+                  existing != null && existing.getSession() == session
+                      ? existing
+                      : new WebSocketEndpointQueue(
+                          id, session, reSender, queueCapacity, slowConsumerTimeoutMs));
 
-      try {
-        sessionOptional.get().getBasicRemote().sendText(message);
-      } catch (IOException e) {
-        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+      if (!queue.offer(message)) {
+        queues.remove(endpointId, queue);
       }
     }
   }
+
+  /**
+   * Drops the outbound queue of the endpoint whose session is no longer registered, messages which
+   * were not sent yet are passed to the re-sender.
+   */
+  private void onSessionRemoved(String endpointId, Session session) {
+    final WebSocketEndpointQueue queue = queues.get(endpointId);
+    if (queue != null && queue.getSession() == session && queues.remove(endpointId, queue)) {
+      queue.flushToReSender();
+    }
+  }
+
+  /** Returns statistics of outbound queues of all the endpoints messages were transmitted to. */
+  public Map<String, WebSocketTransmissionStatistics> getStatistics() {
+    return queues
+        .entrySet()
+        .stream()
+        .collect(toMap(Map.Entry::getKey, entry -> entry.getValue().getStatistics()));
+  }
 }
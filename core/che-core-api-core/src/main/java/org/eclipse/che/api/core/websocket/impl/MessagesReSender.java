@@ -10,76 +10,235 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.websocket.Session;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.slf4j.Logger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period when WEB
  * SOCKET session was closed. If session is closed during re-send process it stops and left messages
  * will be re-sent as WEB SOCKET session becomes open again.
  *
+ * <p>Pending messages are kept in a ring buffer per endpoint, when the buffer is full the oldest
+ * message is dropped. The overall size of pending messages is limited as well, messages that don't
+ * fit are dropped. Messages that are pending longer than configured time to live are expired and
+ * never re-sent, endpoints that never reconnect are evicted as soon as all their messages expire.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
-  private static final int MAX_MESSAGES = 100;
+  private static final Logger LOG = getLogger(MessagesReSender.class);
 
   private final WebSocketSessionRegistry registry;
+  private final Provider<WebSocketMessageTransmitter> transmitterProvider;
+  private final int maxMessages;
+  private final long maxBytes;
+  private final long messageTtlNanos;
+
+  private final Map<String, PendingMessages> messagesMap = new ConcurrentHashMap<>();
+  private final AtomicLong pendingBytes = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong replayed = new AtomicLong();
+  private final AtomicLong expired = new AtomicLong();
 
-  private final Map<String, List<String>> messagesMap = new HashMap<>();
+  private volatile long lastSweep = System.nanoTime();
 
   @Inject
-  public MessagesReSender(WebSocketSessionRegistry registry) {
+  public MessagesReSender(
+      WebSocketSessionRegistry registry,
+      Provider<WebSocketMessageTransmitter> transmitterProvider,
+      @Named("che.websocket.resend.max_messages_per_endpoint") int maxMessagesPerEndpoint,
+      @Named("che.websocket.resend.max_bytes") long maxBytes,
+      @Named("che.websocket.resend.message_ttl_ms") long messageTtlMs) {
     this.registry = registry;
+    this.transmitterProvider = transmitterProvider;
+    this.maxMessages = maxMessagesPerEndpoint;
+    this.maxBytes = maxBytes;
+    this.messageTtlNanos = MILLISECONDS.toNanos(messageTtlMs);
   }
 
   public void add(String endpointId, String message) {
-    List<String> messages = messagesMap.get(endpointId);
+    final long now = System.nanoTime();
+    sweepIfNeeded(now);
 
-    if (messages == null) {
-      messages = new LinkedList<>();
-      messagesMap.put(endpointId, messages);
-    }
+    final long size = sizeOf(message);
+    if (pendingBytes.addAndGet(size) > maxBytes) {
+      pendingBytes.addAndGet(-size);
+      dropped.incrementAndGet();
 
-    if (messages.size() <= MAX_MESSAGES) {
-      messages.add(message);
+      LOG.debug("Pending messages limit is reached, dropping message for endpoint {}", endpointId);
+      return;
     }
+
+    // buffer may be evicted concurrently, in this case the message is added to a new one
+    PendingMessages pending;
+    do {
+      pending = messagesMap.computeIfAbsent(endpointId, id -> new PendingMessages(maxMessages));
+    } while (!pending.add(message, now));
   }
 
   public void resend(String endpointId) {
-    final List<String> messages = messagesMap.remove(endpointId);
+    final PendingMessages pending = messagesMap.get(endpointId);
 
-    if (messages == null || messages.isEmpty()) {
+    if (pending == null) {
       return;
     }
 
     final Optional<Session> sessionOptional = registry.get(endpointId);
 
-    if (!sessionOptional.isPresent()) {
+    if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
       return;
     }
 
-    final Session session = sessionOptional.get();
+    messagesMap.remove(endpointId, pending);
+
+    // replayed messages go through the outbound queue of the endpoint, so they are sent
+    // in a batch via the async remote and ordered with messages transmitted meanwhile
+    final List<String> messages = pending.drain(System.nanoTime());
+    final WebSocketMessageTransmitter transmitter = transmitterProvider.get();
+    for (String message : messages) {
+      transmitter.transmit(endpointId, message);
+    }
+    replayed.addAndGet(messages.size());
+  }
+
+  /** Returns the number of messages dropped because of per endpoint or overall limits. */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /** Returns the number of messages re-sent to reconnected endpoints. */
+  public long getReplayedCount() {
+    return replayed.get();
+  }
 
-    final List<String> backing = new ArrayList<>(messages);
-    messages.clear();
+  /** Returns the number of messages that were pending longer than their time to live. */
+  public long getExpiredCount() {
+    return expired.get();
+  }
 
-    for (String message : backing) {
+  /** Returns the approximate size in bytes of all the pending messages. */
+  public long getPendingBytes() {
+    return pendingBytes.get();
+  }
 
-      if (session.isOpen()) {
-        session.getAsyncRemote().sendText(message);
-      } else {
-        messages.add(message);
+  /** Removes expired messages and endpoints that have no pending messages left. */
+  private void sweepIfNeeded(long now) {
+    final long last = lastSweep;
+    if (now - last < messageTtlNanos) {
+      return;
+    }
+    lastSweep = now;
+
+    for (Map.Entry<String, PendingMessages> entry : messagesMap.entrySet()) {
+      if (entry.getValue().evictIfExpired(now)) {
+        messagesMap.remove(entry.getKey(), entry.getValue());
       }
     }
+  }
+
+  private static long sizeOf(String message) {
+    return (long) message.length() * Character.BYTES;
+  }
+
+  /** Fixed size ring buffer of pending messages of a single endpoint. */
+  private class PendingMessages {
+    private final String[] messages;
+    private final long[] timestamps;
 
-    messagesMap.put(endpointId, messages);
+    private int head;
+    private int size;
+    private boolean evicted;
+
+    PendingMessages(int capacity) {
+      this.messages = new String[capacity];
+      this.timestamps = new long[capacity];
+    }
+
+    /**
+     * Adds the message to the buffer, dropping the oldest one if the buffer is full.
+     *
+     * @return false if the buffer is already evicted and the message is not added
+     */
+    synchronized boolean add(String message, long now) {
+      if (evicted) {
+        return false;
+      }
+      expire(now);
+
+      if (size == messages.length) {
+        release(poll());
+        dropped.incrementAndGet();
+      }
+
+      final int tail = (head + size) % messages.length;
+      messages[tail] = message;
+      timestamps[tail] = now;
+      size++;
+      return true;
+    }
+
+    /**
+     * Evicts the buffer, removes and returns all not expired messages in the order they were
+     * added.
+     */
+    synchronized List<String> drain(long now) {
+      evicted = true;
+      expire(now);
+
+      final List<String> result = new ArrayList<>(size);
+      while (size > 0) {
+        final String message = poll();
+        release(message);
+        result.add(message);
+      }
+      return result;
+    }
+
+    /**
+     * Removes expired messages and evicts the buffer if there are no messages left.
+     *
+     * @return true if the buffer is evicted
+     */
+    synchronized boolean evictIfExpired(long now) {
+      expire(now);
+      if (size == 0) {
+        evicted = true;
+      }
+      return evicted;
+    }
+
+    private void expire(long now) {
+      while (size > 0 && now - timestamps[head] > messageTtlNanos) {
+        release(poll());
+        expired.incrementAndGet();
+      }
+    }
+
+    private String poll() {
+      final String message = messages[head];
+      messages[head] = null;
+      head = (head + 1) % messages.length;
+      size--;
+      return message;
+    }
+
+    private void release(String message) {
+      pendingBytes.addAndGet(-sizeOf(message));
+    }
   }
 }
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.websocket.CloseReason;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import org.slf4j.Logger;
+
+/**
+ * Outbound message queue of a single WEB SOCKET endpoint. Messages are sent one after another
+ * through the asynchronous remote of the session, so a slow endpoint never blocks the thread that
+ * transmits the message nor other endpoints.
+ *
+ * <p>When the queue is half full JSON-RPC notifications are considered low priority and dropped,
+ * when the queue is full or a single message is being sent longer than allowed, the endpoint is
+ * treated as a slow consumer and its session is closed. Messages that can't be delivered are handed
+ * over to {@link MessagesReSender} to be re-sent when the endpoint reconnects.
+ */
+class WebSocketEndpointQueue {
+  private static final Logger LOG = getLogger(WebSocketEndpointQueue.class);
+
+  private final String endpointId;
+  private final Session session;
+  private final MessagesReSender reSender;
+  private final int capacity;
+  private final long slowConsumerTimeoutNanos;
+
+  private final Queue<String> messages = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicBoolean sending = new AtomicBoolean();
+
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong sendTimeNanos = new AtomicLong();
+  private final AtomicLong maxSendTimeNanos = new AtomicLong();
+
+  private volatile long inFlightSince;
+
+  WebSocketEndpointQueue(
+      String endpointId,
+      Session session,
+      MessagesReSender reSender,
+      int capacity,
+      long slowConsumerTimeoutMs) {
+    this.endpointId = endpointId;
+    this.session = session;
+    this.reSender = reSender;
+    this.capacity = capacity;
+    this.slowConsumerTimeoutNanos = MILLISECONDS.toNanos(slowConsumerTimeoutMs);
+  }
+
+  /** Returns the session this queue sends messages to. */
+  Session getSession() {
+    return session;
+  }
+
+  /**
+   * Adds the message to the queue and starts sending if nothing is being sent at the moment.
+   *
+   * @return false if the message was not accepted because the endpoint is a slow consumer, in this
+   *     case the message is passed to the re-sender
+   */
+  boolean offer(String message) {
+    if (isSlowConsumer()) {
+      LOG.warn("Endpoint '{}' is a slow consumer, closing its session", endpointId);
+
+      reSender.add(endpointId, message);
+      close();
+      return false;
+    }
+
+    if (size.get() >= capacity / 2 && isNotification(message)) {
+      LOG.debug("Outbound queue of endpoint '{}' is overloaded, dropping notification", endpointId);
+
+      dropped.incrementAndGet();
+      return true;
+    }
+
+    messages.add(message);
+    size.incrementAndGet();
+    drain();
+    return true;
+  }
+
+  /** Returns a snapshot of this queue's statistics. */
+  WebSocketTransmissionStatistics getStatistics() {
+    long sentCount = sent.get();
+    return new WebSocketTransmissionStatistics(
+        endpointId,
+        size.get(),
+        sentCount,
+        dropped.get(),
+        failed.get(),
+        sentCount == 0 ? 0 : NANOSECONDS.toMillis(sendTimeNanos.get() / sentCount),
+        NANOSECONDS.toMillis(maxSendTimeNanos.get()));
+  }
+
+  /** Moves all not yet sent messages to the re-sender. */
+  void flushToReSender() {
+    for (String message = messages.poll(); message != null; message = messages.poll()) {
+      size.decrementAndGet();
+      reSender.add(endpointId, message);
+    }
+  }
+
+  private boolean isSlowConsumer() {
+    if (size.get() >= capacity) {
+      return true;
+    }
+    long since = inFlightSince;
+    return since != 0 && System.nanoTime() - since > slowConsumerTimeoutNanos;
+  }
+
+  private void drain() {
+    while (!messages.isEmpty() && sending.compareAndSet(false, true)) {
+      String message = messages.poll();
+      if (message == null) {
+        sending.set(false);
+        continue;
+      }
+      size.decrementAndGet();
+
+      if (!session.isOpen()) {
+        reSender.add(endpointId, message);
+        flushToReSender();
+        sending.set(false);
+        return;
+      }
+
+      // the async remote may complete the send on the calling thread, in that case
+      // this loop picks up the next message instead of recursing from the handler
+      AtomicBoolean returned = new AtomicBoolean();
+      long start = System.nanoTime();
+      inFlightSince = start;
+      try {
+        session
+            .getAsyncRemote()
+            .sendText(
+                message,
+                result -> {
+                  onSent(message, result, start);
+                  sending.set(false);
+                  if (returned.get()) {
+                    drain();
+                  }
+                });
+      } catch (RuntimeException e) {
+        LOG.error("Error while trying to send a message to an async websocket remote endpoint", e);
+        inFlightSince = 0;
+        failed.incrementAndGet();
+        reSender.add(endpointId, message);
+        sending.set(false);
+      }
+      returned.set(true);
+    }
+  }
+
+  private void onSent(String message, SendResult result, long start) {
+    long elapsed = System.nanoTime() - start;
+    inFlightSince = 0;
+
+    if (result.isOK()) {
+      sent.incrementAndGet();
+      sendTimeNanos.addAndGet(elapsed);
+      maxSendTimeNanos.accumulateAndGet(elapsed, Math::max);
+    } else {
+      LOG.debug("Failed to send a message to endpoint '{}'", endpointId, result.getException());
+
+      failed.incrementAndGet();
+      reSender.add(endpointId, message);
+      if (!session.isOpen()) {
+        flushToReSender();
+      }
+    }
+  }
+
+  private void close() {
+    try {
+      session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Slow consumer"));
+    } catch (IOException e) {
+      LOG.error("Error while closing websocket session of a slow consumer", e);
+    }
+    flushToReSender();
+  }
+
+  /**
+   * Tells whether the message is a JSON-RPC request without identifier. Only the leading members
+   * of the message are read, the marshalled requests have the identifier before the parameters, so
+   * the reading stops at the parameters and the message is never parsed as a whole.
+   */
+  private static boolean isNotification(String message) {
+    try (JsonReader reader = new JsonReader(new StringReader(message))) {
+      if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+        return false;
+      }
+      reader.beginObject();
+      boolean hasMethod = false;
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "method":
+            hasMethod = true;
+            reader.skipValue();
+            break;
+          case "params":
+            return hasMethod;
+          case "id":
+          case "result":
+          case "error":
+            return false;
+          default:
+            reader.skipValue();
+        }
+      }
+      return hasMethod;
+    } catch (IOException | IllegalStateException e) {
+      return false;
+    }
+  }
+}
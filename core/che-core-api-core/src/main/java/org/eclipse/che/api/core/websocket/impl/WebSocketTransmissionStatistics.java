@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import java.util.Objects;
+
+/** Snapshot of the outbound message queue statistics of a single WEB SOCKET endpoint. */
+public class WebSocketTransmissionStatistics {
+  private final String endpointId;
+  private final int queueSize;
+  private final long sent;
+  private final long dropped;
+  private final long failed;
+  private final long averageSendTimeMs;
+  private final long maxSendTimeMs;
+
+  public WebSocketTransmissionStatistics(
+      String endpointId,
+      int queueSize,
+      long sent,
+      long dropped,
+      long failed,
+      long averageSendTimeMs,
+      long maxSendTimeMs) {
+    this.endpointId = endpointId;
+    this.queueSize = queueSize;
+    this.sent = sent;
+    this.dropped = dropped;
+    this.failed = failed;
+    this.averageSendTimeMs = averageSendTimeMs;
+    this.maxSendTimeMs = maxSendTimeMs;
+  }
+
+  /** Returns the identifier of the endpoint. */
+  public String getEndpointId() {
+    return endpointId;
+  }
+
+  /** Returns the number of messages waiting to be sent. */
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  /** Returns the number of successfully sent messages. */
+  public long getSent() {
+    return sent;
+  }
+
+  /** Returns the number of low priority messages dropped because the queue was overloaded. */
+  public long getDropped() {
+    return dropped;
+  }
+
+  /** Returns the number of messages which sending failed and were passed to the re-sender. */
+  public long getFailed() {
+    return failed;
+  }
+
+  /** Returns the average time spent on sending a single message. */
+  public long getAverageSendTimeMs() {
+    return averageSendTimeMs;
+  }
+
+  /** Returns the maximum time spent on sending a single message. */
+  public long getMaxSendTimeMs() {
+    return maxSendTimeMs;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof WebSocketTransmissionStatistics)) {
+      return false;
+    }
+    final WebSocketTransmissionStatistics that = (WebSocketTransmissionStatistics) obj;
+    return queueSize == that.queueSize
+        && sent == that.sent
+        && dropped == that.dropped
+        && failed == that.failed
+        && averageSendTimeMs == that.averageSendTimeMs
+        && maxSendTimeMs == that.maxSendTimeMs
+        && Objects.equals(endpointId, that.endpointId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        endpointId, queueSize, sent, dropped, failed, averageSendTimeMs, maxSendTimeMs);
+  }
+
+  @Override
+  public String toString() {
+    return "WebSocketTransmissionStatistics{"
+        + "endpointId='"
+        + endpointId
+        + '\''
+        + ", queueSize="
+        + queueSize
+        + ", sent="
+        + sent
+        + ", dropped="
+        + dropped
+        + ", failed="
+        + failed
+        + ", averageSendTimeMs="
+        + averageSendTimeMs
+        + ", maxSendTimeMs="
+        + maxSendTimeMs
+        + '}';
+  }
+}
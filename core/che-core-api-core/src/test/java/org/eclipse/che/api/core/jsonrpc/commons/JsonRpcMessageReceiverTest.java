@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.api.core.jsonrpc.commons;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
@@ -89,6 +90,20 @@ public class JsonRpcMessageReceiverTest {
 
     jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
-    verify(requestProcessor).process(any());
+    verify(requestProcessor).process(eq(ENDPOINT_ID), any(JsonRpcRequest.class), any());
+  }
+
+  @Test
+  public void shouldTransmitErrorAndProcessRestOfBatchWhenRequestCanNotBeUnmarshalled()
+      throws Exception {
+    when(jsonRpcQualifier.isJsonRpcRequest(any())).thenReturn(true);
+    when(jsonRpcUnmarshaller.unmarshalArray(any())).thenReturn(asList("malformed", MESSAGE));
+    JsonRpcException error = new JsonRpcException(-32600, "Invalid request");
+    when(jsonRpcUnmarshaller.unmarshalRequest("malformed")).thenThrow(error);
+
+    jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
+
+    verify(errorTransmitter).transmit(ENDPOINT_ID, error);
+    verify(jsonRpcUnmarshaller).unmarshalRequest(MESSAGE);
   }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.commons;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.function.Consumer;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ResponseDispatcher} */
+@Listeners(MockitoTestNGListener.class)
+public class ResponseDispatcherTest {
+  static final String ENDPOINT_ID = "endpoint-id";
+  static final String REQUEST_ID = "request-id";
+  static final String RESULT = "result";
+  static final int TIMEOUT = 1000;
+
+  @Mock JsonRpcComposer composer;
+  @Mock TimeoutActionRunner timeoutActionRunner;
+  @Mock TimeoutActionRunner.Timeout timeout;
+  @Mock Consumer<String> successConsumer;
+  @Mock Runnable timeoutRunnable;
+
+  ResponseDispatcher responseDispatcher;
+  JsonRpcResult result;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    responseDispatcher = new ResponseDispatcher(composer, timeoutActionRunner);
+    result = new JsonRpcResult(RESULT);
+
+    when(timeoutActionRunner.schedule(anyInt(), any(Runnable.class))).thenReturn(timeout);
+    when(composer.composeOne(result, String.class)).thenReturn(RESULT);
+  }
+
+  @Test
+  public void shouldCancelTimeoutWhenResponseIsDispatched() throws Exception {
+    responseDispatcher
+        .registerPromiseForSingleObject(ENDPOINT_ID, REQUEST_ID, String.class, TIMEOUT)
+        .onSuccess(successConsumer)
+        .onTimeout(timeoutRunnable);
+
+    responseDispatcher.dispatch(ENDPOINT_ID, new JsonRpcResponse(REQUEST_ID, result, null));
+
+    verify(timeout).cancel();
+    verify(successConsumer).accept(RESULT);
+  }
+
+  @Test
+  public void shouldRunTimeoutActionWhenResponseIsNotDispatched() throws Exception {
+    responseDispatcher
+        .registerPromiseForSingleObject(ENDPOINT_ID, REQUEST_ID, String.class, TIMEOUT)
+        .onSuccess(successConsumer)
+        .onTimeout(timeoutRunnable);
+
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(timeoutActionRunner).schedule(eq(TIMEOUT), captor.capture());
+    captor.getValue().run();
+    responseDispatcher.dispatch(ENDPOINT_ID, new JsonRpcResponse(REQUEST_ID, result, null));
+
+    verify(timeoutRunnable).run();
+    verify(successConsumer, never()).accept(RESULT);
+  }
+
+  @Test
+  public void shouldNotScheduleTimeoutWhenTimeoutIsNotSet() throws Exception {
+    responseDispatcher.registerPromiseForListOfObjects(ENDPOINT_ID, REQUEST_ID, String.class, 0);
+
+    verify(timeoutActionRunner, never()).schedule(anyInt(), any(Runnable.class));
+  }
+}
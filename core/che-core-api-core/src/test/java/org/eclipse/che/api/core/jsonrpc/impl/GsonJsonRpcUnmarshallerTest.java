@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.gson.JsonParser;
+import java.util.List;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link GsonJsonRpcUnmarshaller} */
+public class GsonJsonRpcUnmarshallerTest {
+  GsonJsonRpcUnmarshaller unmarshaller;
+  GsonJsonRpcComposer composer;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    unmarshaller = new GsonJsonRpcUnmarshaller(new JsonParser());
+    composer = new GsonJsonRpcComposer();
+  }
+
+  @Test
+  public void shouldUnmarshalRequestWithPrimitiveParams() throws Exception {
+    JsonRpcRequest request =
+        unmarshaller.unmarshalRequest(
+            "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"method\",\"params\":[\"a\",2,true,null]}");
+
+    assertEquals(request.getId(), "1");
+    assertEquals(request.getMethod(), "method");
+    assertFalse(request.getParams().isSingle());
+    assertEquals(request.getParams().getMany(), asList("a", 2.0, true, null));
+  }
+
+  @Test
+  public void shouldUnmarshalNotification() throws Exception {
+    JsonRpcRequest request =
+        unmarshaller.unmarshalRequest("{\"method\":\"method\",\"params\":\"value\"}");
+
+    assertFalse(request.hasId());
+    assertEquals(request.getParams().getOne(), "value");
+  }
+
+  @Test
+  public void shouldComposeObjectParamsIntoDto() throws Exception {
+    JsonRpcParams params =
+        unmarshaller
+            .unmarshalRequest(
+                "{\"params\":{\"message\":\"text\",\"nested\":{\"method\":\"other\"}},"
+                    + "\"method\":\"method\"}")
+            .getParams();
+
+    ServiceError dto = composer.composeOne(params, ServiceError.class);
+
+    assertEquals(dto.getMessage(), "text");
+  }
+
+  @Test
+  public void shouldComposeArrayOfObjectParamsIntoDtos() throws Exception {
+    JsonRpcParams params =
+        unmarshaller
+            .unmarshalRequest(
+                "{\"method\":\"method\","
+                    + "\"params\":[{\"message\":\"first\"},{\"message\":\"second\"}]}")
+            .getParams();
+
+    List<ServiceError> dtos = composer.composeMany(params, ServiceError.class);
+
+    assertEquals(dtos.size(), 2);
+    assertEquals(dtos.get(0).getMessage(), "first");
+    assertEquals(dtos.get(1).getMessage(), "second");
+    assertEquals(composer.composeOne(params, ServiceError.class).getMessage(), "first");
+  }
+
+  @Test
+  public void shouldUnmarshalResponseWithResult() throws Exception {
+    JsonRpcResponse response =
+        unmarshaller.unmarshalResponse(
+            "{\"jsonrpc\":\"2.0\",\"result\":{\"message\":\"text\"},\"id\":\"id\"}");
+
+    assertEquals(response.getId(), "id");
+    assertFalse(response.hasError());
+    assertEquals(
+        composer.composeOne(response.getResult(), ServiceError.class).getMessage(), "text");
+  }
+
+  @Test
+  public void shouldUnmarshalResponseWithError() throws Exception {
+    JsonRpcResponse response =
+        unmarshaller.unmarshalResponse(
+            "{\"id\":\"id\",\"error\":{\"code\":-32601,\"message\":\"error\",\"data\":{}}}");
+
+    assertTrue(response.hasError());
+    assertNull(response.getResult());
+    assertEquals(response.getError().getCode(), -32601);
+    assertEquals(response.getError().getMessage(), "error");
+  }
+
+  @Test
+  public void shouldUnmarshalArrayOfMessages() throws Exception {
+    List<String> messages = unmarshaller.unmarshalArray(" [{\"method\":\"a\"},{\"method\":\"b\"}]");
+
+    assertEquals(messages, asList("{\"method\":\"a\"}", "{\"method\":\"b\"}"));
+  }
+}
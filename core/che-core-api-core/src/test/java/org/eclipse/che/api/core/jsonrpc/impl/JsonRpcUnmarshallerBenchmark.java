@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.DtoProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the tree based unmarshalling of JSON RPC messages (message is parsed into a JSON tree,
+ * the params or the result are printed back to a string which is parsed into a DTO) with the
+ * streaming one of {@link GsonJsonRpcUnmarshaller} and {@link GsonJsonRpcComposer}.
+ *
+ * <p>Payloads mimic a language server completion response with 200 items and a file watcher
+ * notification. Not a part of the regular test run, execute {@link #main(String[])} to get the
+ * results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class JsonRpcUnmarshallerBenchmark {
+  private static final int COMPLETION_ITEMS = 200;
+
+  private final JsonParser jsonParser = new JsonParser();
+  private final GsonJsonRpcUnmarshaller unmarshaller = new GsonJsonRpcUnmarshaller(jsonParser);
+  private final GsonJsonRpcComposer composer = new GsonJsonRpcComposer();
+
+  private String completionResponse;
+  private String fileWatcherNotification;
+
+  @Setup
+  public void setUp() {
+    register(CompletionList.class, CompletionListImpl.class);
+    register(CompletionItem.class, CompletionItemImpl.class);
+    register(TextEdit.class, TextEditImpl.class);
+    register(Range.class, RangeImpl.class);
+    register(Position.class, PositionImpl.class);
+    register(FileWatcherEvent.class, FileWatcherEventImpl.class);
+
+    StringBuilder items = new StringBuilder();
+    for (int i = 0; i < COMPLETION_ITEMS; i++) {
+      if (i > 0) {
+        items.append(',');
+      }
+      items
+          .append("{\"label\":\"getValue")
+          .append(i)
+          .append("() : String\",\"kind\":2,\"detail\":\"org.eclipse.che.Sample")
+          .append(i)
+          .append("\",\"documentation\":\"Returns the value of the sample.\",")
+          .append("\"sortText\":\"999998\",\"filterText\":\"getValue")
+          .append(i)
+          .append("\",\"insertText\":\"getValue")
+          .append(i)
+          .append("()\",\"textEdit\":{\"range\":{\"start\":{\"line\":41,\"character\":12},")
+          .append("\"end\":{\"line\":41,\"character\":15}},\"newText\":\"getValue")
+          .append(i)
+          .append("()\"}}");
+    }
+    completionResponse =
+        "{\"jsonrpc\":\"2.0\",\"id\":\"42\",\"result\":{\"isIncomplete\":false,\"items\":["
+            + items
+            + "]}}";
+    fileWatcherNotification =
+        "{\"jsonrpc\":\"2.0\",\"method\":\"track:file-state-changed\",\"params\":"
+            + "{\"path\":\"/console-java-simple/src/main/java/org/eclipse/che/examples/"
+            + "HelloWorld.java\",\"type\":\"MODIFIED\"}}";
+  }
+
+  @TearDown
+  public void tearDown() {
+    DtoFactory dtoFactory = DtoFactory.getInstance();
+    dtoFactory.unregisterProvider(CompletionList.class);
+    dtoFactory.unregisterProvider(CompletionItem.class);
+    dtoFactory.unregisterProvider(TextEdit.class);
+    dtoFactory.unregisterProvider(Range.class);
+    dtoFactory.unregisterProvider(Position.class);
+    dtoFactory.unregisterProvider(FileWatcherEvent.class);
+  }
+
+  @Benchmark
+  public CompletionList treeCompletion() {
+    JsonObject response = jsonParser.parse(completionResponse).getAsJsonObject();
+    JsonElement result = response.get("result");
+    return DtoFactory.getInstance().createDtoFromJson(result.toString(), CompletionList.class);
+  }
+
+  @Benchmark
+  public CompletionList streamingCompletion() {
+    return composer.composeOne(
+        unmarshaller.unmarshalResponse(completionResponse).getResult(), CompletionList.class);
+  }
+
+  @Benchmark
+  public FileWatcherEvent treeFileWatcher() {
+    JsonObject request = jsonParser.parse(fileWatcherNotification).getAsJsonObject();
+    JsonElement params = request.get("params");
+    return DtoFactory.getInstance().createDtoFromJson(params.toString(), FileWatcherEvent.class);
+  }
+
+  @Benchmark
+  public FileWatcherEvent streamingFileWatcher() {
+    return composer.composeOne(
+        unmarshaller.unmarshalRequest(fileWatcherNotification).getParams(),
+        FileWatcherEvent.class);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(JsonRpcUnmarshallerBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+
+  private static <T> void register(Class<T> dtoInterface, Class<? extends T> implClass) {
+    DtoFactory.getInstance()
+        .registerProvider(
+            dtoInterface,
+            new DtoProvider<T>() {
+              @Override
+              public Class<? extends T> getImplClass() {
+                return implClass;
+              }
+
+              @Override
+              public T fromJson(String json) {
+                return DtoFactory.getInstance().getGson().fromJson(json, implClass);
+              }
+
+              @Override
+              public T fromJson(JsonElement json) {
+                return DtoFactory.getInstance().getGson().fromJson(json, implClass);
+              }
+
+              @Override
+              public T newInstance() {
+                throw new UnsupportedOperationException();
+              }
+
+              @Override
+              public T clone(T origin) {
+                throw new UnsupportedOperationException();
+              }
+            });
+  }
+
+  public interface CompletionList {
+    List<CompletionItem> getItems();
+  }
+
+  public interface CompletionItem {
+    String getLabel();
+  }
+
+  public interface TextEdit {
+    String getNewText();
+  }
+
+  public interface Range {
+    Position getStart();
+  }
+
+  public interface Position {
+    int getLine();
+  }
+
+  public interface FileWatcherEvent {
+    String getPath();
+  }
+
+  static class CompletionListImpl implements CompletionList {
+    boolean isIncomplete;
+    List<CompletionItem> items;
+
+    @Override
+    public List<CompletionItem> getItems() {
+      return items;
+    }
+  }
+
+  static class CompletionItemImpl implements CompletionItem {
+    String label;
+    int kind;
+    String detail;
+    String documentation;
+    String sortText;
+    String filterText;
+    String insertText;
+    TextEdit textEdit;
+
+    @Override
+    public String getLabel() {
+      return label;
+    }
+  }
+
+  static class TextEditImpl implements TextEdit {
+    Range range;
+    String newText;
+
+    @Override
+    public String getNewText() {
+      return newText;
+    }
+  }
+
+  static class RangeImpl implements Range {
+    Position start;
+    Position end;
+
+    @Override
+    public Position getStart() {
+      return start;
+    }
+  }
+
+  static class PositionImpl implements Position {
+    int line;
+    int character;
+
+    @Override
+    public int getLine() {
+      return line;
+    }
+  }
+
+  static class FileWatcherEventImpl implements FileWatcherEvent {
+    String path;
+    String type;
+
+    @Override
+    public String getPath() {
+      return path;
+    }
+  }
+}
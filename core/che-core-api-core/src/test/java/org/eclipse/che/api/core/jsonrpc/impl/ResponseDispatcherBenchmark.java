@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
+import org.eclipse.che.api.core.jsonrpc.commons.ResponseDispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the register/dispatch/timeout cycle of {@link ResponseDispatcher} backed by {@link
+ * ServerSideTimeoutActionRunner} when promises are registered from several threads.
+ *
+ * <p>Not a part of the regular test run, execute {@link #main(String[])} to get the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@Threads(8)
+public class ResponseDispatcherBenchmark {
+  private static final String ENDPOINT_ID = "endpoint";
+  private static final JsonRpcResult RESULT = new JsonRpcResult("result");
+
+  private final AtomicLong ids = new AtomicLong();
+
+  private ServerSideTimeoutActionRunner timeoutActionRunner;
+  private ResponseDispatcher dispatcher;
+
+  @Setup
+  public void setUp() {
+    timeoutActionRunner = new ServerSideTimeoutActionRunner();
+    dispatcher = new ResponseDispatcher(new GsonJsonRpcComposer(), timeoutActionRunner);
+  }
+
+  @TearDown
+  public void tearDown() {
+    timeoutActionRunner.shutdown();
+  }
+
+  /** Response arrives in time, so the timeout action has to be cancelled. */
+  @Benchmark
+  public void registerAndDispatch(Blackhole blackhole) {
+    String requestId = Long.toString(ids.incrementAndGet());
+
+    dispatcher
+        .registerPromiseForSingleObject(ENDPOINT_ID, requestId, String.class, 10_000)
+        .onSuccess(blackhole::consume);
+    dispatcher.dispatch(ENDPOINT_ID, new JsonRpcResponse(requestId, RESULT, null));
+  }
+
+  /** Response never arrives, so the timeout action is executed. */
+  @Benchmark
+  public void registerAndTimeout(Blackhole blackhole) {
+    String requestId = Long.toString(ids.incrementAndGet());
+
+    dispatcher
+        .registerPromiseForSingleObject(ENDPOINT_ID, requestId, String.class, 1)
+        .onTimeout(() -> blackhole.consume(requestId));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(ResponseDispatcherBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
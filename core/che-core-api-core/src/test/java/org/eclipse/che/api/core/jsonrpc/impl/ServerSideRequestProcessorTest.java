@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcErrorTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ServerSideRequestProcessor} */
+@Listeners(MockitoTestNGListener.class)
+public class ServerSideRequestProcessorTest {
+  static final String ENDPOINT_ID = "endpoint-id";
+  static final String METHOD = "method";
+
+  @Mock JsonRpcErrorTransmitter errorTransmitter;
+
+  ServerSideRequestProcessor processor;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    processor = new ServerSideRequestProcessor(errorTransmitter, 4, 1);
+  }
+
+  @Test
+  public void shouldProcessNotificationsOfEndpointInOrder() throws Exception {
+    int count = 100;
+    List<Integer> processed = new CopyOnWriteArrayList<>();
+    CountDownLatch latch = new CountDownLatch(count);
+    processor = new ServerSideRequestProcessor(errorTransmitter, 4, count);
+
+    for (int i = 0; i < count; i++) {
+      int number = i;
+      processor.process(
+          ENDPOINT_ID,
+          new JsonRpcRequest(null, METHOD, null),
+          () -> {
+            processed.add(number);
+            latch.countDown();
+          });
+    }
+
+    assertTrue(latch.await(10, SECONDS));
+    for (int i = 0; i < count; i++) {
+      assertEquals(processed.get(i).intValue(), i);
+    }
+  }
+
+  @Test
+  public void shouldTransmitErrorWhenRequestIsRejected() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Runnable blocking =
+        () -> {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+
+    // 4 threads busy and 1 request in the queue
+    for (int i = 0; i < 5; i++) {
+      JsonRpcRequest request = new JsonRpcRequest(Integer.toString(i), METHOD, null);
+      processor.process(ENDPOINT_ID, request, blocking);
+    }
+    processor.process(ENDPOINT_ID, new JsonRpcRequest("rejected", METHOD, null), blocking);
+    release.countDown();
+
+    verify(errorTransmitter).transmit(eq(ENDPOINT_ID), any(JsonRpcException.class));
+    assertEquals(processor.getStatistics().get(METHOD).getRejected(), 1);
+  }
+
+  @Test
+  public void shouldWaitInsteadOfDroppingNotificationWhenQueueIsFull() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(2);
+    List<String> processed = new CopyOnWriteArrayList<>();
+    processor.process(
+        ENDPOINT_ID,
+        new JsonRpcRequest(null, METHOD, null),
+        () -> {
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          processed.add("first");
+          done.countDown();
+        });
+    assertTrue(started.await(10, SECONDS));
+
+    CompletableFuture<Void> second =
+        CompletableFuture.runAsync(
+            () ->
+                processor.process(
+                    ENDPOINT_ID,
+                    new JsonRpcRequest(null, METHOD, null),
+                    () -> {
+                      processed.add("second");
+                      done.countDown();
+                    }));
+    Thread.sleep(100);
+    assertFalse(second.isDone());
+    release.countDown();
+    second.get(10, SECONDS);
+
+    assertTrue(done.await(10, SECONDS));
+    assertEquals(processed, asList("first", "second"));
+    assertEquals(processor.getStatistics().get(METHOD).getRejected(), 0);
+  }
+
+  @Test
+  public void shouldNotWaitForFullQueueOfAnotherEndpoint() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch processed = new CountDownLatch(1);
+    processor.process(
+        ENDPOINT_ID,
+        new JsonRpcRequest(null, METHOD, null),
+        () -> {
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    assertTrue(started.await(10, SECONDS));
+
+    try {
+      processor.process(
+          "another-endpoint-id", new JsonRpcRequest(null, METHOD, null), processed::countDown);
+
+      assertTrue(processed.await(10, SECONDS));
+    } finally {
+      release.countDown();
+    }
+  }
+}
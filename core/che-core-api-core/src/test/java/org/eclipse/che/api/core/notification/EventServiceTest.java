@@ -10,9 +10,16 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -192,6 +199,106 @@ public class EventServiceTest {
     bus.unsubscribe(sb, CustomEventImpl.class);
   }
 
+  @Test
+  public void shouldDeliverEventsToAsyncSubscriberWithoutBlockingPublisher() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch delivered = new CountDownLatch(1);
+    final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+    bus.subscribe(
+        new AsyncEventSubscriber<String>() {
+          @Override
+          public void onEvent(String event) {
+            threads.add(Thread.currentThread().getName());
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            delivered.countDown();
+          }
+        });
+
+    bus.publish("hello");
+    Assert.assertEquals(bus.getPendingAsyncEvents(), 1);
+    release.countDown();
+
+    Assert.assertTrue(delivered.await(5, SECONDS));
+    Assert.assertEquals(threads.size(), 1);
+    Assert.assertNotEquals(threads.get(0), Thread.currentThread().getName());
+  }
+
+  @Test
+  public void shouldDeliverEventsWithTheSameOrderingKeyInOrder() throws Exception {
+    final int eventsPerKey = 200;
+    final CountDownLatch delivered = new CountDownLatch(eventsPerKey * 2);
+    final Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+    final Map<String, AtomicBoolean> inProgress = new ConcurrentHashMap<>();
+    final AtomicBoolean overlapped = new AtomicBoolean();
+    bus.subscribe(
+        new AsyncEventSubscriber<KeyedEvent>() {
+          @Override
+          public Object getOrderingKey(KeyedEvent event) {
+            return event.key;
+          }
+
+          @Override
+          public void onEvent(KeyedEvent event) {
+            AtomicBoolean busy = inProgress.computeIfAbsent(event.key, k -> new AtomicBoolean());
+            if (!busy.compareAndSet(false, true)) {
+              overlapped.set(true);
+            }
+            received.computeIfAbsent(event.key, k -> new ArrayList<>()).add(event.index);
+            busy.set(false);
+            delivered.countDown();
+          }
+        });
+
+    for (int i = 0; i < eventsPerKey; i++) {
+      bus.publish(new KeyedEvent("ws-1", i));
+      bus.publish(new KeyedEvent("ws-2", i));
+    }
+
+    Assert.assertTrue(delivered.await(5, SECONDS));
+    Assert.assertFalse(overlapped.get());
+    for (List<Integer> indexes : received.values()) {
+      Assert.assertEquals(indexes.size(), eventsPerKey);
+      for (int i = 0; i < eventsPerKey; i++) {
+        Assert.assertEquals(indexes.get(i).intValue(), i);
+      }
+    }
+  }
+
+  @Test
+  public void shouldCollectStatisticsOfSubscribers() throws Exception {
+    bus.subscribe(
+        new EventSubscriber<String>() {
+          @Override
+          public void onEvent(String event) {
+            throw new IllegalStateException("failed");
+          }
+        });
+
+    bus.publish("first");
+    bus.publish("second");
+
+    Assert.assertEquals(bus.getStatistics().size(), 1);
+    EventSubscriberStatistics statistics = bus.getStatistics().iterator().next();
+    Assert.assertFalse(statistics.isAsync());
+    Assert.assertEquals(statistics.getDelivered(), 2);
+    Assert.assertEquals(statistics.getFailed(), 2);
+    Assert.assertEquals(statistics.getPending(), 0);
+  }
+
+  static class KeyedEvent {
+    final String key;
+    final int index;
+
+    KeyedEvent(String key, int index) {
+      this.key = key;
+      this.index = index;
+    }
+  }
+
   static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
     final List<String> events = new ArrayList<>();
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.stream.Collectors.toSet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests of {@link DefaultHttpJsonRequestFactory}. */
+public class DefaultHttpJsonRequestFactoryTest {
+
+  private long nanos;
+  private DefaultHttpJsonRequestFactory factory;
+
+  @BeforeMethod
+  public void setUp() {
+    nanos = 0;
+    factory =
+        new DefaultHttpJsonRequestFactory(
+            new Ticker() {
+              @Override
+              public long read() {
+                return nanos;
+              }
+            });
+  }
+
+  @Test
+  public void shouldShareConnectionsOfTheSameHost() {
+    factory.fromUrl("http://localhost:8080/api/workspace");
+    factory.fromUrl("http://localhost:8080/api/user");
+    final Link link = mock(Link.class);
+    when(link.getHref()).thenReturn("http://master:8080/api/workspace");
+    factory.fromLink(link);
+
+    assertEquals(
+        factory.getStatistics().stream().map(HttpJsonHostConnections::getHost).collect(toSet()),
+        ImmutableSet.of("localhost:8080", "master:8080"));
+  }
+
+  @Test
+  public void shouldNotLimitRequestsWithoutHost() {
+    factory.fromUrl("/api/workspace");
+
+    assertTrue(factory.getStatistics().isEmpty());
+  }
+
+  @Test
+  public void shouldLimitConnectionsToHostByConfiguredValue() throws Exception {
+    factory.setMaxConnectionsPerHost(2);
+
+    factory.fromUrl("http://localhost:8080/api/workspace");
+
+    final HttpJsonHostConnections connections = factory.getStatistics().get(0);
+    connections.acquire(0);
+    connections.acquire(0);
+    assertEquals(connections.getMaxConnections(), 2);
+    assertEquals(connections.getActive(), 2);
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void shouldFailToAcquireConnectionAboveTheLimit() throws Exception {
+    factory.setMaxConnectionsPerHost(1);
+    factory.fromUrl("http://localhost:8080/api/workspace");
+    final HttpJsonHostConnections connections = factory.getStatistics().get(0);
+    connections.acquire(0);
+
+    connections.acquire(0);
+  }
+
+  @Test
+  public void shouldFreeConnectionAndRecordLatencyOnRelease() throws Exception {
+    factory.fromUrl("http://localhost:8080/api/workspace");
+    final HttpJsonHostConnections connections = factory.getStatistics().get(0);
+    connections.acquire(0);
+
+    connections.release(MILLISECONDS.toNanos(10), false);
+
+    assertEquals(connections.getActive(), 0);
+    assertEquals(connections.getRequests(), 1);
+    assertEquals(connections.getFailed(), 1);
+    assertEquals(connections.getMaxLatencyMs(), 10);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldNotAllowNonPositiveMaxConnectionsPerHost() {
+    factory.setMaxConnectionsPerHost(0);
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void shouldThrowNullPointerExceptionWhenUrlIsNull() {
+    factory.fromUrl(null);
+  }
+
+  @Test
+  public void shouldForgetIdleHosts() {
+    factory.fromUrl("http://localhost:8080/api/workspace");
+
+    nanos += MINUTES.toNanos(DefaultHttpJsonRequestFactory.HOST_IDLE_TIMEOUT_MINUTES + 1);
+
+    assertTrue(factory.getStatistics().isEmpty());
+  }
+
+  @Test
+  public void shouldKeepIdleHostsWithRequestsInProgress() throws Exception {
+    factory.fromUrl("http://localhost:8080/api/workspace");
+    final HttpJsonHostConnections connections = factory.getStatistics().get(0);
+    connections.acquire(0);
+
+    nanos += MINUTES.toNanos(DefaultHttpJsonRequestFactory.HOST_IDLE_TIMEOUT_MINUTES + 1);
+
+    assertEquals(factory.getStatistics(), singletonList(connections));
+  }
+}
@@ -350,6 +350,50 @@ public class DefaultHttpJsonRequestTest {
     new DefaultHttpJsonRequest(getUrl(ctx) + "/token").usePostMethod().request();
   }
 
+  @Test
+  public void shouldReadListOfDtosDirectlyFromResponse(ITestContext ctx) throws Exception {
+    final DefaultHttpJsonRequest request =
+        new DefaultHttpJsonRequest(getUrl(ctx) + "/application-json");
+
+    final Link link = LinksHelper.createLink("GET", "localhost:8080/application-json", "rel");
+    final List<Link> links =
+        request.usePostMethod().setBody(singletonList(link)).requestList(Link.class);
+
+    assertEquals(links, singletonList(link));
+  }
+
+  @Test
+  public void shouldReadGzipCompressedResponse(ITestContext ctx) throws Exception {
+    final DefaultHttpJsonRequest request = new DefaultHttpJsonRequest(getUrl(ctx) + "/gzip");
+
+    assertEquals(request.useGetMethod().request().asString(), TestService.JSON_OBJECT);
+  }
+
+  @Test
+  public void shouldRecordLatencyOfRequestsToHost(ITestContext ctx) throws Exception {
+    final HttpJsonHostConnections connections = new HttpJsonHostConnections("localhost", 1);
+
+    new DefaultHttpJsonRequest(getUrl(ctx) + "/application-json", "GET", connections).request();
+    new DefaultHttpJsonRequest(getUrl(ctx) + "/application-json", "GET", connections).request();
+    try {
+      new DefaultHttpJsonRequest(getUrl(ctx) + "/404/response-code-test", "GET", connections)
+          .request();
+    } catch (NotFoundException ignored) {
+    }
+
+    assertEquals(connections.getRequests(), 3);
+    assertEquals(connections.getFailed(), 1);
+    assertEquals(connections.getActive(), 0);
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void shouldFailRequestWhenNoConnectionToHostIsFreedDuringTimeout() throws Exception {
+    final HttpJsonHostConnections connections = new HttpJsonHostConnections("localhost", 1);
+    connections.acquire(0);
+
+    new DefaultHttpJsonRequest(DEFAULT_URL, "GET", connections).setTimeout(1).request();
+  }
+
   @Filter
   public static class EnvironmentFilter implements RequestFilter {
 
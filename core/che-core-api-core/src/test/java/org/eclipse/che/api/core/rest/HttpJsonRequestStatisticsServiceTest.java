@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+/** Tests of {@link HttpJsonRequestStatisticsService}. */
+public class HttpJsonRequestStatisticsServiceTest {
+
+  @Test
+  public void shouldReturnStatisticsOfRequestedHosts() {
+    final DefaultHttpJsonRequestFactory factory = new DefaultHttpJsonRequestFactory();
+    factory.fromUrl("http://localhost:8080/api/workspace");
+
+    final HttpJsonRequestStatisticsService service = new HttpJsonRequestStatisticsService(factory);
+
+    assertEquals(
+        service.getStatistics().stream().map(HttpJsonHostConnections::getHost).collect(toList()),
+        singletonList("localhost:8080"));
+  }
+
+  @Test
+  public void shouldReturnEmptyStatisticsWhenFactoryDoesNotCollectThem() {
+    final HttpJsonRequestStatisticsService service =
+        new HttpJsonRequestStatisticsService(mock(HttpJsonRequestFactory.class));
+
+    assertTrue(service.getStatistics().isEmpty());
+  }
+}
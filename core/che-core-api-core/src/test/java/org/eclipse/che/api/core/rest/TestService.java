@@ -16,10 +16,14 @@ import static java.util.Collections.singletonMap;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URLDecoder;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
@@ -137,4 +141,15 @@ public class TestService extends Service {
   public Response noContent() {
     return Response.noContent().build();
   }
+
+  @GET
+  @Path("/gzip")
+  @Produces(APPLICATION_JSON)
+  public Response getGzipCompressedJsonObject() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(JSON_OBJECT.getBytes());
+    }
+    return Response.ok(bytes.toByteArray()).header(HttpHeaders.CONTENT_ENCODING, "gzip").build();
+  }
 }
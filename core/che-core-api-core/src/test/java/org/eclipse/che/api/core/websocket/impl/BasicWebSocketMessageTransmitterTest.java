@@ -11,17 +11,29 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import static java.util.Collections.emptySet;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import javax.websocket.CloseReason;
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -37,18 +49,32 @@ import org.testng.annotations.Test;
 public class BasicWebSocketMessageTransmitterTest {
   private static final String MESSAGE = "message";
   private static final String ENDPOINT_ID = "id";
+  private static final String NOTIFICATION = "{\"jsonrpc\":\"2.0\",\"method\":\"event\"}";
+  private static final int QUEUE_CAPACITY = 4;
 
   @Mock private WebSocketSessionRegistry registry;
   @Mock private MessagesReSender reSender;
-  @InjectMocks private BasicWebSocketMessageTransmitter transmitter;
 
   @Mock private Session session;
-  @Mock private RemoteEndpoint.Basic remote;
+  @Mock private RemoteEndpoint.Async remote;
+
+  private List<SendHandler> handlers;
+  private BasicWebSocketMessageTransmitter transmitter;
 
   @BeforeMethod
   public void setUp() throws Exception {
-    when(session.getBasicRemote()).thenReturn(remote);
+    handlers = new ArrayList<>();
+    transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, QUEUE_CAPACITY, 60_000);
+
+    when(session.getAsyncRemote()).thenReturn(remote);
     when(session.isOpen()).thenReturn(true);
+    doAnswer(
+            invocation -> {
+              handlers.add((SendHandler) invocation.getArguments()[1]);
+              return null;
+            })
+        .when(remote)
+        .sendText(anyString(), any(SendHandler.class));
 
     when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
     when(registry.getSessions()).thenReturn(emptySet());
@@ -58,8 +84,8 @@ public class BasicWebSocketMessageTransmitterTest {
   public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session).getBasicRemote();
-    verify(remote).sendText(MESSAGE);
+    verify(session).getAsyncRemote();
+    verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
     verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
   }
 
@@ -69,8 +95,109 @@ public class BasicWebSocketMessageTransmitterTest {
 
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session, never()).getBasicRemote();
-    verify(remote, never()).sendText(MESSAGE);
+    verify(session, never()).getAsyncRemote();
+    verify(remote, never()).sendText(anyString(), any(SendHandler.class));
+    verify(reSender).add(ENDPOINT_ID, MESSAGE);
+  }
+
+  @Test
+  public void shouldSendNextMessageOnlyWhenPreviousIsSent() throws IOException {
+    transmitter.transmit(ENDPOINT_ID, "first");
+    transmitter.transmit(ENDPOINT_ID, "second");
+
+    verify(remote).sendText(eq("first"), any(SendHandler.class));
+    verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+
+    handlers.get(0).onResult(new SendResult());
+
+    verify(remote).sendText(eq("second"), any(SendHandler.class));
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getSent(), 1);
+  }
+
+  @Test
+  public void shouldPassFailedMessageToReSender() throws IOException {
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+    handlers.get(0).onResult(new SendResult(new IOException("failed")));
+
     verify(reSender).add(ENDPOINT_ID, MESSAGE);
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getFailed(), 1);
+  }
+
+  @Test
+  public void shouldDropNotificationsWhenQueueIsOverloaded() throws IOException {
+    transmitter.transmit(ENDPOINT_ID, "first");
+    transmitter.transmit(ENDPOINT_ID, "second");
+    transmitter.transmit(ENDPOINT_ID, "third");
+
+    transmitter.transmit(ENDPOINT_ID, NOTIFICATION);
+
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getDropped(), 1);
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getQueueSize(), 2);
+  }
+
+  @Test
+  public void shouldNotDropRequestsWhenQueueIsOverloaded() throws IOException {
+    transmitter.transmit(ENDPOINT_ID, "first");
+    transmitter.transmit(ENDPOINT_ID, "second");
+    transmitter.transmit(ENDPOINT_ID, "third");
+
+    transmitter.transmit(ENDPOINT_ID, "{\"jsonrpc\":\"2.0\",\"method\":\"get\",\"id\":\"1\"}");
+    transmitter.transmit(ENDPOINT_ID, "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":true}");
+
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getDropped(), 0);
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getQueueSize(), 4);
+  }
+
+  @Test
+  public void shouldNotReadParamsOfNotificationToDropIt() throws IOException {
+    transmitter.transmit(ENDPOINT_ID, "first");
+    transmitter.transmit(ENDPOINT_ID, "second");
+    transmitter.transmit(ENDPOINT_ID, "third");
+
+    // params are truncated, the notification is recognized by the leading members only
+    transmitter.transmit(
+        ENDPOINT_ID, "{\"jsonrpc\":\"2.0\",\"method\":\"event\",\"params\":{\"a\":");
+
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getDropped(), 1);
+  }
+
+  @Test
+  public void shouldCloseSlowConsumerSessionWhenQueueIsFull() throws IOException {
+    for (int i = 0; i <= QUEUE_CAPACITY; i++) {
+      transmitter.transmit(ENDPOINT_ID, MESSAGE + i);
+    }
+
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+    verify(session).close(any(CloseReason.class));
+    verify(reSender, times(QUEUE_CAPACITY + 1)).add(eq(ENDPOINT_ID), anyString());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldRemoveQueueAndResendPendingMessagesWhenSessionIsRemoved() throws IOException {
+    final ArgumentCaptor<BiConsumer> listenerCaptor = ArgumentCaptor.forClass(BiConsumer.class);
+    verify(registry).addRemovalListener(listenerCaptor.capture());
+    transmitter.transmit(ENDPOINT_ID, "first");
+    transmitter.transmit(ENDPOINT_ID, "second");
+
+    listenerCaptor.getValue().accept(ENDPOINT_ID, session);
+
+    assertTrue(transmitter.getStatistics().isEmpty());
+    verify(reSender).add(ENDPOINT_ID, "second");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldKeepQueueOfNewSessionWhenPreviousSessionIsRemoved() throws IOException {
+    final ArgumentCaptor<BiConsumer> listenerCaptor = ArgumentCaptor.forClass(BiConsumer.class);
+    verify(registry).addRemovalListener(listenerCaptor.capture());
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+    listenerCaptor.getValue().accept(ENDPOINT_ID, mock(Session.class));
+
+    assertEquals(transmitter.getStatistics().size(), 1);
+    verify(reSender, never()).add(anyString(), anyString());
   }
 }
@@ -15,12 +15,14 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 import java.util.Optional;
-import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
-import org.mockito.InjectMocks;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
@@ -35,23 +37,25 @@ import org.testng.annotations.Test;
 public class MessagesReSenderTest {
   private static final String MESSAGE = "message";
   private static final String ENDPOINT_ID = "id";
+  private static final int MAX_MESSAGES = 2;
+  private static final long MAX_BYTES = 1024;
+  private static final long TTL_MS = 60_000;
 
   @Mock private WebSocketSessionRegistry sessionRegistry;
-  @InjectMocks private MessagesReSender reSender;
+  @Mock private WebSocketMessageTransmitter transmitter;
+  private MessagesReSender reSender;
 
   @Mock private Session session;
-  @Mock private RemoteEndpoint.Async endpoint;
 
   @BeforeMethod
   public void beforeMethod() {
     when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
-    when(session.getAsyncRemote()).thenReturn(endpoint);
     when(session.isOpen()).thenReturn(true);
   }
 
   @BeforeMethod
   public void before() {
-    reSender = new MessagesReSender(sessionRegistry);
+    reSender = newReSender(MAX_MESSAGES, MAX_BYTES, TTL_MS);
   }
 
   @Test
@@ -63,8 +67,7 @@ public class MessagesReSenderTest {
     reSender.resend(ENDPOINT_ID);
 
     verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session, never()).getAsyncRemote();
-    verify(endpoint, never()).sendText(MESSAGE);
+    verify(transmitter, never()).transmit(ENDPOINT_ID, MESSAGE);
   }
 
   @Test
@@ -74,14 +77,12 @@ public class MessagesReSenderTest {
     when(session.isOpen()).thenReturn(false);
     reSender.resend(ENDPOINT_ID);
 
-    verify(session, never()).getAsyncRemote();
-    verify(endpoint, never()).sendText(MESSAGE);
+    verify(transmitter, never()).transmit(ENDPOINT_ID, MESSAGE);
 
     when(session.isOpen()).thenReturn(true);
     reSender.resend(ENDPOINT_ID);
 
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
   }
 
   @Test
@@ -91,8 +92,8 @@ public class MessagesReSenderTest {
     reSender.resend(ENDPOINT_ID);
 
     verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    assertEquals(reSender.getReplayedCount(), 1);
   }
 
   @Test
@@ -105,8 +106,8 @@ public class MessagesReSenderTest {
 
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    verify(transmitter).transmit("1", MESSAGE);
   }
 
   @Test
@@ -115,13 +116,12 @@ public class MessagesReSenderTest {
 
     reSender.resend(ENDPOINT_ID);
     verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
 
     reSender.resend(ENDPOINT_ID);
     verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    assertEquals(reSender.getPendingBytes(), 0);
   }
 
   @Test
@@ -134,15 +134,72 @@ public class MessagesReSenderTest {
 
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(transmitter, times(2)).transmit(anyString(), anyString());
 
     reSender.resend(ENDPOINT_ID);
     reSender.resend("1");
 
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(transmitter, times(2)).transmit(anyString(), anyString());
+  }
+
+  @Test
+  public void shouldResendMessagesInOrderTheyWereAdded() {
+    reSender.add(ENDPOINT_ID, "first");
+    reSender.add(ENDPOINT_ID, "second");
+
+    reSender.resend(ENDPOINT_ID);
+
+    InOrder inOrder = Mockito.inOrder(transmitter);
+    inOrder.verify(transmitter).transmit(ENDPOINT_ID, "first");
+    inOrder.verify(transmitter).transmit(ENDPOINT_ID, "second");
+  }
+
+  @Test
+  public void shouldDropOldestMessageWhenEndpointLimitIsReached() {
+    reSender.add(ENDPOINT_ID, "first");
+    reSender.add(ENDPOINT_ID, "second");
+    reSender.add(ENDPOINT_ID, "third");
+
+    reSender.resend(ENDPOINT_ID);
+
+    verify(transmitter, never()).transmit(ENDPOINT_ID, "first");
+    verify(transmitter).transmit(ENDPOINT_ID, "second");
+    verify(transmitter).transmit(ENDPOINT_ID, "third");
+    assertEquals(reSender.getDroppedCount(), 1);
+  }
+
+  @Test
+  public void shouldDropMessageWhenOverallSizeLimitIsReached() {
+    reSender = newReSender(MAX_MESSAGES, MESSAGE.length() * Character.BYTES, TTL_MS);
+
+    reSender.add(ENDPOINT_ID, MESSAGE);
+    reSender.add("1", MESSAGE);
+
+    reSender.resend(ENDPOINT_ID);
+    reSender.resend("1");
+
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    verify(transmitter, never()).transmit("1", MESSAGE);
+    assertEquals(reSender.getDroppedCount(), 1);
+  }
+
+  @Test
+  public void shouldNotResendExpiredMessages() throws Exception {
+    reSender = newReSender(MAX_MESSAGES, MAX_BYTES, 1);
+
+    reSender.add(ENDPOINT_ID, MESSAGE);
+    Thread.sleep(10);
+
+    reSender.resend(ENDPOINT_ID);
+
+    verify(transmitter, never()).transmit(ENDPOINT_ID, MESSAGE);
+    assertEquals(reSender.getExpiredCount(), 1);
+    assertEquals(reSender.getPendingBytes(), 0);
+  }
+
+  private MessagesReSender newReSender(int maxMessages, long maxBytes, long ttlMs) {
+    return new MessagesReSender(sessionRegistry, () -> transmitter, maxMessages, maxBytes, ttlMs);
   }
 }
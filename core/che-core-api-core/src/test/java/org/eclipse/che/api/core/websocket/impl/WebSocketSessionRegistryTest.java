@@ -10,10 +10,15 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.testng.Assert.*;
 
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import javax.websocket.Session;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -82,4 +87,27 @@ public class WebSocketSessionRegistryTest {
     assertFalse(registry.getSessions().isEmpty());
     assertEquals(2, registry.getSessions().size());
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldNotifyListenersWhenSessionIsRemoved() {
+    final BiConsumer<String, Session> listener = mock(BiConsumer.class);
+    registry.addRemovalListener(listener);
+    registry.add("0", session);
+
+    registry.remove(session);
+
+    verify(listener).accept("0", session);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldNotNotifyListenersWhenSessionIsNotRegistered() {
+    final BiConsumer<String, Session> listener = mock(BiConsumer.class);
+    registry.addRemovalListener(listener);
+
+    registry.remove("0");
+
+    verify(listener, never()).accept(anyString(), any(Session.class));
+  }
 }
@@ -16,12 +16,15 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
+import org.eclipse.che.dto.server.StreamingDtoTypeAdapter;
+import org.eclipse.che.dto.shared.DTO;
 import org.eclipse.che.dto.shared.DTOImpl;
 import org.eclipse.che.dto.shared.DelegateRule;
 import org.eclipse.che.dto.shared.DelegateTo;
@@ -69,6 +72,10 @@ public class DtoImplServerTemplate extends DtoImpl {
     emitDeserializer(methods, builder);
     emitDeserializerShortcut(builder);
     emitCopyConstructor(methods, builder);
+    List<Method> streamedGetters = getStreamedGetters();
+    if (streamedGetters != null) {
+      emitStreamingAdapter(streamedGetters, builder);
+    }
     // Delegation DTO methods.
     emitDelegateMethods(builder);
     // "builder" method, it is method that set field and return "this" instance
@@ -711,6 +718,411 @@ public class DtoImplServerTemplate extends DtoImpl {
     builder.append(i).append("  }\n");
   }
 
+  /** Tells whether streaming type adapter is generated for this DTO implementation. */
+  boolean hasStreamingAdapter() {
+    return getStreamedGetters() != null;
+  }
+
+  /**
+   * Returns getters of the fields serialized by the streaming adapter in the order Gson's
+   * reflective adapter serializes them, including fields declared in implementations of super DTO
+   * interfaces. For compact DTOs getters are ordered by serialization index and gaps are filled
+   * with {@code null}s. Returns {@code null} if the streaming adapter can't be generated, e.g. when
+   * implementation of super DTO interface isn't generated by the same template.
+   */
+  private List<Method> getStreamedGetters() {
+    if (isCompactJson()) {
+      for (Method method : getDtoMethods()) {
+        if (method != null && !isDtoGetter(method)) {
+          return null;
+        }
+      }
+      return getDtoMethods();
+    }
+
+    List<Method> getters = new ArrayList<>();
+    Set<String> jsonFieldNames = new HashSet<>();
+    for (Class<?> dto = getDtoInterface(); dto != null; dto = getSuperDtoInterface(dto)) {
+      if (!getEnclosingTemplate().isDtoInterface(dto)) {
+        return null;
+      }
+      Set<String> superGetterNames = getSuperGetterNames(dto);
+      for (Method getter : getDtoGetters(dto)) {
+        if (!superGetterNames.contains(getter.getName())) {
+          if (!jsonFieldNames.add(getJsonFieldName(getter))) {
+            return null;
+          }
+          getters.add(getter);
+        }
+      }
+    }
+    return getters;
+  }
+
+  /**
+   * Emits {@link StreamingDtoTypeAdapter} which reads and writes fields of the implementation
+   * directly. Lists, maps, strings, primitives and nested DTOs are handled by the generated code,
+   * values of other types are delegated to the adapters provided by Gson.
+   */
+  private void emitStreamingAdapter(List<Method> getters, StringBuilder builder) {
+    String implClassName = getImplClassName();
+    Map<String, String> adapters = new LinkedHashMap<>();
+    StringBuilder write = new StringBuilder();
+    StringBuilder read = new StringBuilder();
+    if (isCompactJson()) {
+      write.append("        out.beginArray();\n");
+      read.append("        in.beginArray();\n");
+      read.append("        for (int index = 0; in.hasNext(); index++) {\n");
+      read.append("          switch (index) {\n");
+      for (int index = 0; index < getters.size(); index++) {
+        Method getter = getters.get(index);
+        if (getter == null) {
+          write.append("        out.nullValue();\n");
+          continue;
+        }
+        emitWriteField(getter, adapters, write);
+        read.append("            case ").append(index).append(": {\n");
+        emitReadField(getter, adapters, read);
+        read.append("              break;\n");
+        read.append("            }\n");
+      }
+      write.append("        out.endArray();\n");
+      read.append("            default:\n");
+      read.append("              in.skipValue();\n");
+      read.append("          }\n");
+      read.append("        }\n");
+      read.append("        in.endArray();\n");
+    } else {
+      write.append("        out.beginObject();\n");
+      read.append("        in.beginObject();\n");
+      read.append("        while (in.hasNext()) {\n");
+      read.append("          switch (in.nextName()) {\n");
+      for (Method getter : getters) {
+        String jsonFieldNameLiteral = quoteStringLiteral(getJsonFieldName(getter));
+        write.append("        out.name(").append(jsonFieldNameLiteral).append(");\n");
+        emitWriteField(getter, adapters, write);
+        read.append("            case ").append(jsonFieldNameLiteral).append(": {\n");
+        emitReadField(getter, adapters, read);
+        read.append("              break;\n");
+        read.append("            }\n");
+      }
+      write.append("        out.endObject();\n");
+      read.append("            default:\n");
+      read.append("              in.skipValue();\n");
+      read.append("          }\n");
+      read.append("        }\n");
+      read.append("        in.endObject();\n");
+    }
+
+    builder
+        .append("    public static class StreamingAdapter extends ")
+        .append(StreamingDtoTypeAdapter.class.getCanonicalName())
+        .append("<")
+        .append(implClassName)
+        .append("> {\n");
+    for (Map.Entry<String, String> adapter : adapters.entrySet()) {
+      builder
+          .append("      private final com.google.gson.TypeAdapter<")
+          .append(adapter.getKey())
+          .append("> ")
+          .append(adapter.getValue())
+          .append(";\n");
+    }
+    if (!adapters.isEmpty()) {
+      builder.append("\n");
+    }
+    builder.append("      public StreamingAdapter(Gson gson) {\n");
+    builder.append("        super(gson);\n");
+    for (Map.Entry<String, String> adapter : adapters.entrySet()) {
+      String type = adapter.getKey();
+      builder.append("        ").append(adapter.getValue()).append(" = gson.getAdapter(");
+      if (type.contains("<")) {
+        builder.append("new com.google.gson.reflect.TypeToken<").append(type).append(">() {}");
+      } else {
+        builder.append(type).append(".class");
+      }
+      builder.append(");\n");
+    }
+    builder.append("      }\n\n");
+    builder.append("      @Override\n");
+    builder
+        .append("      public void write(com.google.gson.stream.JsonWriter out, ")
+        .append(implClassName)
+        .append(" dto) throws java.io.IOException {\n");
+    builder.append("        if (dto == null) {\n");
+    builder.append("          out.nullValue();\n");
+    builder.append("          return;\n");
+    builder.append("        }\n");
+    builder.append(write);
+    builder.append("      }\n\n");
+    builder.append("      @Override\n");
+    builder
+        .append("      public ")
+        .append(implClassName)
+        .append(" read(com.google.gson.stream.JsonReader in) throws java.io.IOException {\n");
+    builder.append("        if (in.peek() == com.google.gson.stream.JsonToken.NULL) {\n");
+    builder.append("          in.nextNull();\n");
+    builder.append("          return null;\n");
+    builder.append("        }\n");
+    builder
+        .append("        ")
+        .append(implClassName)
+        .append(" dto = new ")
+        .append(implClassName)
+        .append("();\n");
+    builder.append(read);
+    builder.append("        return dto;\n");
+    builder.append("      }\n");
+    builder.append("    }\n\n");
+  }
+
+  private void emitWriteField(Method getter, Map<String, String> adapters, StringBuilder builder) {
+    String field = "dto." + getJavaFieldName(getter.getName());
+    Type type = getter.getGenericReturnType();
+    if (isStreamable(type)) {
+      emitWriteValue(expandType(type), 0, field, "        ", adapters, builder);
+    } else {
+      builder
+          .append("        ")
+          .append(getAdapterName(type, adapters))
+          .append(".write(out, ")
+          .append(field)
+          .append(");\n");
+    }
+  }
+
+  private void emitWriteValue(
+      List<Type> expandedTypes,
+      int depth,
+      String value,
+      String i,
+      Map<String, String> adapters,
+      StringBuilder builder) {
+    Class<?> rawClass = getRawClass(expandedTypes.get(depth));
+    if (isList(rawClass) || isMap(rawClass)) {
+      boolean list = isList(rawClass);
+      String childTypeName = getImplName(expandedTypes.get(depth + 1), false);
+      String var = (list ? "v" : "e") + depth;
+      builder.append(i).append(list ? "out.beginArray();\n" : "out.beginObject();\n");
+      builder.append(i).append("if (").append(value).append(" != null) {\n");
+      if (list) {
+        builder
+            .append(i)
+            .append("  for (")
+            .append(childTypeName)
+            .append(" ")
+            .append(var)
+            .append(" : ")
+            .append(value)
+            .append(") {\n");
+        emitWriteValue(expandedTypes, depth + 1, var, i + "    ", adapters, builder);
+      } else {
+        builder
+            .append(i)
+            .append("  for (java.util.Map.Entry<String, ")
+            .append(childTypeName)
+            .append("> ")
+            .append(var)
+            .append(" : ")
+            .append(value)
+            .append(".entrySet()) {\n");
+        builder
+            .append(i)
+            .append("    out.name(String.valueOf(")
+            .append(var)
+            .append(".getKey()));\n");
+        emitWriteValue(
+            expandedTypes, depth + 1, var + ".getValue()", i + "    ", adapters, builder);
+      }
+      builder.append(i).append("  }\n");
+      builder.append(i).append("}\n");
+      builder.append(i).append(list ? "out.endArray();\n" : "out.endObject();\n");
+    } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+      String implName = rawClass.getSimpleName() + "Impl";
+      builder
+          .append(i)
+          .append("writeDto(out, ")
+          .append(value)
+          .append(", ")
+          .append(implName)
+          .append(".class, ")
+          .append(getAdapterName(implName, adapters))
+          .append(");\n");
+    } else if (isDto(rawClass)) {
+      builder.append(i).append("writeDto(out, ").append(value).append(");\n");
+    } else if (rawClass == float.class) {
+      // JsonWriter#value(double) would print float widened to double
+      builder.append(i).append("out.value(Float.valueOf(").append(value).append("));\n");
+    } else {
+      builder.append(i).append("out.value(").append(value).append(");\n");
+    }
+  }
+
+  private void emitReadField(Method getter, Map<String, String> adapters, StringBuilder builder) {
+    String field = "dto." + getJavaFieldName(getter.getName());
+    Type type = getter.getGenericReturnType();
+    String i = "              ";
+    if (getter.getReturnType().isPrimitive()) {
+      // as Gson's reflective adapter does, leave primitive field untouched when value is null
+      Class<?> wrapper = Primitives.wrap(getter.getReturnType());
+      builder.append(i).append(wrapper.getCanonicalName()).append(" value = ");
+      if (isStreamable(type)) {
+        builder.append(getReadMethodName(wrapper)).append("(in);\n");
+      } else {
+        builder.append(getAdapterName(type, adapters)).append(".read(in);\n");
+      }
+      builder.append(i).append("if (value != null) {\n");
+      builder.append(i).append("  ").append(field).append(" = value;\n");
+      builder.append(i).append("}\n");
+    } else if (isStreamable(type)) {
+      emitReadValue(expandType(type), 0, field, i, adapters, builder);
+    } else {
+      builder
+          .append(i)
+          .append(field)
+          .append(" = ")
+          .append(getAdapterName(type, adapters))
+          .append(".read(in);\n");
+    }
+  }
+
+  private void emitReadValue(
+      List<Type> expandedTypes,
+      int depth,
+      String target,
+      String i,
+      Map<String, String> adapters,
+      StringBuilder builder) {
+    Type type = expandedTypes.get(depth);
+    Class<?> rawClass = getRawClass(type);
+    if (isList(rawClass) || isMap(rawClass)) {
+      boolean list = isList(rawClass);
+      String childTypeName = getImplName(expandedTypes.get(depth + 1), false);
+      String collectionVar = (list ? "l" : "m") + depth;
+      String keyVar = "k" + depth;
+      String valueVar = "v" + depth;
+      builder.append(i).append("if (in.peek() == com.google.gson.stream.JsonToken.NULL) {\n");
+      builder.append(i).append("  in.nextNull();\n");
+      builder.append(i).append("  ").append(target).append(" = null;\n");
+      builder.append(i).append("} else {\n");
+      builder
+          .append(i)
+          .append("  ")
+          .append(getImplName(type, false))
+          .append(" ")
+          .append(collectionVar)
+          .append(" = new ")
+          .append(getImplName(type, true))
+          .append("();\n");
+      builder.append(i).append(list ? "  in.beginArray();\n" : "  in.beginObject();\n");
+      builder.append(i).append("  while (in.hasNext()) {\n");
+      if (!list) {
+        builder.append(i).append("    String ").append(keyVar).append(" = in.nextName();\n");
+      }
+      builder.append(i).append("    ").append(childTypeName).append(" ").append(valueVar);
+      builder.append(";\n");
+      emitReadValue(expandedTypes, depth + 1, valueVar, i + "    ", adapters, builder);
+      builder.append(i).append("    ").append(collectionVar);
+      if (list) {
+        builder.append(".add(").append(valueVar).append(");\n");
+      } else {
+        builder.append(".put(").append(keyVar).append(", ").append(valueVar).append(");\n");
+      }
+      builder.append(i).append("  }\n");
+      builder.append(i).append(list ? "  in.endArray();\n" : "  in.endObject();\n");
+      builder.append(i).append("  ").append(target).append(" = ").append(collectionVar);
+      builder.append(";\n");
+      builder.append(i).append("}\n");
+    } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+      builder
+          .append(i)
+          .append(target)
+          .append(" = ")
+          .append(getAdapterName(rawClass.getSimpleName() + "Impl", adapters))
+          .append(".read(in);\n");
+    } else if (isDto(rawClass)) {
+      builder
+          .append(i)
+          .append(target)
+          .append(" = ")
+          .append(getAdapterName(type, adapters))
+          .append(".read(in);\n");
+    } else {
+      builder
+          .append(i)
+          .append(target)
+          .append(" = ")
+          .append(getReadMethodName(rawClass))
+          .append("(in);\n");
+    }
+  }
+
+  /**
+   * Tells whether values of the given type are handled by the generated adapter code. These are
+   * strings, primitives, their wrappers and DTOs as well as lists and string keyed maps of them.
+   */
+  private boolean isStreamable(Type type) {
+    List<Type> expandedTypes = expandType(type);
+    for (int depth = 0; depth < expandedTypes.size(); depth++) {
+      Type expandedType = expandedTypes.get(depth);
+      if (!(expandedType instanceof Class) && !(expandedType instanceof ParameterizedType)) {
+        return false;
+      }
+      Class<?> rawClass = getRawClass(expandedType);
+      if (depth == expandedTypes.size() - 1) {
+        return expandedType instanceof Class
+            && (getReadMethodName(rawClass) != null || isDto(rawClass));
+      }
+      if (!isList(rawClass)
+          && !(isMap(rawClass)
+              && ((ParameterizedType) expandedType).getActualTypeArguments()[0]
+                  == String.class)) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private boolean isDto(Class<?> type) {
+    return getEnclosingTemplate().isDtoInterface(type) || type.isAnnotationPresent(DTO.class);
+  }
+
+  /** Returns name of {@link StreamingDtoTypeAdapter} method reading the given type. */
+  private static String getReadMethodName(Class<?> type) {
+    Class<?> wrapper = Primitives.wrap(type);
+    if (wrapper == String.class) {
+      return "readString";
+    } else if (wrapper == Boolean.class) {
+      return "readBoolean";
+    } else if (wrapper == Integer.class) {
+      return "readInteger";
+    } else if (wrapper == Long.class) {
+      return "readLong";
+    } else if (wrapper == Short.class) {
+      return "readShort";
+    } else if (wrapper == Byte.class) {
+      return "readByte";
+    } else if (wrapper == Double.class) {
+      return "readDouble";
+    } else if (wrapper == Float.class) {
+      return "readFloat";
+    }
+    return null;
+  }
+
+  /** Returns name of the adapter field holding Gson's adapter of the given type. */
+  private String getAdapterName(Type type, Map<String, String> adapters) {
+    return getAdapterName(
+        type instanceof Class<?>
+            ? Primitives.wrap((Class<?>) type).getCanonicalName()
+            : getFqParameterizedName(type),
+        adapters);
+  }
+
+  private static String getAdapterName(String typeName, Map<String, String> adapters) {
+    return adapters.computeIfAbsent(typeName, key -> "adapter" + adapters.size());
+  }
+
   private void emitCheckNullAndCopyDto(Class<?> dto, String fieldName, StringBuilder builder) {
     String implName = dto.getSimpleName() + "Impl";
     builder
@@ -290,6 +290,16 @@ public class DtoTemplate {
             .append(dto.getImplClassName())
             .append("(origin);\n");
         builder.append("        }\n");
+        if (((DtoImplServerTemplate) dto).hasStreamingAdapter()) {
+          builder
+              .append("\n        public com.google.gson.TypeAdapter<? extends ")
+              .append(dtoInterface)
+              .append("> getTypeAdapter(Gson gson) {\n")
+              .append("            return new ")
+              .append(dto.getImplClassName())
+              .append(".StreamingAdapter(gson);\n");
+          builder.append("        }\n");
+        }
         builder.append("    });\n");
       }
       builder.append("  }\n\n");
@@ -49,6 +49,12 @@ import org.eclipse.che.dto.shared.JsonStringMap;
  */
 public final class DtoFactory {
 
+  /**
+   * When set to {@code true} generated streaming type adapters are not used and all the DTOs are
+   * serialized by Gson's reflective adapter.
+   */
+  public static final String REFLECTIVE_SERIALIZATION_PROPERTY = "che.dto.reflective_serialization";
+
   private static final LoadingCache<Type, ParameterizedType> listTypeCache =
       CacheBuilder.newBuilder()
           .concurrencyLevel(16)
@@ -106,6 +112,7 @@ public final class DtoFactory {
               new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
           .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
           .registerTypeAdapterFactory(new DtoInterfaceTAF())
+          .registerTypeAdapterFactory(new DtoImplTAF())
           .create();
 
   /**
@@ -242,6 +249,20 @@ public final class DtoFactory {
     return createDtoFromJson(new InputStreamReader(json), dtoInterface);
   }
 
+  /**
+   * Creates new instance of class which implements specified DTO interface, reads the next JSON
+   * value from the specified reader and uses it for initializing fields of DTO object. The rest of
+   * the reader content is left untouched.
+   *
+   * @param json JSON reader positioned at the value
+   * @param dtoInterface DTO interface
+   * @throws IllegalArgumentException if can't provide any implementation for specified interface
+   */
+  public <T> T createDtoFromJson(JsonReader json, Class<T> dtoInterface) {
+    getDtoProvider(dtoInterface);
+    return dtoGson.fromJson(json, dtoInterface);
+  }
+
   //
 
   /**
@@ -447,6 +468,27 @@ public final class DtoFactory {
     }
   }
 
+  /**
+   * Provides streaming type adapters generated for DTO implementation classes. Implementations
+   * without generated adapter are left to Gson's reflective adapter.
+   */
+  private class DtoImplTAF implements TypeAdapterFactory {
+    final boolean reflective = Boolean.getBoolean(REFLECTIVE_SERIALIZATION_PROPERTY);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+      if (reflective) {
+        return null;
+      }
+      DtoProvider<?> prov = dtoImpl2Providers.get(type.getRawType());
+      if (prov != null && prov.getImplClass() == type.getRawType()) {
+        return (TypeAdapter<T>) prov.getTypeAdapter(gson);
+      }
+      return null;
+    }
+  }
+
   /**
    * Wraps Gson's default List/Map adapter factories serialize null List/Map fields as empty
    * instead.
@@ -10,7 +10,9 @@
  */
 package org.eclipse.che.dto.server;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
 
 /**
  * Provides implementation of DTO interface.
@@ -27,4 +29,14 @@ public interface DtoProvider<DTO> {
   DTO newInstance();
 
   DTO clone(DTO origin);
+
+  /**
+   * Returns streaming type adapter of the DTO implementation or {@code null} if implementation has
+   * to be serialized by Gson's reflective adapter.
+   *
+   * @param gson Gson which the adapter is created for, should be used for nested values
+   */
+  default TypeAdapter<? extends DTO> getTypeAdapter(Gson gson) {
+    return null;
+  }
 }
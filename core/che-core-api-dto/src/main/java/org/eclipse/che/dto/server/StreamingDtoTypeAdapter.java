@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Base class for the type adapters generated for server DTO implementations.
+ *
+ * <p>Generated adapters read and write fields of DTO implementations directly with {@link
+ * JsonReader} and {@link JsonWriter}, producing the same JSON as Gson's reflective adapter does.
+ * Values which can't be handled by the generated code (e.g. enums or {@code Object} fields) are
+ * delegated to the adapters provided by {@link Gson}. Read helpers of this class follow the rules
+ * of Gson's built-in adapters of the corresponding types.
+ *
+ * @see DtoProvider#getTypeAdapter(Gson)
+ */
+public abstract class StreamingDtoTypeAdapter<T> extends TypeAdapter<T> {
+  protected final Gson gson;
+
+  protected StreamingDtoTypeAdapter(Gson gson) {
+    this.gson = gson;
+  }
+
+  /** Writes nested DTO with the adapter of its runtime type as Gson's reflective adapter does. */
+  @SuppressWarnings("unchecked")
+  protected void writeDto(JsonWriter out, Object value) throws IOException {
+    if (value == null) {
+      out.nullValue();
+      return;
+    }
+    ((TypeAdapter<Object>) gson.getAdapter(value.getClass())).write(out, value);
+  }
+
+  /**
+   * Writes nested DTO with the given adapter if it is an instance of the given implementation
+   * class, otherwise looks up the adapter of its runtime type.
+   */
+  protected <V> void writeDto(
+      JsonWriter out, Object value, Class<V> implClass, TypeAdapter<V> implAdapter)
+      throws IOException {
+    if (value != null && value.getClass() == implClass) {
+      implAdapter.write(out, implClass.cast(value));
+    } else {
+      writeDto(out, value);
+    }
+  }
+
+  protected static String readString(JsonReader in) throws IOException {
+    JsonToken peek = in.peek();
+    if (peek == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    if (peek == JsonToken.BOOLEAN) {
+      return Boolean.toString(in.nextBoolean());
+    }
+    return in.nextString();
+  }
+
+  protected static Boolean readBoolean(JsonReader in) throws IOException {
+    JsonToken peek = in.peek();
+    if (peek == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    if (peek == JsonToken.STRING) {
+      return Boolean.parseBoolean(in.nextString());
+    }
+    return in.nextBoolean();
+  }
+
+  protected static Integer readInteger(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    try {
+      return in.nextInt();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  protected static Long readLong(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    try {
+      return in.nextLong();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  protected static Short readShort(JsonReader in) throws IOException {
+    Integer value = readInteger(in);
+    return value == null ? null : value.shortValue();
+  }
+
+  protected static Byte readByte(JsonReader in) throws IOException {
+    Integer value = readInteger(in);
+    return value == null ? null : value.byteValue();
+  }
+
+  protected static Double readDouble(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    return in.nextDouble();
+  }
+
+  protected static Float readFloat(JsonReader in) throws IOException {
+    Double value = readDouble(in);
+    return value == null ? null : value.floatValue();
+  }
+}
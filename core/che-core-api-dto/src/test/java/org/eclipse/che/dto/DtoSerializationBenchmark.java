@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.dto.definitions.SerializationBenchmarkDtos.CommandDto;
+import org.eclipse.che.dto.definitions.SerializationBenchmarkDtos.CompletionItemDto;
+import org.eclipse.che.dto.definitions.SerializationBenchmarkDtos.CompletionListDto;
+import org.eclipse.che.dto.definitions.SerializationBenchmarkDtos.EnvironmentDto;
+import org.eclipse.che.dto.definitions.SerializationBenchmarkDtos.ItemReferenceDto;
+import org.eclipse.che.dto.definitions.SerializationBenchmarkDtos.LinkDto;
+import org.eclipse.che.dto.definitions.SerializationBenchmarkDtos.MachineConfigDto;
+import org.eclipse.che.dto.definitions.SerializationBenchmarkDtos.PositionDto;
+import org.eclipse.che.dto.definitions.SerializationBenchmarkDtos.RangeDto;
+import org.eclipse.che.dto.definitions.SerializationBenchmarkDtos.ServerConfigDto;
+import org.eclipse.che.dto.definitions.SerializationBenchmarkDtos.TextEditDto;
+import org.eclipse.che.dto.definitions.SerializationBenchmarkDtos.WorkspaceConfigDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures serialization and deserialization of the DTOs shaped as a workspace configuration, a
+ * project tree listing of 500 items and a language server completion list of 200 items.
+ *
+ * <p>Not a part of the regular test run, execute {@link #main(String[])} to get the results. The
+ * suite is run twice: with the generated streaming type adapters and with Gson's reflective
+ * adapter, which is forced by {@link DtoFactory#REFLECTIVE_SERIALIZATION_PROPERTY}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+  private static final int PROJECT_TREE_ITEMS = 500;
+  private static final int COMPLETION_ITEMS = 200;
+
+  private final DtoFactory dtoFactory = DtoFactory.getInstance();
+
+  private WorkspaceConfigDto workspace;
+  private String workspaceJson;
+  private List<ItemReferenceDto> projectTree;
+  private String projectTreeJson;
+  private CompletionListDto completion;
+  private String completionJson;
+
+  @Setup
+  public void setUp() {
+    workspace = createWorkspace();
+    workspaceJson = dtoFactory.toJson(workspace);
+    projectTree = createProjectTree();
+    projectTreeJson = dtoFactory.getGson().toJson(projectTree);
+    completion = createCompletion();
+    completionJson = dtoFactory.toJson(completion);
+  }
+
+  @Benchmark
+  public String serializeWorkspace() {
+    return dtoFactory.toJson(workspace);
+  }
+
+  @Benchmark
+  public WorkspaceConfigDto deserializeWorkspace() {
+    return dtoFactory.createDtoFromJson(workspaceJson, WorkspaceConfigDto.class);
+  }
+
+  @Benchmark
+  public String serializeProjectTree() {
+    return dtoFactory.getGson().toJson(projectTree);
+  }
+
+  @Benchmark
+  public List<ItemReferenceDto> deserializeProjectTree() {
+    return dtoFactory.createListDtoFromJson(projectTreeJson, ItemReferenceDto.class);
+  }
+
+  @Benchmark
+  public String serializeCompletion() {
+    return dtoFactory.toJson(completion);
+  }
+
+  @Benchmark
+  public CompletionListDto deserializeCompletion() {
+    return dtoFactory.createDtoFromJson(completionJson, CompletionListDto.class);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(DtoSerializationBenchmark.class.getSimpleName()).build())
+        .run();
+    new Runner(
+            new OptionsBuilder()
+                .include(DtoSerializationBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-D" + DtoFactory.REFLECTIVE_SERIALIZATION_PROPERTY + "=true")
+                .build())
+        .run();
+  }
+
+  private WorkspaceConfigDto createWorkspace() {
+    Map<String, MachineConfigDto> machines = new HashMap<>();
+    for (String machine : asList("dev-machine", "db", "frontend")) {
+      Map<String, ServerConfigDto> servers = new HashMap<>();
+      for (int port = 8080; port < 8085; port++) {
+        servers.put(
+            "server-" + port,
+            dtoFactory
+                .createDto(ServerConfigDto.class)
+                .withPort(port + "/tcp")
+                .withProtocol("http")
+                .withPath("/api"));
+      }
+      machines.put(
+          machine,
+          dtoFactory
+              .createDto(MachineConfigDto.class)
+              .withAgents(asList("org.eclipse.che.exec", "org.eclipse.che.terminal"))
+              .withServers(servers)
+              .withAttributes(singletonMap("memoryLimitBytes", "2147483648")));
+    }
+    List<CommandDto> commands = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      commands.add(
+          dtoFactory
+              .createDto(CommandDto.class)
+              .withName("build-" + i)
+              .withType("mvn")
+              .withCommandLine("mvn clean install -f ${current.project.path}")
+              .withAttributes(singletonMap("goal", "Build")));
+    }
+    return dtoFactory
+        .createDto(WorkspaceConfigDto.class)
+        .withName("workspace")
+        .withDefaultEnv("default")
+        .withEnvironments(
+            singletonMap(
+                "default", dtoFactory.createDto(EnvironmentDto.class).withMachines(machines)))
+        .withCommands(commands);
+  }
+
+  private List<ItemReferenceDto> createProjectTree() {
+    List<ItemReferenceDto> items = new ArrayList<>(PROJECT_TREE_ITEMS);
+    for (int i = 0; i < PROJECT_TREE_ITEMS; i++) {
+      String path = "/console-java-simple/src/main/java/org/eclipse/che/File" + i + ".java";
+      items.add(
+          dtoFactory
+              .createDto(ItemReferenceDto.class)
+              .withName("File" + i + ".java")
+              .withPath(path)
+              .withType("file")
+              .withModified(1500000000000L + i)
+              .withContentLength(1024 + i)
+              .withAttributes(singletonMap("vcs.status", "MODIFIED"))
+              .withLinks(
+                  asList(
+                      dtoFactory
+                          .createDto(LinkDto.class)
+                          .withHref("http://localhost:8080/api/project/file" + path)
+                          .withRel("get content")
+                          .withMethod("GET"),
+                      dtoFactory
+                          .createDto(LinkDto.class)
+                          .withHref("http://localhost:8080/api/project" + path)
+                          .withRel("delete")
+                          .withMethod("DELETE"))));
+    }
+    return items;
+  }
+
+  private CompletionListDto createCompletion() {
+    List<CompletionItemDto> items = new ArrayList<>(COMPLETION_ITEMS);
+    for (int i = 0; i < COMPLETION_ITEMS; i++) {
+      items.add(
+          dtoFactory
+              .createDto(CompletionItemDto.class)
+              .withLabel("getValue" + i + "() : String")
+              .withKind(2)
+              .withDetail("org.eclipse.che.Sample" + i)
+              .withDocumentation("Returns the value of the sample.")
+              .withSortText("999998")
+              .withFilterText("getValue" + i)
+              .withInsertText("getValue" + i + "()")
+              .withTextEdit(
+                  dtoFactory
+                      .createDto(TextEditDto.class)
+                      .withNewText("getValue" + i + "()")
+                      .withRange(
+                          dtoFactory
+                              .createDto(RangeDto.class)
+                              .withStart(position(41, 12))
+                              .withEnd(position(41, 15)))));
+    }
+    return dtoFactory.createDto(CompletionListDto.class).withItems(items);
+  }
+
+  private PositionDto position(int line, int character) {
+    return dtoFactory.createDto(PositionDto.class).withLine(line).withCharacter(character);
+  }
+}
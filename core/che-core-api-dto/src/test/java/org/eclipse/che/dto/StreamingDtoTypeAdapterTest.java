@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.eclipse.che.dto.definitions.CompactDto;
+import org.eclipse.che.dto.definitions.ComplicatedDto;
+import org.eclipse.che.dto.definitions.ComplicatedDto.SimpleEnum;
+import org.eclipse.che.dto.definitions.DTOHierarchy.GrandchildDto;
+import org.eclipse.che.dto.definitions.DtoWithAny;
+import org.eclipse.che.dto.definitions.SimpleDto;
+import org.eclipse.che.dto.definitions.model.ModelComponentDto;
+import org.eclipse.che.dto.definitions.model.ModelDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.StreamingDtoTypeAdapter;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the streaming type adapters generated for server DTO implementations produce the same
+ * results as Gson's reflective adapter does.
+ */
+public class StreamingDtoTypeAdapterTest {
+
+  private static final DtoFactory dtoFactory = DtoFactory.getInstance();
+
+  /** Gson which serializes DTO implementations with its reflective adapter. */
+  private static final Gson reflectiveGson = new Gson();
+
+  private static final JsonParser jsonParser = new JsonParser();
+
+  @Test
+  public void shouldUseGeneratedAdapterForDtoImplementation() throws Exception {
+    Class<?> implClass = dtoFactory.createDto(ComplicatedDto.class).getClass();
+
+    assertTrue(dtoFactory.getGson().getAdapter(implClass) instanceof StreamingDtoTypeAdapter);
+  }
+
+  @Test
+  public void shouldSerializeNestedDtosListsAndMapsAsReflectiveAdapterDoes() throws Exception {
+    ComplicatedDto dto = createComplicatedDto();
+
+    assertEquals(toJsonElement(dtoFactory.toJson(dto)), toJsonElement(reflectiveGson.toJson(dto)));
+  }
+
+  @Test
+  public void shouldDeserializeNestedDtosListsAndMapsSerializedByReflectiveAdapter()
+      throws Exception {
+    ComplicatedDto origin = createComplicatedDto();
+
+    ComplicatedDto dto =
+        dtoFactory.createDtoFromJson(reflectiveGson.toJson(origin), ComplicatedDto.class);
+
+    assertEquals(dto, origin);
+  }
+
+  @Test
+  public void shouldSerializeNullListsAndMapsAsEmpty() throws Exception {
+    ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class);
+
+    assertEquals(
+        toJsonElement(dtoFactory.toJson(dto)),
+        toJsonElement("{\"simpleDtos\":[],\"arrayOfArrayOfEnum\":[],\"map\":{},\"strings\":[]}"));
+  }
+
+  @Test
+  public void shouldSerializeFieldsOfSuperDtoImplementations() throws Exception {
+    GrandchildDto dto = dtoFactory.createDto(GrandchildDto.class);
+    dto.setDtoField("dto-field");
+    dto.setChildField("child-field");
+    dto.setParentField("parent-field");
+    dto.setShadowedField(dtoFactory.createDto(GrandchildDto.class).withDtoField("nested"));
+
+    String json = dtoFactory.toJson(dto);
+
+    assertEquals(toJsonElement(json), toJsonElement(reflectiveGson.toJson(dto)));
+    assertEquals(
+        toJsonElement(dtoFactory.toJson(dtoFactory.createDtoFromJson(json, GrandchildDto.class))),
+        toJsonElement(json));
+  }
+
+  @Test
+  public void shouldSerializeDtosExtendingModelInterfaces() throws Exception {
+    ModelDto dto =
+        dtoFactory
+            .createDto(ModelDto.class)
+            .withPrimary(dtoFactory.createDto(ModelComponentDto.class).withName("primary"))
+            .withComponents(
+                asList(
+                    dtoFactory.createDto(ModelComponentDto.class).withName("first"),
+                    dtoFactory.createDto(ModelComponentDto.class).withName("second")));
+
+    String json = dtoFactory.toJson(dto);
+
+    assertEquals(toJsonElement(json), toJsonElement(reflectiveGson.toJson(dto)));
+    assertEquals(dtoFactory.createDtoFromJson(json, ModelDto.class), dto);
+  }
+
+  @Test
+  public void shouldDelegateValuesOfUnknownTypesToGson() throws Exception {
+    DtoWithAny dto =
+        dtoFactory
+            .createDto(DtoWithAny.class)
+            .withStuff(jsonParser.parse("{\"a\":100,\"b\":{\"c\":\"blah\"}}"))
+            .withObjects(singletonList(jsonParser.parse("{\"x\":1}")));
+
+    assertEquals(toJsonElement(dtoFactory.toJson(dto)), toJsonElement(reflectiveGson.toJson(dto)));
+  }
+
+  @Test
+  public void shouldSkipUnknownFieldsAndKeepPrimitiveDefaultsOnNulls() throws Exception {
+    SimpleDto dto =
+        dtoFactory.createDtoFromJson(
+            "{\"unknown\":{\"a\":[1,2]},\"id\":null,\"name\":\"name\",\"other\":3}",
+            SimpleDto.class);
+
+    assertEquals(dto.getId(), 0);
+    assertEquals(dto.getName(), "name");
+    assertNull(dto.getDefault());
+  }
+
+  @Test
+  public void shouldSerializeCompactDtoToArray() throws Exception {
+    CompactDto dto =
+        dtoFactory.createDtoFromJson("[\"name\",12,[\"a\",\"b\"]]", CompactDto.class);
+
+    assertEquals(dto.getName(), "name");
+    assertEquals(dto.getLine(), 12);
+    assertEquals(dto.getTags(), asList("a", "b"));
+    assertEquals(dtoFactory.toJson(dto), "[\"name\",12,[\"a\",\"b\"]]");
+  }
+
+  @Test
+  public void shouldIgnoreUnknownElementsOfCompactDto() throws Exception {
+    CompactDto dto =
+        dtoFactory.createDtoFromJson("[null,3,null,{\"unknown\":true}]", CompactDto.class);
+
+    assertNull(dto.getName());
+    assertEquals(dto.getLine(), 3);
+    assertTrue(dto.getTags().isEmpty());
+  }
+
+  private static ComplicatedDto createComplicatedDto() {
+    return dtoFactory
+        .createDto(ComplicatedDto.class)
+        .withStrings(asList("first", "second"))
+        .withSimpleEnum(SimpleEnum.TWO)
+        .withMap(
+            singletonMap(
+                "key", dtoFactory.createDto(SimpleDto.class).withId(1).withName("in map")))
+        .withSimpleDtos(
+            asList(
+                dtoFactory.createDto(SimpleDto.class).withId(2).withName("first"),
+                dtoFactory.createDto(SimpleDto.class).withId(3).withDefault("default")))
+        .withArrayOfArrayOfEnum(
+            asList(asList(SimpleEnum.ONE, SimpleEnum.THREE), singletonList(SimpleEnum.TWO)));
+  }
+
+  private static JsonElement toJsonElement(String json) {
+    return jsonParser.parse(json);
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto.definitions;
+
+import java.util.List;
+import java.util.Map;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Keeps DTO interfaces for serialization benchmark, they mimic the shapes of workspace
+ * configuration, project tree and language server completion DTOs.
+ */
+public final class SerializationBenchmarkDtos {
+
+  @DTO
+  public interface WorkspaceConfigDto {
+    String getName();
+
+    WorkspaceConfigDto withName(String name);
+
+    String getDefaultEnv();
+
+    WorkspaceConfigDto withDefaultEnv(String defaultEnv);
+
+    Map<String, EnvironmentDto> getEnvironments();
+
+    WorkspaceConfigDto withEnvironments(Map<String, EnvironmentDto> environments);
+
+    List<CommandDto> getCommands();
+
+    WorkspaceConfigDto withCommands(List<CommandDto> commands);
+  }
+
+  @DTO
+  public interface EnvironmentDto {
+    Map<String, MachineConfigDto> getMachines();
+
+    EnvironmentDto withMachines(Map<String, MachineConfigDto> machines);
+  }
+
+  @DTO
+  public interface MachineConfigDto {
+    List<String> getAgents();
+
+    MachineConfigDto withAgents(List<String> agents);
+
+    Map<String, ServerConfigDto> getServers();
+
+    MachineConfigDto withServers(Map<String, ServerConfigDto> servers);
+
+    Map<String, String> getAttributes();
+
+    MachineConfigDto withAttributes(Map<String, String> attributes);
+  }
+
+  @DTO
+  public interface ServerConfigDto {
+    String getPort();
+
+    ServerConfigDto withPort(String port);
+
+    String getProtocol();
+
+    ServerConfigDto withProtocol(String protocol);
+
+    String getPath();
+
+    ServerConfigDto withPath(String path);
+  }
+
+  @DTO
+  public interface CommandDto {
+    String getName();
+
+    CommandDto withName(String name);
+
+    String getCommandLine();
+
+    CommandDto withCommandLine(String commandLine);
+
+    String getType();
+
+    CommandDto withType(String type);
+
+    Map<String, String> getAttributes();
+
+    CommandDto withAttributes(Map<String, String> attributes);
+  }
+
+  @DTO
+  public interface ItemReferenceDto {
+    String getName();
+
+    ItemReferenceDto withName(String name);
+
+    String getPath();
+
+    ItemReferenceDto withPath(String path);
+
+    String getType();
+
+    ItemReferenceDto withType(String type);
+
+    long getModified();
+
+    ItemReferenceDto withModified(long modified);
+
+    long getContentLength();
+
+    ItemReferenceDto withContentLength(long contentLength);
+
+    Map<String, String> getAttributes();
+
+    ItemReferenceDto withAttributes(Map<String, String> attributes);
+
+    List<LinkDto> getLinks();
+
+    ItemReferenceDto withLinks(List<LinkDto> links);
+  }
+
+  @DTO
+  public interface LinkDto {
+    String getHref();
+
+    LinkDto withHref(String href);
+
+    String getRel();
+
+    LinkDto withRel(String rel);
+
+    String getMethod();
+
+    LinkDto withMethod(String method);
+  }
+
+  @DTO
+  public interface CompletionListDto {
+    boolean isIncomplete();
+
+    CompletionListDto withIncomplete(boolean incomplete);
+
+    List<CompletionItemDto> getItems();
+
+    CompletionListDto withItems(List<CompletionItemDto> items);
+  }
+
+  @DTO
+  public interface CompletionItemDto {
+    String getLabel();
+
+    CompletionItemDto withLabel(String label);
+
+    int getKind();
+
+    CompletionItemDto withKind(int kind);
+
+    String getDetail();
+
+    CompletionItemDto withDetail(String detail);
+
+    String getDocumentation();
+
+    CompletionItemDto withDocumentation(String documentation);
+
+    String getSortText();
+
+    CompletionItemDto withSortText(String sortText);
+
+    String getFilterText();
+
+    CompletionItemDto withFilterText(String filterText);
+
+    String getInsertText();
+
+    CompletionItemDto withInsertText(String insertText);
+
+    TextEditDto getTextEdit();
+
+    CompletionItemDto withTextEdit(TextEditDto textEdit);
+  }
+
+  @DTO
+  public interface TextEditDto {
+    RangeDto getRange();
+
+    TextEditDto withRange(RangeDto range);
+
+    String getNewText();
+
+    TextEditDto withNewText(String newText);
+  }
+
+  @DTO
+  public interface RangeDto {
+    PositionDto getStart();
+
+    RangeDto withStart(PositionDto start);
+
+    PositionDto getEnd();
+
+    RangeDto withEnd(PositionDto end);
+  }
+
+  @DTO
+  public interface PositionDto {
+    int getLine();
+
+    PositionDto withLine(int line);
+
+    int getCharacter();
+
+    PositionDto withCharacter(int character);
+  }
+}
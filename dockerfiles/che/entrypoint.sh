@@ -154,6 +154,12 @@ call_catalina () {
     [ -z "${JAVA_OPTS}" ] && JAVA_OPTS="-Xms256m -Xmx1024m -Djava.security.egd=file:/dev/./urandom"
   fi
 
+  ### Keep-alive cache of the JDK should fit the connections HttpJsonRequestFactory opens to a host,
+  ### see che.core.http_client.max_connections_per_host
+  if [[ "${JAVA_OPTS}" != *"-Dhttp.maxConnections="* ]]; then
+    JAVA_OPTS="${JAVA_OPTS} -Dhttp.maxConnections=20"
+  fi
+
   ### Cannot add this in setenv.sh.
   ### We do the port mapping here, and this gets inserted into server.xml when tomcat boots
   export JAVA_OPTS="${JAVA_OPTS} -Dport.http=${CHE_PORT} -Dche.home=${CHE_HOME}"
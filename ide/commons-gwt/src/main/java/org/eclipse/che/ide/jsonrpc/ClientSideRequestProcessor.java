@@ -11,13 +11,14 @@
 package org.eclipse.che.ide.jsonrpc;
 
 import javax.inject.Singleton;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessor;
 
 @Singleton
 public class ClientSideRequestProcessor implements RequestProcessor {
 
   @Override
-  public void process(Runnable runnable) {
+  public void process(String endpointId, JsonRpcRequest request, Runnable runnable) {
     runnable.run();
   }
 }
@@ -18,12 +18,15 @@ import org.eclipse.che.api.core.jsonrpc.commons.TimeoutActionRunner;
 public class ClientSideTimeoutActionRunner implements TimeoutActionRunner {
 
   @Override
-  public void schedule(int timeoutInMillis, Runnable runnable) {
-    new Timer() {
-      @Override
-      public void run() {
-        runnable.run();
-      }
-    }.schedule(timeoutInMillis);
+  public Timeout schedule(int timeoutInMillis, Runnable runnable) {
+    Timer timer =
+        new Timer() {
+          @Override
+          public void run() {
+            runnable.run();
+          }
+        };
+    timer.schedule(timeoutInMillis);
+    return timer::cancel;
   }
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.activity;
+
+import static com.google.inject.matcher.Matchers.subclassesOf;
+import static org.eclipse.che.inject.Matchers.names;
+
+import com.google.inject.AbstractModule;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageReceiver;
+import org.eclipse.che.inject.DynaModule;
+
+/** Counts web socket messages received by the agent as a workspace activity. */
+@DynaModule
+public class ActivityModule extends AbstractModule {
+
+  @Override
+  protected void configure() {
+    final WebSocketActivityInterceptor interceptor = new WebSocketActivityInterceptor();
+    requestInjection(interceptor);
+    bindInterceptor(subclassesOf(WebSocketMessageReceiver.class), names("receive"), interceptor);
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.activity;
+
+import javax.inject.Inject;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageReceiver;
+
+/**
+ * Counts every message received by {@link WebSocketMessageReceiver}, e.g. JSON-RPC requests and
+ * responses, as a workspace activity.
+ */
+public class WebSocketActivityInterceptor implements MethodInterceptor {
+
+  @Inject private WorkspaceActivityNotifier wsActivityNotifier;
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    wsActivityNotifier.onActivity();
+    return invocation.proceed();
+  }
+}
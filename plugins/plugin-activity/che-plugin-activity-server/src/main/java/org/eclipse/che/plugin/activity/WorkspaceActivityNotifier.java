@@ -10,7 +10,7 @@
  */
 package org.eclipse.che.plugin.activity;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -20,7 +20,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Notifies master about activity in workspace, but not more often than once per given threshold.
+ * Notifies master about activity in workspace.
+ *
+ * <p>Activity is only recorded by {@link #onActivity()}, so the requests of the user never wait for
+ * the master. Recorded activities are reported by the scheduler once per period, all the activities
+ * that happened during the period are coalesced into a single notification. If the master can't be
+ * notified, the notification is retried with exponentially growing delay.
  *
  * @author Mihail Kuznyetsov
  * @author Anton Korneta
@@ -29,55 +34,56 @@ import org.slf4j.LoggerFactory;
 public class WorkspaceActivityNotifier {
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceActivityNotifier.class);
 
-  private final AtomicBoolean activeDuringThreshold;
+  /** The maximum number of periods to skip before the next retry of failed notification. */
+  static final int MAX_RETRY_SKIPPED_PERIODS = 15;
+
+  private final AtomicLong activities;
   private final HttpJsonRequestFactory httpJsonRequestFactory;
   private final String apiEndpoint;
   private final String wsId;
-  private final long threshold;
 
-  private long lastUpdateTime;
+  // accessed only by the scheduler which never runs notifications concurrently
+  private long notifiedActivities;
+  private int failures;
+  private int periodsToSkip;
 
   @Inject
   public WorkspaceActivityNotifier(
       HttpJsonRequestFactory httpJsonRequestFactory,
       @Named("che.api") String apiEndpoint,
-      @Named("env.CHE_WORKSPACE_ID") String wsId,
-      @Named("workspace.activity.notify_time_threshold_ms") long threshold) {
+      @Named("env.CHE_WORKSPACE_ID") String wsId) {
     this.httpJsonRequestFactory = httpJsonRequestFactory;
     this.apiEndpoint = apiEndpoint;
     this.wsId = wsId;
-    this.activeDuringThreshold = new AtomicBoolean(false);
-    this.threshold = threshold;
+    this.activities = new AtomicLong();
   }
 
   /**
-   * Notify workspace master about activity in this workspace.
-   *
-   * <p>After last notification, any consecutive activities that come within specific amount of time
-   * - {@code threshold}, will not notify immediately, but trigger notification in scheduler method
-   * {@link WorkspaceActivityNotifier#scheduleActivityNotification}
+   * Records activity in this workspace, the master will be notified about it by the scheduler
+   * method {@link WorkspaceActivityNotifier#scheduleActivityNotification}.
    */
   public void onActivity() {
-    long currentTime = System.currentTimeMillis();
-    if (currentTime < (lastUpdateTime + threshold)) {
-      activeDuringThreshold.set(true);
-    } else {
-      notifyActivity();
-      lastUpdateTime = currentTime;
-    }
+    activities.incrementAndGet();
   }
 
   @ScheduleRate(periodParameterName = "workspace.activity.schedule_period_s")
-  private void scheduleActivityNotification() {
-    if (activeDuringThreshold.compareAndSet(true, false)) {
-      notifyActivity();
+  void scheduleActivityNotification() {
+    final long recordedActivities = activities.get();
+    if (recordedActivities == notifiedActivities) {
+      return;
+    }
+    if (periodsToSkip > 0) {
+      periodsToSkip--;
+      return;
     }
-  }
-
-  private void notifyActivity() {
     try {
       httpJsonRequestFactory.fromUrl(apiEndpoint + "/activity/" + wsId).usePutMethod().request();
+      notifiedActivities = recordedActivities;
+      failures = 0;
     } catch (Exception e) {
+      // skips 0, 1, 3, 7... periods before the next retry
+      periodsToSkip = Math.min((1 << Math.min(failures, 30)) - 1, MAX_RETRY_SKIPPED_PERIODS);
+      failures++;
       LOG.error("Cannot notify master about workspace " + wsId + " activity", e);
     }
   }
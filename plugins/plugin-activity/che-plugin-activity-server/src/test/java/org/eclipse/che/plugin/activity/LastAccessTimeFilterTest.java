@@ -10,23 +10,20 @@
  */
 package org.eclipse.che.plugin.activity;
 
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import javax.servlet.FilterChain;
-import javax.servlet.ServletException;
-import javax.servlet.ServletRequest;
-import javax.servlet.ServletResponse;
-
-import java.io.IOException;
-
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.verify;
-
 /**
  * Tests for {@link LastAccessTimeFilter}
  *
@@ -35,39 +32,33 @@ import static org.mockito.Mockito.verify;
 @Listeners(MockitoTestNGListener.class)
 public class LastAccessTimeFilterTest {
 
-    @Mock
-    ServletRequest request;
-
-    @Mock
-    ServletResponse response;
+  @Mock ServletRequest request;
 
-    @Mock
-    FilterChain chain;
+  @Mock ServletResponse response;
 
-    @Mock
-    private WorkspaceActivityNotifier workspaceActivityNotifier;
+  @Mock FilterChain chain;
 
-    @InjectMocks
-    private LastAccessTimeFilter filter;
+  @Mock private WorkspaceActivityNotifier workspaceActivityNotifier;
 
-    @Test
-    public void shouldCallActivityNotifier() throws IOException, ServletException {
-        // when
-        filter.doFilter(request, response, chain);
-        // then
-        verify(workspaceActivityNotifier).onActivity();
-        verify(chain).doFilter(request, response);
-    }
+  @InjectMocks private LastAccessTimeFilter filter;
 
-    @Test
-    public void shouldCallActivityNotifierInCaseOfException() throws IOException, ServletException {
-        // given
-        doThrow(RuntimeException.class).when(workspaceActivityNotifier).onActivity();
-        // when
-        filter.doFilter(request, response, chain);
-        // then
-        verify(workspaceActivityNotifier).onActivity();
-        verify(chain).doFilter(request, response);
+  @Test
+  public void shouldCallActivityNotifier() throws IOException, ServletException {
+    // when
+    filter.doFilter(request, response, chain);
+    // then
+    verify(workspaceActivityNotifier).onActivity();
+    verify(chain).doFilter(request, response);
+  }
 
-    }
+  @Test
+  public void shouldCallActivityNotifierInCaseOfException() throws IOException, ServletException {
+    // given
+    doThrow(RuntimeException.class).when(workspaceActivityNotifier).onActivity();
+    // when
+    filter.doFilter(request, response, chain);
+    // then
+    verify(workspaceActivityNotifier).onActivity();
+    verify(chain).doFilter(request, response);
+  }
 }
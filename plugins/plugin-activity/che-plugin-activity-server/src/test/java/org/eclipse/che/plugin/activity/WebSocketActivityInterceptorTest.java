@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.activity;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+import com.google.inject.Guice;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageReceiver;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link WebSocketActivityInterceptor} bound by {@link ActivityModule}. */
+@Listeners(MockitoTestNGListener.class)
+public class WebSocketActivityInterceptorTest {
+
+  @Mock private WorkspaceActivityNotifier activityNotifier;
+
+  private MessageReceiver receiver;
+
+  @BeforeMethod
+  public void setUp() {
+    receiver =
+        Guice.createInjector(
+                new ActivityModule(),
+                binder -> binder.bind(WorkspaceActivityNotifier.class).toInstance(activityNotifier))
+            .getInstance(MessageReceiver.class);
+  }
+
+  @Test
+  public void shouldCountReceivedMessageAsActivity() {
+    // when
+    receiver.receive("endpoint", "{\"jsonrpc\":\"2.0\",\"method\":\"ping\"}");
+
+    // then
+    verify(activityNotifier).onActivity();
+    assertEquals(receiver.getMessages().size(), 1);
+  }
+
+  @Test
+  public void shouldNotCountOtherCallsOfReceiverAsActivity() {
+    // when
+    receiver.getMessages();
+
+    // then
+    verify(activityNotifier, never()).onActivity();
+  }
+
+  public static class MessageReceiver implements WebSocketMessageReceiver {
+    private final List<String> messages = new ArrayList<>();
+
+    @Override
+    public void receive(String endpointId, String message) {
+      messages.add(message);
+    }
+
+    public List<String> getMessages() {
+      return messages;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.activity;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.HttpJsonRequest;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link WorkspaceActivityNotifier}
+ *
+ * @author Mihail Kuznyetsov
+ */
+@Listeners(MockitoTestNGListener.class)
+public class WorkspaceActivityNotifierTest {
+
+  private static final String ACTIVITY_URL = "localhost:8081/api/activity/workspace123";
+
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private HttpJsonRequestFactory requestFactory;
+
+  private WorkspaceActivityNotifier activityNotifier;
+
+  @BeforeMethod
+  public void setUp() {
+    activityNotifier =
+        new WorkspaceActivityNotifier(requestFactory, "localhost:8081/api", "workspace123");
+  }
+
+  @Test
+  public void shouldNotSendActivityRequestOnActivity() {
+    activityNotifier.onActivity();
+
+    verify(requestFactory, never()).fromUrl(ACTIVITY_URL);
+  }
+
+  @Test
+  public void shouldNotSendActivityRequestWhenThereWasNoActivity() {
+    activityNotifier.scheduleActivityNotification();
+
+    verify(requestFactory, never()).fromUrl(ACTIVITY_URL);
+  }
+
+  @Test
+  public void shouldSendSingleActivityRequestForActivitiesDuringPeriod() {
+    activityNotifier.onActivity();
+    activityNotifier.onActivity();
+
+    activityNotifier.scheduleActivityNotification();
+    activityNotifier.scheduleActivityNotification();
+
+    verify(requestFactory).fromUrl(ACTIVITY_URL);
+  }
+
+  @Test
+  public void shouldSendActivityRequestForActivityAfterPreviousRequest() {
+    activityNotifier.onActivity();
+    activityNotifier.scheduleActivityNotification();
+
+    activityNotifier.onActivity();
+    activityNotifier.scheduleActivityNotification();
+
+    verify(requestFactory, times(2)).fromUrl(ACTIVITY_URL);
+  }
+
+  @Test
+  public void shouldRetryFailedActivityRequestWithBackoff() throws Exception {
+    final HttpJsonRequest request = requestFactory.fromUrl(ACTIVITY_URL).usePutMethod();
+    when(request.request()).thenThrow(new ServerException("master is unavailable"));
+    activityNotifier.onActivity();
+
+    // fails, retries in the next period
+    activityNotifier.scheduleActivityNotification();
+    // fails, skips one period
+    activityNotifier.scheduleActivityNotification();
+    activityNotifier.scheduleActivityNotification();
+    // fails, skips three periods
+    activityNotifier.scheduleActivityNotification();
+    activityNotifier.scheduleActivityNotification();
+    activityNotifier.scheduleActivityNotification();
+    activityNotifier.scheduleActivityNotification();
+
+    verify(request, times(3)).request();
+  }
+}
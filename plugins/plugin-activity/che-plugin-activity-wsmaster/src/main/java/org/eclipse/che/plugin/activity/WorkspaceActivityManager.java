@@ -14,9 +14,18 @@ import static org.eclipse.che.activity.shared.Constants.ACTIVITY_CHECKER;
 import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOPPED_BY;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.Longs;
 import com.google.inject.Inject;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.PostConstruct;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -27,6 +36,7 @@ import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
@@ -41,6 +51,11 @@ import org.slf4j.LoggerFactory;
  * one minute rate. If workspace idle timeout is negative, then workspace would not be stopped
  * automatically.
  *
+ * <p>Expirations of the workspaces are kept in a queue ordered by expiration time, so the scheduler
+ * visits only expired workspaces. Expired workspaces are stopped in the {@link
+ * WorkspaceSharedPool} by a limited number of concurrent stoppers, so a slow stop of one workspace
+ * doesn't delay stops of the others.
+ *
  * @author Anton Korneta
  */
 @Singleton
@@ -50,8 +65,17 @@ public class WorkspaceActivityManager {
 
   private final long timeout;
   private final Map<String, Long> activeWorkspaces;
+  private final DelayQueue<Expiration> expirations;
+  private final Queue<Expiration> expired;
+  private final AtomicInteger stoppers;
+  private final int maxStoppers;
+  private final AtomicLong stopped;
+  private final AtomicLong stopFailures;
+  private final AtomicLong stopDelayMs;
+  private final AtomicLong maxStopDelayMs;
   private final EventService eventService;
   private final EventSubscriber<?> workspaceEventsSubscriber;
+  private final WorkspaceSharedPool sharedPool;
 
   protected final WorkspaceManager workspaceManager;
 
@@ -59,11 +83,22 @@ public class WorkspaceActivityManager {
   public WorkspaceActivityManager(
       WorkspaceManager workspaceManager,
       EventService eventService,
-      @Named("che.workspace.agent.dev.inactive_stop_timeout_ms") long timeout) {
+      WorkspaceSharedPool sharedPool,
+      @Named("che.workspace.agent.dev.inactive_stop_timeout_ms") long timeout,
+      @Named("che.workspace.activity_stop_parallelism") int maxStoppers) {
     this.timeout = timeout;
     this.workspaceManager = workspaceManager;
     this.eventService = eventService;
+    this.sharedPool = sharedPool;
+    this.maxStoppers = maxStoppers;
     this.activeWorkspaces = new ConcurrentHashMap<>();
+    this.expirations = new DelayQueue<>();
+    this.expired = new ConcurrentLinkedQueue<>();
+    this.stoppers = new AtomicInteger();
+    this.stopped = new AtomicLong();
+    this.stopFailures = new AtomicLong();
+    this.stopDelayMs = new AtomicLong();
+    this.maxStopDelayMs = new AtomicLong();
     this.workspaceEventsSubscriber =
         new EventSubscriber<WorkspaceStatusEvent>() {
           @Override
@@ -102,7 +137,12 @@ public class WorkspaceActivityManager {
     try {
       long timeout = getIdleTimeout(wsId);
       if (timeout > 0) {
-        activeWorkspaces.put(wsId, activityTime + timeout);
+        final long expirationTime = activityTime + timeout;
+        final Long previous = activeWorkspaces.put(wsId, expirationTime);
+        // postponed expiration is rescheduled when the queued one comes
+        if (previous == null || expirationTime < previous) {
+          expirations.offer(new Expiration(wsId, expirationTime));
+        }
       }
     } catch (NotFoundException | ServerException e) {
       LOG.error(e.getLocalizedMessage(), e);
@@ -117,34 +157,125 @@ public class WorkspaceActivityManager {
     }
   }
 
+  @VisibleForTesting
   @ScheduleRate(periodParameterName = "che.workspace.activity_check_scheduler_period_s")
-  private void invalidate() {
-    final long currentTime = System.currentTimeMillis();
-    for (Map.Entry<String, Long> workspaceExpireEntry : activeWorkspaces.entrySet()) {
-      if (workspaceExpireEntry.getValue() <= currentTime) {
+  void invalidate() {
+    Expiration expiration;
+    while ((expiration = expirations.poll()) != null) {
+      final String workspaceId = expiration.workspaceId;
+      final Long expirationTime = activeWorkspaces.get(workspaceId);
+      if (expirationTime == null || expirationTime < expiration.time) {
+        // workspace is stopped or its earlier expiration is queued
+        continue;
+      }
+      if (expirationTime == expiration.time
+          && activeWorkspaces.remove(workspaceId, expirationTime)) {
+        expired.offer(expiration);
+      } else {
+        // there was an activity after the expiration had been queued
+        final Long postponedTime = activeWorkspaces.get(workspaceId);
+        if (postponedTime != null) {
+          expirations.offer(new Expiration(workspaceId, postponedTime));
+        }
+      }
+    }
+    startStoppers();
+  }
+
+  /**
+   * Returns statistics of the stops of idle workspaces. Stop delay is the time between the
+   * expiration of the workspace and the start of its stop.
+   */
+  public Map<String, Long> getStatistics() {
+    final long stoppedCount = stopped.get();
+    final Map<String, Long> statistics = new LinkedHashMap<>();
+    statistics.put("active", (long) activeWorkspaces.size());
+    statistics.put("pendingStops", (long) expired.size());
+    statistics.put("stoppers", (long) stoppers.get());
+    statistics.put("stopped", stoppedCount);
+    statistics.put("stopFailures", stopFailures.get());
+    statistics.put("averageStopDelayMs", stoppedCount == 0 ? 0 : stopDelayMs.get() / stoppedCount);
+    statistics.put("maxStopDelayMs", maxStopDelayMs.get());
+    return statistics;
+  }
+
+  private void startStoppers() {
+    int running;
+    while (!expired.isEmpty() && (running = stoppers.get()) < maxStoppers) {
+      if (stoppers.compareAndSet(running, running + 1)) {
         try {
-          String workspaceId = workspaceExpireEntry.getKey();
-          Workspace workspace = workspaceManager.getWorkspace(workspaceId);
-          workspace.getAttributes().put(WORKSPACE_STOPPED_BY, ACTIVITY_CHECKER);
-          workspaceManager.updateWorkspace(workspaceId, workspace);
-          workspaceManager.stopWorkspace(workspaceId);
-        } catch (NotFoundException ignored) {
-          // workspace no longer exists, no need to do anything
-        } catch (ConflictException e) {
-          LOG.warn(e.getLocalizedMessage());
-        } catch (Exception ex) {
-          LOG.error(ex.getLocalizedMessage());
-          LOG.debug(ex.getLocalizedMessage(), ex);
-        } finally {
-          activeWorkspaces.remove(workspaceExpireEntry.getKey());
+          sharedPool.execute(this::stopExpired);
+        } catch (RuntimeException x) {
+          stoppers.decrementAndGet();
+          LOG.error(x.getLocalizedMessage(), x);
+          return;
         }
       }
     }
   }
 
+  /**
+   * Stops expired workspaces until there are no more of them. Workspaces expired after the last
+   * check of this stopper are stopped on the next scheduler run.
+   */
+  private void stopExpired() {
+    try {
+      Expiration expiration;
+      while ((expiration = expired.poll()) != null) {
+        stop(expiration);
+      }
+    } finally {
+      stoppers.decrementAndGet();
+    }
+  }
+
+  private void stop(Expiration expiration) {
+    final String workspaceId = expiration.workspaceId;
+    try {
+      Workspace workspace = workspaceManager.getWorkspace(workspaceId);
+      workspace.getAttributes().put(WORKSPACE_STOPPED_BY, ACTIVITY_CHECKER);
+      workspaceManager.updateWorkspace(workspaceId, workspace);
+      workspaceManager.stopWorkspace(workspaceId);
+      final long delay = Math.max(0, System.currentTimeMillis() - expiration.time);
+      stopDelayMs.addAndGet(delay);
+      maxStopDelayMs.accumulateAndGet(delay, Math::max);
+      stopped.incrementAndGet();
+    } catch (NotFoundException ignored) {
+      // workspace no longer exists, no need to do anything
+    } catch (ConflictException e) {
+      stopFailures.incrementAndGet();
+      LOG.warn(e.getLocalizedMessage());
+    } catch (Exception ex) {
+      stopFailures.incrementAndGet();
+      LOG.error(ex.getLocalizedMessage());
+      LOG.debug(ex.getLocalizedMessage(), ex);
+    }
+  }
+
   @VisibleForTesting
   @PostConstruct
   public void subscribe() {
     eventService.subscribe(workspaceEventsSubscriber);
   }
+
+  /** Expiration of the workspace which is queued until its time comes. */
+  private static class Expiration implements Delayed {
+    private final String workspaceId;
+    private final long time;
+
+    private Expiration(String workspaceId, long time) {
+      this.workspaceId = workspaceId;
+      this.time = time;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(time - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Longs.compare(time, ((Expiration) other).time);
+    }
+  }
 }
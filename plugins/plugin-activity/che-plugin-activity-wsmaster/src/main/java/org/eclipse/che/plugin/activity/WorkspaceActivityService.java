@@ -10,17 +10,21 @@
  */
 package org.eclipse.che.plugin.activity;
 
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -66,4 +70,16 @@ public class WorkspaceActivityService extends Service {
       LOG.debug("Updated activity on workspace {}", wsId);
     }
   }
+
+  @GET
+  @Path("/statistics")
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Get statistics of stops of idle workspaces",
+    notes = "Statistics contain the numbers of active workspaces, pending and made stops"
+  )
+  @ApiResponses(@ApiResponse(code = 200, message = "The response contains statistics"))
+  public Map<String, Long> getStatistics() {
+    return workspaceActivityManager.getStatistics();
+  }
 }
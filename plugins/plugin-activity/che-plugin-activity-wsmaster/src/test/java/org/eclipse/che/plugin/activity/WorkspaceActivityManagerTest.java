@@ -10,7 +10,13 @@
  */
 package org.eclipse.che.plugin.activity;
 
+import static org.eclipse.che.activity.shared.Constants.ACTIVITY_CHECKER;
+import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOPPED_BY;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -18,12 +24,17 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -39,6 +50,7 @@ import org.testng.annotations.Test;
 /** Tests for {@link WorkspaceActivityNotifier} */
 public class WorkspaceActivityManagerTest {
   private static final long EXPIRE_PERIOD_MS = 60_000L; //1 minute
+  private static final int MAX_STOPPERS = 2;
 
   @Mock private AccountManager accountManager;
 
@@ -51,12 +63,24 @@ public class WorkspaceActivityManagerTest {
 
   @Mock private EventService eventService;
 
+  @Mock private WorkspaceSharedPool sharedPool;
+
   private WorkspaceActivityManager activityManager;
+  private List<Runnable> stoppers;
 
   @BeforeMethod
   private void setUp() throws Exception {
     activityManager =
-        new WorkspaceActivityManager(workspaceManager, eventService, EXPIRE_PERIOD_MS);
+        new WorkspaceActivityManager(
+            workspaceManager, eventService, sharedPool, EXPIRE_PERIOD_MS, MAX_STOPPERS);
+    stoppers = new ArrayList<>();
+    doAnswer(
+            inv -> {
+              stoppers.add((Runnable) inv.getArguments()[0]);
+              return null;
+            })
+        .when(sharedPool)
+        .execute(any());
 
     when(account.getName()).thenReturn("accountName");
     when(account.getId()).thenReturn("account123");
@@ -64,6 +88,7 @@ public class WorkspaceActivityManagerTest {
 
     when(workspaceManager.getWorkspace(anyString())).thenReturn(workspace);
     when(workspace.getNamespace()).thenReturn("accountName");
+    when(workspace.getAttributes()).thenReturn(new HashMap<>());
   }
 
   @Test
@@ -133,6 +158,84 @@ public class WorkspaceActivityManagerTest {
     assertTrue(activeWorkspaces.isEmpty());
   }
 
+  @Test
+  public void shouldStopExpiredWorkspace() throws Exception {
+    final String wsId = "testWsId";
+    activityManager.update(wsId, 1000L);
+
+    activityManager.invalidate();
+    runStoppers();
+
+    verify(workspaceManager).updateWorkspace(wsId, workspace);
+    verify(workspaceManager).stopWorkspace(wsId);
+    assertEquals(workspace.getAttributes().get(WORKSPACE_STOPPED_BY), ACTIVITY_CHECKER);
+    assertTrue(getActiveWorkspaces(activityManager).isEmpty());
+    assertEquals((long) activityManager.getStatistics().get("stopped"), 1L);
+  }
+
+  @Test
+  public void shouldNotStopWorkspaceWhichWasActiveAfterPreviousActivityExpired() throws Exception {
+    final String wsId = "testWsId";
+    activityManager.update(wsId, 1000L);
+    activityManager.update(wsId, System.currentTimeMillis());
+
+    activityManager.invalidate();
+    activityManager.invalidate();
+    runStoppers();
+
+    verify(workspaceManager, never()).stopWorkspace(wsId);
+    assertTrue(getActiveWorkspaces(activityManager).containsKey(wsId));
+  }
+
+  @Test
+  public void shouldNotStopWorkspaceWhichIsNotExpired() throws Exception {
+    final String wsId = "testWsId";
+    activityManager.update(wsId, System.currentTimeMillis());
+
+    activityManager.invalidate();
+    runStoppers();
+
+    verify(workspaceManager, never()).stopWorkspace(wsId);
+    assertTrue(getActiveWorkspaces(activityManager).containsKey(wsId));
+  }
+
+  @Test
+  public void shouldStopExpiredWorkspacesByLimitedNumberOfStoppers() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      activityManager.update("ws" + i, 1000L + i);
+    }
+
+    activityManager.invalidate();
+
+    assertEquals(stoppers.size(), MAX_STOPPERS);
+    assertEquals((long) activityManager.getStatistics().get("pendingStops"), 5L);
+    runStoppers();
+    for (int i = 0; i < 5; i++) {
+      verify(workspaceManager).stopWorkspace("ws" + i);
+    }
+    assertEquals((long) activityManager.getStatistics().get("stoppers"), 0L);
+  }
+
+  @Test
+  public void shouldCountFailedStops() throws Exception {
+    final String wsId = "testWsId";
+    activityManager.update(wsId, 1000L);
+    doThrow(new ServerException("failed")).when(workspaceManager).stopWorkspace(wsId);
+
+    activityManager.invalidate();
+    runStoppers();
+
+    assertEquals((long) activityManager.getStatistics().get("stopFailures"), 1L);
+    assertEquals((long) activityManager.getStatistics().get("stopped"), 0L);
+  }
+
+  private void runStoppers() {
+    for (Runnable stopper : stoppers) {
+      stopper.run();
+    }
+    stoppers.clear();
+  }
+
   @SuppressWarnings("unchecked")
   private Map<String, Long> getActiveWorkspaces(WorkspaceActivityManager workspaceActivityManager)
       throws Exception {
@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.activity;
 
 import static com.jayway.restassured.RestAssured.given;
+import static java.util.Collections.singletonMap;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
@@ -99,6 +100,19 @@ public class WorkspaceActivityServiceTest {
     verifyZeroInteractions(workspaceActivityManager);
   }
 
+  @Test
+  public void shouldReturnStatisticsOfIdleWorkspaceStops() throws Exception {
+    // given
+    when(workspaceActivityManager.getStatistics()).thenReturn(singletonMap("stopped", 3L));
+
+    // when
+    Response response = given().when().get(SERVICE_PATH + "/statistics");
+
+    // then
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(response.jsonPath().getLong("stopped"), 3L);
+  }
+
   @DataProvider(name = "wsStatus")
   public Object[][] getWorkspaceStatus() {
     return new Object[][] {
@@ -13,20 +13,32 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.eclipse.che.jdt.javaeditor.JavaReconciler.Mode.ACTIVATED;
 import static org.eclipse.che.jdt.javaeditor.JavaReconciler.Mode.DEACTIVATED;
 import static org.eclipse.jdt.core.IJavaElement.COMPILATION_UNIT;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import javax.annotation.PreDestroy;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
 import org.eclipse.che.api.project.server.EditorWorkingCopy;
 import org.eclipse.che.api.project.server.EditorWorkingCopyManager;
 import org.eclipse.che.api.project.server.EditorWorkingCopyUpdatedEvent;
@@ -38,11 +50,15 @@ import org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto;
 import org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto.Type;
 import org.eclipse.che.api.vfs.impl.file.event.detectors.FileTrackingOperationEvent;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.IClasspathEntry;
@@ -66,15 +82,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Reconciles java files opened in editors and sends results to clients.
+ *
+ * <p>Editor changes of a file are reconciled in background after a short pause in typing, so a
+ * burst of changes is reconciled once. A reconcile is cancelled when a newer change arrives. Each
+ * opened file keeps its JDT working copy until the file is closed, only the changed region of the
+ * text is applied to it before reconcile.
+ *
  * @author Evgen Vidolob
  * @author Roman Nikitenko
  */
 @Singleton
 public class JavaReconciler {
   private static final Logger LOG = LoggerFactory.getLogger(JavaReconciler.class);
-  private static final JavaModel JAVA_MODEL = JavaModelManager.getJavaModelManager().getJavaModel();
   private static final String RECONCILE_ERROR_METHOD = "event:java-reconcile-error";
   private static final String RECONCILE_STATE_CHANGED_METHOD = "event:java-reconcile-state-changed";
+  /** Pause after the last editor change of a file before the file is reconciled. */
+  private static final long RECONCILE_DELAY_MS = 300;
 
   private final List<EventSubscriber> subscribers = new ArrayList<>(2);
 
@@ -83,8 +107,13 @@ public class JavaReconciler {
   private final ProjectManager projectManager;
   private final EditorWorkingCopyManager editorWorkingCopyManager;
   private final SemanticHighlightingReconciler semanticHighlighting;
+  private final ScheduledExecutorService reconcileExecutor;
+  /** File path -> reconciler of the file opened in editor */
+  private final Map<String, FileReconciler> fileReconcilers = new ConcurrentHashMap<>();
+  /** Project path -> metrics of reconciling of files of the project */
+  private final Map<String, ReconcileMetrics> projectMetrics = new ConcurrentHashMap<>();
 
-  private Mode mode = ACTIVATED;
+  private volatile Mode mode = ACTIVATED;
 
   @Inject
   public JavaReconciler(
@@ -93,11 +122,35 @@ public class JavaReconciler {
       RequestTransmitter transmitter,
       ProjectManager projectManager,
       EditorWorkingCopyManager editorWorkingCopyManager) {
+    // One thread, so JDT working copies are never reconciled concurrently
+    this(
+        semanticHighlighting,
+        eventService,
+        transmitter,
+        projectManager,
+        editorWorkingCopyManager,
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("JavaReconciler-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build()));
+  }
+
+  @VisibleForTesting
+  JavaReconciler(
+      SemanticHighlightingReconciler semanticHighlighting,
+      EventService eventService,
+      RequestTransmitter transmitter,
+      ProjectManager projectManager,
+      EditorWorkingCopyManager editorWorkingCopyManager,
+      ScheduledExecutorService reconcileExecutor) {
     this.semanticHighlighting = semanticHighlighting;
     this.eventService = eventService;
     this.transmitter = transmitter;
     this.projectManager = projectManager;
     this.editorWorkingCopyManager = editorWorkingCopyManager;
+    this.reconcileExecutor = reconcileExecutor;
 
     EventSubscriber<FileTrackingOperationEvent> fileOperationEventSubscriber =
         new EventSubscriber<FileTrackingOperationEvent>() {
@@ -120,9 +173,36 @@ public class JavaReconciler {
     subscribers.add(editorContentUpdateEventSubscriber);
   }
 
+  /** Releases files opened by an endpoint when its web socket session is closed. */
+  @Inject
+  void subscribeToEndpointClose(WebSocketSessionRegistry sessionRegistry) {
+    sessionRegistry.addRemovalListener((endpointId, session) -> onEndpointClosed(endpointId));
+  }
+
   @PreDestroy
   private void unsubscribe() {
     subscribers.forEach(eventService::unsubscribe);
+    fileReconcilers.values().forEach(FileReconciler::close);
+    reconcileExecutor.shutdown();
+  }
+
+  /**
+   * Returns metrics of reconciling of the file opened in editor, {@code null} if the file isn't
+   * opened.
+   */
+  @Nullable
+  public ReconcileMetrics getFileMetrics(String filePath) {
+    FileReconciler fileReconciler = fileReconcilers.get(filePath);
+    return fileReconciler == null ? null : fileReconciler.metrics;
+  }
+
+  /**
+   * Returns metrics of reconciling of files of the project opened in editors, {@code null} if no
+   * file of the project has been opened.
+   */
+  @Nullable
+  public ReconcileMetrics getProjectMetrics(String projectPath) {
+    return projectMetrics.get(projectPath);
   }
 
   public ReconcileResult reconcile(IJavaProject javaProject, String fqn) throws JavaModelException {
@@ -135,18 +215,33 @@ public class JavaReconciler {
   private ReconcileResult reconcile(ICompilationUnit compilationUnit, IJavaProject javaProject)
       throws JavaModelException {
     ICompilationUnit workingCopy = null;
-    List<HighlightedPosition> positions;
-    String filePath = compilationUnit.getPath().toString();
-
     final ProblemRequestor problemRequestor = new ProblemRequestor();
     final WorkingCopyOwner wcOwner = createWorkingCopyOwner(problemRequestor);
 
     try {
       workingCopy = compilationUnit.getWorkingCopy(wcOwner, null);
+      return reconcile(workingCopy, wcOwner, problemRequestor, javaProject, null);
+    } finally {
+      discardWorkingCopy(workingCopy);
+    }
+  }
+
+  @VisibleForTesting
+  ReconcileResult reconcile(
+      ICompilationUnit workingCopy,
+      WorkingCopyOwner wcOwner,
+      ProblemRequestor problemRequestor,
+      IJavaProject javaProject,
+      IProgressMonitor monitor)
+      throws JavaModelException {
+    List<HighlightedPosition> positions;
+    String filePath = workingCopy.getPath().toString();
+
+    try {
       synchronizeWorkingCopyContent(filePath, workingCopy);
       problemRequestor.reset();
 
-      CompilationUnit unit = workingCopy.reconcile(AST.JLS8, true, wcOwner, null);
+      CompilationUnit unit = workingCopy.reconcile(AST.JLS8, true, wcOwner, monitor);
       positions = semanticHighlighting.reconcileSemanticHighlight(unit);
 
       if (workingCopy instanceof ClassFileWorkingCopy) {
@@ -160,25 +255,29 @@ public class JavaReconciler {
               filePath, javaProject.getPath().toOSString()),
           e);
       throw e;
-    } finally {
-      if (workingCopy != null && workingCopy.isWorkingCopy()) {
-        try {
-          workingCopy.getBuffer().close();
-          workingCopy.discardWorkingCopy();
-        } catch (JavaModelException e) {
-          //ignore
-        }
-      }
     }
 
     DtoFactory dtoFactory = DtoFactory.getInstance();
     return dtoFactory
         .createDto(ReconcileResult.class)
-        .withFileLocation(compilationUnit.getPath().toOSString())
+        .withFileLocation(workingCopy.getPath().toOSString())
         .withProblems(convertProblems(problemRequestor.problems))
         .withHighlightedPositions(positions);
   }
 
+  @VisibleForTesting
+  void discardWorkingCopy(@Nullable ICompilationUnit workingCopy) {
+    if (workingCopy != null && workingCopy.isWorkingCopy()) {
+      try {
+        workingCopy.getBuffer().close();
+        workingCopy.discardWorkingCopy();
+      } catch (JavaModelException e) {
+        //ignore
+      }
+    }
+  }
+
+  /** Applies the region of the editor content which differs from the working copy content. */
   private void synchronizeWorkingCopyContent(String filePath, ICompilationUnit workingCopy)
       throws JavaModelException {
     EditorWorkingCopy editorWorkingCopy = editorWorkingCopyManager.getWorkingCopy(filePath);
@@ -186,27 +285,91 @@ public class JavaReconciler {
       return;
     }
 
-    String oldContent = workingCopy.getBuffer().getContents();
-    String newContent = editorWorkingCopy.getContentAsString();
+    TextEdit textEdit =
+        createEdit(workingCopy.getBuffer().getContents(), editorWorkingCopy.getContentAsString());
+    if (textEdit != null) {
+      workingCopy.applyTextEdit(textEdit, null);
+    }
+  }
 
-    TextEdit textEdit = new ReplaceEdit(0, oldContent.length(), newContent);
-    workingCopy.applyTextEdit(textEdit, null);
+  /**
+   * Returns the edit which replaces the region between the common prefix and suffix of the old
+   * content with the corresponding region of the new content, {@code null} if contents are equal.
+   */
+  @Nullable
+  @VisibleForTesting
+  static ReplaceEdit createEdit(String oldContent, String newContent) {
+    int oldLength = oldContent.length();
+    int newLength = newContent.length();
+    int minLength = Math.min(oldLength, newLength);
+    int prefix = 0;
+    while (prefix < minLength && oldContent.charAt(prefix) == newContent.charAt(prefix)) {
+      prefix++;
+    }
+    if (prefix == oldLength && oldLength == newLength) {
+      return null;
+    }
+    int suffix = 0;
+    while (suffix < minLength - prefix
+        && oldContent.charAt(oldLength - suffix - 1) == newContent.charAt(newLength - suffix - 1)) {
+      suffix++;
+    }
+
+    return new ReplaceEdit(
+        prefix, oldLength - prefix - suffix, newContent.substring(prefix, newLength - suffix));
   }
 
-  private void onEditorContentUpdated(EditorWorkingCopyUpdatedEvent event) {
+  @VisibleForTesting
+  void onEditorContentUpdated(EditorWorkingCopyUpdatedEvent event) {
     if (mode == DEACTIVATED) {
       return;
     }
 
     String endpointId = event.getEndpointId();
     EditorChangesDto editorChanges = event.getChanges();
-    String filePath = editorChanges.getFileLocation();
-    String projectPath = editorChanges.getProjectPath();
+    // Changes of a file which isn't opened anymore are not reconciled
+    FileReconciler fileReconciler = fileReconcilers.get(editorChanges.getFileLocation());
+    if (fileReconciler != null) {
+      fileReconciler.schedule(endpointId, RECONCILE_DELAY_MS);
+    }
+  }
 
-    reconcileAndTransmit(filePath, projectPath, endpointId);
+  /** Releases files opened by the endpoint as if it had closed each of them. */
+  @VisibleForTesting
+  void onEndpointClosed(String endpointId) {
+    fileReconcilers.keySet().forEach(filePath -> releaseFileReconciler(filePath, endpointId));
   }
 
-  private void onFileOperation(String endpointId, FileTrackingOperationDto operation) {
+  /** Returns reconciler of the file, the file is considered opened by the given endpoint. */
+  private FileReconciler openFileReconciler(
+      String filePath, String projectPath, String endpointId) {
+    return fileReconcilers.compute(
+        filePath,
+        (path, fileReconciler) -> {
+          if (fileReconciler == null) {
+            fileReconciler = new FileReconciler(path, projectPath);
+          }
+          fileReconciler.open(endpointId);
+          return fileReconciler;
+        });
+  }
+
+  /** Closes reconciler of the file when the file isn't opened by any other endpoint. */
+  private void releaseFileReconciler(String filePath, String endpointId) {
+    fileReconcilers.computeIfPresent(
+        filePath,
+        (path, fileReconciler) -> fileReconciler.release(endpointId) ? null : fileReconciler);
+  }
+
+  private void closeFileReconciler(String filePath) {
+    FileReconciler fileReconciler = fileReconcilers.remove(filePath);
+    if (fileReconciler != null) {
+      fileReconciler.close();
+    }
+  }
+
+  @VisibleForTesting
+  void onFileOperation(String endpointId, FileTrackingOperationDto operation) {
     try {
       Type operationType = operation.getType();
       switch (operationType) {
@@ -223,7 +386,19 @@ public class JavaReconciler {
               throw new NotFoundException("The project is not recognized for " + filePath);
             }
 
-            reconcileAndTransmit(filePath, projectPath, endpointId);
+            openFileReconciler(filePath, projectPath, endpointId).schedule(endpointId, 0);
+            break;
+          }
+
+        case STOP:
+          {
+            releaseFileReconciler(operation.getPath(), endpointId);
+            break;
+          }
+
+        case MOVE:
+          {
+            closeFileReconciler(operation.getOldPath());
             break;
           }
 
@@ -259,37 +434,6 @@ public class JavaReconciler {
     }
   }
 
-  private void reconcileAndTransmit(String filePath, String projectPath, String endpointId) {
-    ICompilationUnit compilationUnit;
-    try {
-      compilationUnit = getCompilationUnit(filePath, projectPath);
-      if (compilationUnit == null) {
-        return;
-      }
-    } catch (JavaModelException e) {
-      return; //ignore - we haven't compilation unit to reconcile
-    }
-
-    try {
-      ReconcileResult reconcileResult = reconcile(compilationUnit, getJavaProject(projectPath));
-      transmitter
-          .newRequest()
-          .endpointId(endpointId)
-          .methodName(RECONCILE_STATE_CHANGED_METHOD)
-          .paramsAsDto(reconcileResult)
-          .sendAndSkipResult();
-    } catch (JavaModelException e) {
-      String errorMessage =
-          format(
-              "Can't reconcile class: %s in project: %s, the reason is %s",
-              filePath, projectPath, e.getLocalizedMessage());
-
-      LOG.error(errorMessage);
-
-      transmitError(500, errorMessage, endpointId);
-    }
-  }
-
   private void transmitError(int code, String errorMessage, String endpointId) {
     DtoFactory dtoFactory = DtoFactory.getInstance();
     ServerError reconcileError =
@@ -303,7 +447,8 @@ public class JavaReconciler {
   }
 
   @Nullable
-  private ICompilationUnit getCompilationUnit(String filePath, String projectPath)
+  @VisibleForTesting
+  ICompilationUnit getCompilationUnit(String filePath, String projectPath)
       throws JavaModelException {
     IJavaProject javaProject = getJavaProject(projectPath);
     if (javaProject == null) {
@@ -332,9 +477,11 @@ public class JavaReconciler {
   }
 
   @Nullable
-  private IJavaProject getJavaProject(String projectPath) throws JavaModelException {
-    IJavaProject project = JAVA_MODEL.getJavaProject(projectPath);
-    List<IJavaProject> javaProjects = asList(JAVA_MODEL.getJavaProjects());
+  @VisibleForTesting
+  IJavaProject getJavaProject(String projectPath) throws JavaModelException {
+    JavaModel javaModel = JavaModelManager.getJavaModelManager().getJavaModel();
+    IJavaProject project = javaModel.getJavaProject(projectPath);
+    List<IJavaProject> javaProjects = asList(javaModel.getJavaProjects());
 
     return javaProjects.contains(project) ? project : null;
   }
@@ -390,7 +537,7 @@ public class JavaReconciler {
     return type;
   }
 
-  private class ProblemRequestor implements IProblemRequestor {
+  class ProblemRequestor implements IProblemRequestor {
 
     private List<IProblem> problems = new ArrayList<>();
 
@@ -415,6 +562,308 @@ public class JavaReconciler {
     }
   }
 
+  /**
+   * Reconciles a file opened in editor. Changes are collected until the file isn't changed for the
+   * given delay, then the file is reconciled on the reconcile thread with its own working copy.
+   */
+  private class FileReconciler {
+    private final String filePath;
+    private final String projectPath;
+    private final ReconcileMetrics metrics = new ReconcileMetrics();
+    private final ReconcileMetrics projectMetrics;
+
+    // Guarded by this
+    /** Incremented on each change, reconcile of an older generation is obsolete. */
+    private long generation;
+    /** Time of the first change which isn't reconciled yet, 0 if there is no such change. */
+    private long pendingSince;
+
+    /** Endpoints which changed the file since the last reconcile, each of them gets the result. */
+    private final Set<String> pendingEndpoints = new LinkedHashSet<>();
+    /** Endpoints which opened the file. */
+    private final Set<String> openedBy = new HashSet<>();
+    private ScheduledFuture<?> scheduled;
+    private volatile boolean closed;
+
+    // Accessed on the reconcile thread only
+    private final ProblemRequestor problemRequestor = new ProblemRequestor();
+    private final WorkingCopyOwner wcOwner = createWorkingCopyOwner(problemRequestor);
+    private ICompilationUnit workingCopy;
+
+    FileReconciler(String filePath, String projectPath) {
+      this.filePath = filePath;
+      this.projectPath = projectPath;
+      this.projectMetrics =
+          JavaReconciler.this.projectMetrics.computeIfAbsent(
+              projectPath, path -> new ReconcileMetrics());
+    }
+
+    /** Schedules reconcile after the delay, postponing already scheduled one. */
+    synchronized void schedule(String endpointId, long delayMs) {
+      if (closed) {
+        return;
+      }
+      pendingEndpoints.add(endpointId);
+      generation++;
+      metrics.changed();
+      projectMetrics.changed();
+      if (pendingSince == 0) {
+        pendingSince = System.nanoTime();
+        metrics.queued(1);
+        projectMetrics.queued(1);
+      }
+      if (scheduled != null) {
+        scheduled.cancel(false);
+      }
+      scheduled = reconcileExecutor.schedule(this::reconcileAndTransmit, delayMs, MILLISECONDS);
+    }
+
+    synchronized void open(String endpointId) {
+      openedBy.add(endpointId);
+    }
+
+    /**
+     * Closes this reconciler if the file isn't opened by any other endpoint.
+     *
+     * @return true if this reconciler has been closed
+     */
+    synchronized boolean release(String endpointId) {
+      if (openedBy.remove(endpointId) && openedBy.isEmpty()) {
+        close();
+        return true;
+      }
+      return false;
+    }
+
+    /** Stops reconciling, working copy is discarded on the reconcile thread. */
+    synchronized void close() {
+      closed = true;
+      if (scheduled != null) {
+        scheduled.cancel(false);
+      }
+      pendingEndpoints.clear();
+      if (pendingSince != 0) {
+        pendingSince = 0;
+        metrics.queued(-1);
+        projectMetrics.queued(-1);
+      }
+      reconcileExecutor.execute(
+          () -> {
+            discardWorkingCopy(workingCopy);
+            workingCopy = null;
+          });
+    }
+
+    private synchronized boolean isObsolete(long reconciledGeneration) {
+      return closed || generation != reconciledGeneration;
+    }
+
+    private void reconcileAndTransmit() {
+      final long reconciledGeneration;
+      final List<String> endpointIds;
+      synchronized (this) {
+        if (closed || pendingSince == 0) {
+          return;
+        }
+        reconciledGeneration = generation;
+        endpointIds = new ArrayList<>(pendingEndpoints);
+      }
+
+      final long start = System.nanoTime();
+      try {
+        if (mode == DEACTIVATED) {
+          return;
+        }
+        ReconcileResult reconcileResult = reconcile(reconciledGeneration);
+        if (reconcileResult == null) {
+          return;
+        }
+        if (isObsolete(reconciledGeneration)) {
+          metrics.cancelled();
+          projectMetrics.cancelled();
+          return;
+        }
+        for (String endpointId : endpointIds) {
+          transmitter
+              .newRequest()
+              .endpointId(endpointId)
+              .methodName(RECONCILE_STATE_CHANGED_METHOD)
+              .paramsAsDto(reconcileResult)
+              .sendAndSkipResult();
+        }
+        final long latency = complete(reconciledGeneration);
+        metrics.reconciled(System.nanoTime() - start, latency);
+        projectMetrics.reconciled(System.nanoTime() - start, latency);
+      } catch (OperationCanceledException e) {
+        metrics.cancelled();
+        projectMetrics.cancelled();
+      } catch (JavaModelException e) {
+        String errorMessage =
+            format(
+                "Can't reconcile class: %s in project: %s, the reason is %s",
+                filePath, projectPath, e.getLocalizedMessage());
+
+        LOG.error(errorMessage);
+
+        endpointIds.forEach(endpointId -> transmitError(500, errorMessage, endpointId));
+      } catch (RuntimeException e) {
+        LOG.error(format("Can't reconcile class: %s in project: %s", filePath, projectPath), e);
+      } finally {
+        // Does nothing if the changes have been completed or a newer change is waiting
+        complete(reconciledGeneration);
+      }
+    }
+
+    /** Returns result of reconcile, {@code null} if the file isn't a compilation unit. */
+    @Nullable
+    private ReconcileResult reconcile(long reconciledGeneration) throws JavaModelException {
+      ICompilationUnit compilationUnit;
+      try {
+        compilationUnit = getCompilationUnit(filePath, projectPath);
+        if (compilationUnit == null) {
+          return null;
+        }
+      } catch (JavaModelException e) {
+        return null; //ignore - we haven't compilation unit to reconcile
+      }
+      if (editorWorkingCopyManager.getWorkingCopy(filePath) == null) {
+        // Nothing to synchronize the kept working copy with, it may be outdated
+        discardWorkingCopy(workingCopy);
+        workingCopy = null;
+      }
+      if (workingCopy == null || !workingCopy.isWorkingCopy()) {
+        workingCopy = compilationUnit.getWorkingCopy(wcOwner, null);
+      }
+      IProgressMonitor monitor =
+          new NullProgressMonitor() {
+            @Override
+            public boolean isCanceled() {
+              return isObsolete(reconciledGeneration);
+            }
+          };
+      return JavaReconciler.this.reconcile(
+          workingCopy, wcOwner, problemRequestor, getJavaProject(projectPath), monitor);
+    }
+
+    /**
+     * Marks changes up to the given generation as handled, the endpoints which made them don't wait
+     * for the result anymore.
+     *
+     * @return time passed since the first of these changes in nanoseconds
+     */
+    private synchronized long complete(long reconciledGeneration) {
+      final long latency = System.nanoTime() - pendingSince;
+      if (generation == reconciledGeneration && pendingSince != 0) {
+        pendingSince = 0;
+        pendingEndpoints.clear();
+        metrics.queued(-1);
+        projectMetrics.queued(-1);
+      }
+      return latency;
+    }
+  }
+
+  /** Statistics of reconciling of a file or of all files of a project, times in milliseconds. */
+  public static class ReconcileMetrics {
+    private volatile long changes;
+    private volatile long reconciles;
+    private volatile long cancelled;
+    private volatile int queued;
+    private volatile long lastReconcileTimeMillis;
+    private volatile long maxReconcileTimeMillis;
+    private volatile long totalLatencyMillis;
+    private volatile long lastLatencyMillis;
+    private volatile long maxLatencyMillis;
+
+    private synchronized void changed() {
+      changes++;
+    }
+
+    private synchronized void queued(int delta) {
+      queued += delta;
+    }
+
+    private synchronized void cancelled() {
+      cancelled++;
+    }
+
+    private synchronized void reconciled(long reconcileNanos, long latencyNanos) {
+      final long reconcileMillis = reconcileNanos / 1_000_000;
+      final long latencyMillis = latencyNanos / 1_000_000;
+      reconciles++;
+      lastReconcileTimeMillis = reconcileMillis;
+      maxReconcileTimeMillis = Math.max(maxReconcileTimeMillis, reconcileMillis);
+      totalLatencyMillis += latencyMillis;
+      lastLatencyMillis = latencyMillis;
+      maxLatencyMillis = Math.max(maxLatencyMillis, latencyMillis);
+    }
+
+    /** Number of editor changes and opening of files which requested reconcile. */
+    public long getChanges() {
+      return changes;
+    }
+
+    /** Number of reconciles which results were sent to clients. */
+    public long getReconciles() {
+      return reconciles;
+    }
+
+    /** Number of reconciles which were cancelled or discarded because of newer changes. */
+    public long getCancelled() {
+      return cancelled;
+    }
+
+    /** Number of files which have changes waiting for reconcile. */
+    public int getQueued() {
+      return queued;
+    }
+
+    public long getLastReconcileTimeMillis() {
+      return lastReconcileTimeMillis;
+    }
+
+    public long getMaxReconcileTimeMillis() {
+      return maxReconcileTimeMillis;
+    }
+
+    /** Total time from the first change waiting for reconcile to sending of the result. */
+    public long getTotalLatencyMillis() {
+      return totalLatencyMillis;
+    }
+
+    public long getLastLatencyMillis() {
+      return lastLatencyMillis;
+    }
+
+    public long getMaxLatencyMillis() {
+      return maxLatencyMillis;
+    }
+
+    @Override
+    public String toString() {
+      return "ReconcileMetrics{"
+          + "changes="
+          + changes
+          + ", reconciles="
+          + reconciles
+          + ", cancelled="
+          + cancelled
+          + ", queued="
+          + queued
+          + ", lastReconcileTimeMillis="
+          + lastReconcileTimeMillis
+          + ", maxReconcileTimeMillis="
+          + maxReconcileTimeMillis
+          + ", totalLatencyMillis="
+          + totalLatencyMillis
+          + ", lastLatencyMillis="
+          + lastLatencyMillis
+          + ", maxLatencyMillis="
+          + maxLatencyMillis
+          + '}';
+    }
+  }
+
   enum Mode {
     /** The state when the reconciler is turned on. */
     ACTIVATED,
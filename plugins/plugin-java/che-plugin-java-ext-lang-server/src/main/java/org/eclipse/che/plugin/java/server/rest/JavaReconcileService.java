@@ -15,8 +15,11 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.jdt.javaeditor.JavaReconciler;
+import org.eclipse.che.jdt.javaeditor.JavaReconciler.ReconcileMetrics;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.JavaModel;
@@ -38,4 +41,28 @@ public class JavaReconcileService {
     IJavaProject javaProject = model.getJavaProject(projectPath);
     return reconciler.reconcile(javaProject, fqn);
   }
+
+  /**
+   * Returns metrics of reconciling of the file opened in editor if {@code filepath} is specified,
+   * otherwise metrics of reconciling of the files of the project.
+   */
+  @GET
+  @Path("/metrics")
+  @Produces("application/json")
+  public ReconcileMetrics getMetrics(
+      @QueryParam("projectpath") String projectPath, @QueryParam("filepath") String filePath)
+      throws BadRequestException, NotFoundException {
+    if (filePath == null && projectPath == null) {
+      throw new BadRequestException("Either projectpath or filepath query parameter is required");
+    }
+    ReconcileMetrics metrics =
+        filePath != null
+            ? reconciler.getFileMetrics(filePath)
+            : reconciler.getProjectMetrics(projectPath);
+    if (metrics == null) {
+      throw new NotFoundException(
+          "No files of " + (filePath != null ? filePath : projectPath) + " were reconciled");
+    }
+    return metrics;
+  }
 }
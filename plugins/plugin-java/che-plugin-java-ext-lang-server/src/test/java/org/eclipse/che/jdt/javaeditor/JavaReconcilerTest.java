@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.jdt.javaeditor;
+
+import static org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto.Type.MOVE;
+import static org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto.Type.START;
+import static org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto.Type.STOP;
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.EndpointIdConfigurator;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.project.server.EditorWorkingCopy;
+import org.eclipse.che.api.project.server.EditorWorkingCopyManager;
+import org.eclipse.che.api.project.server.EditorWorkingCopyUpdatedEvent;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.server.VirtualFileEntry;
+import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
+import org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto;
+import org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto.Type;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of reconciling of files opened in editors by {@link JavaReconciler}.
+ *
+ * <p>Scheduled reconciles are collected and run by the test, so the debounce delay doesn't matter.
+ */
+public class JavaReconcilerTest {
+  private static final String PROJECT_PATH = "/project";
+  private static final String FILE_PATH = "/project/src/main/java/p1/X.java";
+
+  private final List<Runnable> scheduled = new ArrayList<>();
+  private final List<ScheduledFuture<?>> futures = new ArrayList<>();
+
+  private EndpointIdConfigurator endpointIdConfigurator;
+  private ICompilationUnit workingCopy;
+  private ReconcileResult reconcileResult;
+  private JavaReconciler reconciler;
+
+  @Before
+  public void setUp() throws Exception {
+    ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    when(executor.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+        .thenAnswer(
+            invocation -> {
+              scheduled.add((Runnable) invocation.getArguments()[0]);
+              ScheduledFuture<?> future = mock(ScheduledFuture.class);
+              futures.add(future);
+              return future;
+            });
+    doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArguments()[0]).run();
+              return null;
+            })
+        .when(executor)
+        .execute(any(Runnable.class));
+
+    RequestTransmitter transmitter = mock(RequestTransmitter.class);
+    endpointIdConfigurator = mock(EndpointIdConfigurator.class, RETURNS_DEEP_STUBS);
+    when(transmitter.newRequest()).thenReturn(endpointIdConfigurator);
+
+    ProjectManager projectManager = mock(ProjectManager.class, RETURNS_DEEP_STUBS);
+    VirtualFileEntry fileEntry = mock(VirtualFileEntry.class);
+    when(fileEntry.getProject()).thenReturn(PROJECT_PATH);
+    when(projectManager.getProjectsRoot().getChild(FILE_PATH)).thenReturn(fileEntry);
+
+    EditorWorkingCopyManager editorWorkingCopyManager = mock(EditorWorkingCopyManager.class);
+    when(editorWorkingCopyManager.getWorkingCopy(FILE_PATH))
+        .thenReturn(mock(EditorWorkingCopy.class));
+
+    ICompilationUnit compilationUnit = mock(ICompilationUnit.class);
+    workingCopy = mock(ICompilationUnit.class);
+    when(workingCopy.isWorkingCopy()).thenReturn(true);
+    when(compilationUnit.getWorkingCopy(any(WorkingCopyOwner.class), any(IProgressMonitor.class)))
+        .thenReturn(workingCopy);
+    reconcileResult = mock(ReconcileResult.class);
+
+    reconciler =
+        spy(
+            new JavaReconciler(
+                mock(SemanticHighlightingReconciler.class),
+                mock(EventService.class),
+                transmitter,
+                projectManager,
+                editorWorkingCopyManager,
+                executor));
+    doReturn(compilationUnit).when(reconciler).getCompilationUnit(FILE_PATH, PROJECT_PATH);
+    doReturn(mock(IJavaProject.class)).when(reconciler).getJavaProject(PROJECT_PATH);
+    doReturn(reconcileResult)
+        .when(reconciler)
+        .reconcile(
+            eq(workingCopy),
+            any(WorkingCopyOwner.class),
+            any(),
+            any(IJavaProject.class),
+            any(IProgressMonitor.class));
+    doNothing().when(reconciler).discardWorkingCopy(any(ICompilationUnit.class));
+  }
+
+  @Test
+  public void shouldReconcileBurstOfChangesOnceAndSendResultToEachEndpoint() throws Exception {
+    openFile("endpoint1", "endpoint2");
+
+    reconciler.onEditorContentUpdated(editorChange("endpoint1"));
+    reconciler.onEditorContentUpdated(editorChange("endpoint1"));
+    reconciler.onEditorContentUpdated(editorChange("endpoint2"));
+
+    runScheduled();
+
+    verify(futures.get(0)).cancel(false);
+    verify(futures.get(1)).cancel(false);
+    verify(reconciler)
+        .reconcile(
+            eq(workingCopy),
+            any(WorkingCopyOwner.class),
+            any(),
+            any(IJavaProject.class),
+            any(IProgressMonitor.class));
+    verify(endpointIdConfigurator).endpointId("endpoint1");
+    verify(endpointIdConfigurator).endpointId("endpoint2");
+    // opening of the file by both endpoints is reconciled once as well
+    assertThat(reconciler.getFileMetrics(FILE_PATH).getChanges()).isEqualTo(5);
+    assertThat(reconciler.getFileMetrics(FILE_PATH).getReconciles()).isEqualTo(2);
+    assertThat(reconciler.getFileMetrics(FILE_PATH).getQueued()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotReconcileChangesOfFileWhichIsNotOpened() throws Exception {
+    openFile("endpoint1");
+    reconciler.onFileOperation("endpoint1", fileOperation(STOP, FILE_PATH, null));
+
+    reconciler.onEditorContentUpdated(editorChange("endpoint1"));
+
+    assertThat(scheduled).isEmpty();
+    assertThat(reconciler.getFileMetrics(FILE_PATH)).isNull();
+  }
+
+  @Test
+  public void shouldReleaseFilesOpenedByEndpointWhenItIsClosed() throws Exception {
+    openFile("endpoint1", "endpoint2");
+
+    reconciler.onEndpointClosed("endpoint1");
+
+    verify(reconciler, never()).discardWorkingCopy(workingCopy);
+
+    reconciler.onEndpointClosed("endpoint2");
+
+    verify(reconciler).discardWorkingCopy(workingCopy);
+    assertThat(reconciler.getFileMetrics(FILE_PATH)).isNull();
+  }
+
+  @Test
+  public void shouldCompleteChangesWhenReconcileFails() throws Exception {
+    openFile("endpoint1");
+    doThrow(new IllegalStateException("reconcile failed"))
+        .when(reconciler)
+        .reconcile(
+            eq(workingCopy),
+            any(WorkingCopyOwner.class),
+            any(),
+            any(IJavaProject.class),
+            any(IProgressMonitor.class));
+    reconciler.onEditorContentUpdated(editorChange("endpoint1"));
+
+    runScheduled();
+
+    verify(endpointIdConfigurator, never()).endpointId(anyString());
+    assertThat(reconciler.getFileMetrics(FILE_PATH).getQueued()).isEqualTo(0);
+    assertThat(reconciler.getProjectMetrics(PROJECT_PATH).getQueued()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCancelReconcileOfObsoleteGeneration() throws Exception {
+    openFile("endpoint1", "endpoint2");
+    doAnswer(
+            invocation -> {
+              IProgressMonitor monitor = (IProgressMonitor) invocation.getArguments()[4];
+              assertThat(monitor.isCanceled()).isFalse();
+              reconciler.onEditorContentUpdated(editorChange("endpoint2"));
+              assertThat(monitor.isCanceled()).isTrue();
+              return reconcileResult;
+            })
+        .doReturn(reconcileResult)
+        .when(reconciler)
+        .reconcile(
+            eq(workingCopy),
+            any(WorkingCopyOwner.class),
+            any(),
+            any(IJavaProject.class),
+            any(IProgressMonitor.class));
+    reconciler.onEditorContentUpdated(editorChange("endpoint1"));
+
+    runScheduled();
+
+    verify(endpointIdConfigurator, never()).endpointId(anyString());
+    assertThat(reconciler.getFileMetrics(FILE_PATH).getCancelled()).isEqualTo(1);
+
+    runScheduled();
+
+    verify(endpointIdConfigurator).endpointId("endpoint1");
+    verify(endpointIdConfigurator).endpointId("endpoint2");
+  }
+
+  @Test
+  public void shouldDiscardWorkingCopyWhenFileIsClosed() throws Exception {
+    reconciler.onFileOperation("endpoint1", fileOperation(START, FILE_PATH, null));
+    runScheduled();
+
+    reconciler.onFileOperation("endpoint1", fileOperation(STOP, FILE_PATH, null));
+
+    verify(reconciler).discardWorkingCopy(workingCopy);
+    assertThat(reconciler.getFileMetrics(FILE_PATH)).isNull();
+  }
+
+  @Test
+  public void shouldKeepWorkingCopyUntilFileIsClosedByAllEndpoints() throws Exception {
+    reconciler.onFileOperation("endpoint1", fileOperation(START, FILE_PATH, null));
+    reconciler.onFileOperation("endpoint2", fileOperation(START, FILE_PATH, null));
+    runScheduled();
+
+    reconciler.onFileOperation("endpoint1", fileOperation(STOP, FILE_PATH, null));
+
+    verify(reconciler, never()).discardWorkingCopy(workingCopy);
+    assertThat(reconciler.getFileMetrics(FILE_PATH)).isNotNull();
+
+    reconciler.onFileOperation("endpoint2", fileOperation(STOP, FILE_PATH, null));
+
+    verify(reconciler).discardWorkingCopy(workingCopy);
+  }
+
+  @Test
+  public void shouldDiscardWorkingCopyWhenFileIsMoved() throws Exception {
+    reconciler.onFileOperation("endpoint1", fileOperation(START, FILE_PATH, null));
+    reconciler.onFileOperation("endpoint2", fileOperation(START, FILE_PATH, null));
+    runScheduled();
+
+    reconciler.onFileOperation(
+        "endpoint1", fileOperation(MOVE, "/project/src/main/java/p1/Y.java", FILE_PATH));
+
+    verify(reconciler).discardWorkingCopy(workingCopy);
+    assertThat(reconciler.getFileMetrics(FILE_PATH)).isNull();
+  }
+
+  @Test
+  public void shouldNotCreateEditForEqualContent() throws Exception {
+    assertThat(JavaReconciler.createEdit("class A { int a; }", "class A { int a; }")).isNull();
+  }
+
+  @Test
+  public void shouldReplaceRegionBetweenCommonPrefixAndSuffix() throws Exception {
+    ReplaceEdit edit = JavaReconciler.createEdit("class A { int a; }", "class A { long b; }");
+
+    assertThat(edit.getOffset()).isEqualTo(10);
+    assertThat(edit.getLength()).isEqualTo(5);
+    assertThat(edit.getText()).isEqualTo("long b");
+  }
+
+  @Test
+  public void shouldNotOverlapPrefixAndSuffixWhenRepeatedTextIsInserted() throws Exception {
+    assertEdit("class A { int a; }", "class A { int a; int a; }");
+    assertEdit("aa", "aaa");
+    assertEdit("aaa", "aa");
+    assertEdit("abcbc", "abc");
+    assertEdit("", "class A {}");
+    assertEdit("class A {}", "");
+  }
+
+  private static void assertEdit(String oldContent, String newContent) {
+    ReplaceEdit edit = JavaReconciler.createEdit(oldContent, newContent);
+
+    assertThat(edit.getOffset()).isGreaterThanOrEqualTo(0);
+    assertThat(edit.getLength()).isGreaterThanOrEqualTo(0);
+    assertThat(edit.getOffset() + edit.getLength()).isLessThanOrEqualTo(oldContent.length());
+    assertThat(
+            oldContent.substring(0, edit.getOffset())
+                + edit.getText()
+                + oldContent.substring(edit.getOffset() + edit.getLength()))
+        .isEqualTo(newContent);
+  }
+
+  /** Opens the file by the endpoints and forgets about reconcile of the opened file. */
+  private void openFile(String... endpointIds) {
+    for (String endpointId : endpointIds) {
+      reconciler.onFileOperation(endpointId, fileOperation(START, FILE_PATH, null));
+    }
+    runScheduled();
+    futures.clear();
+    reset(endpointIdConfigurator);
+  }
+
+  /** Runs reconciles scheduled so far, including postponed ones which have been cancelled. */
+  private void runScheduled() {
+    List<Runnable> tasks = new ArrayList<>(scheduled);
+    scheduled.clear();
+    tasks.forEach(Runnable::run);
+  }
+
+  private static EditorWorkingCopyUpdatedEvent editorChange(String endpointId) {
+    EditorChangesDto changes = mock(EditorChangesDto.class);
+    when(changes.getFileLocation()).thenReturn(FILE_PATH);
+    when(changes.getProjectPath()).thenReturn(PROJECT_PATH);
+    EditorWorkingCopyUpdatedEvent event = mock(EditorWorkingCopyUpdatedEvent.class);
+    when(event.getEndpointId()).thenReturn(endpointId);
+    when(event.getChanges()).thenReturn(changes);
+    return event;
+  }
+
+  private static FileTrackingOperationDto fileOperation(Type type, String path, String oldPath) {
+    FileTrackingOperationDto operation = mock(FileTrackingOperationDto.class);
+    when(operation.getType()).thenReturn(type);
+    when(operation.getPath()).thenReturn(path);
+    when(operation.getOldPath()).thenReturn(oldPath);
+    return operation;
+  }
+}
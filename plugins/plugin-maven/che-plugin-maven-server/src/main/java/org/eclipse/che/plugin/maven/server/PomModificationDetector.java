@@ -12,6 +12,7 @@ package org.eclipse.che.plugin.maven.server;
 
 import static java.nio.file.Files.isDirectory;
 import static org.eclipse.che.api.vfs.watcher.FileWatcherManager.EMPTY_CONSUMER;
+import static org.eclipse.che.api.vfs.watcher.PathMatchers.fileName;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 import com.google.inject.Inject;
@@ -39,7 +40,7 @@ public class PomModificationDetector {
   public void startWatcher() {
     id =
         manager.registerByMatcher(
-            it -> !isDirectory(it) && POM_XML.equals(it.getFileName().toString()),
+            fileName(POM_XML, it -> !isDirectory(it)),
             EMPTY_CONSUMER,
             it -> eventService.publish(newDto(PomModifiedEventDto.class).withPath(it)),
             EMPTY_CONSUMER);
@@ -12,11 +12,6 @@ package org.eclipse.che.api.git;
 
 import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static java.nio.file.Files.isDirectory;
-import static java.util.Collections.singletonList;
-import static org.eclipse.che.api.project.shared.dto.event.GitChangeEventDto.Type.ADDED;
-import static org.eclipse.che.api.project.shared.dto.event.GitChangeEventDto.Type.MODIFIED;
-import static org.eclipse.che.api.project.shared.dto.event.GitChangeEventDto.Type.UNTRACKED;
-import static org.eclipse.che.api.vfs.watcher.FileWatcherManager.EMPTY_CONSUMER;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -26,19 +21,17 @@ import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
-import javax.inject.Provider;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
-import org.eclipse.che.api.git.shared.Status;
-import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.shared.dto.event.GitChangeEventDto;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
 import org.slf4j.Logger;
 
 /**
- * Detects changes in files and sends message to client Git handler.
+ * Detects changes in files, updates cached status of the files and sends message to client Git
+ * handler.
  *
  * @author Igor Vinokur
  */
@@ -51,8 +44,7 @@ public class GitChangesDetector {
 
   private final RequestTransmitter transmitter;
   private final FileWatcherManager manager;
-  private final Provider<ProjectManager> projectManagerProvider;
-  private final GitConnectionFactory gitConnectionFactory;
+  private final GitStatusProvider statusProvider;
 
   private final Set<String> endpointIds = newConcurrentHashSet();
 
@@ -62,12 +54,10 @@ public class GitChangesDetector {
   public GitChangesDetector(
       RequestTransmitter transmitter,
       FileWatcherManager manager,
-      Provider<ProjectManager> projectManagerProvider,
-      GitConnectionFactory gitConnectionFactory) {
+      GitStatusProvider statusProvider) {
     this.transmitter = transmitter;
     this.manager = manager;
-    this.projectManagerProvider = projectManagerProvider;
-    this.gitConnectionFactory = gitConnectionFactory;
+    this.statusProvider = statusProvider;
   }
 
   @Inject
@@ -104,52 +94,31 @@ public class GitChangesDetector {
   }
 
   private Consumer<String> deleteConsumer() {
-    return EMPTY_CONSUMER;
+    return statusProvider::removeStatus;
   }
 
   private Consumer<String> fsEventConsumer() {
-    return it -> endpointIds.forEach(transmitConsumer(it));
-  }
-
-  private Consumer<String> transmitConsumer(String path) {
-    return id -> {
+    return it -> {
       try {
-        String normalizedPath = path.startsWith("/") ? path.substring(1) : path;
-        String itemPath = normalizedPath.substring(normalizedPath.indexOf("/") + 1);
-        String projectPath =
-            projectManagerProvider
-                .get()
-                .getProject(normalizedPath.split("/")[0])
-                .getBaseFolder()
-                .getVirtualFile()
-                .toIoFile()
-                .getAbsolutePath();
-        Status status =
-            gitConnectionFactory.getConnection(projectPath).status(singletonList(itemPath));
-        GitChangeEventDto.Type type;
-        if (status.getAdded().contains(itemPath)) {
-          type = ADDED;
-        } else if (status.getUntracked().contains(itemPath)) {
-          type = UNTRACKED;
-        } else if (status.getModified().contains(itemPath)
-            || status.getChanged().contains(itemPath)) {
-          type = MODIFIED;
-        } else {
-          type = GitChangeEventDto.Type.NOT_MODIFIED;
+        GitChangeEventDto.Type type =
+            GitChangeEventDto.Type.valueOf(statusProvider.updateStatus(it).name());
+        endpointIds.forEach(transmitConsumer(it, type));
+      } catch (NotFoundException | ServerException e) {
+        String errorMessage = e.getMessage();
+        if (!("Not a git repository".equals(errorMessage))) {
+          LOG.error(errorMessage);
         }
+      }
+    };
+  }
 
+  private Consumer<String> transmitConsumer(String path, GitChangeEventDto.Type type) {
+    return id ->
         transmitter
             .newRequest()
             .endpointId(id)
             .methodName(OUTGOING_METHOD)
             .paramsAsDto(newDto(GitChangeEventDto.class).withPath(path).withType(type))
             .sendAndSkipResult();
-      } catch (NotFoundException | ServerException e) {
-        String errorMessage = e.getMessage();
-        if (!("Not a git repository".equals(errorMessage))) {
-          LOG.error(errorMessage);
-        }
-      }
-    };
   }
 }
@@ -16,6 +16,7 @@ import static java.util.regex.Pattern.compile;
 import static org.eclipse.che.api.project.shared.dto.event.GitCheckoutEventDto.Type.BRANCH;
 import static org.eclipse.che.api.project.shared.dto.event.GitCheckoutEventDto.Type.REVISION;
 import static org.eclipse.che.api.vfs.watcher.FileWatcherManager.EMPTY_CONSUMER;
+import static org.eclipse.che.api.vfs.watcher.PathMatchers.fileName;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -91,10 +92,9 @@ public class GitCheckoutDetector {
   }
 
   private PathMatcher matcher() {
-    return it ->
-        !isDirectory(it)
-            && HEAD_FILE.equals(it.getFileName().toString())
-            && GIT_DIR.equals(it.getParent().getFileName().toString());
+    return fileName(
+        HEAD_FILE,
+        it -> !isDirectory(it) && GIT_DIR.equals(it.getParent().getFileName().toString()));
   }
 
   private Consumer<String> createConsumer() {
@@ -13,7 +13,7 @@ package org.eclipse.che.api.git;
 import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static java.nio.file.Files.isDirectory;
 import static java.util.Collections.emptyList;
-import static org.eclipse.che.api.vfs.watcher.FileWatcherManager.EMPTY_CONSUMER;
+import static org.eclipse.che.api.vfs.watcher.PathMatchers.fileName;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -34,7 +34,8 @@ import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
 import org.slf4j.Logger;
 
 /**
- * Detects changes in index file and sends message to client Git handler.
+ * Detects changes in index file, updates cached status of the project and sends message to client
+ * Git handler.
  *
  * @author Igor Vinokur
  */
@@ -50,6 +51,7 @@ public class GitIndexChangedDetector {
   private final FileWatcherManager manager;
   private final Provider<ProjectManager> projectManagerProvider;
   private final GitConnectionFactory gitConnectionFactory;
+  private final GitStatusProvider statusProvider;
 
   private final Set<String> endpointIds = newConcurrentHashSet();
 
@@ -60,11 +62,13 @@ public class GitIndexChangedDetector {
       RequestTransmitter transmitter,
       FileWatcherManager manager,
       Provider<ProjectManager> projectManagerProvider,
-      GitConnectionFactory gitConnectionFactory) {
+      GitConnectionFactory gitConnectionFactory,
+      GitStatusProvider statusProvider) {
     this.transmitter = transmitter;
     this.manager = manager;
     this.projectManagerProvider = projectManagerProvider;
     this.gitConnectionFactory = gitConnectionFactory;
+    this.statusProvider = statusProvider;
   }
 
   @Inject
@@ -88,14 +92,13 @@ public class GitIndexChangedDetector {
   }
 
   private PathMatcher matcher() {
-    return it ->
-        !isDirectory(it)
-            && INDEX_FILE.equals(it.getFileName().toString())
-            && GIT_DIR.equals(it.getParent().getFileName().toString());
+    return fileName(
+        INDEX_FILE,
+        it -> !isDirectory(it) && GIT_DIR.equals(it.getParent().getFileName().toString()));
   }
 
   private Consumer<String> createConsumer() {
-    return EMPTY_CONSUMER;
+    return invalidateConsumer();
   }
 
   private Consumer<String> modifyConsumer() {
@@ -103,25 +106,35 @@ public class GitIndexChangedDetector {
   }
 
   private Consumer<String> deleteConsumer() {
-    return EMPTY_CONSUMER;
+    return invalidateConsumer();
   }
 
-  private Consumer<String> fsEventConsumer() {
-    return it -> endpointIds.forEach(transmitConsumer(it));
+  /** Repository is created or removed, status of the project is read again when requested. */
+  private Consumer<String> invalidateConsumer() {
+    return it -> statusProvider.invalidateStatus(getProjectName(it));
   }
 
-  private Consumer<String> transmitConsumer(String path) {
-    return id -> {
+  private Consumer<String> fsEventConsumer() {
+    return it -> {
+      String project = getProjectName(it);
+      if (endpointIds.isEmpty()) {
+        statusProvider.invalidateStatus(project);
+        return;
+      }
       try {
         String projectPath =
             projectManagerProvider
                 .get()
-                .getProject((path.startsWith("/") ? path.substring(1) : path).split("/")[0])
+                .getProject(project)
                 .getBaseFolder()
                 .getVirtualFile()
                 .toIoFile()
                 .getAbsolutePath();
-        Status status = gitConnectionFactory.getConnection(projectPath).status(emptyList());
+        Status status;
+        try (GitConnection connection = gitConnectionFactory.getConnection(projectPath)) {
+          status = connection.status(emptyList());
+        }
+        statusProvider.updateStatus(project, status);
         Status statusDto = newDto(Status.class);
         statusDto.setAdded(status.getAdded());
         statusDto.setUntracked(status.getUntracked());
@@ -130,13 +143,9 @@ public class GitIndexChangedDetector {
         statusDto.setMissing(status.getMissing());
         statusDto.setRemoved(status.getRemoved());
         statusDto.setConflicting(status.getConflicting());
-        transmitter
-            .newRequest()
-            .endpointId(id)
-            .methodName(OUTGOING_METHOD)
-            .paramsAsDto(statusDto)
-            .sendAndSkipResult();
+        endpointIds.forEach(transmitConsumer(statusDto));
       } catch (ServerException | NotFoundException e) {
+        statusProvider.invalidateStatus(project);
         String errorMessage = e.getMessage();
         if (!("Not a git repository".equals(errorMessage))) {
           LOG.error(errorMessage);
@@ -144,4 +153,18 @@ public class GitIndexChangedDetector {
       }
     };
   }
+
+  private Consumer<String> transmitConsumer(Status statusDto) {
+    return id ->
+        transmitter
+            .newRequest()
+            .endpointId(id)
+            .methodName(OUTGOING_METHOD)
+            .paramsAsDto(statusDto)
+            .sendAndSkipResult();
+  }
+
+  private static String getProjectName(String path) {
+    return (path.startsWith("/") ? path.substring(1) : path).split("/")[0];
+  }
 }
@@ -10,16 +10,18 @@
  */
 package org.eclipse.che.api.git;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Provider;
+import javax.inject.Singleton;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.server.VcsStatusProvider;
@@ -27,11 +29,18 @@ import org.eclipse.che.api.project.server.VcsStatusProvider;
 /**
  * Git implementation of {@link VcsStatusProvider}.
  *
+ * <p>Status of the whole work tree of a project is read once and cached. The cache is updated on
+ * changes of files by {@link GitChangesDetector} and on changes of the index by {@link
+ * GitIndexChangedDetector}, so status of files is a lookup in the cache.
+ *
  * @author Igor Vinokur
  */
+@Singleton
 public class GitStatusProvider implements VcsStatusProvider {
   private final GitConnectionFactory gitConnectionFactory;
   private final Provider<ProjectManager> projectManagerProvider;
+  /** Project name -> cached status of the project */
+  private final Map<String, ProjectStatus> projectStatuses = new ConcurrentHashMap<>();
 
   @Inject
   public GitStatusProvider(
@@ -49,30 +58,9 @@ public class GitStatusProvider implements VcsStatusProvider {
   public VcsStatus getStatus(String path) throws ServerException {
     try {
       String normalizedPath = path.startsWith("/") ? path.substring(1) : path;
-      String projectPath =
-          projectManagerProvider
-              .get()
-              .getProject(normalizedPath.split("/")[0])
-              .getBaseFolder()
-              .getVirtualFile()
-              .toIoFile()
-              .getAbsolutePath();
-      Status status =
-          gitConnectionFactory
-              .getConnection(projectPath)
-              .status(singletonList(normalizedPath.substring(normalizedPath.indexOf("/") + 1)));
       String itemPath = normalizedPath.substring(normalizedPath.indexOf("/") + 1);
-      if (status.getUntracked().contains(itemPath)) {
-        return VcsStatus.UNTRACKED;
-      } else if (status.getAdded().contains(itemPath)) {
-        return VcsStatus.ADDED;
-      } else if (status.getModified().contains(itemPath)
-          || status.getChanged().contains(itemPath)) {
-        return VcsStatus.MODIFIED;
-      } else {
-        return VcsStatus.NOT_MODIFIED;
-      }
-    } catch (GitException | NotFoundException e) {
+      return getProjectStatus(normalizedPath.split("/")[0]).get(itemPath);
+    } catch (NotFoundException e) {
       throw new ServerException(e.getMessage());
     }
   }
@@ -82,31 +70,147 @@ public class GitStatusProvider implements VcsStatusProvider {
       throws ServerException {
     Map<String, VcsStatus> statusMap = new HashMap<>();
     try {
-      String projectPath =
-          projectManagerProvider
-              .get()
-              .getProject(project)
-              .getBaseFolder()
-              .getVirtualFile()
-              .toIoFile()
-              .getAbsolutePath();
-      Status status = gitConnectionFactory.getConnection(projectPath).status(paths);
-      paths.forEach(
-          path -> {
-            if (status.getUntracked().contains(path)) {
-              statusMap.put("/" + project + "/" + path, VcsStatus.UNTRACKED);
-            } else if (status.getAdded().contains(path)) {
-              statusMap.put("/" + project + "/" + path, VcsStatus.ADDED);
-            } else if (status.getModified().contains(path) || status.getChanged().contains(path)) {
-              statusMap.put("/" + project + "/" + path, VcsStatus.MODIFIED);
-            } else {
-              statusMap.put("/" + project + "/" + path, VcsStatus.NOT_MODIFIED);
-            }
-          });
-
-    } catch (GitException | NotFoundException e) {
+      ProjectStatus projectStatus = getProjectStatus(project);
+      synchronized (projectStatus) {
+        paths.forEach(path -> statusMap.put("/" + project + "/" + path, projectStatus.get(path)));
+      }
+    } catch (NotFoundException e) {
       throw new ServerException(e.getMessage());
     }
     return statusMap;
   }
+
+  /**
+   * Reads status of the changed file and updates the cached status of its project.
+   *
+   * @param path path of the file, starting with the project name
+   * @return new status of the file
+   */
+  public VcsStatus updateStatus(String path) throws ServerException, NotFoundException {
+    String normalizedPath = path.startsWith("/") ? path.substring(1) : path;
+    String project = normalizedPath.split("/")[0];
+    String itemPath = normalizedPath.substring(normalizedPath.indexOf("/") + 1);
+    ProjectStatus projectStatus = projectStatuses.get(project);
+    if (projectStatus == null) {
+      return toVcsStatus(readStatus(project, singletonList(itemPath)), itemPath);
+    }
+    // Read under the lock, so an older status doesn't replace a newer one
+    synchronized (projectStatus) {
+      VcsStatus status = toVcsStatus(readStatus(project, singletonList(itemPath)), itemPath);
+      if (projectStatus.loaded) {
+        projectStatus.put(itemPath, status);
+      }
+      return status;
+    }
+  }
+
+  /**
+   * Replaces the cached status of the project with the given status of its whole work tree.
+   *
+   * @param project project name
+   * @param status status of the work tree, e.g. read after a change of the index
+   */
+  public void updateStatus(String project, Status status) {
+    ProjectStatus projectStatus =
+        projectStatuses.computeIfAbsent(project, p -> new ProjectStatus());
+    synchronized (projectStatus) {
+      projectStatus.load(status);
+    }
+  }
+
+  /**
+   * Removes the cached status of the deleted file or folder, deleted file can be neither untracked
+   * nor modified.
+   *
+   * @param path path of the file or folder, starting with the project name
+   */
+  public void removeStatus(String path) {
+    String normalizedPath = path.startsWith("/") ? path.substring(1) : path;
+    ProjectStatus projectStatus = projectStatuses.get(normalizedPath.split("/")[0]);
+    if (projectStatus != null) {
+      synchronized (projectStatus) {
+        projectStatus.remove(normalizedPath.substring(normalizedPath.indexOf("/") + 1));
+      }
+    }
+  }
+
+  /**
+   * Drops the cached status of the project, it is read again on the next request.
+   *
+   * @param project project name
+   */
+  public void invalidateStatus(String project) {
+    projectStatuses.remove(project);
+  }
+
+  private ProjectStatus getProjectStatus(String project) throws ServerException, NotFoundException {
+    ProjectStatus projectStatus =
+        projectStatuses.computeIfAbsent(project, p -> new ProjectStatus());
+    synchronized (projectStatus) {
+      if (!projectStatus.loaded) {
+        projectStatus.load(readStatus(project, emptyList()));
+      }
+    }
+    return projectStatus;
+  }
+
+  private Status readStatus(String project, List<String> paths)
+      throws ServerException, NotFoundException {
+    String projectPath =
+        projectManagerProvider
+            .get()
+            .getProject(project)
+            .getBaseFolder()
+            .getVirtualFile()
+            .toIoFile()
+            .getAbsolutePath();
+    try (GitConnection connection = gitConnectionFactory.getConnection(projectPath)) {
+      return connection.status(paths);
+    }
+  }
+
+  private static VcsStatus toVcsStatus(Status status, String itemPath) {
+    if (status.getUntracked().contains(itemPath)) {
+      return VcsStatus.UNTRACKED;
+    } else if (status.getAdded().contains(itemPath)) {
+      return VcsStatus.ADDED;
+    } else if (status.getModified().contains(itemPath) || status.getChanged().contains(itemPath)) {
+      return VcsStatus.MODIFIED;
+    } else {
+      return VcsStatus.NOT_MODIFIED;
+    }
+  }
+
+  /** Statuses of files of a project, files which aren't in the map are not modified. */
+  private static class ProjectStatus {
+    private final Map<String, VcsStatus> statuses = new HashMap<>();
+    private boolean loaded;
+
+    synchronized VcsStatus get(String itemPath) {
+      return statuses.getOrDefault(itemPath, VcsStatus.NOT_MODIFIED);
+    }
+
+    synchronized void put(String itemPath, VcsStatus status) {
+      if (status == VcsStatus.NOT_MODIFIED) {
+        statuses.remove(itemPath);
+      } else {
+        statuses.put(itemPath, status);
+      }
+    }
+
+    synchronized void remove(String itemPath) {
+      String folderPrefix = itemPath + "/";
+      statuses.keySet().removeIf(it -> it.equals(itemPath) || it.startsWith(folderPrefix));
+    }
+
+    /** Replaces statuses, in reverse order of precedence of {@link #toVcsStatus}. */
+    synchronized void load(Status status) {
+      statuses.clear();
+      status.getChanged().forEach(it -> statuses.put(it, VcsStatus.MODIFIED));
+      status.getModified().forEach(it -> statuses.put(it, VcsStatus.MODIFIED));
+      status.getAdded().forEach(it -> statuses.put(it, VcsStatus.ADDED));
+      status.getUntracked().forEach(it -> statuses.put(it, VcsStatus.UNTRACKED));
+      loaded = true;
+    }
+  }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.git;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.ADDED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.NOT_MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.UNTRACKED;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link GitStatusProvider}
+ *
+ * @author Igor Vinokur
+ */
+@Listeners(MockitoTestNGListener.class)
+public class GitStatusProviderTest {
+
+  @Mock private GitConnectionFactory gitConnectionFactory;
+  @Mock private GitConnection gitConnection;
+
+  private GitStatusProvider statusProvider;
+
+  @BeforeMethod
+  public void setup() throws Exception {
+    ProjectManager projectManager = mock(ProjectManager.class, RETURNS_DEEP_STUBS);
+    when(projectManager.getProject("project").getBaseFolder().getVirtualFile().toIoFile())
+        .thenReturn(new File("/projects/project"));
+    when(gitConnectionFactory.getConnection(any(File.class), any(LineConsumerFactory.class)))
+        .thenReturn(gitConnection);
+    Status workTreeStatus =
+        status(asList("new.txt"), asList("src/Main.java"), asList("src/Util.java"));
+    when(gitConnection.status(emptyList())).thenReturn(workTreeStatus);
+    statusProvider = new GitStatusProvider(gitConnectionFactory, () -> projectManager);
+  }
+
+  @Test
+  public void shouldReadStatusOfWorkTreeOnce() throws Exception {
+    //when
+    VcsStatus status = statusProvider.getStatus("/project/new.txt");
+    Map<String, VcsStatus> statuses =
+        statusProvider.getStatus("project", asList("src/Main.java", "src/Util.java", "pom.xml"));
+    //then
+    assertEquals(status, UNTRACKED);
+    assertEquals(statuses.get("/project/src/Main.java"), ADDED);
+    assertEquals(statuses.get("/project/src/Util.java"), MODIFIED);
+    assertEquals(statuses.get("/project/pom.xml"), NOT_MODIFIED);
+    verify(gitConnection).status(emptyList());
+  }
+
+  @Test
+  public void shouldUpdateCachedStatusOfChangedFile() throws Exception {
+    //given
+    statusProvider.getStatus("/project/pom.xml");
+    Status fileStatus = status(emptyList(), emptyList(), asList("pom.xml"));
+    when(gitConnection.status(singletonList("pom.xml"))).thenReturn(fileStatus);
+    //when
+    VcsStatus status = statusProvider.updateStatus("/project/pom.xml");
+    //then
+    assertEquals(status, MODIFIED);
+    assertEquals(statusProvider.getStatus("/project/pom.xml"), MODIFIED);
+    verify(gitConnection).status(emptyList());
+  }
+
+  @Test
+  public void shouldRemoveCachedStatusOfDeletedFolder() throws Exception {
+    //given
+    statusProvider.getStatus("/project/pom.xml");
+    //when
+    statusProvider.removeStatus("/project/src");
+    //then
+    assertEquals(statusProvider.getStatus("/project/src/Main.java"), NOT_MODIFIED);
+    assertEquals(statusProvider.getStatus("/project/src/Util.java"), NOT_MODIFIED);
+    assertEquals(statusProvider.getStatus("/project/new.txt"), UNTRACKED);
+  }
+
+  @Test
+  public void shouldReplaceCachedStatusOnIndexChange() throws Exception {
+    //given
+    statusProvider.getStatus("/project/pom.xml");
+    //when
+    statusProvider.updateStatus("project", status(emptyList(), asList("new.txt"), emptyList()));
+    //then
+    assertEquals(statusProvider.getStatus("/project/new.txt"), ADDED);
+    assertEquals(statusProvider.getStatus("/project/src/Main.java"), NOT_MODIFIED);
+  }
+
+  @Test
+  public void shouldReadStatusOfWorkTreeAgainAfterInvalidation() throws Exception {
+    //given
+    statusProvider.getStatus("/project/pom.xml");
+    //when
+    statusProvider.invalidateStatus("project");
+    statusProvider.getStatus("/project/pom.xml");
+    //then
+    verify(gitConnection, times(2)).status(emptyList());
+  }
+
+  @Test
+  public void shouldCloseConnectionAfterReadingStatus() throws Exception {
+    //given
+    Status fileStatus = status(emptyList(), emptyList(), asList("pom.xml"));
+    when(gitConnection.status(singletonList("pom.xml"))).thenReturn(fileStatus);
+    //when
+    statusProvider.getStatus("/project/pom.xml");
+    statusProvider.updateStatus("/project/pom.xml");
+    //then
+    verify(gitConnection, times(2)).close();
+  }
+
+  private static Status status(List<String> untracked, List<String> added, List<String> modified) {
+    Status status = mock(Status.class);
+    when(status.getUntracked()).thenReturn(untracked);
+    when(status.getAdded()).thenReturn(added);
+    when(status.getModified()).thenReturn(modified);
+    when(status.getChanged()).thenReturn(emptyList());
+    return status;
+  }
+}
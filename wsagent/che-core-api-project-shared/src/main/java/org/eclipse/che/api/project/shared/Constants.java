@@ -30,6 +30,9 @@ public class Constants {
 
   public static final String LINK_REL_PROJECT_TYPES = "project types";
 
+  /** Response header of project search containing the cursor for retrieving next page. */
+  public static final String SEARCH_CURSOR_HEADER = "X-Search-Cursor";
+
   public static final String CHE_DIR = ".che";
 
   public static final String COMMANDS_ATTRIBUTE_NAME = "commands";
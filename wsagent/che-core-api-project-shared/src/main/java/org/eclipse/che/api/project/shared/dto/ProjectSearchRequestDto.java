@@ -26,6 +26,16 @@ public interface ProjectSearchRequestDto {
 
   ProjectSearchRequestDto withText(String text);
 
+  /** How text is matched: {@code query} (default), {@code substring} or {@code regex}. */
+  String getTextMode();
+
+  ProjectSearchRequestDto withTextMode(String textMode);
+
+  /** Whether substring or regular expression is matched case sensitively. */
+  boolean isCaseSensitive();
+
+  ProjectSearchRequestDto withCaseSensitive(boolean caseSensitive);
+
   int getMaxItems();
 
   ProjectSearchRequestDto withMaxItems(int maxItems);
@@ -33,4 +43,9 @@ public interface ProjectSearchRequestDto {
   int getSkipCount();
 
   ProjectSearchRequestDto withSkipCount(int skipCount);
+
+  /** Cursor returned with the previous page of results, used instead of skip count if set. */
+  String getCursor();
+
+  ProjectSearchRequestDto withCursor(String cursor);
 }
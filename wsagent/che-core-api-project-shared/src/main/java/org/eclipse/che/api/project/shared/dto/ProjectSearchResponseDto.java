@@ -18,4 +18,9 @@ public interface ProjectSearchResponseDto {
   List<SearchResultDto> getItemReferences();
 
   ProjectSearchResponseDto withItemReferences(List<SearchResultDto> itemReferences);
+
+  /** Cursor for retrieving the next page of results, null if there are no more results. */
+  String getCursor();
+
+  ProjectSearchResponseDto withCursor(String cursor);
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/** Progress of the initial indexing of projects, search results are complete once it is ready. */
+@DTO
+public interface SearchIndexStatusDto {
+  boolean isReady();
+
+  SearchIndexStatusDto withReady(boolean ready);
+
+  /** Number of files found in projects so far. */
+  int getScannedFiles();
+
+  SearchIndexStatusDto withScannedFiles(int scannedFiles);
+
+  /** Number of scanned files which are checked against the index and indexed if needed. */
+  int getProcessedFiles();
+
+  SearchIndexStatusDto withProcessedFiles(int processedFiles);
+
+  int getAddedFiles();
+
+  SearchIndexStatusDto withAddedFiles(int addedFiles);
+
+  int getUpdatedFiles();
+
+  SearchIndexStatusDto withUpdatedFiles(int updatedFiles);
+
+  int getDeletedFiles();
+
+  SearchIndexStatusDto withDeletedFiles(int deletedFiles);
+}
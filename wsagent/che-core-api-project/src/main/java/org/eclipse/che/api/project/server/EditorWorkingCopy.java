@@ -14,6 +14,9 @@ import static java.lang.String.format;
 import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.INSERT;
 import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.REMOVE;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.common.io.ByteStreams;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -25,12 +28,20 @@ import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
 /**
  * In-memory implementation of working copy for opened editor on client.
  *
+ * <p>Content is kept as a {@link Rope}, so editor changes are applied without copying the whole
+ * text and readers get immutable snapshots of the content with {@link #getContentSnapshot()}.
+ * Bytes of the content are kept while the content isn't changed by the editor.
+ *
  * @author Roman Nikitenko
  */
 public class EditorWorkingCopy {
   private String path;
   private String projectPath;
-  private byte[] content;
+  private volatile Rope content;
+  /** Encoded content, {@code null} when it has to be encoded again. */
+  private volatile byte[] contentBytes;
+  /** Hash of the content, {@code null} when it has to be computed again. */
+  private volatile HashCode contentHash;
 
   /**
    * Creates a working copy for opened editor on client.
@@ -42,7 +53,7 @@ public class EditorWorkingCopy {
   public EditorWorkingCopy(String path, String projectPath, byte[] content) {
     this.path = path;
     this.projectPath = projectPath;
-    this.content = Arrays.copyOf(content, content.length);
+    updateContent(Arrays.copyOf(content, content.length));
   }
 
   /**
@@ -51,10 +62,17 @@ public class EditorWorkingCopy {
    * @return content ot the working copy
    */
   public byte[] getContentAsBytes() {
-    if (content == null) {
-      content = new byte[0];
+    byte[] bytes = contentBytes;
+    if (bytes == null) {
+      final Rope snapshot = content;
+      bytes = snapshot.toString().getBytes();
+      synchronized (this) {
+        if (content == snapshot) {
+          contentBytes = bytes;
+        }
+      }
     }
-    return Arrays.copyOf(content, content.length);
+    return Arrays.copyOf(bytes, bytes.length);
   }
 
   /**
@@ -63,7 +81,44 @@ public class EditorWorkingCopy {
    * @return content ot the working copy
    */
   public String getContentAsString() {
-    return new String(getContentAsBytes());
+    return content.toString();
+  }
+
+  /**
+   * Gets immutable snapshot of the content of the working copy, later changes of the working copy
+   * don't affect it.
+   *
+   * @return content of the working copy
+   */
+  public Rope getContentSnapshot() {
+    return content;
+  }
+
+  /**
+   * Gets hash of the content of the working copy, computed once per change of the content. Use
+   * {@link #hashContent(CharSequence)} to get comparable hash of other text.
+   *
+   * @return hash of the content of the working copy
+   */
+  public HashCode getContentHash() {
+    HashCode hash = contentHash;
+    if (hash == null) {
+      final Rope snapshot = content;
+      final Hasher hasher = Hashing.murmur3_128().newHasher();
+      snapshot.forEachChunk(hasher::putUnencodedChars);
+      hash = hasher.hash();
+      synchronized (this) {
+        if (content == snapshot) {
+          contentHash = hash;
+        }
+      }
+    }
+    return hash;
+  }
+
+  /** Computes hash of the text comparable with {@link #getContentHash()}. */
+  public static HashCode hashContent(CharSequence text) {
+    return Hashing.murmur3_128().hashUnencodedChars(text);
   }
 
   /**
@@ -82,7 +137,11 @@ public class EditorWorkingCopy {
    * @return current working copy after updating content
    */
   EditorWorkingCopy updateContent(byte[] content) {
-    this.content = content;
+    synchronized (this) {
+      this.content = Rope.of(new String(content));
+      this.contentBytes = content;
+      this.contentHash = null;
+    }
     return this;
   }
 
@@ -93,7 +152,7 @@ public class EditorWorkingCopy {
    * @return current working copy after updating content
    */
   EditorWorkingCopy updateContent(String content) {
-    updateContent(content.getBytes());
+    setContent(Rope.of(content));
     return this;
   }
 
@@ -126,24 +185,28 @@ public class EditorWorkingCopy {
       int offset = changes.getOffset();
       int removedCharCount = changes.getRemovedCharCount();
 
-      String newContent = null;
-      String oldContent = getContentAsString();
+      Rope newContent = null;
       EditorChangesDto.Type type = changes.getType();
       if (type == INSERT) {
-        newContent = new StringBuilder(oldContent).insert(offset, text).toString();
+        newContent = content.insert(offset, text);
       }
 
       if (type == REMOVE && removedCharCount > 0) {
-        newContent =
-            new StringBuilder(oldContent).delete(offset, offset + removedCharCount).toString();
+        newContent = content.delete(offset, offset + removedCharCount);
       }
 
       if (newContent != null) {
-        updateContent(newContent);
+        setContent(newContent);
       }
     }
   }
 
+  private synchronized void setContent(Rope content) {
+    this.content = content;
+    this.contentBytes = null;
+    this.contentHash = null;
+  }
+
   /** Returns the path to the persistent working copy */
   public String getPath() {
     return path;
@@ -11,14 +11,12 @@
 package org.eclipse.che.api.project.server;
 
 import static java.lang.String.format;
-import static java.nio.charset.Charset.defaultCharset;
 import static org.eclipse.che.api.project.shared.Constants.CHE_DIR;
 
-import com.google.common.hash.Hashing;
+import com.google.common.hash.HashCode;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -224,18 +222,13 @@ public class EditorWorkingCopyManager {
         return false;
       }
 
-      String workingCopyContent = workingCopy.getContentAsString();
       String originalFileContent = originalFile.getVirtualFile().getContentAsString();
-      if (workingCopyContent == null || originalFileContent == null) {
+      if (originalFileContent == null) {
         return false;
       }
 
-      String workingCopyHash =
-          Hashing.md5().hashString(workingCopyContent, defaultCharset()).toString();
-      String originalFileHash =
-          Hashing.md5().hashString(originalFileContent, defaultCharset()).toString();
-
-      return !Objects.equals(workingCopyHash, originalFileHash);
+      HashCode originalFileHash = EditorWorkingCopy.hashContent(originalFileContent);
+      return !workingCopy.getContentHash().equals(originalFileHash);
     } catch (NotFoundException | ServerException | ForbiddenException e) {
       LOG.error(e.getLocalizedMessage());
     }
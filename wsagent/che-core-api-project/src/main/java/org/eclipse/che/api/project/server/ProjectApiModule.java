@@ -50,6 +50,7 @@ import org.eclipse.che.api.vfs.watcher.FileWatcherIgnoreFileTracker;
 import org.eclipse.che.api.vfs.watcher.IndexedFileCreateConsumer;
 import org.eclipse.che.api.vfs.watcher.IndexedFileDeleteConsumer;
 import org.eclipse.che.api.vfs.watcher.IndexedFileUpdateConsumer;
+import org.eclipse.che.api.vfs.watcher.PathMatchers;
 
 /**
  * Guice module contains configuration of Project API components.
@@ -153,17 +154,7 @@ public class ProjectApiModule extends AbstractModule {
   }
 
   private void addVfsFilter(Multibinder<PathMatcher> excludeMatcher, String filter) {
-    excludeMatcher
-        .addBinding()
-        .toInstance(
-            path -> {
-              for (Path pathElement : path) {
-                if (pathElement == null || filter.equals(pathElement.toString())) {
-                  return true;
-                }
-              }
-              return false;
-            });
+    excludeMatcher.addBinding().toInstance(PathMatchers.nameElement(filter));
   }
 
   private void configureVfsEvent() {
@@ -14,6 +14,7 @@ import static org.eclipse.che.api.project.server.DtoConverter.asDto;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CREATE_BATCH_PROJECTS;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CREATE_PROJECT;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_GET_PROJECTS;
+import static org.eclipse.che.api.project.shared.Constants.SEARCH_CURSOR_HEADER;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 import io.swagger.annotations.Api;
@@ -26,12 +27,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -47,6 +49,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
@@ -80,11 +83,13 @@ import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
 import org.eclipse.che.api.project.shared.dto.ProjectSearchRequestDto;
 import org.eclipse.che.api.project.shared.dto.ProjectSearchResponseDto;
+import org.eclipse.che.api.project.shared.dto.SearchIndexStatusDto;
 import org.eclipse.che.api.project.shared.dto.SearchOccurrenceDto;
 import org.eclipse.che.api.project.shared.dto.SearchResultDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.search.IndexingStatus;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
@@ -971,12 +976,42 @@ public class ProjectService extends Service {
     }
   }
 
+  @GET
+  @Path("/search-index")
+  @Produces(MediaType.APPLICATION_JSON)
+  @ApiOperation(
+    value = "Get status of the search index",
+    notes =
+        "Shows progress of indexing of projects started with workspace agent. "
+            + "Search results are complete only when the index is ready",
+    response = SearchIndexStatusDto.class
+  )
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "OK"),
+    @ApiResponse(code = 404, message = "Search is not supported"),
+    @ApiResponse(code = 500, message = "Internal Server Error")
+  })
+  public SearchIndexStatusDto getSearchIndexStatus() throws NotFoundException, ServerException {
+    final IndexingStatus status = projectManager.getSearcher().getIndexingStatus();
+    return newDto(SearchIndexStatusDto.class)
+        .withReady(status.isReady())
+        .withScannedFiles(status.getScannedFiles())
+        .withProcessedFiles(status.getProcessedFiles())
+        .withAddedFiles(status.getAddedFiles())
+        .withUpdatedFiles(status.getUpdatedFiles())
+        .withDeletedFiles(status.getDeletedFiles());
+  }
+
   @GET
   @Path("/search/{path:.*}")
   @Produces(MediaType.APPLICATION_JSON)
   @ApiOperation(
     value = "Search for resources",
-    notes = "Search for resources applying a number of search filters as query parameters",
+    notes =
+        "Search for resources applying a number of search filters as query parameters. "
+            + "If there are more results, the cursor for retrieving the next page is returned in "
+            + SEARCH_CURSOR_HEADER
+            + " header",
     response = SearchResult.class,
     responseContainer = "List"
   )
@@ -987,26 +1022,67 @@ public class ProjectService extends Service {
     @ApiResponse(code = 409, message = "Conflict error"),
     @ApiResponse(code = 500, message = "Internal Server Error")
   })
-  public List<SearchResultDto> search(
+  public Response search(
       @ApiParam(value = "Path to resource, i.e. where to search?", required = true)
           @PathParam("path")
           String path,
       @ApiParam(value = "Resource name") @QueryParam("name") String name,
       @ApiParam(value = "Search keywords") @QueryParam("text") String text,
+      @ApiParam(
+            value =
+                "How text is matched: as a query of keywords, as an exact substring "
+                    + "or as a regular expression",
+            allowableValues = "query,substring,regex",
+            defaultValue = "query"
+          )
+          @QueryParam("textMode")
+          String textMode,
+      @ApiParam(value = "Whether substring or regular expression is matched case sensitively")
+          @QueryParam("caseSensitive")
+          boolean caseSensitive,
       @ApiParam(
             value = "Maximum items to display. If this parameter is dropped, there are no limits"
           )
           @QueryParam("maxItems")
           @DefaultValue("-1")
           int maxItems,
-      @ApiParam(value = "Skip count") @QueryParam("skipCount") int skipCount)
+      @ApiParam(value = "Skip count") @QueryParam("skipCount") int skipCount,
+      @ApiParam(
+            value =
+                "Cursor returned with the previous page of results. "
+                    + "If this parameter is set, skip count is ignored"
+          )
+          @QueryParam("cursor")
+          String cursor)
       throws NotFoundException, ForbiddenException, ConflictException, ServerException {
+    final SearchResult result =
+        doSearch(path, name, text, textMode, caseSensitive, maxItems, skipCount, cursor);
+    final List<SearchResultDto> results = prepareResults(result.getResults());
+    final Response.ResponseBuilder response =
+        Response.ok(new GenericEntity<List<SearchResultDto>>(results) {});
+    final String nextPageCursor = getNextPageCursor(result);
+    if (nextPageCursor != null) {
+      response.header(SEARCH_CURSOR_HEADER, nextPageCursor);
+    }
+    return response.build();
+  }
+
+  private SearchResult doSearch(
+      String path,
+      String name,
+      String text,
+      String textMode,
+      boolean caseSensitive,
+      int maxItems,
+      int skipCount,
+      String cursor)
+      throws ConflictException, ServerException {
     final Searcher searcher;
     try {
       searcher = projectManager.getSearcher();
     } catch (NotFoundException e) {
       LOG.warn(e.getLocalizedMessage());
-      return Collections.emptyList();
+      return SearchResult.aSearchResult().build();
     }
 
     if (skipCount < 0) {
@@ -1018,13 +1094,39 @@ public class ProjectService extends Service {
             .setPath(path.startsWith("/") ? path : ('/' + path))
             .setName(name)
             .setText(text)
+            .setTextMode(parseTextMode(textMode))
+            .setCaseSensitive(caseSensitive)
             .setMaxItems(maxItems)
             .setSkipCount(skipCount)
+            .setCursor(cursor)
             .setIncludePositions(true);
 
-    final SearchResult result = searcher.search(expr);
-    final List<SearchResultEntry> searchResultEntries = result.getResults();
-    return prepareResults(searchResultEntries);
+    try {
+      return searcher.search(expr);
+    } catch (PatternSyntaxException e) {
+      throw new ConflictException(
+          String.format("Invalid regular expression '%s': %s.", text, e.getDescription()));
+    } catch (IllegalArgumentException e) {
+      throw new ConflictException(String.format("Invalid 'cursor' parameter: %s.", cursor));
+    }
+  }
+
+  private static QueryExpression.TextMode parseTextMode(String textMode)
+      throws ConflictException {
+    if (textMode == null) {
+      return QueryExpression.TextMode.QUERY;
+    }
+    try {
+      return QueryExpression.TextMode.valueOf(textMode.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new ConflictException(String.format("Invalid 'textMode' parameter: %s.", textMode));
+    }
+  }
+
+  private static String getNextPageCursor(SearchResult result) {
+    return result.getNextPageQueryExpression().isPresent()
+        ? result.getNextPageQueryExpression().get().getCursor()
+        : null;
   }
 
   /**
@@ -1084,13 +1186,19 @@ public class ProjectService extends Service {
     String path = request.getPath();
     String name = request.getName();
     String text = request.getText();
+    String textMode = request.getTextMode();
+    boolean caseSensitive = request.isCaseSensitive();
     int maxItems = request.getMaxItems();
     int skipCount = request.getSkipCount();
+    String cursor = request.getCursor();
 
     try {
+      final SearchResult result =
+          doSearch(path, name, text, textMode, caseSensitive, maxItems, skipCount, cursor);
       return newDto(ProjectSearchResponseDto.class)
-          .withItemReferences(search(path, name, text, maxItems, skipCount));
-    } catch (ServerException | ConflictException | NotFoundException | ForbiddenException e) {
+          .withItemReferences(prepareResults(result.getResults()))
+          .withCursor(getNextPageCursor(result));
+    } catch (ServerException | ConflictException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import java.util.function.Consumer;
+
+/**
+ * Immutable text stored as a balanced tree of short chunks.
+ *
+ * <p>Insertion and deletion copy only the chunk they touch and the nodes on the path to it, so an
+ * edit of a large text costs O(log n) instead of copying the whole text, and the previous version
+ * stays valid. It makes a rope a cheap snapshot of an edited text which can be read by other
+ * threads while editing goes on.
+ */
+public final class Rope implements CharSequence {
+  /** Chunks up to this length are merged and edited by copying. */
+  static final int MAX_LEAF_LENGTH = 1024;
+
+  private static final Rope EMPTY = new Rope(Leaf.EMPTY);
+
+  private final Node root;
+
+  private Rope(Node root) {
+    this.root = root;
+  }
+
+  public static Rope empty() {
+    return EMPTY;
+  }
+
+  public static Rope of(CharSequence text) {
+    return text.length() == 0 ? EMPTY : new Rope(build(text.toString(), 0, text.length()));
+  }
+
+  @Override
+  public int length() {
+    return root.length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= root.length) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", length: " + root.length);
+    }
+    Node node = root;
+    while (node instanceof Concat) {
+      final Concat concat = (Concat) node;
+      if (index < concat.left.length) {
+        node = concat.left;
+      } else {
+        index -= concat.left.length;
+        node = concat.right;
+      }
+    }
+    return ((Leaf) node).text.charAt(index);
+  }
+
+  @Override
+  public Rope subSequence(int start, int end) {
+    checkRange(start, end);
+    if (start == 0 && end == root.length) {
+      return this;
+    }
+    return new Rope(subSequence(root, start, end));
+  }
+
+  /**
+   * Returns rope with the text inserted at the offset.
+   *
+   * @throws IndexOutOfBoundsException if offset is negative or greater than the length
+   */
+  public Rope insert(int offset, CharSequence text) {
+    checkRange(offset, offset);
+    if (text.length() == 0) {
+      return this;
+    }
+    return new Rope(insert(root, offset, text.toString()));
+  }
+
+  /**
+   * Returns rope without characters from {@code start} inclusive to {@code end} exclusive.
+   *
+   * @throws IndexOutOfBoundsException if the range is out of the rope
+   */
+  public Rope delete(int start, int end) {
+    checkRange(start, end);
+    if (start == end) {
+      return this;
+    }
+    return new Rope(delete(root, start, end));
+  }
+
+  /** Passes chunks of the text to the consumer in order. */
+  public void forEachChunk(Consumer<String> consumer) {
+    forEachChunk(root, consumer);
+  }
+
+  @Override
+  public String toString() {
+    if (root instanceof Leaf) {
+      return ((Leaf) root).text;
+    }
+    final StringBuilder builder = new StringBuilder(root.length);
+    forEachChunk(builder::append);
+    return builder.toString();
+  }
+
+  private void checkRange(int start, int end) {
+    if (start < 0 || end > root.length || start > end) {
+      throw new IndexOutOfBoundsException(
+          "Range: [" + start + ", " + end + "), length: " + root.length);
+    }
+  }
+
+  private static void forEachChunk(Node node, Consumer<String> consumer) {
+    while (node instanceof Concat) {
+      final Concat concat = (Concat) node;
+      forEachChunk(concat.left, consumer);
+      node = concat.right;
+    }
+    if (node.length > 0) {
+      consumer.accept(((Leaf) node).text);
+    }
+  }
+
+  private static Node build(String text, int start, int end) {
+    if (end - start <= MAX_LEAF_LENGTH) {
+      return new Leaf(text.substring(start, end));
+    }
+    final int middle = start + (end - start) / 2;
+    return new Concat(build(text, start, middle), build(text, middle, end));
+  }
+
+  private static Node insert(Node node, int offset, String text) {
+    if (node instanceof Leaf) {
+      final String leafText = ((Leaf) node).text;
+      if (leafText.length() + text.length() <= MAX_LEAF_LENGTH) {
+        return new Leaf(leafText.substring(0, offset) + text + leafText.substring(offset));
+      }
+      final Node inserted = build(text, 0, text.length());
+      return join(
+          join(new Leaf(leafText.substring(0, offset)), inserted),
+          new Leaf(leafText.substring(offset)));
+    }
+    final Concat concat = (Concat) node;
+    if (offset <= concat.left.length) {
+      return join(insert(concat.left, offset, text), concat.right);
+    }
+    return join(concat.left, insert(concat.right, offset - concat.left.length, text));
+  }
+
+  private static Node delete(Node node, int start, int end) {
+    if (start == 0 && end == node.length) {
+      return Leaf.EMPTY;
+    }
+    if (start == end) {
+      return node;
+    }
+    if (node instanceof Leaf) {
+      final String text = ((Leaf) node).text;
+      return new Leaf(text.substring(0, start) + text.substring(end));
+    }
+    final Concat concat = (Concat) node;
+    final int leftLength = concat.left.length;
+    if (end <= leftLength) {
+      return join(delete(concat.left, start, end), concat.right);
+    }
+    if (start >= leftLength) {
+      return join(concat.left, delete(concat.right, start - leftLength, end - leftLength));
+    }
+    return join(
+        delete(concat.left, start, leftLength), delete(concat.right, 0, end - leftLength));
+  }
+
+  private static Node subSequence(Node node, int start, int end) {
+    if (start == 0 && end == node.length) {
+      return node;
+    }
+    if (start == end) {
+      return Leaf.EMPTY;
+    }
+    if (node instanceof Leaf) {
+      return new Leaf(((Leaf) node).text.substring(start, end));
+    }
+    final Concat concat = (Concat) node;
+    final int leftLength = concat.left.length;
+    if (end <= leftLength) {
+      return subSequence(concat.left, start, end);
+    }
+    if (start >= leftLength) {
+      return subSequence(concat.right, start - leftLength, end - leftLength);
+    }
+    return join(
+        subSequence(concat.left, start, leftLength),
+        subSequence(concat.right, 0, end - leftLength));
+  }
+
+  /**
+   * Concatenates two balanced trees into a balanced tree, which takes time proportional to
+   * difference of their heights. Adjacent short chunks are merged.
+   */
+  private static Node join(Node left, Node right) {
+    if (left.length == 0) {
+      return right;
+    }
+    if (right.length == 0) {
+      return left;
+    }
+    if (left instanceof Leaf
+        && right instanceof Leaf
+        && left.length + right.length <= MAX_LEAF_LENGTH) {
+      return new Leaf(((Leaf) left).text + ((Leaf) right).text);
+    }
+    if (left.height > right.height + 1) {
+      return joinRight((Concat) left, right);
+    }
+    if (right.height > left.height + 1) {
+      return joinLeft(left, (Concat) right);
+    }
+    return new Concat(left, right);
+  }
+
+  /** Attaches lower tree to the right spine of higher one. */
+  private static Node joinRight(Concat left, Node right) {
+    final Node spine =
+        left.right.height <= right.height + 1
+            ? new Concat(left.right, right)
+            : joinRight((Concat) left.right, right);
+    if (spine.height <= left.left.height + 1) {
+      return new Concat(left.left, spine);
+    }
+    // Spine is two levels higher than the left sibling
+    final Concat high = (Concat) spine;
+    if (high.left.height > high.right.height) {
+      final Concat inner = (Concat) high.left;
+      return new Concat(
+          new Concat(left.left, inner.left), new Concat(inner.right, high.right));
+    }
+    return new Concat(new Concat(left.left, high.left), high.right);
+  }
+
+  /** Attaches lower tree to the left spine of higher one. */
+  private static Node joinLeft(Node left, Concat right) {
+    final Node spine =
+        right.left.height <= left.height + 1
+            ? new Concat(left, right.left)
+            : joinLeft(left, (Concat) right.left);
+    if (spine.height <= right.right.height + 1) {
+      return new Concat(spine, right.right);
+    }
+    // Spine is two levels higher than the right sibling
+    final Concat high = (Concat) spine;
+    if (high.right.height > high.left.height) {
+      final Concat inner = (Concat) high.right;
+      return new Concat(
+          new Concat(high.left, inner.left), new Concat(inner.right, right.right));
+    }
+    return new Concat(high.left, new Concat(high.right, right.right));
+  }
+
+  private abstract static class Node {
+    final int length;
+    final int height;
+
+    Node(int length, int height) {
+      this.length = length;
+      this.height = height;
+    }
+  }
+
+  private static final class Leaf extends Node {
+    static final Leaf EMPTY = new Leaf("");
+
+    final String text;
+
+    Leaf(String text) {
+      super(text.length(), 0);
+      this.text = text;
+    }
+  }
+
+  private static final class Concat extends Node {
+    final Node left;
+    final Node right;
+
+    Concat(Node left, Node right) {
+      super(left.length + right.length, Math.max(left.height, right.height) + 1);
+      this.left = left;
+      this.right = right;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wait times of {@link PathLockFactory} locks on the paths with the same prefix.
+ *
+ * @see PathLockFactory#getContentionReport()
+ */
+public class PathLockContention {
+  private final Path prefix;
+
+  private final AtomicLong waits = new AtomicLong();
+  private final AtomicLong timeouts = new AtomicLong();
+  private final AtomicLong waitTimeNanos = new AtomicLong();
+  private final AtomicLong maxWaitTimeNanos = new AtomicLong();
+
+  PathLockContention(Path prefix) {
+    this.prefix = prefix;
+  }
+
+  void onWaited(long waitNanos) {
+    waits.incrementAndGet();
+    waitTimeNanos.addAndGet(waitNanos);
+    maxWaitTimeNanos.accumulateAndGet(waitNanos, Math::max);
+  }
+
+  void onTimeout() {
+    timeouts.incrementAndGet();
+  }
+
+  /** Returns the prefix of the locked paths. */
+  public Path getPrefix() {
+    return prefix;
+  }
+
+  /** Returns the number of acquired locks which had to wait for other locks to be released. */
+  public long getWaits() {
+    return waits.get();
+  }
+
+  /** Returns the number of failures to acquire lock within the timeout. */
+  public long getTimeouts() {
+    return timeouts.get();
+  }
+
+  /** Returns the overall time spent waiting for the locks. */
+  public long getTotalWaitTimeMs() {
+    return NANOSECONDS.toMillis(waitTimeNanos.get());
+  }
+
+  /** Returns the average time spent waiting for a lock. */
+  public long getAverageWaitTimeMs() {
+    long count = waits.get();
+    return count == 0 ? 0 : NANOSECONDS.toMillis(waitTimeNanos.get() / count);
+  }
+
+  /** Returns the maximum time spent waiting for a lock. */
+  public long getMaxWaitTimeMs() {
+    return NANOSECONDS.toMillis(maxWaitTimeNanos.get());
+  }
+
+  @Override
+  public String toString() {
+    return "PathLockContention{"
+        + "prefix="
+        + prefix
+        + ", waits="
+        + getWaits()
+        + ", timeouts="
+        + getTimeouts()
+        + ", totalWaitTimeMs="
+        + getTotalWaitTimeMs()
+        + ", averageWaitTimeMs="
+        + getAverageWaitTimeMs()
+        + ", maxWaitTimeMs="
+        + getMaxWaitTimeMs()
+        + '}';
+  }
+}
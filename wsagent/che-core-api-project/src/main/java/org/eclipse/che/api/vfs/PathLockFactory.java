@@ -10,6 +10,15 @@
  */
 package org.eclipse.che.api.vfs;
 
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  *
@@ -32,14 +41,30 @@ package org.eclipse.che.api.vfs;
  *      }
  * </pre>
  *
+ * <p>Lock on a path conflicts with locks on its parents and children: exclusive lock on a folder
+ * can't be obtained while any file in this folder is locked by other thread and vice versa. The
+ * lock table is striped, locks on paths which can't conflict with each other, e.g. on files of
+ * different projects, mostly don't block each other. Wait times of the threads which had to wait
+ * for a lock are available with {@link #getContentionReport()}.
+ *
  * @author andrew00x>
  */
 public final class PathLockFactory {
   private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+  private static final int DEFAULT_STRIPES = 64;
+  private static final int DEFAULT_CONTENTION_PREFIX_LENGTH = 1;
   /** Max number of threads allowed to access file. */
   private final int maxThreads;
-  // Tail of the "lock table".
-  private final Node tail = new Node(null, 0, null);
+  /**
+   * Lock table split by the first element of path. Paths where one is a parent of other always
+   * have the same first element, so conflicting locks are always found in the same stripe. The
+   * root path is a parent of any path, its locks are placed in all stripes.
+   */
+  private final Stripe[] stripes;
+  /** Number of leading path elements wait times are grouped by. */
+  private final int contentionPrefixLength;
+
+  private final ConcurrentMap<Path, PathLockContention> contention = new ConcurrentHashMap<>();
 
   /**
    * @param maxThreads the max number of threads are allowed to access one file. Typically this
@@ -47,113 +72,248 @@ public final class PathLockFactory {
    *     lock.
    */
   public PathLockFactory(int maxThreads) {
-    if (maxThreads < 1) {
+    this(maxThreads, DEFAULT_STRIPES, DEFAULT_CONTENTION_PREFIX_LENGTH);
+  }
+
+  /**
+   * @param maxThreads the max number of threads are allowed to access one file
+   * @param stripes the number of independent parts of the lock table, locks of paths with
+   *     different first elements, e.g. of different projects, are acquired and released without
+   *     blocking each other if they get into different parts
+   * @param contentionPrefixLength the number of leading path elements the {@link
+   *     #getContentionReport() contention report} is grouped by
+   */
+  public PathLockFactory(int maxThreads, int stripes, int contentionPrefixLength) {
+    if (maxThreads < 1 || stripes < 1 || contentionPrefixLength < 1) {
       throw new IllegalArgumentException();
     }
     this.maxThreads = maxThreads;
+    this.contentionPrefixLength = contentionPrefixLength;
+    this.stripes = new Stripe[stripes];
+    for (int i = 0; i < stripes; i++) {
+      this.stripes[i] = new Stripe();
+    }
   }
 
   public PathLock getLock(Path path, boolean exclusive) {
     return new PathLock(path, exclusive ? maxThreads : 1);
   }
 
-  private synchronized void acquire(Path path, int permits) {
-    while (!tryAcquire(path, permits)) {
-      try {
-        wait();
-      } catch (InterruptedException e) {
-        notifyAll();
-        throw new RuntimeException(e);
+  /**
+   * Returns wait times of the lock acquisitions which had to wait for other locks grouped by path
+   * prefix. Prefixes with the biggest overall wait time go first.
+   */
+  public List<PathLockContention> getContentionReport() {
+    final List<PathLockContention> report = new ArrayList<>(contention.values());
+    report.sort(comparingLong(PathLockContention::getTotalWaitTimeMs).reversed());
+    return report;
+  }
+
+  /** Clears collected wait times. */
+  public void resetContentionReport() {
+    contention.clear();
+  }
+
+  /**
+   * Acquires lock for the path.
+   *
+   * @param timeoutMilliseconds the maximum time to wait for the lock, negative value means wait
+   *     until the lock is acquired
+   */
+  private void acquire(Path path, int permits, long timeoutMilliseconds) {
+    final long waitStart;
+    if (path.length() == 0) {
+      final long[] seenVersion = new long[1];
+      int failedStripe = tryAcquireAll(path, permits, seenVersion);
+      if (failedStripe < 0) {
+        return;
+      }
+      waitStart = System.nanoTime();
+      final long endTime = waitStart + MILLISECONDS.toNanos(timeoutMilliseconds);
+      do {
+        final Stripe stripe = stripes[failedStripe];
+        if (!stripe.awaitRelease(seenVersion[0], timeoutMilliseconds >= 0, endTime)) {
+          onTimeout(path);
+        }
+        failedStripe = tryAcquireAll(path, permits, seenVersion);
+      } while (failedStripe >= 0);
+    } else {
+      final Stripe stripe = stripeFor(path);
+      synchronized (stripe) {
+        if (stripe.tryAcquire(path, permits)) {
+          return;
+        }
+        waitStart = System.nanoTime();
+        final long endTime = waitStart + MILLISECONDS.toNanos(timeoutMilliseconds);
+        do {
+          if (!stripe.awaitRelease(stripe.version, timeoutMilliseconds >= 0, endTime)) {
+            onTimeout(path);
+          }
+        } while (!stripe.tryAcquire(path, permits));
       }
     }
+    getContention(path).onWaited(System.nanoTime() - waitStart);
   }
 
-  private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-    final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-    long waitTime = timeoutMilliseconds;
-    while (!tryAcquire(path, permits)) {
-      try {
-        wait(waitTime);
-      } catch (InterruptedException e) {
-        notifyAll();
-        throw new RuntimeException(e);
+  /**
+   * Acquires lock for the path in all the stripes, all or nothing.
+   *
+   * @param seenVersion receives version of the stripe which prevents acquiring, waiting for the
+   *     next version does not miss release which happens after this method returns
+   * @return -1 if lock is acquired or index of the stripe which prevents acquiring
+   */
+  private int tryAcquireAll(Path path, int permits, long[] seenVersion) {
+    for (int i = 0; i < stripes.length; i++) {
+      final Stripe stripe = stripes[i];
+      synchronized (stripe) {
+        if (stripe.tryAcquire(path, permits)) {
+          continue;
+        }
+        seenVersion[0] = stripe.version;
       }
-      long now = System.currentTimeMillis();
-      if (now >= endTime) {
-        throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+      for (int j = 0; j < i; j++) {
+        stripes[j].release(path, permits);
       }
-      waitTime = endTime - now;
+      return i;
     }
+    return -1;
   }
 
-  private synchronized void release(Path path, int permits) {
-    Node node = tail;
-    while (node != null) {
-      Node prev = node.prev;
-      if (prev == null) {
-        break;
+  private void release(Path path, int permits) {
+    if (path.length() == 0) {
+      for (Stripe stripe : stripes) {
+        stripe.release(path, permits);
       }
-      if (prev.path.equals(path)) {
-        if (prev.threadDeep == 1) {
-          // If last recursive lock.
-          prev.permits += permits;
-          if (prev.permits >= maxThreads) {
-            // remove
-            node.prev = prev.prev;
-            prev.prev = null;
-          }
-        } else {
-          --prev.threadDeep;
-        }
+    } else {
+      stripeFor(path).release(path, permits);
+    }
+  }
+
+  private Stripe stripeFor(Path path) {
+    int hash = path.element(0).hashCode();
+    hash ^= (hash >>> 16);
+    return stripes[Math.floorMod(hash, stripes.length)];
+  }
+
+  private void onTimeout(Path path) {
+    getContention(path).onTimeout();
+    throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+  }
+
+  private PathLockContention getContention(Path path) {
+    final Path prefix =
+        path.length() > contentionPrefixLength ? path.subPath(0, contentionPrefixLength) : path;
+    return contention.computeIfAbsent(prefix, PathLockContention::new);
+  }
+
+  public void checkClean() {
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        assert stripe.tail.prev == null;
       }
-      node = node.prev;
     }
-    notifyAll();
-    //System.err.printf(">>>>> release: %s : %d%n", path, permits);
   }
 
-  private boolean tryAcquire(Path path, int permits) {
-    //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-    Node node = tail.prev;
-    final Thread current = Thread.currentThread();
-    while (node != null) {
-      if (node.path.equals(path)) {
-        if (node.threadId == current.getId()) {
-          // Current thread already has direct lock for this path
-          if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-            throw new Error("Max number of recursive locks exceeded. ");
+  /** Part of the lock table, guarded by its own monitor. */
+  private final class Stripe {
+    // Tail of the "lock table".
+    final Node tail = new Node(null, 0, null);
+    /** Incremented on each release, guarded by this stripe. */
+    long version;
+
+    /**
+     * Waits until some lock of this stripe is released after the given version of the stripe was
+     * seen.
+     *
+     * @return false if the end time is reached
+     */
+    synchronized boolean awaitRelease(long seenVersion, boolean timed, long endTime) {
+      try {
+        while (version == seenVersion) {
+          if (!timed) {
+            wait();
+          } else {
+            final long waitTime = NANOSECONDS.toMillis(endTime - System.nanoTime());
+            if (waitTime <= 0) {
+              return false;
+            }
+            wait(waitTime);
           }
-          ++node.threadDeep;
-          return true;
         }
-        if (node.permits > permits) {
-          // Lock already exists and current thread is not owner of this lock,
-          // but lock is not exclusive and we can "share" it for other thread.
-          node.permits -= permits; // decrement number of allowed concurrent threads
-          return true;
+      } catch (InterruptedException e) {
+        notifyAll();
+        throw new RuntimeException(e);
+      }
+      return true;
+    }
+
+    synchronized void release(Path path, int permits) {
+      Node node = tail;
+      while (node != null) {
+        Node prev = node.prev;
+        if (prev == null) {
+          break;
         }
-        // Lock is exclusive or max number of allowed concurrent thread is reached.
-        return false;
-      } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-        // Found some path which already has lock that prevents us to get required permits.
-        // There is two possibilities:
-        // 1. Parent of the path we try to lock already locked
-        // 2. Child of the path we try to lock already locked
-        // Need to check is such lock obtained by current thread or not.
-        // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-        if (node.threadId != current.getId()) {
-          return false;
+        if (prev.path.equals(path)) {
+          if (prev.threadDeep == 1) {
+            // If last recursive lock.
+            prev.permits += permits;
+            if (prev.permits >= maxThreads) {
+              // remove
+              node.prev = prev.prev;
+              prev.prev = null;
+            }
+          } else {
+            --prev.threadDeep;
+          }
         }
+        node = node.prev;
       }
-      node = node.prev;
+      ++version;
+      notifyAll();
     }
-    // If we are here there is no lock for path yet.
-    tail.prev = new Node(path, maxThreads - permits, tail.prev);
-    return true;
-  }
 
-  public synchronized void checkClean() {
-    assert tail.prev == null;
+    /** Must be called with monitor of this stripe held. */
+    boolean tryAcquire(Path path, int permits) {
+      Node node = tail.prev;
+      final Thread current = Thread.currentThread();
+      while (node != null) {
+        if (node.path.equals(path)) {
+          if (node.threadId == current.getId()) {
+            // Current thread already has direct lock for this path
+            if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
+              throw new Error("Max number of recursive locks exceeded. ");
+            }
+            ++node.threadDeep;
+            return true;
+          }
+          if (node.permits > permits) {
+            // Lock already exists and current thread is not owner of this lock,
+            // but lock is not exclusive and we can "share" it for other thread.
+            node.permits -= permits; // decrement number of allowed concurrent threads
+            return true;
+          }
+          // Lock is exclusive or max number of allowed concurrent thread is reached.
+          return false;
+        } else if ((node.path.isChild(path) || path.isChild(node.path))
+            && node.permits <= permits) {
+          // Found some path which already has lock that prevents us to get required permits.
+          // There is two possibilities:
+          // 1. Parent of the path we try to lock already locked
+          // 2. Child of the path we try to lock already locked
+          // Need to check is such lock obtained by current thread or not.
+          // If such lock obtained by other thread stop here immediately there is no reasons to
+          // continue.
+          if (node.threadId != current.getId()) {
+            return false;
+          }
+        }
+        node = node.prev;
+      }
+      // If we are here there is no lock for path yet.
+      tail.prev = new Node(path, maxThreads - permits, tail.prev);
+      return true;
+    }
   }
 
   /* =============================================== */
@@ -202,7 +362,7 @@ public final class PathLockFactory {
      * @return this PathLock instance
      */
     public PathLock acquire() {
-      PathLockFactory.this.acquire(path, permits);
+      PathLockFactory.this.acquire(path, permits, -1);
       return this;
     }
 
@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.api.vfs.impl.file;
 
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
 import static org.eclipse.che.api.vfs.Path.ROOT;
 
 import java.io.File;
@@ -43,7 +44,7 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
   @Override
   public void handleFileWatcherEvent(
       FileWatcherEventType eventType, File watchRoot, String subPath, boolean isDir) {
-    VirtualFile virtualFile = convertToVirtualFile(watchRoot, subPath, isDir);
+    VirtualFile virtualFile = convertToVirtualFile(eventType, watchRoot, subPath, isDir);
     if (virtualFile == null) {
       return;
     }
@@ -74,11 +75,16 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
     return fileWatcherNotificationListeners.remove(fileWatcherNotificationListener);
   }
 
-  private VirtualFile convertToVirtualFile(File root, String subPath, boolean isDir) {
+  private VirtualFile convertToVirtualFile(
+      FileWatcherEventType eventType, File root, String subPath, boolean isDir) {
     try {
       LocalVirtualFileSystem virtualFileSystem =
           (LocalVirtualFileSystem) virtualFileSystemProvider.getVirtualFileSystem(true);
       Path vfsPath = Path.of(subPath);
+      if (eventType != MODIFIED) {
+        // Listeners may list the parent folder, drop the stale listing before they are notified
+        virtualFileSystem.invalidateListings(ROOT.newPath(vfsPath));
+      }
       VirtualFile virtualFile = virtualFileSystem.getRoot().getChild(vfsPath);
       if (virtualFile == null) {
         virtualFile =
@@ -17,10 +17,12 @@ import static com.google.common.collect.Maps.newLinkedHashMap;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.eclipse.che.api.vfs.VirtualFileFilters.dotGitFilter;
 import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -40,7 +42,10 @@ import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +62,7 @@ import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.HashSumsCounter;
 import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.PathLockContention;
 import org.eclipse.che.api.vfs.PathLockFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
@@ -90,8 +96,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private static final String FILE_PROPERTIES_DIR = VFS_SERVICE_DIR + File.separatorChar + "props";
   private static final String PROPERTIES_FILE_SUFFIX = "_props";
 
-  private static final FilenameFilter DOT_VFS_DIR_FILTER =
-      (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
+  /** Limits the overall number of children kept in the listing cache. */
+  private static final int LISTING_CACHE_MAX_CHILDREN = 100_000;
 
   private static final FilenameFilter VFS_LOCK_FILTER =
       (dir, name) ->
@@ -141,12 +147,30 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private final FileMetadataSerializer metadataSerializer;
   private final LoadingCache<Path, Map<String, String>> metadataCache;
 
-  @SuppressWarnings("unchecked")
+  /** Sorted children of folders, {@code null} if listing cache is disabled. */
+  private final Cache<Path, List<LocalVirtualFile>> listingCache;
+
   public LocalVirtualFileSystem(
       File ioRoot,
       ArchiverFactory archiverFactory,
       SearcherProvider searcherProvider,
       AbstractVirtualFileSystemProvider.CloseCallback closeCallback) {
+    this(ioRoot, archiverFactory, searcherProvider, closeCallback, 0);
+  }
+
+  /**
+   * @param listingCacheTtlMs time in milliseconds the children of a folder are cached for, the
+   *     cache is invalidated by changes made through this file system and by file watcher events,
+   *     the time only limits staleness of listings when events are missed. Zero or negative value
+   *     disables the cache
+   */
+  @SuppressWarnings("unchecked")
+  public LocalVirtualFileSystem(
+      File ioRoot,
+      ArchiverFactory archiverFactory,
+      SearcherProvider searcherProvider,
+      AbstractVirtualFileSystemProvider.CloseCallback closeCallback,
+      long listingCacheTtlMs) {
     this.ioRoot = ioRoot;
     this.archiverFactory = archiverFactory;
     this.searcherProvider = searcherProvider;
@@ -170,6 +194,18 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             .maximumSize(256)
             .expireAfterAccess(10, MINUTES)
             .build(new FilePropertiesCacheLoader());
+
+    if (listingCacheTtlMs > 0) {
+      listingCache =
+          CacheBuilder.newBuilder()
+              .concurrencyLevel(8)
+              .maximumWeight(LISTING_CACHE_MAX_CHILDREN)
+              .weigher((Path path, List<LocalVirtualFile> children) -> children.size())
+              .expireAfterWrite(listingCacheTtlMs, MILLISECONDS)
+              .build();
+    } else {
+      listingCache = null;
+    }
   }
 
   @Override
@@ -185,6 +221,10 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   @Override
   public void close() throws ServerException {
     cleanUpCaches();
+    final List<PathLockContention> lockContention = pathLockFactory.getContentionReport();
+    if (!lockContention.isEmpty()) {
+      LOG.info("Contention of file locks by path prefix: {}", lockContention);
+    }
     if (searcherProvider != null) {
       Searcher searcher = searcherProvider.getSearcher(this, false);
       if (searcher != null) {
@@ -216,6 +256,24 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private void cleanUpCaches() {
     lockTokensCache.invalidateAll();
     metadataCache.invalidateAll();
+    if (listingCache != null) {
+      listingCache.invalidateAll();
+    }
+  }
+
+  /**
+   * Invalidates cached children of the parent of the item with specified path and of all the
+   * folders under this path. Called when the item is created or deleted. Listing which is read
+   * concurrently with the change may be cached after invalidation, such listing stays stale until
+   * it expires.
+   */
+  void invalidateListings(Path path) {
+    if (listingCache != null) {
+      if (!path.isRoot()) {
+        listingCache.invalidate(path.getParent());
+      }
+      listingCache.asMap().keySet().removeIf(cached -> cached.equals(path) || cached.isChild(path));
+    }
   }
 
   /**
@@ -253,43 +311,89 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     return newArrayList(path.elements()).contains(".vfs");
   }
 
-  synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter)
+  List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter)
       throws ServerException {
     if (parent.isFolder()) {
-      final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
-      Collections.sort(children);
+      final List<LocalVirtualFile> sortedChildren = getSortedChildren(parent);
+      final List<VirtualFile> children = newArrayListWithCapacity(sortedChildren.size());
+      for (LocalVirtualFile child : sortedChildren) {
+        if (filter == null || filter.accept(child)) {
+          children.add(child);
+        }
+      }
       return children;
     }
     return emptyList();
   }
 
-  private List<VirtualFile> doGetChildren(
-      LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
+  private List<LocalVirtualFile> getSortedChildren(LocalVirtualFile parent)
       throws ServerException {
-    if (ioFileFilter == null) {
-      ioFileFilter = IoUtil.ANY_FILTER;
+    if (listingCache == null) {
+      return listSortedChildren(parent);
     }
+    List<LocalVirtualFile> children = listingCache.getIfPresent(parent.getPath());
+    if (children == null) {
+      children = listSortedChildren(parent);
+      listingCache.put(parent.getPath(), children);
+    }
+    return children;
+  }
 
-    final String[] names = parent.toIoFile().list(ioFileFilter);
-    if (names == null) {
+  /**
+   * Lists children of the folder except VFS service directory in the order of {@link
+   * LocalVirtualFile#compareTo(VirtualFile)}. Type of each child is read once while listing, not
+   * on each comparison of the sort.
+   */
+  private List<LocalVirtualFile> listSortedChildren(LocalVirtualFile parent)
+      throws ServerException {
+    final List<ListedChild> listed = new ArrayList<>();
+    try (DirectoryStream<java.nio.file.Path> stream =
+        java.nio.file.Files.newDirectoryStream(parent.toIoFile().toPath())) {
+      for (java.nio.file.Path entry : stream) {
+        final String name = entry.getFileName().toString();
+        if (!VFS_SERVICE_DIR.equals(name)) {
+          listed.add(new ListedChild(name, isDirectory(entry)));
+        }
+      }
+    } catch (IOException e) {
       throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
     }
+    Collections.sort(listed);
 
-    if (vfsFilter == null) {
-      vfsFilter = VirtualFileFilter.ACCEPT_ALL;
+    final List<LocalVirtualFile> children = newArrayListWithCapacity(listed.size());
+    for (ListedChild child : listed) {
+      final Path childPath = parent.getPath().newPath(child.name);
+      children.add(new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this));
     }
+    return Collections.unmodifiableList(children);
+  }
 
-    final List<VirtualFile> children = newArrayListWithCapacity(names.length);
-    for (String name : names) {
-      final Path childPath = parent.getPath().newPath(name);
-      final LocalVirtualFile child =
-          new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
-      if (vfsFilter.accept(child)) {
-        children.add(child);
-      }
+  private static boolean isDirectory(java.nio.file.Path path) {
+    try {
+      return java.nio.file.Files.readAttributes(path, BasicFileAttributes.class).isDirectory();
+    } catch (IOException e) {
+      // e.g. broken symbolic link, java.io.File considers it not a directory as well
+      return false;
     }
+  }
 
-    return children;
+  /** Name and type of a listed child, ordered as {@link LocalVirtualFile}s are. */
+  private static final class ListedChild implements Comparable<ListedChild> {
+    final String name;
+    final boolean folder;
+
+    ListedChild(String name, boolean folder) {
+      this.name = name;
+      this.folder = folder;
+    }
+
+    @Override
+    public int compareTo(ListedChild other) {
+      if (folder != other.folder) {
+        return folder ? -1 : 1;
+      }
+      return name.compareTo(other.name);
+    }
   }
 
   LocalVirtualFile createFile(LocalVirtualFile parent, String name, InputStream content)
@@ -320,6 +424,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         doUpdateContent(newVirtualFile, content);
       }
 
+      invalidateListings(newPath);
       addInSearcher(newVirtualFile);
 
       return newVirtualFile;
@@ -341,6 +446,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
           throw new ConflictException(String.format("Item '%s' already exists", newPath));
         }
       }
+      invalidateListings(newPath);
 
       return new LocalVirtualFile(newIoFile, newPath, this);
     } else {
@@ -372,6 +478,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
       }
 
       doCopy(source, destination);
+      invalidateListings(destination.getPath());
 
       addInSearcher(destination);
 
@@ -436,6 +543,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
       }
 
       doCopy(virtualFile, newVirtualFile);
+      invalidateListings(newPath);
       addInSearcher(newVirtualFile);
 
       final Path path = virtualFile.getPath();
@@ -500,6 +608,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
     doCopy(virtualFile, newVirtualFile);
+    invalidateListings(newPath);
     addInSearcher(newVirtualFile);
 
     final Path path = virtualFile.getPath();
@@ -699,6 +808,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     if (parent.isFolder()) {
       extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+      invalidateListings(parent.getPath());
       addInSearcher(parent);
     } else {
       throw new ForbiddenException(
@@ -728,6 +838,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     if (parent.isFolder()) {
       extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+      invalidateListings(parent.getPath());
       addInSearcher(parent);
     } else {
       throw new ForbiddenException(
@@ -26,13 +26,22 @@ import org.eclipse.che.api.vfs.search.SearcherProvider;
 public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemProvider {
   private final File rootDirectory;
   private final SearcherProvider searcherProvider;
+  private final long listingCacheTtlMs;
+
+  public LocalVirtualFileSystemProvider(File rootDirectory, SearcherProvider searcherProvider)
+      throws IOException {
+    this(rootDirectory, searcherProvider, 0);
+  }
 
   @Inject
   public LocalVirtualFileSystemProvider(
-      @Named("che.user.workspaces.storage") File rootDirectory, SearcherProvider searcherProvider)
+      @Named("che.user.workspaces.storage") File rootDirectory,
+      SearcherProvider searcherProvider,
+      @Named("che.vfs.listing_cache_ttl_ms") long listingCacheTtlMs)
       throws IOException {
     this.rootDirectory = rootDirectory;
     this.searcherProvider = searcherProvider;
+    this.listingCacheTtlMs = listingCacheTtlMs;
     Files.createDirectories(rootDirectory.toPath());
   }
 
@@ -40,6 +49,6 @@ public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemPro
   protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback)
       throws ServerException {
     return new LocalVirtualFileSystem(
-        rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback);
+        rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback, listingCacheTtlMs);
   }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Snapshot of the progress of the initial indexing, i.e. reconciliation of the index with the
+ * files of virtual filesystem performed after the {@link Searcher} is created.
+ */
+public class IndexingStatus {
+  private final boolean ready;
+  private final int scannedFiles;
+  private final int processedFiles;
+  private final int addedFiles;
+  private final int updatedFiles;
+  private final int deletedFiles;
+
+  public IndexingStatus(
+      boolean ready,
+      int scannedFiles,
+      int processedFiles,
+      int addedFiles,
+      int updatedFiles,
+      int deletedFiles) {
+    this.ready = ready;
+    this.scannedFiles = scannedFiles;
+    this.processedFiles = processedFiles;
+    this.addedFiles = addedFiles;
+    this.updatedFiles = updatedFiles;
+    this.deletedFiles = deletedFiles;
+  }
+
+  /** {@code true} if the index is reconciled with files and search returns complete results. */
+  public boolean isReady() {
+    return ready;
+  }
+
+  /** Number of files found in virtual filesystem so far. */
+  public int getScannedFiles() {
+    return scannedFiles;
+  }
+
+  /** Number of scanned files which are checked against the index and indexed if needed. */
+  public int getProcessedFiles() {
+    return processedFiles;
+  }
+
+  /** Number of files which were missed in the index. */
+  public int getAddedFiles() {
+    return addedFiles;
+  }
+
+  /** Number of files which were changed since they were indexed. */
+  public int getUpdatedFiles() {
+    return updatedFiles;
+  }
+
+  /** Number of files which are removed from the index since they don't exist anymore. */
+  public int getDeletedFiles() {
+    return deletedFiles;
+  }
+
+  @Override
+  public String toString() {
+    return "IndexingStatus{"
+        + "ready="
+        + ready
+        + ", scannedFiles="
+        + scannedFiles
+        + ", processedFiles="
+        + processedFiles
+        + ", addedFiles="
+        + addedFiles
+        + ", updatedFiles="
+        + updatedFiles
+        + ", deletedFiles="
+        + deletedFiles
+        + '}';
+  }
+}
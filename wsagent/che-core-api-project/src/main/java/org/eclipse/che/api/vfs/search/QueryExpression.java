@@ -12,11 +12,27 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher. */
 public class QueryExpression {
+  /** Defines how {@link #getText() text} of query is matched against content of files. */
+  public enum TextMode {
+    /** Text is a query of Lucene syntax which is matched against words of files. */
+    QUERY,
+    /** Text is an exact substring of content, e.g. a fragment of code with punctuation. */
+    SUBSTRING,
+    /**
+     * Text is a {@link java.util.regex.Pattern regular expression}, {@code ^} and {@code $} match
+     * at line boundaries.
+     */
+    REGEX
+  }
+
   private String name;
   private String path;
   private String text;
+  private TextMode textMode = TextMode.QUERY;
+  private boolean caseSensitive;
   private int skipCount;
   private int maxItems;
+  private String cursor;
   private boolean includePositions;
 
   /**
@@ -55,6 +71,29 @@ public class QueryExpression {
     return this;
   }
 
+  /** Mode of matching text, {@link TextMode#QUERY} by default. */
+  public TextMode getTextMode() {
+    return textMode;
+  }
+
+  public QueryExpression setTextMode(TextMode textMode) {
+    this.textMode = textMode;
+    return this;
+  }
+
+  /**
+   * Whether case of text should be matched. Applied to {@link TextMode#SUBSTRING} and {@link
+   * TextMode#REGEX} modes only, queries are always case insensitive.
+   */
+  public boolean isCaseSensitive() {
+    return caseSensitive;
+  }
+
+  public QueryExpression setCaseSensitive(boolean caseSensitive) {
+    this.caseSensitive = caseSensitive;
+    return this;
+  }
+
   /**
    * Number of items in search result that should be skipped. This parameter used for paging through
    * large set of search result.
@@ -68,6 +107,22 @@ public class QueryExpression {
     return this;
   }
 
+  /**
+   * Opaque position in search result which is returned along with the query expression for
+   * retrieving next page, see {@link SearchResult#getNextPageQueryExpression()}. Allows searcher to
+   * continue search from the end of the previous page instead of skipping {@link #getSkipCount()}
+   * items. Searcher falls back to skipping items if the cursor is no longer valid, e.g. when index
+   * has been changed after the previous page was retrieved.
+   */
+  public String getCursor() {
+    return cursor;
+  }
+
+  public QueryExpression setCursor(String cursor) {
+    this.cursor = cursor;
+    return this;
+  }
+
   /** Max number of results that might be returned after executing this query. */
   public int getMaxItems() {
     return maxItems;
@@ -94,6 +149,10 @@ public class QueryExpression {
         + "text='"
         + text
         + '\''
+        + ", textMode="
+        + textMode
+        + ", caseSensitive="
+        + caseSensitive
         + ", name='"
         + name
         + '\''
@@ -104,6 +163,9 @@ public class QueryExpression {
         + skipCount
         + ", maxItems="
         + maxItems
+        + ", cursor='"
+        + cursor
+        + '\''
         + '}';
   }
 }
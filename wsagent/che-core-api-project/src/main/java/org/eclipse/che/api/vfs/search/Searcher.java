@@ -25,6 +25,8 @@ public interface Searcher {
    *
    * @param query query expression
    * @return results of search
+   * @throws IllegalArgumentException if {@link QueryExpression#getCursor() cursor} of the query is
+   *     not valid or was created for other query
    * @throws ServerException if an error occurs
    */
   SearchResult search(QueryExpression query) throws ServerException;
@@ -53,6 +55,12 @@ public interface Searcher {
    */
   void update(VirtualFile virtualFile) throws ServerException;
 
+  /**
+   * Get progress of the initial indexing of virtual filesystem. Until the indexing is completed
+   * search may return incomplete results.
+   */
+  IndexingStatus getIndexingStatus();
+
   /** Close Searcher. */
   void close();
 
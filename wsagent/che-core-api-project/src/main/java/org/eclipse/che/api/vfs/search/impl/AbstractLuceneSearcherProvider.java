@@ -19,6 +19,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
@@ -33,6 +34,8 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
   protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
   private final ExecutorService executor;
 
+  private volatile int maxHighlightedChars = LuceneSearcher.DEFAULT_MAX_HIGHLIGHTED_CHARS;
+
   /** @param excludeFileIndexFilters set filter for files that should not be indexed */
   protected AbstractLuceneSearcherProvider(Set<VirtualFileFilter> excludeFileIndexFilters) {
     this.excludeFileIndexFilters = mergeFileIndexFilters(excludeFileIndexFilters);
@@ -45,6 +48,17 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
                 .build());
   }
 
+  /**
+   * Sets number of leading characters of file in which positions of matches are searched.
+   *
+   * @see LuceneSearcher#setMaxHighlightedChars(int)
+   */
+  @com.google.inject.Inject(optional = true)
+  public void setMaxHighlightedChars(
+      @Named("che.search.highlight_max_chars") int maxHighlightedChars) {
+    this.maxHighlightedChars = maxHighlightedChars;
+  }
+
   private VirtualFileFilter mergeFileIndexFilters(Set<VirtualFileFilter> fileIndexFilters) {
     final VirtualFileFilter filter;
     if (fileIndexFilters.isEmpty()) {
@@ -63,6 +77,7 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
     Searcher cachedSearcher = searcherReference.get();
     if (cachedSearcher == null && create) {
       LuceneSearcher searcher = createLuceneSearcher(() -> searcherReference.set(null));
+      searcher.setMaxHighlightedChars(maxHighlightedChars);
       if (searcherReference.compareAndSet(null, searcher)) {
         searcher.initAsynchronously(executor, virtualFileSystem);
       }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.QueryExpression.TextMode;
+
+/**
+ * Exact substring or regular expression searched in content of files.
+ *
+ * <p>Files are pre-selected with trigrams: every text matched by the pattern contains all the
+ * {@link #getTrigrams() trigrams} of the pattern, so only files which have all of them in the
+ * index are candidates. Text of candidates is verified with {@link Pattern}. Trigrams are lower
+ * cased, the same way as they are indexed, so pre-selection doesn't depend on case sensitivity of
+ * the pattern. Trigrams of regular expression are taken from literal runs which must be present in
+ * any match. If such runs can't be found safely, e.g. the expression has alternation at the top
+ * level, the pattern doesn't have trigrams and text of all files is verified.
+ */
+final class CodePattern {
+  /** Length of indexed grams in code points. */
+  static final int GRAM_SIZE = 3;
+  /** Any subset of trigrams selects a superset of candidates, so long patterns are cut. */
+  private static final int MAX_TRIGRAMS = 64;
+  /** Escaped letters which denote classes, boundaries or control characters by themselves. */
+  private static final String ESCAPES_WITHOUT_ARGUMENTS = "dDsSwWhHvVbBAzZGRXtnrfea";
+
+  private final Pattern pattern;
+  private final Set<String> trigrams;
+
+  private CodePattern(Pattern pattern, Set<String> trigrams) {
+    this.pattern = pattern;
+    this.trigrams = trigrams;
+  }
+
+  /**
+   * Creates pattern for text of the query.
+   *
+   * @throws IllegalArgumentException if mode of the query is {@link TextMode#REGEX} and text isn't
+   *     a valid regular expression
+   */
+  static CodePattern compile(QueryExpression query) {
+    final String text = query.getText();
+    final int flags =
+        query.isCaseSensitive() ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+    if (query.getTextMode() == TextMode.REGEX) {
+      final Pattern pattern = Pattern.compile(text, flags | Pattern.MULTILINE);
+      final Set<String> trigrams = new LinkedHashSet<>();
+      for (String literal : getRequiredLiterals(text)) {
+        collectTrigrams(literal, trigrams);
+      }
+      return new CodePattern(pattern, trigrams);
+    }
+    final Set<String> trigrams = new LinkedHashSet<>();
+    collectTrigrams(text, trigrams);
+    return new CodePattern(Pattern.compile(Pattern.quote(text), flags), trigrams);
+  }
+
+  /** Returns lower cased trigrams each matched text contains, empty if they are unknown. */
+  Set<String> getTrigrams() {
+    return trigrams;
+  }
+
+  Matcher matcher(CharSequence text) {
+    return pattern.matcher(text);
+  }
+
+  private static void collectTrigrams(String literal, Set<String> trigrams) {
+    final int[] codePoints = literal.codePoints().map(Character::toLowerCase).toArray();
+    for (int i = 0; i + GRAM_SIZE <= codePoints.length && trigrams.size() < MAX_TRIGRAMS; i++) {
+      trigrams.add(new String(codePoints, i, GRAM_SIZE));
+    }
+  }
+
+  /**
+   * Returns runs of literal characters which must be present in any text matched by the regular
+   * expression. Groups, character classes and optional characters break runs and are skipped.
+   * Returns empty list if the expression has alternation at the top level or uses constructs which
+   * change meaning of literal characters, e.g. quotation or comments mode.
+   */
+  static List<String> getRequiredLiterals(String regex) {
+    final List<String> literals = new ArrayList<>();
+    final StringBuilder run = new StringBuilder();
+    for (int i = 0; i < regex.length(); i++) {
+      final char c = regex.charAt(i);
+      switch (c) {
+        case '\\':
+          if (i + 1 == regex.length()) {
+            return Collections.emptyList();
+          }
+          final char escaped = regex.charAt(++i);
+          if (!Character.isLetterOrDigit(escaped)) {
+            run.append(escaped);
+          } else if (ESCAPES_WITHOUT_ARGUMENTS.indexOf(escaped) >= 0) {
+            flush(run, literals);
+          } else {
+            // Quotation, back reference, property or code of character
+            return Collections.emptyList();
+          }
+          break;
+        case '|':
+          return Collections.emptyList();
+        case '(':
+          if (regex.startsWith("(?", i) && hasCommentsFlag(regex, i + 2)) {
+            return Collections.emptyList();
+          }
+          flush(run, literals);
+          i = skipGroup(regex, i);
+          break;
+        case '[':
+          flush(run, literals);
+          i = skipCharacterClass(regex, i);
+          break;
+        case '*':
+        case '?':
+          removeLastCodePoint(run);
+          flush(run, literals);
+          break;
+        case '{':
+          removeLastCodePoint(run);
+          flush(run, literals);
+          final int end = regex.indexOf('}', i);
+          i = end < 0 ? regex.length() : end;
+          break;
+        case '+':
+        case '.':
+        case '^':
+        case '$':
+        case ')':
+        case ']':
+          flush(run, literals);
+          break;
+        default:
+          run.append(c);
+      }
+    }
+    flush(run, literals);
+    return literals;
+  }
+
+  private static boolean hasCommentsFlag(String regex, int from) {
+    for (int i = from; i < regex.length(); i++) {
+      final char c = regex.charAt(i);
+      if (c == 'x') {
+        return true;
+      }
+      if (!Character.isLetter(c) && c != '-') {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  /** Returns index of the parenthesis which closes group opened at the given index. */
+  private static int skipGroup(String regex, int start) {
+    int depth = 0;
+    for (int i = start; i < regex.length(); i++) {
+      final char c = regex.charAt(i);
+      if (c == '\\') {
+        i++;
+      } else if (c == '[') {
+        i = skipCharacterClass(regex, i);
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')' && --depth == 0) {
+        return i;
+      }
+    }
+    return regex.length();
+  }
+
+  /** Returns index of the bracket which closes character class opened at the given index. */
+  private static int skipCharacterClass(String regex, int start) {
+    int depth = 0;
+    for (int i = start; i < regex.length(); i++) {
+      final char c = regex.charAt(i);
+      if (c == '\\') {
+        i++;
+      } else if (c == '[') {
+        depth++;
+        if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+          i++;
+        }
+        if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+          // Leading bracket is a literal
+          i++;
+        }
+      } else if (c == ']' && --depth == 0) {
+        return i;
+      }
+    }
+    return regex.length();
+  }
+
+  private static void removeLastCodePoint(StringBuilder run) {
+    if (run.length() > 0) {
+      run.setLength(run.offsetByCodePoints(run.length(), -1));
+    }
+  }
+
+  private static void flush(StringBuilder run, List<String> literals) {
+    if (run.length() > 0) {
+      literals.add(run.toString());
+      run.setLength(0);
+    }
+  }
+}
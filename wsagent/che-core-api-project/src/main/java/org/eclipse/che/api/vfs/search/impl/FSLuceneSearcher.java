@@ -14,17 +14,22 @@ import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.SegmentInfos;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.SingleInstanceLockFactory;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Filesystem based LuceneSearcher which cleans index directory after call method {@link #close()}.
+ * Filesystem based LuceneSearcher. Index directory is kept after call method {@link #close()}, so
+ * next time searcher is initialized only files which were changed meanwhile are indexed. Index
+ * which can't be read, e.g. it is corrupted or created by incompatible version of Lucene, is
+ * removed and built from scratch.
  *
  * @author andrew00x
  */
@@ -48,18 +53,36 @@ public class FSLuceneSearcher extends LuceneSearcher {
   @Override
   protected Directory makeDirectory() throws ServerException {
     try {
-      return FSDirectory.open(indexDirectory.toPath(), new SingleInstanceLockFactory());
+      final Directory directory = openDirectory();
+      if (isReadable(directory)) {
+        return directory;
+      }
+      directory.close();
+      LOG.warn("Unable read index in directory '{}', index is re-created", indexDirectory);
+      if (!deleteRecursive(indexDirectory)) {
+        throw new ServerException(
+            String.format("Unable delete index directory '%s'", indexDirectory));
+      }
+      Files.createDirectories(indexDirectory.toPath());
+      return openDirectory();
     } catch (IOException e) {
       throw new ServerException(e);
     }
   }
 
-  @Override
-  protected void afterClose() throws IOException {
-    if (!deleteRecursive(indexDirectory)) {
-      LOG.warn("Unable delete index directory '{}', add it in FileCleaner", indexDirectory);
-      FileCleaner.addFile(indexDirectory);
+  private Directory openDirectory() throws IOException {
+    return FSDirectory.open(indexDirectory.toPath(), new SingleInstanceLockFactory());
+  }
+
+  private static boolean isReadable(Directory directory) {
+    try {
+      if (DirectoryReader.indexExists(directory)) {
+        SegmentInfos.readLatestCommit(directory);
+      }
+      return true;
+    } catch (IOException e) {
+      LOG.debug(e.getMessage(), e);
+      return false;
     }
-    super.afterClose();
   }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.lucene.store.ByteArrayDataInput;
+import org.apache.lucene.store.ByteArrayDataOutput;
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * Offsets of starts of lines of a text. The table is built when a file is indexed and stored in the
+ * index along with the text, so line numbers of matches are resolved with a binary search instead
+ * of scanning the text. Lines are separated with {@code \n}, {@code \r\n} or {@code \r}.
+ */
+final class LineTable {
+  private final String text;
+  private final int[] lineStarts;
+  private final Map<Integer, String> lines = new HashMap<>();
+
+  private LineTable(String text, int[] lineStarts) {
+    this.text = text;
+    this.lineStarts = lineStarts;
+  }
+
+  /** Builds table of lines of the text. */
+  static LineTable of(String text) {
+    return new LineTable(text, findLineStarts(text));
+  }
+
+  /**
+   * Restores table of lines of the text from the value created with {@link #encode(String)}, builds
+   * it from scratch if the value is {@code null}.
+   */
+  static LineTable decode(String text, BytesRef encoded) {
+    if (encoded == null) {
+      return of(text);
+    }
+    final ByteArrayDataInput in =
+        new ByteArrayDataInput(encoded.bytes, encoded.offset, encoded.length);
+    final int size = in.readVInt();
+    final int[] lineStarts = new int[size];
+    for (int i = 1; i < size; i++) {
+      lineStarts[i] = lineStarts[i - 1] + in.readVInt();
+    }
+    return new LineTable(text, lineStarts);
+  }
+
+  /** Encodes table of lines of the text as number of lines followed by lengths of lines. */
+  static BytesRef encode(String text) {
+    final int[] lineStarts = findLineStarts(text);
+    final byte[] bytes = new byte[5 * (lineStarts.length + 1)];
+    final ByteArrayDataOutput out = new ByteArrayDataOutput(bytes);
+    try {
+      out.writeVInt(lineStarts.length);
+      for (int i = 1; i < lineStarts.length; i++) {
+        out.writeVInt(lineStarts[i] - lineStarts[i - 1]);
+      }
+    } catch (IOException e) {
+      // Never happens, the output is a byte array of sufficient size
+      throw new IllegalStateException(e);
+    }
+    return new BytesRef(bytes, 0, out.getPosition());
+  }
+
+  /** Returns zero-based number of the line which contains the character with specified offset. */
+  int getLineNumber(int offset) {
+    int low = 0;
+    int high = lineStarts.length - 1;
+    while (low < high) {
+      final int mid = (low + high + 1) >>> 1;
+      if (lineStarts[mid] <= offset) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low;
+  }
+
+  /** Returns content of the line without line delimiter. */
+  String getLine(int lineNumber) {
+    return lines.computeIfAbsent(lineNumber, this::readLine);
+  }
+
+  private String readLine(int lineNumber) {
+    final int start = lineStarts[lineNumber];
+    int end = lineNumber + 1 < lineStarts.length ? lineStarts[lineNumber + 1] : text.length();
+    while (end > start && (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r')) {
+      end--;
+    }
+    return text.substring(start, end);
+  }
+
+  private static int[] findLineStarts(String text) {
+    int[] lineStarts = new int[16];
+    int size = 1;
+    for (int i = 0; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      if (c == '\n' || (c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n'))) {
+        if (size == lineStarts.length) {
+          lineStarts = Arrays.copyOf(lineStarts, size * 2);
+        }
+        lineStarts[size++] = i + 1;
+      }
+    }
+    return Arrays.copyOf(lineStarts, size);
+  }
+}
@@ -11,47 +11,71 @@
 package org.eclipse.che.api.vfs.search.impl;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
 import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
-import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
-import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
-import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
-import org.apache.lucene.search.highlight.QueryScorer;
-import org.apache.lucene.search.highlight.TokenSources;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
@@ -59,14 +83,14 @@ import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingStatus;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.QueryExpression.TextMode;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
-import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.IRegion;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -81,9 +105,60 @@ public abstract class LuceneSearcher implements Searcher {
   private static final String PATH_FIELD = "path";
   private static final String NAME_FIELD = "name";
   private static final String TEXT_FIELD = "text";
+  private static final String MODIFICATION_DATE_FIELD = "modificationDate";
+  private static final String LENGTH_FIELD = "length";
+  private static final String HASH_FIELD = "hash";
+  private static final String INDEX_VERSION_FIELD = "indexVersion";
+  private static final String LINE_TABLE_FIELD = "lines";
+  private static final String TRIGRAM_FIELD = "trigrams";
+  /** Text is indexed with offsets of terms, so positions of matches are found without analysis. */
+  private static final FieldType TEXT_FIELD_TYPE = new FieldType(TextField.TYPE_STORED);
+
+  static {
+    TEXT_FIELD_TYPE.setStoreTermVectors(true);
+    TEXT_FIELD_TYPE.setStoreTermVectorPositions(true);
+    TEXT_FIELD_TYPE.setStoreTermVectorOffsets(true);
+    TEXT_FIELD_TYPE.freeze();
+  }
+
+  /** Only presence of trigram in text is needed to select candidates of code search. */
+  private static final FieldType TRIGRAM_FIELD_TYPE = new FieldType();
+
+  static {
+    TRIGRAM_FIELD_TYPE.setIndexOptions(IndexOptions.DOCS);
+    TRIGRAM_FIELD_TYPE.setTokenized(true);
+    TRIGRAM_FIELD_TYPE.setOmitNorms(true);
+    TRIGRAM_FIELD_TYPE.freeze();
+  }
+
+  /**
+   * Version of the set of fields indexed for file. It is stored with each document, so files
+   * indexed with older version are re-indexed on reconciliation even if they weren't modified.
+   */
+  private static final int CONTENT_INDEX_VERSION = 3;
+
+  /** Default number of leading characters of file in which positions of matches are searched. */
+  public static final int DEFAULT_MAX_HIGHLIGHTED_CHARS = 1_000_000;
+
+  /**
+   * Files larger than this (in bytes) are indexed from a stream, only leading characters of their
+   * content are stored, see {@link #indexStreaming(VirtualFile, Term)}.
+   */
+  private static final long LARGE_FILE_THRESHOLD = 1024 * 1024;
+  /** Number of files read and analyzed by a single task of indexing pipeline. */
+  private static final int INDEXING_BATCH_SIZE = 100;
+  /** Size of memory buffer of index writer, default 16 MB causes frequent flushes on bulk adds. */
+  private static final double RAM_BUFFER_SIZE_MB = 64;
+  private static final Set<String> FILE_STATE_FIELDS =
+      ImmutableSet.of(PATH_FIELD, HASH_FIELD, INDEX_VERSION_FIELD);
+  private static final Set<String> CODE_SEARCH_FIELDS =
+      ImmutableSet.of(PATH_FIELD, TEXT_FIELD, LINE_TABLE_FIELD);
 
   private final List<VirtualFileFilter> excludeFileIndexFilters;
   private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
+  private final IndexingProgress indexingProgress = new IndexingProgress();
+
+  private volatile int maxHighlightedChars = DEFAULT_MAX_HIGHLIGHTED_CHARS;
 
   private IndexWriter luceneIndexWriter;
   private SearcherManager searcherManager;
@@ -132,18 +207,30 @@ public abstract class LuceneSearcher implements Searcher {
     };
   }
 
+  /** Splits text to lower cased trigrams, punctuation and whitespaces are kept. */
+  private static Analyzer makeTrigramAnalyzer() {
+    return new Analyzer() {
+      @Override
+      protected TokenStreamComponents createComponents(String fieldName) {
+        Tokenizer tokenizer = new NGramTokenizer(CodePattern.GRAM_SIZE, CodePattern.GRAM_SIZE);
+        TokenStream filter = new LowerCaseFilter(tokenizer);
+        return new TokenStreamComponents(tokenizer, filter);
+      }
+    };
+  }
+
   protected abstract Directory makeDirectory() throws ServerException;
 
   /**
-   * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual
-   * filesystem and add to index.
+   * Init lucene index. Scan all files in virtual filesystem and reconcile the index with them, see
+   * {@link #reconcile(VirtualFile)}.
    *
    * @param virtualFileSystem VirtualFileSystem
    * @throws ServerException if any virtual filesystem error occurs
    */
   public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
     doInit();
-    addTree(virtualFileSystem.getRoot());
+    reconcile(virtualFileSystem.getRoot());
   }
 
   public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem)
@@ -153,7 +240,7 @@ public abstract class LuceneSearcher implements Searcher {
       executor.execute(
           () -> {
             try {
-              LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+              LuceneSearcher.this.reconcile(virtualFileSystem.getRoot());
             } catch (ServerException e) {
               LOG.error(e.getMessage());
             }
@@ -163,7 +250,13 @@ public abstract class LuceneSearcher implements Searcher {
 
   protected final synchronized void doInit() throws ServerException {
     try {
-      luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+      final Analyzer analyzer =
+          new PerFieldAnalyzerWrapper(
+              makeAnalyzer(), Collections.singletonMap(TRIGRAM_FIELD, makeTrigramAnalyzer()));
+      luceneIndexWriter =
+          new IndexWriter(
+              makeDirectory(),
+              new IndexWriterConfig(analyzer).setRAMBufferSizeMB(RAM_BUFFER_SIZE_MB));
       searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
       closed = false;
     } catch (IOException e) {
@@ -198,6 +291,19 @@ public abstract class LuceneSearcher implements Searcher {
     return luceneIndexWriter;
   }
 
+  /**
+   * Sets number of leading characters of file in which positions of matches are searched if query
+   * requires them, matches which are out of this limit aren't reported.
+   */
+  public void setMaxHighlightedChars(int maxHighlightedChars) {
+    this.maxHighlightedChars = maxHighlightedChars;
+  }
+
+  @Override
+  public IndexingStatus getIndexingStatus() {
+    return indexingProgress.toStatus();
+  }
+
   @Override
   public SearchResult search(QueryExpression query) throws ServerException {
     IndexSearcher luceneSearcher = null;
@@ -205,12 +311,24 @@ public abstract class LuceneSearcher implements Searcher {
       final long startTime = System.currentTimeMillis();
       searcherManager.maybeRefresh();
       luceneSearcher = searcherManager.acquire();
+      if (query.getText() != null && query.getTextMode() != TextMode.QUERY) {
+        return searchCode(query, luceneSearcher, startTime);
+      }
 
       Query luceneQuery = createLuceneQuery(query);
+      final long indexVersion = getIndexVersion(luceneSearcher);
 
       ScoreDoc after = null;
-      final int numSkipDocs = Math.max(0, query.getSkipCount());
-      if (numSkipDocs > 0) {
+      int numSkipDocs = Math.max(0, query.getSkipCount());
+      if (query.getCursor() != null) {
+        final SearchCursor cursor = parseCursor(query);
+        numSkipDocs = cursor.getOffset();
+        if (cursor.getIndexVersion() == indexVersion) {
+          after = cursor.getLastScoreDoc();
+        }
+      }
+      if (after == null && numSkipDocs > 0) {
+        // No cursor or index was changed after the cursor was created
         after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
       }
 
@@ -219,75 +337,27 @@ public abstract class LuceneSearcher implements Searcher {
       TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
       final int totalHitsNum = topDocs.totalHits;
 
+      final MatchPositionExtractor positionExtractor =
+          query.isIncludePositions()
+              ? new MatchPositionExtractor(
+                  luceneQuery, TEXT_FIELD, luceneIndexWriter.getAnalyzer(), maxHighlightedChars)
+              : null;
       List<SearchResultEntry> results = newArrayList();
-      List<OffsetData> offsetData = Collections.emptyList();
       for (int i = 0; i < topDocs.scoreDocs.length; i++) {
         ScoreDoc scoreDoc = topDocs.scoreDocs[i];
         int docId = scoreDoc.doc;
         Document doc = luceneSearcher.doc(docId);
-        if (query.isIncludePositions()) {
-          offsetData = new ArrayList<>();
+        List<OffsetData> offsetData = Collections.emptyList();
+        if (positionExtractor != null) {
           String txt = doc.get(TEXT_FIELD);
-          if (txt != null) {
-            IndexReader reader = luceneSearcher.getIndexReader();
-
-            TokenStream tokenStream =
-                TokenSources.getTokenStream(
-                    TEXT_FIELD,
-                    reader.getTermVectors(docId),
-                    txt,
-                    luceneIndexWriter.getAnalyzer(),
-                    -1);
-
-            CharTermAttribute termAtt = tokenStream.addAttribute(CharTermAttribute.class);
-            OffsetAttribute offsetAtt = tokenStream.addAttribute(OffsetAttribute.class);
-
-            QueryScorer queryScorer = new QueryScorer(luceneQuery);
-            //TODO think about this constant
-            queryScorer.setMaxDocCharsToAnalyze(1_000_000);
-            TokenStream newStream = queryScorer.init(tokenStream);
-            if (newStream != null) {
-              tokenStream = newStream;
-            }
-            queryScorer.startFragment(null);
-
-            tokenStream.reset();
-
-            int startOffset, endOffset;
-            //TODO think about this constant
-            for (boolean next = tokenStream.incrementToken();
-                next && (offsetAtt.startOffset() < 1_000_000);
-                next = tokenStream.incrementToken()) {
-              startOffset = offsetAtt.startOffset();
-              endOffset = offsetAtt.endOffset();
-
-              if ((endOffset > txt.length()) || (startOffset > txt.length())) {
-                throw new ServerException(
-                    "Token "
-                        + termAtt.toString()
-                        + " exceeds length of provided text size "
-                        + txt.length());
-              }
-
-              float res = queryScorer.getTokenScore();
-              if (res > 0.0F && startOffset <= endOffset) {
-                try {
-                  IDocument document = new org.eclipse.jface.text.Document(txt);
-                  int lineNum = document.getLineOfOffset(startOffset);
-                  IRegion lineInfo = document.getLineInformation(lineNum);
-                  String foundLine = document.get(lineInfo.getOffset(), lineInfo.getLength());
-                  String tokenText = document.get(startOffset, endOffset - startOffset);
-
-                  offsetData.add(
-                      new OffsetData(
-                          tokenText, startOffset, endOffset, docId, res, lineNum, foundLine));
-                } catch (BadLocationException e) {
-                  LOG.error(e.getLocalizedMessage(), e);
-                  throw new ServerException("Can not provide data for token " + termAtt.toString());
-                }
-              }
-            }
-          }
+          offsetData =
+              txt == null
+                  ? new ArrayList<>()
+                  : positionExtractor.extract(
+                      luceneSearcher.getIndexReader(),
+                      docId,
+                      txt,
+                      doc.getBinaryValue(LINE_TABLE_FIELD));
         }
         String filePath = doc.getField(PATH_FIELD).stringValue();
         results.add(new SearchResultEntry(filePath, offsetData));
@@ -295,11 +365,13 @@ public abstract class LuceneSearcher implements Searcher {
 
       final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-      boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+      final int retrievedDocs = numSkipDocs + topDocs.scoreDocs.length;
       QueryExpression nextPageQueryExpression = null;
-      if (hasMoreToRetrieve) {
+      if (retrievedDocs < totalHitsNum && topDocs.scoreDocs.length > 0) {
+        final ScoreDoc last = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
         nextPageQueryExpression =
-            createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+            createNextPageQuery(
+                query, retrievedDocs, new SearchCursor(indexVersion, last, retrievedDocs, query));
       }
 
       return SearchResult.aSearchResult()
@@ -319,11 +391,152 @@ public abstract class LuceneSearcher implements Searcher {
     }
   }
 
+  /**
+   * Searches exact substring or regular expression in text of files. Candidates selected with
+   * trigrams are verified in order of their ids, verification stops as soon as the page is filled,
+   * so total number of hits is the upper bound which includes unverified candidates.
+   */
+  private SearchResult searchCode(
+      QueryExpression query, IndexSearcher luceneSearcher, long startTime)
+      throws IOException, ParseException {
+    final CodePattern pattern = CodePattern.compile(query);
+    final BooleanQuery luceneQuery = createFileQuery(query);
+    for (String trigram : pattern.getTrigrams()) {
+      luceneQuery.add(new TermQuery(new Term(TRIGRAM_FIELD, trigram)), BooleanClause.Occur.MUST);
+    }
+    final DocIdCollector candidates = new DocIdCollector();
+    luceneSearcher.search(
+        luceneQuery.clauses().isEmpty() ? new MatchAllDocsQuery() : luceneQuery, candidates);
+    final long indexVersion = getIndexVersion(luceneSearcher);
+
+    int afterDoc = -1;
+    int retrievedDocs = Math.max(0, query.getSkipCount());
+    int numSkipDocs = retrievedDocs;
+    if (query.getCursor() != null) {
+      final SearchCursor cursor = parseCursor(query);
+      retrievedDocs = numSkipDocs = cursor.getOffset();
+      if (cursor.getIndexVersion() == indexVersion) {
+        afterDoc = cursor.getLastScoreDoc().doc;
+        numSkipDocs = 0;
+      }
+    }
+
+    final int numDocs =
+        query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
+    final List<SearchResultEntry> results = newArrayList();
+    int lastDoc = -1;
+    int i = 0;
+    boolean hasMore = false;
+    for (; i < candidates.size; i++) {
+      final int docId = candidates.docIds[i];
+      if (docId <= afterDoc) {
+        continue;
+      }
+      final Document doc = luceneSearcher.doc(docId, CODE_SEARCH_FIELDS);
+      final String text = doc.get(TEXT_FIELD);
+      if (text == null) {
+        // File which content is excluded from index
+        continue;
+      }
+      final Matcher matcher = pattern.matcher(text);
+      if (!findNonEmpty(matcher)) {
+        continue;
+      }
+      if (numSkipDocs > 0) {
+        numSkipDocs--;
+        continue;
+      }
+      if (results.size() == numDocs) {
+        hasMore = true;
+        break;
+      }
+      final List<OffsetData> offsetData =
+          query.isIncludePositions()
+              ? findMatches(matcher, docId, text, doc.getBinaryValue(LINE_TABLE_FIELD))
+              : Collections.emptyList();
+      results.add(new SearchResultEntry(doc.get(PATH_FIELD), offsetData));
+      lastDoc = docId;
+    }
+    retrievedDocs += results.size();
+
+    QueryExpression nextPageQueryExpression = null;
+    if (hasMore) {
+      nextPageQueryExpression =
+          createNextPageQuery(
+              query,
+              retrievedDocs,
+              new SearchCursor(indexVersion, new ScoreDoc(lastDoc, 0), retrievedDocs, query));
+    }
+    return SearchResult.aSearchResult()
+        .withResults(results)
+        .withTotalHits(retrievedDocs + (hasMore ? candidates.size - i : 0))
+        .withNextPageQueryExpression(nextPageQueryExpression)
+        .withElapsedTimeMillis(System.currentTimeMillis() - startTime)
+        .build();
+  }
+
+  /**
+   * Finds the next match which isn't empty, e.g. pattern {@code x*} matches any text, but only the
+   * texts where it matches at least one character are hits.
+   */
+  private static boolean findNonEmpty(Matcher matcher) {
+    while (matcher.find()) {
+      if (matcher.end() > matcher.start()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Collects matches of code search starting from the one the matcher has already found. */
+  private List<OffsetData> findMatches(Matcher matcher, int docId, String text, BytesRef lines) {
+    final List<OffsetData> result = new ArrayList<>();
+    final LineTable lineTable = LineTable.decode(text, lines);
+    for (boolean found = true;
+        found && matcher.start() < maxHighlightedChars;
+        found = matcher.find()) {
+      if (matcher.end() == matcher.start()) {
+        continue;
+      }
+      final int lineNumber = lineTable.getLineNumber(matcher.start());
+      result.add(
+          new OffsetData(
+              matcher.group(),
+              matcher.start(),
+              matcher.end(),
+              docId,
+              1.0f,
+              lineNumber,
+              lineTable.getLine(lineNumber)));
+    }
+    return result;
+  }
+
+  private static SearchCursor parseCursor(QueryExpression query) {
+    final SearchCursor cursor = SearchCursor.parse(query.getCursor());
+    if (!cursor.isCreatedFor(query)) {
+      throw new IllegalArgumentException(
+          String.format("Search cursor %s doesn't match the query", query.getCursor()));
+    }
+    return cursor;
+  }
+
   private Query createLuceneQuery(QueryExpression query) throws ParseException {
+    final BooleanQuery luceneQuery = createFileQuery(query);
+    final String text = query.getText();
+    if (text != null) {
+      QueryParser qParser = new QueryParser(TEXT_FIELD, makeAnalyzer());
+      qParser.setAllowLeadingWildcard(true);
+      luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
+    }
+    return luceneQuery;
+  }
+
+  /** Creates query which matches files by path and name criteria of the query. */
+  private BooleanQuery createFileQuery(QueryExpression query) throws ParseException {
     final BooleanQuery luceneQuery = new BooleanQuery();
     final String name = query.getName();
     final String path = query.getPath();
-    final String text = query.getText();
     if (path != null) {
       luceneQuery.add(new PrefixQuery(new Term(PATH_FIELD, path)), BooleanClause.Occur.MUST);
     }
@@ -332,11 +545,6 @@ public abstract class LuceneSearcher implements Searcher {
       qParser.setAllowLeadingWildcard(true);
       luceneQuery.add(qParser.parse(name), BooleanClause.Occur.MUST);
     }
-    if (text != null) {
-      QueryParser qParser = new QueryParser(TEXT_FIELD, makeAnalyzer());
-      qParser.setAllowLeadingWildcard(true);
-      luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
-    }
     return luceneQuery;
   }
 
@@ -362,15 +570,28 @@ public abstract class LuceneSearcher implements Searcher {
     return scoreDoc;
   }
 
-  private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+  private QueryExpression createNextPageQuery(
+      QueryExpression originalQuery, int newSkipCount, SearchCursor cursor) {
     return new QueryExpression()
         .setText(originalQuery.getText())
+        .setTextMode(originalQuery.getTextMode())
+        .setCaseSensitive(originalQuery.isCaseSensitive())
         .setName(originalQuery.getName())
         .setPath(originalQuery.getPath())
         .setSkipCount(newSkipCount)
+        .setCursor(cursor.toString())
         .setMaxItems(originalQuery.getMaxItems());
   }
 
+  /**
+   * Returns version of the index the searcher reads, the version is changed each time searcher is
+   * refreshed with changes of index.
+   */
+  private static long getIndexVersion(IndexSearcher luceneSearcher) {
+    // SearcherManager always opens DirectoryReader
+    return ((DirectoryReader) luceneSearcher.getIndexReader()).getVersion();
+  }
+
   @Override
   public final void add(VirtualFile virtualFile) throws ServerException {
     doAdd(virtualFile);
@@ -386,45 +607,225 @@ public abstract class LuceneSearcher implements Searcher {
 
   protected void addTree(VirtualFile tree) throws ServerException {
     final long start = System.currentTimeMillis();
-    final LinkedList<VirtualFile> q = new LinkedList<>();
-    q.add(tree);
-    int indexedFiles = 0;
-    while (!q.isEmpty()) {
-      final VirtualFile folder = q.pop();
-      if (folder.exists()) {
-        for (VirtualFile child : folder.getChildren()) {
-          if (child.isFolder()) {
-            q.push(child);
-          } else {
-            addFile(child);
-            indexedFiles++;
+    final IndexingProgress progress = new IndexingProgress();
+    indexTree(tree, progress, file -> new PendingFile(file, null));
+    final long end = System.currentTimeMillis();
+    LOG.debug(
+        "Indexed {} files from {}, time: {} ms",
+        progress.processedFiles.get(),
+        tree.getPath(),
+        (end - start));
+  }
+
+  protected void addFile(VirtualFile virtualFile) throws ServerException {
+    if (virtualFile.exists()) {
+      doUpdate(new Term(PATH_FIELD, virtualFile.getPath().toString()), virtualFile);
+    }
+  }
+
+  /**
+   * Brings the index in line with files of virtual filesystem. Files which are missed in the index
+   * and files which length or modification date differ from the ones stored in the index are
+   * indexed in parallel, documents of files which don't exist anymore are removed from the index.
+   * Content of files which are up to date in the index isn't read at all. A file which content hash
+   * matches the stored one isn't re-indexed even if it was touched.
+   *
+   * <p>Progress of reconciliation is available with {@link #getIndexingStatus()}.
+   */
+  protected void reconcile(VirtualFile tree) throws ServerException {
+    final long start = System.currentTimeMillis();
+    final Map<String, IndexedFileState> indexedFiles = readIndexedFileStates();
+    indexTree(
+        tree,
+        indexingProgress,
+        file -> {
+          final IndexedFileState state = indexedFiles.remove(file.getPath().toString());
+          if (state != null && state.isUpToDate(file)) {
+            return null;
+          }
+          return new PendingFile(file, state);
+        });
+    if (isClosed()) {
+      return;
+    }
+
+    try {
+      final Term[] deleted =
+          indexedFiles
+              .keySet()
+              .stream()
+              .map(path -> new Term(PATH_FIELD, path))
+              .toArray(Term[]::new);
+      getIndexWriter().deleteDocuments(deleted);
+      indexingProgress.deletedFiles.addAndGet(deleted.length);
+      getIndexWriter().commit();
+      searcherManager.maybeRefresh();
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+    indexingProgress.ready = true;
+    final long end = System.currentTimeMillis();
+    LOG.info(
+        "Reconciled index of {} with files, {}, time: {} ms",
+        tree.getPath(),
+        getIndexingStatus(),
+        (end - start));
+  }
+
+  /**
+   * Indexes files of the tree with a pipeline of two stages. The calling thread walks the tree and
+   * groups files which need to be indexed in batches, batches are read, analyzed and written to the
+   * index by a pool of threads. Number of batches waiting for the pool is limited, if the limit is
+   * reached the walking thread indexes the batch itself, so memory used by pending files doesn't
+   * depend on size of the tree.
+   *
+   * @param planner decides how a found file has to be indexed, returns {@code null} if the file
+   *     doesn't need to be indexed
+   */
+  private void indexTree(VirtualFile tree, IndexingProgress progress, IndexingPlanner planner)
+      throws ServerException {
+    final int threads = Runtime.getRuntime().availableProcessors();
+    final ExecutorService indexer =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            MILLISECONDS,
+            new ArrayBlockingQueue<>(threads),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setNameFormat("LuceneSearcherIndexThread-%d")
+                .build(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    try {
+      List<PendingFile> batch = new ArrayList<>(INDEXING_BATCH_SIZE);
+      final LinkedList<VirtualFile> q = new LinkedList<>();
+      q.add(tree);
+      while (!q.isEmpty() && !isClosed()) {
+        final VirtualFile folder = q.pop();
+        if (folder.exists()) {
+          for (VirtualFile child : folder.getChildren()) {
+            if (child.isFolder()) {
+              q.push(child);
+              continue;
+            }
+            progress.scannedFiles.incrementAndGet();
+            final PendingFile pending = planner.plan(child);
+            if (pending == null) {
+              progress.processedFiles.incrementAndGet();
+            } else {
+              batch.add(pending);
+              if (batch.size() == INDEXING_BATCH_SIZE) {
+                final List<PendingFile> full = batch;
+                indexer.execute(() -> indexBatch(full, progress));
+                batch = new ArrayList<>(INDEXING_BATCH_SIZE);
+              }
+            }
           }
         }
       }
+      if (!batch.isEmpty()) {
+        final List<PendingFile> last = batch;
+        indexer.execute(() -> indexBatch(last, progress));
+      }
+    } catch (ServerException | RuntimeException e) {
+      indexer.shutdownNow();
+      throw e;
+    }
+    indexer.shutdown();
+    try {
+      indexer.awaitTermination(Long.MAX_VALUE, MILLISECONDS);
+    } catch (InterruptedException e) {
+      indexer.shutdownNow();
+      Thread.currentThread().interrupt();
+      throw new ServerException("Indexing of " + tree.getPath() + " was interrupted");
     }
-    final long end = System.currentTimeMillis();
-    LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
   }
 
-  protected void addFile(VirtualFile virtualFile) throws ServerException {
-    if (virtualFile.exists()) {
-      try (Reader fContentReader =
-          shouldIndexContent(virtualFile)
-              ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-              : null) {
-        getIndexWriter()
-            .updateDocument(
-                new Term(PATH_FIELD, virtualFile.getPath().toString()),
-                createDocument(virtualFile, fContentReader));
+  private void indexBatch(List<PendingFile> batch, IndexingProgress progress) {
+    for (PendingFile pending : batch) {
+      final VirtualFile virtualFile = pending.virtualFile;
+      try {
+        if (isClosed()) {
+          return;
+        }
+        if (!virtualFile.exists()) {
+          continue;
+        }
+        // Document is always written with its path term, as file watcher may index the same file
+        final Term term = new Term(PATH_FIELD, virtualFile.getPath().toString());
+        if (isLargeFile(virtualFile)) {
+          indexStreaming(virtualFile, term);
+        } else {
+          final Document document = createDocument(virtualFile);
+          final String hash = document.get(HASH_FIELD);
+          if (pending.state != null && hash != null && hash.equals(pending.state.hash)) {
+            // Content is the same, only state is updated so the file isn't read on next start
+            getIndexWriter()
+                .updateDocValues(
+                    term,
+                    new NumericDocValuesField(
+                        MODIFICATION_DATE_FIELD, virtualFile.getLastModificationDate()),
+                    new NumericDocValuesField(LENGTH_FIELD, virtualFile.getLength()));
+            continue;
+          }
+          getIndexWriter().updateDocument(term, document);
+        }
+        if (pending.state == null) {
+          progress.addedFiles.incrementAndGet();
+        } else {
+          progress.updatedFiles.incrementAndGet();
+        }
       } catch (OutOfMemoryError oome) {
         close();
         throw oome;
+      } catch (ServerException | IOException | RuntimeException e) {
+        LOG.warn("Unable to index file '{}'. {}", virtualFile.getPath(), e.getMessage());
+      } finally {
+        progress.processedFiles.incrementAndGet();
+      }
+    }
+  }
+
+  /** Reads path, length, modification date and content hash of all files stored in the index. */
+  private Map<String, IndexedFileState> readIndexedFileStates() throws ServerException {
+    final Map<String, IndexedFileState> indexedFiles = new HashMap<>();
+    IndexSearcher luceneSearcher = null;
+    try {
+      searcherManager.maybeRefreshBlocking();
+      luceneSearcher = searcherManager.acquire();
+      for (LeafReaderContext context : luceneSearcher.getIndexReader().leaves()) {
+        final LeafReader reader = context.reader();
+        final Bits liveDocs = reader.getLiveDocs();
+        final NumericDocValues modificationDates =
+            reader.getNumericDocValues(MODIFICATION_DATE_FIELD);
+        final NumericDocValues lengths = reader.getNumericDocValues(LENGTH_FIELD);
+        for (int docId = 0; docId < reader.maxDoc(); docId++) {
+          if (liveDocs == null || liveDocs.get(docId)) {
+            final Document doc = reader.document(docId, FILE_STATE_FIELDS);
+            indexedFiles.put(
+                doc.get(PATH_FIELD),
+                new IndexedFileState(
+                    doc, getLong(modificationDates, docId), getLong(lengths, docId)));
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    } finally {
+      try {
+        searcherManager.release(luceneSearcher);
       } catch (IOException e) {
-        throw new ServerException(e.getMessage(), e);
-      } catch (ForbiddenException e) {
-        throw new ServerException(e.getServiceError());
+        LOG.error(e.getMessage());
       }
     }
+    return indexedFiles;
+  }
+
+  private static long getLong(NumericDocValues values, int docId) {
+    // Documents indexed by previous versions don't have the field
+    return values == null ? -1 : values.get(docId);
   }
 
   @Override
@@ -451,14 +852,26 @@ public abstract class LuceneSearcher implements Searcher {
   }
 
   protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
+    try {
+      if (isLargeFile(virtualFile)) {
+        indexStreaming(virtualFile, deleteTerm);
+      } else {
+        getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile));
+      }
+    } catch (OutOfMemoryError oome) {
+      close();
+      throw oome;
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+  }
+
+  private Document createDocument(VirtualFile virtualFile) throws ServerException {
     try (Reader fContentReader =
         shouldIndexContent(virtualFile)
             ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
             : null) {
-      getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
-    } catch (OutOfMemoryError oome) {
-      close();
-      throw oome;
+      return createDocument(virtualFile, fContentReader);
     } catch (IOException e) {
       throw new ServerException(e.getMessage(), e);
     } catch (ForbiddenException e) {
@@ -466,13 +879,81 @@ public abstract class LuceneSearcher implements Searcher {
     }
   }
 
-  protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
+  /**
+   * Indexes content of a large file directly from its stream instead of reading the whole content
+   * in memory. Only the leading characters of the content, as many as positions of matches are
+   * searched in, are stored. So full text search finds the file by any its text, while exact
+   * substring and regular expression search find it only by the stored text and positions of
+   * matches are found only in it. Content hash isn't available for such file.
+   *
+   * @param deleteTerm term to delete previously indexed document of the file
+   */
+  private void indexStreaming(VirtualFile virtualFile, Term deleteTerm)
+      throws ServerException, IOException {
+    try (Reader prefixReader = openContent(virtualFile);
+        Reader textReader = openContent(virtualFile);
+        Reader trigramReader = openContent(virtualFile)) {
+      final String prefix = readPrefix(prefixReader, maxHighlightedChars);
+      final Document doc = createFileDocument(virtualFile);
+      doc.add(new StoredField(TEXT_FIELD, prefix));
+      doc.add(new StoredField(LINE_TABLE_FIELD, LineTable.encode(prefix)));
+      doc.add(new TextField(TEXT_FIELD, textReader));
+      doc.add(new Field(TRIGRAM_FIELD, trigramReader, TRIGRAM_FIELD_TYPE));
+      getIndexWriter().updateDocument(deleteTerm, doc);
+    } catch (ForbiddenException e) {
+      throw new ServerException(e.getServiceError());
+    }
+  }
+
+  private static Reader openContent(VirtualFile virtualFile)
+      throws ForbiddenException, ServerException {
+    return new BufferedReader(new InputStreamReader(virtualFile.getContent()));
+  }
+
+  private static String readPrefix(Reader reader, int maxChars) throws IOException {
+    final StringBuilder prefix = new StringBuilder();
+    final char[] buffer = new char[8192];
+    int read;
+    while (prefix.length() < maxChars
+        && (read = reader.read(buffer, 0, Math.min(buffer.length, maxChars - prefix.length())))
+            != -1) {
+      prefix.append(buffer, 0, read);
+    }
+    return prefix.toString();
+  }
+
+  private boolean isLargeFile(VirtualFile virtualFile) throws ServerException {
+    return virtualFile.getLength() > LARGE_FILE_THRESHOLD && shouldIndexContent(virtualFile);
+  }
+
+  private Document createFileDocument(VirtualFile virtualFile) throws ServerException {
     final Document doc = new Document();
     doc.add(new StringField(PATH_FIELD, virtualFile.getPath().toString(), Field.Store.YES));
     doc.add(new TextField(NAME_FIELD, virtualFile.getName(), Field.Store.YES));
+    // State of file is kept in doc values, so it can be updated without re-indexing of the file
+    doc.add(
+        new NumericDocValuesField(MODIFICATION_DATE_FIELD, virtualFile.getLastModificationDate()));
+    doc.add(new NumericDocValuesField(LENGTH_FIELD, virtualFile.getLength()));
+    doc.add(new StoredField(INDEX_VERSION_FIELD, CONTENT_INDEX_VERSION));
+    return doc;
+  }
+
+  protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
+    final Document doc = createFileDocument(virtualFile);
     if (reader != null) {
       try {
-        doc.add(new TextField(TEXT_FIELD, CharStreams.toString(reader), Field.Store.YES));
+        final String text = CharStreams.toString(reader);
+        doc.add(new Field(TEXT_FIELD, text, TEXT_FIELD_TYPE));
+        doc.add(new Field(TRIGRAM_FIELD, text, TRIGRAM_FIELD_TYPE));
+        doc.add(new StoredField(LINE_TABLE_FIELD, LineTable.encode(text)));
+        final String hash =
+            Hashing.murmur3_128()
+                .newHasher()
+                .putInt(CONTENT_INDEX_VERSION)
+                .putString(text, UTF_8)
+                .hash()
+                .toString();
+        doc.add(new StoredField(HASH_FIELD, hash));
       } catch (IOException e) {
         throw new ServerException(e.getLocalizedMessage(), e);
       }
@@ -489,6 +970,91 @@ public abstract class LuceneSearcher implements Searcher {
     return true;
   }
 
+  /** State of a file at the moment it was indexed. */
+  private static class IndexedFileState {
+    final long modificationDate;
+    final long length;
+    final String hash;
+    final long indexVersion;
+
+    IndexedFileState(Document doc, long modificationDate, long length) {
+      this.modificationDate = modificationDate;
+      this.length = length;
+      hash = doc.get(HASH_FIELD);
+      indexVersion = getLong(doc, INDEX_VERSION_FIELD);
+    }
+
+    boolean isUpToDate(VirtualFile virtualFile) throws ServerException {
+      return indexVersion == CONTENT_INDEX_VERSION
+          && modificationDate == virtualFile.getLastModificationDate()
+          && length == virtualFile.getLength();
+    }
+
+    private static long getLong(Document doc, String name) {
+      // Documents indexed by previous versions don't have the field
+      final IndexableField field = doc.getField(name);
+      return field == null ? -1 : field.numericValue().longValue();
+    }
+  }
+
+  /** File found in the tree which has to be indexed. */
+  private static class PendingFile {
+    final VirtualFile virtualFile;
+    final IndexedFileState state;
+
+    /** @param state state of the file stored in the index, {@code null} if unknown */
+    PendingFile(VirtualFile virtualFile, IndexedFileState state) {
+      this.virtualFile = virtualFile;
+      this.state = state;
+    }
+  }
+
+  private interface IndexingPlanner {
+    PendingFile plan(VirtualFile virtualFile) throws ServerException;
+  }
+
+  private static class IndexingProgress {
+    final AtomicInteger scannedFiles = new AtomicInteger();
+    final AtomicInteger processedFiles = new AtomicInteger();
+    final AtomicInteger addedFiles = new AtomicInteger();
+    final AtomicInteger updatedFiles = new AtomicInteger();
+    final AtomicInteger deletedFiles = new AtomicInteger();
+    volatile boolean ready;
+
+    IndexingStatus toStatus() {
+      return new IndexingStatus(
+          ready,
+          scannedFiles.get(),
+          processedFiles.get(),
+          addedFiles.get(),
+          updatedFiles.get(),
+          deletedFiles.get());
+    }
+  }
+
+  /** Collects ids of all matched documents in ascending order. */
+  private static class DocIdCollector extends SimpleCollector {
+    int[] docIds = new int[16];
+    int size;
+    private int docBase;
+
+    @Override
+    protected void doSetNextReader(LeafReaderContext context) {
+      docBase = context.docBase;
+    }
+
+    @Override
+    public void collect(int doc) {
+      docIds = ArrayUtil.grow(docIds, size + 1);
+      docIds[size++] = docBase + doc;
+    }
+
+    @Override
+    public boolean needsScores() {
+      return false;
+    }
+  }
+
   public static class OffsetData {
 
     public String phrase;
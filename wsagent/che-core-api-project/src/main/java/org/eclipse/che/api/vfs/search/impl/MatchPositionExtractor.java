@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import static java.util.Comparator.comparingInt;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.AutomatonQuery;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.apache.lucene.util.automaton.LevenshteinAutomata;
+import org.eclipse.che.api.vfs.search.impl.LuceneSearcher.OffsetData;
+
+/**
+ * Finds positions of matches of a full text query in documents of search result.
+ *
+ * <p>Terms of the query (single terms, prefixes, wildcards and regular expressions, fuzzy terms,
+ * phrases) are prepared once per query. Offsets of terms of a document are read from the term
+ * vector of the document, so text of the document isn't analyzed again. Text is analyzed only if
+ * the document was indexed without term vector. Line numbers and content of matched lines are
+ * resolved once per document with {@link LineTable}.
+ */
+class MatchPositionExtractor {
+  private final String field;
+  private final Analyzer analyzer;
+  private final int maxChars;
+  private final List<TermMatcher> termMatchers = new ArrayList<>();
+  private final List<PhraseMatcher> phraseMatchers = new ArrayList<>();
+
+  /**
+   * @param query query which matches are searched
+   * @param field name of the field containing text of documents
+   * @param analyzer analyzer used if a document doesn't have term vector
+   * @param maxChars matches are searched only in this number of leading characters of text
+   */
+  MatchPositionExtractor(Query query, String field, Analyzer analyzer, int maxChars) {
+    this.field = field;
+    this.analyzer = analyzer;
+    this.maxChars = maxChars;
+    collectMatchers(query);
+  }
+
+  /**
+   * Finds matches of the query in the document ordered by their offsets.
+   *
+   * @param reader index reader
+   * @param docId id of the document
+   * @param text stored text of the document
+   * @param lines encoded table of lines of the text, see {@link LineTable#encode(String)}, may be
+   *     {@code null} if the document was indexed without it
+   */
+  List<OffsetData> extract(IndexReader reader, int docId, String text, BytesRef lines)
+      throws IOException {
+    final List<OffsetData> result = new ArrayList<>();
+    if (termMatchers.isEmpty() && phraseMatchers.isEmpty()) {
+      return result;
+    }
+
+    final Map<String, List<Occurrence>> occurrences = new HashMap<>();
+    final Terms termVector = reader.getTermVector(docId, field);
+    if (termVector != null && termVector.hasOffsets() && termVector.hasPositions()) {
+      readTermVector(termVector, occurrences);
+    } else {
+      analyze(text, occurrences);
+    }
+
+    final List<Match> matches = new ArrayList<>();
+    for (Map.Entry<String, List<Occurrence>> entry : occurrences.entrySet()) {
+      final float score = getScore(entry.getKey());
+      if (score > 0) {
+        for (Occurrence occurrence : entry.getValue()) {
+          matches.add(new Match(occurrence.startOffset, occurrence.endOffset, score));
+        }
+      }
+    }
+    for (PhraseMatcher phraseMatcher : phraseMatchers) {
+      phraseMatcher.collect(occurrences, matches);
+    }
+    if (matches.isEmpty()) {
+      return result;
+    }
+
+    matches.sort(comparingInt(match -> match.startOffset));
+    final LineTable lineTable = LineTable.decode(text, lines);
+    int lastStartOffset = -1;
+    for (Match match : matches) {
+      if (match.startOffset >= maxChars || match.endOffset > text.length()) {
+        break;
+      }
+      if (match.startOffset == lastStartOffset) {
+        // Same token matched by more than one clause of query
+        continue;
+      }
+      lastStartOffset = match.startOffset;
+      final int lineNumber = lineTable.getLineNumber(match.startOffset);
+      result.add(
+          new OffsetData(
+              text.substring(match.startOffset, match.endOffset),
+              match.startOffset,
+              match.endOffset,
+              docId,
+              match.score,
+              lineNumber,
+              lineTable.getLine(lineNumber)));
+    }
+    return result;
+  }
+
+  private void collectMatchers(Query query) {
+    if (query instanceof BooleanQuery) {
+      for (BooleanClause clause : ((BooleanQuery) query).clauses()) {
+        if (!clause.isProhibited()) {
+          collectMatchers(clause.getQuery());
+        }
+      }
+    } else if (query instanceof TermQuery) {
+      final Term term = ((TermQuery) query).getTerm();
+      if (field.equals(term.field())) {
+        final String text = term.text();
+        termMatchers.add(new TermMatcher(text::equals, query.getBoost()));
+      }
+    } else if (query instanceof PhraseQuery) {
+      final PhraseQuery phraseQuery = (PhraseQuery) query;
+      final Term[] terms = phraseQuery.getTerms();
+      if (terms.length > 0 && field.equals(terms[0].field())) {
+        if (phraseQuery.getSlop() == 0) {
+          phraseMatchers.add(new PhraseMatcher(phraseQuery));
+        } else {
+          // Sloppy phrase, highlight its terms wherever they are
+          for (Term term : terms) {
+            final String text = term.text();
+            termMatchers.add(new TermMatcher(text::equals, query.getBoost()));
+          }
+        }
+      }
+    } else if (query instanceof PrefixQuery) {
+      final Term prefix = ((PrefixQuery) query).getPrefix();
+      if (field.equals(prefix.field())) {
+        final String text = prefix.text();
+        termMatchers.add(new TermMatcher(term -> term.startsWith(text), query.getBoost()));
+      }
+    } else if (query instanceof AutomatonQuery) {
+      // Wildcard and regular expression queries
+      final AutomatonQuery automatonQuery = (AutomatonQuery) query;
+      if (field.equals(automatonQuery.getField())) {
+        final CharacterRunAutomaton automaton =
+            new CharacterRunAutomaton(automatonQuery.getAutomaton());
+        termMatchers.add(new TermMatcher(automaton::run, query.getBoost()));
+      }
+    } else if (query instanceof FuzzyQuery) {
+      final FuzzyQuery fuzzyQuery = (FuzzyQuery) query;
+      final Term term = fuzzyQuery.getTerm();
+      if (field.equals(term.field())) {
+        final CharacterRunAutomaton automaton = new CharacterRunAutomaton(toAutomaton(fuzzyQuery));
+        termMatchers.add(new TermMatcher(automaton::run, query.getBoost()));
+      }
+    }
+  }
+
+  /**
+   * Builds the automaton accepting the same terms as the fuzzy query, the leading characters of the
+   * query term within prefix length must match exactly.
+   */
+  private static Automaton toAutomaton(FuzzyQuery query) {
+    final String text = query.getTerm().text();
+    final int prefixLength =
+        text.offsetByCodePoints(
+            0, Math.min(query.getPrefixLength(), text.codePointCount(0, text.length())));
+    return new LevenshteinAutomata(text.substring(prefixLength), query.getTranspositions())
+        .toAutomaton(query.getMaxEdits(), text.substring(0, prefixLength));
+  }
+
+  private float getScore(String term) {
+    float score = 0;
+    for (TermMatcher matcher : termMatchers) {
+      if (matcher.predicate.test(term)) {
+        score = Math.max(score, matcher.score);
+      }
+    }
+    return score;
+  }
+
+  private boolean isMatched(String term) {
+    if (getScore(term) > 0) {
+      return true;
+    }
+    for (PhraseMatcher phraseMatcher : phraseMatchers) {
+      if (phraseMatcher.contains(term)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void readTermVector(Terms termVector, Map<String, List<Occurrence>> occurrences)
+      throws IOException {
+    final TermsEnum termsEnum = termVector.iterator();
+    PostingsEnum postings = null;
+    for (BytesRef bytes = termsEnum.next(); bytes != null; bytes = termsEnum.next()) {
+      final String term = bytes.utf8ToString();
+      if (isMatched(term)) {
+        postings = termsEnum.postings(null, postings, PostingsEnum.OFFSETS);
+        postings.nextDoc();
+        final List<Occurrence> termOccurrences = new ArrayList<>(postings.freq());
+        for (int i = 0; i < postings.freq(); i++) {
+          final int position = postings.nextPosition();
+          termOccurrences.add(
+              new Occurrence(position, postings.startOffset(), postings.endOffset()));
+        }
+        occurrences.put(term, termOccurrences);
+      }
+    }
+  }
+
+  private void analyze(String text, Map<String, List<Occurrence>> occurrences)
+      throws IOException {
+    try (TokenStream tokenStream = analyzer.tokenStream(field, text)) {
+      final CharTermAttribute termAtt = tokenStream.addAttribute(CharTermAttribute.class);
+      final OffsetAttribute offsetAtt = tokenStream.addAttribute(OffsetAttribute.class);
+      final PositionIncrementAttribute positionAtt =
+          tokenStream.addAttribute(PositionIncrementAttribute.class);
+      tokenStream.reset();
+      int position = -1;
+      while (tokenStream.incrementToken() && offsetAtt.startOffset() < maxChars) {
+        position += positionAtt.getPositionIncrement();
+        final String term = termAtt.toString();
+        if (isMatched(term)) {
+          occurrences
+              .computeIfAbsent(term, t -> new ArrayList<>())
+              .add(new Occurrence(position, offsetAtt.startOffset(), offsetAtt.endOffset()));
+        }
+      }
+      tokenStream.end();
+    }
+  }
+
+  private static class TermMatcher {
+    final Predicate<String> predicate;
+    final float score;
+
+    TermMatcher(Predicate<String> predicate, float score) {
+      this.predicate = predicate;
+      this.score = score;
+    }
+  }
+
+  /** Matches terms of exact phrase which follow each other at the positions of the phrase. */
+  private static class PhraseMatcher {
+    final String[] terms;
+    final int[] positions;
+    final float score;
+
+    PhraseMatcher(PhraseQuery query) {
+      final Term[] phraseTerms = query.getTerms();
+      terms = new String[phraseTerms.length];
+      for (int i = 0; i < phraseTerms.length; i++) {
+        terms[i] = phraseTerms[i].text();
+      }
+      positions = query.getPositions();
+      score = query.getBoost();
+    }
+
+    boolean contains(String term) {
+      for (String phraseTerm : terms) {
+        if (phraseTerm.equals(term)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    void collect(Map<String, List<Occurrence>> occurrences, List<Match> matches) {
+      final List<Occurrence> first = occurrences.get(terms[0]);
+      if (first == null) {
+        return;
+      }
+      final Occurrence[] phrase = new Occurrence[terms.length];
+      for (Occurrence occurrence : first) {
+        final int start = occurrence.position - positions[0];
+        phrase[0] = occurrence;
+        boolean found = true;
+        for (int i = 1; i < terms.length && found; i++) {
+          phrase[i] = find(occurrences.get(terms[i]), start + positions[i]);
+          found = phrase[i] != null;
+        }
+        if (found) {
+          for (Occurrence term : phrase) {
+            matches.add(new Match(term.startOffset, term.endOffset, score));
+          }
+        }
+      }
+    }
+
+    private static Occurrence find(List<Occurrence> occurrences, int position) {
+      if (occurrences != null) {
+        for (Occurrence occurrence : occurrences) {
+          if (occurrence.position == position) {
+            return occurrence;
+          }
+        }
+      }
+      return null;
+    }
+  }
+
+  private static class Occurrence {
+    final int position;
+    final int startOffset;
+    final int endOffset;
+
+    Occurrence(int position, int startOffset, int endOffset) {
+      this.position = position;
+      this.startOffset = startOffset;
+      this.endOffset = endOffset;
+    }
+  }
+
+  private static class Match {
+    final int startOffset;
+    final int endOffset;
+    final float score;
+
+    Match(int startOffset, int endOffset, float score) {
+      this.startOffset = startOffset;
+      this.endOffset = endOffset;
+      this.score = score;
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Base64;
+import java.util.Objects;
+import org.apache.lucene.search.ScoreDoc;
+import org.eclipse.che.api.vfs.search.QueryExpression;
+
+/**
+ * Position in the result of Lucene search. Keeps the last document of the page along with the
+ * version of the index reader it was found with, so the next page is retrieved with a single
+ * {@code searchAfter} call while the index is not changed. Number of the items returned so far is
+ * kept to be able to skip them if the index has been changed.
+ *
+ * <p>Cursor is bound to the query it was created for and is passed to clients as an opaque
+ * string.
+ */
+final class SearchCursor {
+  private static final char SEPARATOR = ':';
+
+  private final long indexVersion;
+  private final int doc;
+  private final float score;
+  private final int offset;
+  private final int queryHash;
+
+  SearchCursor(long indexVersion, ScoreDoc last, int offset, QueryExpression query) {
+    this(indexVersion, last.doc, last.score, offset, hash(query));
+  }
+
+  private SearchCursor(long indexVersion, int doc, float score, int offset, int queryHash) {
+    this.indexVersion = indexVersion;
+    this.doc = doc;
+    this.score = score;
+    this.offset = offset;
+    this.queryHash = queryHash;
+  }
+
+  /**
+   * Restores cursor from its string representation.
+   *
+   * @throws IllegalArgumentException if the string is not a valid cursor
+   */
+  static SearchCursor parse(String cursor) {
+    try {
+      final String decoded = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+      final String[] parts = decoded.split(String.valueOf(SEPARATOR));
+      if (parts.length != 5) {
+        throw new IllegalArgumentException("Invalid search cursor " + cursor);
+      }
+      return new SearchCursor(
+          Long.parseLong(parts[0], Character.MAX_RADIX),
+          Integer.parseInt(parts[1], Character.MAX_RADIX),
+          Float.intBitsToFloat(Integer.parseInt(parts[2], Character.MAX_RADIX)),
+          Integer.parseInt(parts[3], Character.MAX_RADIX),
+          Integer.parseInt(parts[4], Character.MAX_RADIX));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid search cursor " + cursor, e);
+    }
+  }
+
+  /** Checks whether this cursor was created for a query with the same criteria. */
+  boolean isCreatedFor(QueryExpression query) {
+    return queryHash == hash(query);
+  }
+
+  /** Returns version of the index reader the last document was found with. */
+  long getIndexVersion() {
+    return indexVersion;
+  }
+
+  /** Returns the last document of the page to search after. */
+  ScoreDoc getLastScoreDoc() {
+    return new ScoreDoc(doc, score);
+  }
+
+  /** Returns the number of items returned before this cursor. */
+  int getOffset() {
+    return offset;
+  }
+
+  @Override
+  public String toString() {
+    final String value =
+        Long.toString(indexVersion, Character.MAX_RADIX)
+            + SEPARATOR
+            + Integer.toString(doc, Character.MAX_RADIX)
+            + SEPARATOR
+            + Integer.toString(Float.floatToIntBits(score), Character.MAX_RADIX)
+            + SEPARATOR
+            + Integer.toString(offset, Character.MAX_RADIX)
+            + SEPARATOR
+            + Integer.toString(queryHash, Character.MAX_RADIX);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(UTF_8));
+  }
+
+  private static int hash(QueryExpression query) {
+    return Objects.hash(
+        query.getPath(),
+        query.getName(),
+        query.getText(),
+        query.getTextMode().name(),
+        query.isCaseSensitive());
+  }
+}
@@ -10,27 +10,27 @@
  */
 package org.eclipse.che.api.vfs.watcher;
 
-import static java.nio.file.FileVisitResult.CONTINUE;
-import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
-import static java.nio.file.Files.exists;
-import static java.nio.file.Files.walkFileTree;
-import static java.util.stream.Collectors.toSet;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.readAttributes;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
 
 import com.google.inject.Inject;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
+import java.nio.file.DirectoryStream;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,12 +38,23 @@ import org.slf4j.LoggerFactory;
 /**
  * Walks a file system tree, register addition, update and removal of file system items. On events
  * runs corresponding consumers that can be registered in DI configuration modules.
+ *
+ * <p>The walker doesn't register directories in {@link FileWatcherService} itself, so it doesn't
+ * spend watches of the file system, but it follows events of directories which are watched for
+ * other consumers. Such events mark a directory as changed and changed directories are rescanned
+ * shortly, see {@link #walkChanged()}. The whole tree is checked periodically, see {@link #walk()},
+ * such checkpoint lists only directories which aren't watched or which modification time has
+ * changed. State of the tree is kept in a trie of names with primitive modification times, paths
+ * are not kept.
  */
 @Singleton
 public class FileTreeWalker {
   private static final Logger LOG = LoggerFactory.getLogger(FileTreeWalker.class);
 
-  private final File root;
+  private static final Node[] NO_CHILDREN = new Node[0];
+  private static final long UNKNOWN = Long.MIN_VALUE;
+
+  private final Path root;
 
   private final Set<Consumer<Path>> directoryUpdateConsumers;
   private final Set<Consumer<Path>> directoryCreateConsumers;
@@ -55,8 +66,16 @@ public class FileTreeWalker {
   private final Set<Consumer<Path>> fileDeleteConsumers;
   private final Set<PathMatcher> fileExcludes;
 
-  private final Map<Path, Long> files = new HashMap<>();
-  private final Map<Path, Long> directories = new HashMap<>();
+  private PathMatcherIndex directoryExcludeIndex = new PathMatcherIndex();
+  private PathMatcherIndex fileExcludeIndex = new PathMatcherIndex();
+
+  private final Set<Path> changedDirectories = ConcurrentHashMap.newKeySet();
+  private final ScanMetrics checkpointMetrics = new ScanMetrics();
+  private final ScanMetrics changesMetrics = new ScanMetrics();
+
+  private FileWatcherService watcherService;
+
+  private DirectoryNode rootNode;
 
   @Inject
   public FileTreeWalker(
@@ -69,7 +88,7 @@ public class FileTreeWalker {
       @Named("che.fs.file.create") Set<Consumer<Path>> fileCreateConsumers,
       @Named("che.fs.file.delete") Set<Consumer<Path>> fileDeleteConsumers,
       @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes) {
-    this.root = root;
+    this.root = root.toPath();
 
     this.directoryUpdateConsumers = directoryUpdateConsumers;
     this.directoryCreateConsumers = directoryCreateConsumers;
@@ -83,52 +102,46 @@ public class FileTreeWalker {
     this.fileExcludes = fileExcludes;
   }
 
-  @ScheduleRate(period = 10)
-  void walk() {
+  /**
+   * Sets file watcher which events drive rescanning of watched directories. Without file watcher
+   * each checkpoint lists all the directories of the tree.
+   */
+  @Inject
+  synchronized void setFileWatcher(
+      FileWatcherService watcherService, FileWatcherEventHandler watcherEventHandler) {
+    this.watcherService = watcherService;
+    watcherEventHandler.addDirectoryChangeConsumer(changedDirectories::add);
+  }
+
+  /** Returns durations of checkpoint scans of the whole tree. */
+  public ScanMetrics getCheckpointMetrics() {
+    return checkpointMetrics;
+  }
+
+  /** Returns durations of scans of directories changed according to file watcher events. */
+  public ScanMetrics getChangesMetrics() {
+    return changesMetrics;
+  }
+
+  /**
+   * Checkpoint scan of the tree. The first scan registers all items of the tree, next ones list
+   * directories which aren't watched or which modification time has changed.
+   */
+  @ScheduleRate(periodParameterName = "che.fs.tree_walker.checkpoint_period_s")
+  synchronized void walk() {
+    final long start = System.nanoTime();
+    final ScanCounter counter = new ScanCounter();
     try {
       LOG.debug("Tree walk started");
-
-      Set<Path> deletedFiles = files.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      fileDeleteConsumers.forEach(deletedFiles::forEach);
-      files.keySet().removeAll(deletedFiles);
-
-      Set<Path> deletedDirectories =
-          directories.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      directoryDeleteConsumers.forEach(deletedDirectories::forEach);
-      directories.keySet().removeAll(deletedDirectories);
-
-      walkFileTree(
-          root.toPath(),
-          new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
-                throws IOException {
-              for (PathMatcher matcher : directoryExcludes) {
-                if (matcher.matches(dir)) {
-                  return SKIP_SUBTREE;
-                }
-              }
-
-              updateFsTreeAndAcceptConsumables(
-                  directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
-
-              return CONTINUE;
-            }
-
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : fileExcludes) {
-                if (matcher.matches(file)) {
-                  return CONTINUE;
-                }
-              }
-
-              updateFsTreeAndAcceptConsumables(
-                  files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
-
-              return CONTINUE;
-            }
-          });
+      updateExcludeIndexes();
+      if (rootNode == null) {
+        if (!directoryExcludeIndex.anyMatch(root)) {
+          rootNode = new DirectoryNode(null);
+          visitNewDirectory(root, rootNode, counter);
+        }
+      } else {
+        visitDirectory(root, rootNode, true, counter);
+      }
       LOG.debug("Tree walk finished");
     } catch (NoSuchFileException e) {
       LOG.debug(
@@ -136,26 +149,341 @@ public class FileTreeWalker {
           e.getMessage());
     } catch (Exception e) {
       LOG.error("Error while walking file tree", e);
+    } finally {
+      checkpointMetrics.record(System.nanoTime() - start, counter);
+      LOG.debug("Checkpoint scan: {}", checkpointMetrics);
+    }
+  }
+
+  /** Rescans directories which file watcher has reported events for. */
+  @ScheduleDelay(initialDelay = 1, delay = 1)
+  synchronized void walkChanged() {
+    if (rootNode == null || changedDirectories.isEmpty()) {
+      return;
+    }
+    final long start = System.nanoTime();
+    final ScanCounter counter = new ScanCounter();
+    final List<Path> directories = new ArrayList<>(changedDirectories);
+    changedDirectories.removeAll(directories);
+    // Parents go first, so children removed with them are not looked up
+    Collections.sort(directories);
+    try {
+      updateExcludeIndexes();
+      for (Path directory : directories) {
+        final DirectoryNode node = findDirectory(directory);
+        if (node != null) {
+          visitDirectory(directory, node, false, counter);
+        }
+      }
+    } catch (Exception e) {
+      LOG.error("Error while walking changed directories", e);
+    } finally {
+      changesMetrics.record(System.nanoTime() - start, counter);
+      LOG.debug("Scan of {} changed directories: {}", directories.size(), changesMetrics);
     }
   }
 
-  private void updateFsTreeAndAcceptConsumables(
-      Map<Path, Long> items,
-      Set<Consumer<Path>> updateConsumer,
-      Set<Consumer<Path>> createConsumer,
-      Path path,
-      BasicFileAttributes attrs) {
-    Long lastModifiedActual = attrs.lastModifiedTime().toMillis();
+  private void visitNewDirectory(Path dir, DirectoryNode node, ScanCounter counter)
+      throws IOException {
+    directoryCreateConsumers.forEach(it -> it.accept(dir));
+    visitDirectory(dir, node, false, counter);
+  }
 
-    if (items.containsKey(path)) {
-      Long lastModifiedStored = items.get(path);
-      if (!lastModifiedActual.equals(lastModifiedStored)) {
-        updateConsumer.forEach(it -> it.accept(path));
-        items.put(path, lastModifiedActual);
+  /**
+   * Checks modification time of the directory and lists it if needed. If {@code checkpoint} is
+   * {@code true} the directory is listed only if it isn't watched or it was modified, existing
+   * subdirectories are visited recursively, otherwise the directory is always listed and only new
+   * subdirectories are visited.
+   */
+  private void visitDirectory(Path dir, DirectoryNode node, boolean checkpoint, ScanCounter counter)
+      throws IOException {
+    final long lastModified;
+    try {
+      lastModified = readAttributes(dir, BasicFileAttributes.class).lastModifiedTime().toMillis();
+    } catch (NoSuchFileException e) {
+      // Removed directory is handled with its parent
+      return;
+    }
+    counter.visitedDirectories++;
+    final boolean modified = node.lastModified != lastModified;
+    if (modified && node.lastModified != UNKNOWN) {
+      directoryUpdateConsumers.forEach(it -> it.accept(dir));
+    }
+    node.lastModified = lastModified;
+
+    // Changes made before the directory became watched are not reported by events
+    final boolean watched = watcherService != null && watcherService.isRegistered(dir);
+    List<DirectoryNode> created = Collections.emptyList();
+    if (!checkpoint || modified || !watched || !node.watched) {
+      node.watched = watched;
+      created = list(dir, node, counter);
+    }
+    if (checkpoint) {
+      for (Node child : node.children) {
+        if (child instanceof DirectoryNode && !created.contains(child)) {
+          visitDirectory(dir.resolve(child.name), (DirectoryNode) child, true, counter);
+        }
+      }
+    }
+    for (DirectoryNode child : created) {
+      visitNewDirectory(dir.resolve(child.name), child, counter);
+    }
+  }
+
+  /**
+   * Lists the directory, registers removal of missed items, addition of new files and update of
+   * modified files.
+   *
+   * @return new subdirectories, which are not visited yet
+   */
+  private List<DirectoryNode> list(Path dir, DirectoryNode node, ScanCounter counter)
+      throws IOException {
+    counter.listedDirectories++;
+    final List<Entry> entries = new ArrayList<>();
+    try (DirectoryStream<Path> stream = newDirectoryStream(dir)) {
+      for (Path path : stream) {
+        final BasicFileAttributes attrs;
+        try {
+          attrs = readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+          continue;
+        }
+        final PathMatcherIndex excludes =
+            attrs.isDirectory() ? directoryExcludeIndex : fileExcludeIndex;
+        if (!excludes.anyMatch(path)) {
+          entries.add(new Entry(path, attrs));
+        }
+      }
+    } catch (NoSuchFileException e) {
+      return Collections.emptyList();
+    }
+    entries.sort((a, b) -> a.name.compareTo(b.name));
+
+    final Node[] previous = node.children;
+    for (Node old : previous) {
+      final Entry entry = findEntry(entries, old.name);
+      if (entry == null || entry.attrs.isDirectory() != (old instanceof DirectoryNode)) {
+        delete(dir.resolve(old.name), old);
       }
+    }
+
+    final Node[] children = new Node[entries.size()];
+    final List<DirectoryNode> created = new ArrayList<>();
+    for (int i = 0; i < children.length; i++) {
+      final Entry entry = entries.get(i);
+      final Node old = findNode(previous, entry.name);
+      if (entry.attrs.isDirectory()) {
+        if (old instanceof DirectoryNode) {
+          children[i] = old;
+        } else {
+          final DirectoryNode child = new DirectoryNode(entry.name);
+          children[i] = child;
+          created.add(child);
+        }
+        continue;
+      }
+      counter.visitedFiles++;
+      final long lastModified = entry.attrs.lastModifiedTime().toMillis();
+      if (old != null && !(old instanceof DirectoryNode)) {
+        children[i] = old;
+        if (old.lastModified != lastModified) {
+          old.lastModified = lastModified;
+          fileUpdateConsumers.forEach(it -> it.accept(entry.path));
+        }
+      } else {
+        final Node child = new Node(entry.name);
+        child.lastModified = lastModified;
+        children[i] = child;
+        fileCreateConsumers.forEach(it -> it.accept(entry.path));
+      }
+    }
+    node.children = children;
+    return created;
+  }
+
+  /** Registers removal of the item and, if it is a directory, of all the items of its subtree. */
+  private void delete(Path path, Node node) {
+    if (node instanceof DirectoryNode) {
+      final DirectoryNode dirNode = (DirectoryNode) node;
+      for (Node child : dirNode.children) {
+        delete(path.resolve(child.name), child);
+      }
+      directoryDeleteConsumers.forEach(it -> it.accept(path));
     } else {
-      createConsumer.forEach(it -> it.accept(path));
-      items.put(path, lastModifiedActual);
+      fileDeleteConsumers.forEach(it -> it.accept(path));
+    }
+  }
+
+  private DirectoryNode findDirectory(Path dir) {
+    if (!dir.startsWith(root)) {
+      return null;
+    }
+    DirectoryNode node = rootNode;
+    for (Path name : root.relativize(dir)) {
+      if (name.toString().isEmpty()) {
+        continue;
+      }
+      final Node child = findNode(node.children, name.toString());
+      if (!(child instanceof DirectoryNode)) {
+        return null;
+      }
+      node = (DirectoryNode) child;
+    }
+    return node;
+  }
+
+  private static Node findNode(Node[] nodes, String name) {
+    int low = 0;
+    int high = nodes.length - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int cmp = nodes[mid].name.compareTo(name);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return nodes[mid];
+      }
+    }
+    return null;
+  }
+
+  private static Entry findEntry(List<Entry> entries, String name) {
+    int low = 0;
+    int high = entries.size() - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int cmp = entries.get(mid).name.compareTo(name);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return entries.get(mid);
+      }
+    }
+    return null;
+  }
+
+  /** Re-indexes excludes if they have changed since the previous scan. */
+  private void updateExcludeIndexes() {
+    if (!directoryExcludeIndex.getMatchers().equals(directoryExcludes)) {
+      directoryExcludeIndex = PathMatcherIndex.of(directoryExcludes);
+    }
+    if (!fileExcludeIndex.getMatchers().equals(fileExcludes)) {
+      fileExcludeIndex = PathMatcherIndex.of(fileExcludes);
+    }
+  }
+
+  /** Durations of scans of a kind, in milliseconds. */
+  public static class ScanMetrics {
+    private volatile long scans;
+    private volatile long totalTimeMillis;
+    private volatile long lastTimeMillis;
+    private volatile long maxTimeMillis;
+    private volatile int lastVisitedDirectories;
+    private volatile int lastListedDirectories;
+    private volatile int lastVisitedFiles;
+
+    private synchronized void record(long nanos, ScanCounter counter) {
+      final long millis = nanos / 1_000_000;
+      scans++;
+      totalTimeMillis += millis;
+      lastTimeMillis = millis;
+      maxTimeMillis = Math.max(maxTimeMillis, millis);
+      lastVisitedDirectories = counter.visitedDirectories;
+      lastListedDirectories = counter.listedDirectories;
+      lastVisitedFiles = counter.visitedFiles;
+    }
+
+    public long getScans() {
+      return scans;
+    }
+
+    public long getTotalTimeMillis() {
+      return totalTimeMillis;
+    }
+
+    public long getLastTimeMillis() {
+      return lastTimeMillis;
+    }
+
+    public long getMaxTimeMillis() {
+      return maxTimeMillis;
+    }
+
+    /** Number of directories which modification time was checked by the last scan. */
+    public int getLastVisitedDirectories() {
+      return lastVisitedDirectories;
+    }
+
+    /** Number of directories listed by the last scan. */
+    public int getLastListedDirectories() {
+      return lastListedDirectories;
+    }
+
+    /** Number of files which modification time was checked by the last scan. */
+    public int getLastVisitedFiles() {
+      return lastVisitedFiles;
+    }
+
+    @Override
+    public String toString() {
+      return "ScanMetrics{"
+          + "scans="
+          + scans
+          + ", totalTimeMillis="
+          + totalTimeMillis
+          + ", lastTimeMillis="
+          + lastTimeMillis
+          + ", maxTimeMillis="
+          + maxTimeMillis
+          + ", lastVisitedDirectories="
+          + lastVisitedDirectories
+          + ", lastListedDirectories="
+          + lastListedDirectories
+          + ", lastVisitedFiles="
+          + lastVisitedFiles
+          + '}';
+    }
+  }
+
+  private static class ScanCounter {
+    int visitedDirectories;
+    int listedDirectories;
+    int visitedFiles;
+  }
+
+  /** Item of the tree, children of a directory are sorted by name. */
+  private static class Node {
+    final String name;
+    long lastModified = UNKNOWN;
+
+    Node(String name) {
+      this.name = name;
+    }
+  }
+
+  private static class DirectoryNode extends Node {
+    Node[] children = NO_CHILDREN;
+    /** Whether the directory was watched when it was listed last time. */
+    boolean watched;
+
+    DirectoryNode(String name) {
+      super(name);
+    }
+  }
+
+  private static class Entry {
+    final Path path;
+    final String name;
+    final BasicFileAttributes attrs;
+
+    Entry(Path path, BasicFileAttributes attrs) {
+      this.path = path;
+      this.name = path.getFileName().toString();
+      this.attrs = attrs;
     }
   }
 }
@@ -41,6 +41,8 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
   private final Map<Integer, Set<Path>> paths = new ConcurrentHashMap<>();
   /** Matcher -> Operation IDs */
   private final Map<PathMatcher, Set<Integer>> matchers = new ConcurrentHashMap<>();
+  /** Index of registered matchers, finds matchers of a path without checking each of them */
+  private final PathMatcherIndex matcherIndex = new PathMatcherIndex();
   /** Registered path -> Path watch operation IDs */
   private final Map<Path, Set<Integer>> pathWatchRegistrations = new ConcurrentHashMap<>();
 
@@ -59,24 +61,28 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
       paths.entrySet().removeIf(it -> it.getValue().isEmpty());
     }
 
-    for (PathMatcher matcher : matchers.keySet()) {
-      if (matcher.matches(path)) {
-        for (int operationId : matchers.get(matcher)) {
-          paths.putIfAbsent(operationId, newConcurrentHashSet());
-          if (paths.get(operationId).contains(path)) {
+    matcherIndex.forEachMatch(
+        path,
+        matcher -> {
+          Set<Integer> operationIds = matchers.get(matcher);
+          if (operationIds == null) {
             return;
           }
-
-          paths.get(operationId).add(path);
-
-          Operation operation = operations.get(operationId);
-          int pathWatcherOperationId =
-              watcher.watch(path, operation.create, operation.modify, operation.delete);
-          pathWatchRegistrations.putIfAbsent(path, newConcurrentHashSet());
-          pathWatchRegistrations.get(path).add(pathWatcherOperationId);
-        }
-      }
-    }
+          for (int operationId : operationIds) {
+            paths.putIfAbsent(operationId, newConcurrentHashSet());
+            if (paths.get(operationId).contains(path)) {
+              continue;
+            }
+
+            paths.get(operationId).add(path);
+
+            Operation operation = operations.get(operationId);
+            int pathWatcherOperationId =
+                watcher.watch(path, operation.create, operation.modify, operation.delete);
+            pathWatchRegistrations.putIfAbsent(path, newConcurrentHashSet());
+            pathWatchRegistrations.get(path).add(pathWatcherOperationId);
+          }
+        });
   }
 
   int watch(
@@ -87,10 +93,11 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
     LOG.debug("Watching matcher '{}'", matcher);
     int operationId = operationIdCounter.getAndIncrement();
 
+    operations.put(operationId, new Operation(create, modify, delete));
+
     matchers.putIfAbsent(matcher, newConcurrentHashSet());
     matchers.get(matcher).add(operationId);
-
-    operations.put(operationId, new Operation(create, modify, delete));
+    matcherIndex.add(matcher);
 
     LOG.debug("Registered matcher operation set with id '{}'", operationId);
     return operationId;
@@ -122,6 +129,7 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
 
       if (matchers.get(matcher) == null || matchers.get(matcher).isEmpty()) {
         matchers.remove(matcher);
+        matcherIndex.remove(matcher);
       }
     }
   }
@@ -23,6 +23,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -39,6 +40,7 @@ public class FileWatcherEventHandler {
   private final AtomicInteger idCounter = new AtomicInteger();
 
   private final Map<Path, Set<FileWatcherOperation>> operations = new ConcurrentHashMap<>();
+  private final Set<Consumer<Path>> directoryChangeConsumers = new CopyOnWriteArraySet<>();
 
   private final File root;
 
@@ -131,4 +133,24 @@ public class FileWatcherEventHandler {
           .forEach(it -> it.accept(internalPath));
     }
   }
+
+  /**
+   * Registers consumer of the directory which entries may have changed. It is called for any
+   * events of the directory including events of excluded paths, events skipped in suspended mode
+   * and overflow of events, so state of the directory should be checked by the consumer.
+   *
+   * @param consumer consumer of directory in file system form
+   */
+  void addDirectoryChangeConsumer(Consumer<Path> consumer) {
+    directoryChangeConsumers.add(consumer);
+  }
+
+  /**
+   * Handles change of entries of the directory passed from file watcher system.
+   *
+   * @param dir directory in file system form
+   */
+  void handleDirectoryChange(Path dir) {
+    directoryChangeConsumers.forEach(it -> it.accept(dir));
+  }
 }
@@ -10,8 +10,6 @@
  */
 package org.eclipse.che.api.vfs.watcher;
 
-import static com.google.common.collect.Sets.newConcurrentHashSet;
-
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.Set;
@@ -21,17 +19,19 @@ import javax.inject.Singleton;
 
 /**
  * Registry for managing of tracking creation, modification and deletion events for corresponding
- * entries. Allows to add entries to excludes or includes by {@link PathMatcher}.
+ * entries. Allows to add entries to excludes or includes by {@link PathMatcher}. Matchers created
+ * with {@link PathMatchers} are looked up by {@link PathMatcherIndex} instead of being checked for
+ * each path.
  */
 @Singleton
 public class FileWatcherExcludePatternsRegistry {
-  private Set<PathMatcher> excludes;
-  private Set<PathMatcher> includes = newConcurrentHashSet();
+  private final PathMatcherIndex excludes;
+  private final PathMatcherIndex includes = new PathMatcherIndex();
 
   @Inject
   public FileWatcherExcludePatternsRegistry(
       @Named("che.user.workspaces.storage.excludes") Set<PathMatcher> excludes) {
-    this.excludes = newConcurrentHashSet(excludes);
+    this.excludes = PathMatcherIndex.of(excludes);
   }
 
   /**
@@ -82,8 +82,7 @@ public class FileWatcherExcludePatternsRegistry {
    * @return true if path is within excludes, false otherwise
    */
   public boolean isExcluded(Path path) {
-    return !isIncluded(path)
-        && excludes.stream().anyMatch(pathMatcher -> pathMatcher.matches(path));
+    return !isIncluded(path) && excludes.anyMatch(path);
   }
 
   /**
@@ -93,6 +92,6 @@ public class FileWatcherExcludePatternsRegistry {
    * @return true if path is within includes, false otherwise
    */
   public boolean isIncluded(Path path) {
-    return includes.stream().anyMatch(pathMatcher -> pathMatcher.matches(path));
+    return includes.anyMatch(path);
   }
 }
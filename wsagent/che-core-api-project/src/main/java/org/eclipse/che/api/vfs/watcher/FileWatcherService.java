@@ -200,6 +200,17 @@ public class FileWatcherService {
     }
   }
 
+  /**
+   * Checks whether a directory is being watched, so events of its entries are passed to the
+   * handler.
+   *
+   * @param dir directory
+   * @return {@code true} if the directory is being watched, otherwise {@code false}
+   */
+  boolean isRegistered(Path dir) {
+    return registrations.containsKey(dir);
+  }
+
   /**
    * Cancels registration of a directory for being watched. Each call of this method decreases by
    * one registration counter that corresponds to directory specified by the argument. If
@@ -278,6 +289,9 @@ public class FileWatcherService {
         Path dir = keys.get(watchKey);
 
         List<WatchEvent<?>> watchEvents = watchKey.pollEvents();
+        if (dir != null && !watchEvents.isEmpty()) {
+          handler.handleDirectoryChange(dir);
+        }
 
         if (suspended.get()) {
           resetAndRemove(watchKey, dir);
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.watcher;
+
+import java.nio.file.PathMatcher;
+import java.util.Set;
+
+/**
+ * Path matcher which declares a condition each matched path satisfies, so {@link PathMatcherIndex}
+ * checks it only against paths which satisfy the condition. Use {@link PathMatchers} to create
+ * such matchers.
+ */
+public interface IndexablePathMatcher extends PathMatcher {
+  /** Part of path which {@link #getKeys() keys} are compared with. */
+  enum KeyType {
+    /** File name of matched path is one of the keys. */
+    FILE_NAME,
+    /** Extension of file name of matched path, the part after the last dot, is one of the keys. */
+    EXTENSION,
+    /** One of name elements of matched path is one of the keys. */
+    NAME_ELEMENT
+  }
+
+  KeyType getKeyType();
+
+  /** Returns keys of matched paths, not empty. */
+  Set<String> getKeys();
+}
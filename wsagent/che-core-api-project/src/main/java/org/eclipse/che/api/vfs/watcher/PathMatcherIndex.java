@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.watcher;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Set of path matchers which finds matchers of a path without checking each of them.
+ *
+ * <p>{@link IndexablePathMatcher Indexable matchers} are bucketed by their keys, so only matchers
+ * with file name, extension or name element of the path are checked, other matchers are checked
+ * for every path. Index is rebuilt on modification and read without locking, it fits sets which
+ * are modified much less often than queried, e.g. excludes and watched patterns.
+ */
+public class PathMatcherIndex {
+  private final Set<PathMatcher> matchers = new LinkedHashSet<>();
+
+  private volatile Snapshot snapshot = new Snapshot(ImmutableSet.of());
+
+  /** Creates index of the given matchers. */
+  public static PathMatcherIndex of(Collection<? extends PathMatcher> matchers) {
+    final PathMatcherIndex index = new PathMatcherIndex();
+    index.matchers.addAll(matchers);
+    index.snapshot = new Snapshot(ImmutableSet.copyOf(index.matchers));
+    return index;
+  }
+
+  /**
+   * Adds matcher to the index.
+   *
+   * @return {@code true} if the matcher was added and {@code false} if it is already in the index
+   */
+  public synchronized boolean add(PathMatcher matcher) {
+    if (!matchers.add(matcher)) {
+      return false;
+    }
+    snapshot = new Snapshot(ImmutableSet.copyOf(matchers));
+    return true;
+  }
+
+  /**
+   * Removes matcher from the index.
+   *
+   * @return {@code true} if the matcher was removed and {@code false} if it isn't in the index
+   */
+  public synchronized boolean remove(PathMatcher matcher) {
+    if (!matchers.remove(matcher)) {
+      return false;
+    }
+    snapshot = new Snapshot(ImmutableSet.copyOf(matchers));
+    return true;
+  }
+
+  /** Returns all matchers of the index. */
+  public Set<PathMatcher> getMatchers() {
+    return snapshot.matchers;
+  }
+
+  public boolean isEmpty() {
+    return snapshot.matchers.isEmpty();
+  }
+
+  /** Checks whether any matcher of the index matches the path. */
+  public boolean anyMatch(Path path) {
+    return snapshot.find(path, matcher -> true);
+  }
+
+  /** Calls the consumer for each matcher of the index which matches the path. */
+  public void forEachMatch(Path path, Consumer<PathMatcher> consumer) {
+    snapshot.find(
+        path,
+        matcher -> {
+          consumer.accept(matcher);
+          return false;
+        });
+  }
+
+  private static final class Snapshot {
+    final Set<PathMatcher> matchers;
+    final ImmutableListMultimap<String, PathMatcher> byFileName;
+    final ImmutableListMultimap<String, PathMatcher> byExtension;
+    final ImmutableListMultimap<String, PathMatcher> byNameElement;
+    final ImmutableList<PathMatcher> unindexed;
+
+    Snapshot(Set<PathMatcher> matchers) {
+      final ImmutableListMultimap.Builder<String, PathMatcher> byFileName =
+          ImmutableListMultimap.builder();
+      final ImmutableListMultimap.Builder<String, PathMatcher> byExtension =
+          ImmutableListMultimap.builder();
+      final ImmutableListMultimap.Builder<String, PathMatcher> byNameElement =
+          ImmutableListMultimap.builder();
+      final ImmutableList.Builder<PathMatcher> unindexed = ImmutableList.builder();
+      for (PathMatcher matcher : matchers) {
+        if (!(matcher instanceof IndexablePathMatcher)) {
+          unindexed.add(matcher);
+          continue;
+        }
+        final IndexablePathMatcher indexable = (IndexablePathMatcher) matcher;
+        for (String key : indexable.getKeys()) {
+          switch (indexable.getKeyType()) {
+            case FILE_NAME:
+              byFileName.put(key, matcher);
+              break;
+            case EXTENSION:
+              byExtension.put(key, matcher);
+              break;
+            case NAME_ELEMENT:
+              byNameElement.put(key, matcher);
+              break;
+          }
+        }
+      }
+      this.matchers = matchers;
+      this.byFileName = byFileName.build();
+      this.byExtension = byExtension.build();
+      this.byNameElement = byNameElement.build();
+      this.unindexed = unindexed.build();
+    }
+
+    /**
+     * Passes matchers of the path to the visitor until it returns {@code true}.
+     *
+     * @return {@code true} if the visitor stopped the search
+     */
+    boolean find(Path path, Predicate<PathMatcher> visitor) {
+      final Path fileName = path.getFileName();
+      if (fileName != null) {
+        final String name = fileName.toString();
+        if (!byFileName.isEmpty() && visit(byFileName.get(name), path, visitor)) {
+          return true;
+        }
+        final int dot = name.lastIndexOf('.');
+        if (dot >= 0
+            && !byExtension.isEmpty()
+            && visit(byExtension.get(name.substring(dot + 1)), path, visitor)) {
+          return true;
+        }
+      }
+      if (!byNameElement.isEmpty()) {
+        // Path may have several elements with keys of the same matcher
+        final Set<PathMatcher> candidates = new LinkedHashSet<>();
+        for (Path element : path) {
+          candidates.addAll(byNameElement.get(element.toString()));
+        }
+        if (visit(candidates, path, visitor)) {
+          return true;
+        }
+      }
+      return visit(unindexed, path, visitor);
+    }
+
+    private static boolean visit(
+        Collection<PathMatcher> candidates, Path path, Predicate<PathMatcher> visitor) {
+      for (PathMatcher matcher : candidates) {
+        if (matcher.matches(path) && visitor.test(matcher)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.watcher;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import com.google.common.collect.ImmutableSet;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.eclipse.che.api.vfs.watcher.IndexablePathMatcher.KeyType;
+
+/**
+ * Factory of path matchers which can be indexed by {@link PathMatcherIndex}, prefer it to {@link
+ * java.nio.file.FileSystem#getPathMatcher(String)} and lambdas when matchers are registered in file
+ * watchers.
+ */
+public final class PathMatchers {
+  private static final String GLOB_SYNTAX = "glob:";
+  private static final String GLOB_SPECIAL_CHARS = "*?[]{}\\";
+
+  private PathMatchers() {}
+
+  /**
+   * Creates matcher with the given syntax and pattern as {@link
+   * java.nio.file.FileSystem#getPathMatcher(String)} of default file system does. Glob patterns
+   * which end with a literal file name or extension, e.g. {@code glob:**}{@code /pom.xml} or
+   * {@code glob:**}{@code /*.{java,kt}}, produce {@link IndexablePathMatcher}.
+   *
+   * @throws IllegalArgumentException if the parameter doesn't have form of {@code syntax:pattern}
+   *     or the pattern is invalid
+   * @throws UnsupportedOperationException if syntax of the pattern isn't supported
+   */
+  public static PathMatcher of(String syntaxAndPattern) {
+    final PathMatcher matcher = FileSystems.getDefault().getPathMatcher(syntaxAndPattern);
+    if (!syntaxAndPattern.startsWith(GLOB_SYNTAX)) {
+      return matcher;
+    }
+    final String glob = syntaxAndPattern.substring(GLOB_SYNTAX.length());
+    KeyType keyType = null;
+    final Set<String> keys = new LinkedHashSet<>();
+    final List<String> suffixes = getLiteralSuffixes(glob);
+    final int group = glob.endsWith("}") ? glob.lastIndexOf('{') : glob.length();
+    // Literal glob, possibly with a trailing group, matches the whole path
+    final boolean literal = group >= 0 && !containsSpecialChars(glob.substring(0, group));
+    for (String suffix : suffixes) {
+      final int slash = suffix.lastIndexOf('/');
+      final int dot = suffix.lastIndexOf('.');
+      final KeyType suffixKeyType;
+      if (slash >= 0) {
+        suffixKeyType = KeyType.FILE_NAME;
+        keys.add(suffix.substring(slash + 1));
+      } else if (literal) {
+        suffixKeyType = KeyType.FILE_NAME;
+        keys.add(suffix);
+      } else if (dot >= 0) {
+        suffixKeyType = KeyType.EXTENSION;
+        keys.add(suffix.substring(dot + 1));
+      } else {
+        return matcher;
+      }
+      if (keyType != null && keyType != suffixKeyType) {
+        return matcher;
+      }
+      keyType = suffixKeyType;
+    }
+    if (keyType == null) {
+      return matcher;
+    }
+    return new KeyedPathMatcher(keyType, ImmutableSet.copyOf(keys), matcher, syntaxAndPattern);
+  }
+
+  /** Creates matcher of paths with the given file name. */
+  public static IndexablePathMatcher fileName(String name) {
+    return fileName(name, path -> true);
+  }
+
+  /**
+   * Creates matcher of paths with the given file name which satisfy the given condition, e.g.
+   * {@code fileName("pom.xml", path -> !isDirectory(path))}.
+   */
+  public static IndexablePathMatcher fileName(String name, Predicate<Path> condition) {
+    return new KeyedPathMatcher(
+        KeyType.FILE_NAME,
+        ImmutableSet.of(name),
+        path -> {
+          final Path fileName = path.getFileName();
+          return fileName != null && name.equals(fileName.toString()) && condition.test(path);
+        },
+        "fileName:" + name);
+  }
+
+  /** Creates matcher of paths which have an element with the given name, e.g. {@code .git}. */
+  public static IndexablePathMatcher nameElement(String name) {
+    return new KeyedPathMatcher(
+        KeyType.NAME_ELEMENT,
+        ImmutableSet.of(name),
+        path -> {
+          for (Path element : path) {
+            if (name.equals(element.toString())) {
+              return true;
+            }
+          }
+          return false;
+        },
+        "nameElement:" + name);
+  }
+
+  /**
+   * Returns literal suffixes one of which any path matched by the glob ends with. Trailing group of
+   * literal alternatives produces a suffix per alternative. Returns empty list if the glob ends
+   * with a wildcard.
+   */
+  static List<String> getLiteralSuffixes(String glob) {
+    int end = glob.length();
+    List<String> alternatives = singletonList("");
+    if (glob.endsWith("}") && !glob.endsWith("\\}")) {
+      final int open = glob.lastIndexOf('{');
+      if (open < 0 || (open > 0 && glob.charAt(open - 1) == '\\')) {
+        return emptyList();
+      }
+      final String group = glob.substring(open + 1, end - 1);
+      if (containsSpecialChars(group)) {
+        return emptyList();
+      }
+      alternatives = Arrays.asList(group.split(",", -1));
+      end = open;
+    }
+    int start = end;
+    while (start > 0 && GLOB_SPECIAL_CHARS.indexOf(glob.charAt(start - 1)) < 0) {
+      start--;
+    }
+    if (start == end && alternatives.size() == 1) {
+      return emptyList();
+    }
+    final String literal = glob.substring(start, end);
+    final List<String> suffixes = new ArrayList<>(alternatives.size());
+    for (String alternative : alternatives) {
+      suffixes.add(literal + alternative);
+    }
+    return suffixes;
+  }
+
+  private static boolean containsSpecialChars(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      if (GLOB_SPECIAL_CHARS.indexOf(text.charAt(i)) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static final class KeyedPathMatcher implements IndexablePathMatcher {
+    private final KeyType keyType;
+    private final Set<String> keys;
+    private final PathMatcher delegate;
+    private final String description;
+
+    private KeyedPathMatcher(
+        KeyType keyType, Set<String> keys, PathMatcher delegate, String description) {
+      this.keyType = keyType;
+      this.keys = keys;
+      this.delegate = delegate;
+      this.description = description;
+    }
+
+    @Override
+    public KeyType getKeyType() {
+      return keyType;
+    }
+
+    @Override
+    public Set<String> getKeys() {
+      return keys;
+    }
+
+    @Override
+    public boolean matches(Path path) {
+      return delegate.matches(path);
+    }
+
+    @Override
+    public String toString() {
+      return description;
+    }
+  }
+}
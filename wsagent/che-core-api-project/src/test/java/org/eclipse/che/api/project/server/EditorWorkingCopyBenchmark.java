@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.INSERT;
+import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.REMOVE;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures typing into a 50 000 lines file opened in the editor: each keystroke is applied to
+ * {@link EditorWorkingCopy} as an insertion of a character followed, every 10 keystrokes, by a
+ * removal of a character. {@code legacy} reproduces the former working copy which decoded, edited
+ * and encoded the whole content on each change.
+ *
+ * <p>Not a part of the regular test run, execute {@link #main(String[])} to get the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EditorWorkingCopyBenchmark {
+  private static final int LINES = 50_000;
+  private static final String LINE = "    private static final int CONSTANT = 42; // comment\n";
+
+  private EditorWorkingCopy workingCopy;
+  private byte[] legacyContent;
+  private EditorChangesDto[] keystrokes;
+  private int keystroke;
+
+  @Setup
+  public void setUp() {
+    final StringBuilder content = new StringBuilder(LINES * LINE.length());
+    for (int i = 0; i < LINES; i++) {
+      content.append(LINE);
+    }
+    workingCopy = new EditorWorkingCopy("wc", "/project", content.toString().getBytes());
+    legacyContent = content.toString().getBytes();
+
+    // Typing in the middle of the file, the text grows by 8 characters per 10 keystrokes
+    final int offset = content.length() / 2;
+    keystrokes = new EditorChangesDto[10];
+    for (int i = 0; i < 9; i++) {
+      keystrokes[i] = change(INSERT, offset + i, "x", 0);
+    }
+    keystrokes[9] = change(REMOVE, offset + 8, "", 1);
+  }
+
+  @Benchmark
+  public Object rope() {
+    workingCopy.applyChanges(nextKeystroke());
+    return workingCopy;
+  }
+
+  @Benchmark
+  public Object legacy() {
+    final EditorChangesDto changes = nextKeystroke();
+    final String oldContent = new String(legacyContent);
+    String newContent;
+    if (changes.getType() == INSERT) {
+      newContent =
+          new StringBuilder(oldContent).insert(changes.getOffset(), changes.getText()).toString();
+    } else {
+      newContent =
+          new StringBuilder(oldContent)
+              .delete(changes.getOffset(), changes.getOffset() + changes.getRemovedCharCount())
+              .toString();
+    }
+    legacyContent = newContent.getBytes();
+    return legacyContent;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(EditorWorkingCopyBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  private EditorChangesDto nextKeystroke() {
+    final EditorChangesDto changes = keystrokes[keystroke];
+    keystroke = (keystroke + 1) % keystrokes.length;
+    return changes;
+  }
+
+  private static EditorChangesDto change(
+      EditorChangesDto.Type type, int offset, String text, int removedCharCount) {
+    return newDto(EditorChangesDto.class)
+        .withType(type)
+        .withOffset(offset)
+        .withText(text)
+        .withRemovedCharCount(removedCharCount);
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.INSERT;
+import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.REMOVE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Random;
+import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
+import org.junit.Test;
+
+/** Tests for {@link Rope} and editing of {@link EditorWorkingCopy} */
+public class RopeTest {
+
+  @Test
+  public void shouldEditLikeStringBuilder() throws Exception {
+    Random random = new Random(42);
+    StringBuilder expected = new StringBuilder(randomText(random, 5000));
+    Rope rope = Rope.of(expected);
+
+    for (int i = 0; i < 5000; i++) {
+      int offset = random.nextInt(expected.length() + 1);
+      if (random.nextInt(3) == 0 && offset < expected.length()) {
+        int end = Math.min(expected.length(), offset + 1 + random.nextInt(2000));
+        expected.delete(offset, end);
+        rope = rope.delete(offset, end);
+      } else {
+        String text = randomText(random, random.nextInt(10) == 0 ? 3000 : 3);
+        expected.insert(offset, text);
+        rope = rope.insert(offset, text);
+      }
+      assertEquals(expected.length(), rope.length());
+    }
+
+    assertEquals(expected.toString(), rope.toString());
+    for (int i = 0; i < 100; i++) {
+      int index = random.nextInt(expected.length());
+      assertEquals(expected.charAt(index), rope.charAt(index));
+      int end = index + random.nextInt(expected.length() - index + 1);
+      assertEquals(expected.substring(index, end), rope.subSequence(index, end).toString());
+    }
+  }
+
+  @Test
+  public void shouldKeepSnapshotUnchanged() throws Exception {
+    Rope snapshot = Rope.of("hello world");
+
+    Rope edited = snapshot.delete(5, 11).insert(0, "oh, ");
+
+    assertEquals("hello world", snapshot.toString());
+    assertEquals("oh, hello", edited.toString());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void shouldNotInsertOutOfText() throws Exception {
+    Rope.of("abc").insert(4, "d");
+  }
+
+  @Test
+  public void shouldApplyEditorChangesToWorkingCopy() throws Exception {
+    EditorWorkingCopy workingCopy = new EditorWorkingCopy("wc", "/project", "abcdef".getBytes());
+    Rope original = workingCopy.getContentSnapshot();
+
+    workingCopy.applyChanges(change(INSERT, 3, "123", 0));
+    workingCopy.applyChanges(change(REMOVE, 0, "", 2));
+
+    assertEquals("c123def", workingCopy.getContentAsString());
+    assertArrayEquals("c123def".getBytes(), workingCopy.getContentAsBytes());
+    assertEquals("abcdef", original.toString());
+  }
+
+  @Test
+  public void shouldUpdateContentHashOnChanges() throws Exception {
+    EditorWorkingCopy workingCopy = new EditorWorkingCopy("wc", "/project", "abc".getBytes());
+    assertEquals(EditorWorkingCopy.hashContent("abc"), workingCopy.getContentHash());
+
+    workingCopy.applyChanges(change(INSERT, 3, "d", 0));
+    assertNotEquals(EditorWorkingCopy.hashContent("abc"), workingCopy.getContentHash());
+
+    workingCopy.applyChanges(change(REMOVE, 3, "", 1));
+    assertEquals(EditorWorkingCopy.hashContent("abc"), workingCopy.getContentHash());
+  }
+
+  private static EditorChangesDto change(
+      EditorChangesDto.Type type, int offset, String text, int removedCharCount) {
+    EditorChangesDto changes = mock(EditorChangesDto.class);
+    when(changes.getType()).thenReturn(type);
+    when(changes.getOffset()).thenReturn(offset);
+    when(changes.getText()).thenReturn(text);
+    when(changes.getRemovedCharCount()).thenReturn(removedCharCount);
+    return changes;
+  }
+
+  private static String randomText(Random random, int length) {
+    StringBuilder text = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      text.append(i % 40 == 39 ? '\n' : (char) ('a' + random.nextInt(26)));
+    }
+    return text.toString();
+  }
+}
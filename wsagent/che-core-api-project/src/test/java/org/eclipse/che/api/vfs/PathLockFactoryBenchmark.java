@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures throughput of {@link PathLockFactory} when 8 threads read (shared lock) and write
+ * (exclusive lock) files of 100 projects, as content reads and updates of {@link
+ * org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem} do. One stripe reproduces the former
+ * lock table guarded by a single monitor.
+ *
+ * <p>Not a part of the regular test run, execute {@link #main(String[])} to get the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@Threads(8)
+public class PathLockFactoryBenchmark {
+  private static final int PROJECTS = 100;
+  private static final int FILES = 1000;
+  private static final int MAX_THREADS = 1024;
+  /** Amount of work done while lock is held, in JMH tokens. */
+  private static final int WORK = 200;
+
+  @Param({"1", "64"})
+  public int stripes;
+
+  private PathLockFactory lockFactory;
+  private Path[] files;
+
+  @Setup
+  public void setUp() {
+    lockFactory = new PathLockFactory(MAX_THREADS, stripes, 1);
+    files = new Path[PROJECTS * FILES];
+    for (int p = 0; p < PROJECTS; p++) {
+      for (int f = 0; f < FILES; f++) {
+        files[p * FILES + f] = Path.of("/project-" + p + "/src/File" + f + ".java");
+      }
+    }
+  }
+
+  @Benchmark
+  public void read() {
+    lockAndWork(false);
+  }
+
+  @Benchmark
+  public void readMostly() {
+    lockAndWork(ThreadLocalRandom.current().nextInt(10) == 0);
+  }
+
+  @Benchmark
+  public void write() {
+    lockAndWork(true);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PathLockFactoryBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  private void lockAndWork(boolean exclusive) {
+    final Path file = files[ThreadLocalRandom.current().nextInt(files.length)];
+    final PathLockFactory.PathLock lock = lockFactory.getLock(file, exclusive).acquire(60000);
+    try {
+      Blackhole.consumeCPU(WORK);
+    } finally {
+      lock.release();
+    }
+  }
+}
@@ -241,4 +241,134 @@ public class PathLockFactoryTest extends TestCase {
     waiter.await();
     assertEquals(2, acquired.get());
   }
+
+  public void testLocksOfDifferentProjectsDoNotConflict() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    Thread holder = holdLock(Path.of("/a/b"), true, release);
+    try {
+      PathLockFactory.PathLock lock = pathLockFactory.getLock(Path.of("/b/a"), true);
+      lock.acquire(100);
+      lock.release();
+    } finally {
+      release.countDown();
+      holder.join();
+    }
+  }
+
+  public void testRootLockConflictsWithLocksOfAllProjects() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    Thread holder = holdLock(Path.of("/project/file"), false, release);
+    try {
+      pathLockFactory.getLock(Path.ROOT, true).acquire(100);
+      fail();
+    } catch (RuntimeException e) {
+      // OK
+    } finally {
+      release.countDown();
+      holder.join();
+    }
+
+    // Failed attempt must not leave root lock in any part of lock table.
+    PathLockFactory.PathLock lock = pathLockFactory.getLock(Path.of("/other/file"), true);
+    lock.acquire(100);
+    lock.release();
+    pathLockFactory.checkClean();
+  }
+
+  public void testRootLockWaitsUntilLockOfProjectIsReleased() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    Thread holder = holdLock(Path.of("/project/file"), true, release);
+    new Thread() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(100);
+        } catch (InterruptedException ignored) {
+        } finally {
+          release.countDown();
+        }
+      }
+    }.start();
+
+    PathLockFactory.PathLock rootLock = pathLockFactory.getLock(Path.ROOT, true).acquire(5000);
+    holder.join();
+    final AtomicBoolean acquired = new AtomicBoolean(false);
+    Thread other =
+        new Thread() {
+          @Override
+          public void run() {
+            try {
+              pathLockFactory.getLock(Path.of("/other/file"), false).acquire(100).release();
+              acquired.set(true);
+            } catch (RuntimeException ignored) {
+              // Timeout, locked by root lock
+            }
+          }
+        };
+    other.start();
+    other.join();
+    rootLock.release();
+    assertFalse(acquired.get());
+    pathLockFactory.checkClean();
+  }
+
+  public void testContentionReportContainsWaitTimesGroupedByPathPrefix() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    Thread holder = holdLock(path, true, release);
+    try {
+      pathLockFactory.getLock(path, true).acquire(100);
+      fail();
+    } catch (RuntimeException e) {
+      // OK
+    }
+    new Thread() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(100);
+        } catch (InterruptedException ignored) {
+        } finally {
+          release.countDown();
+        }
+      }
+    }.start();
+    PathLockFactory.PathLock lock = pathLockFactory.getLock(path.getParent(), true).acquire(5000);
+    lock.release();
+    holder.join();
+
+    List<PathLockContention> report = pathLockFactory.getContentionReport();
+    assertEquals(1, report.size());
+    PathLockContention contention = report.get(0);
+    assertEquals(Path.of("/a"), contention.getPrefix());
+    assertEquals(1, contention.getWaits());
+    assertEquals(1, contention.getTimeouts());
+    assertTrue(contention.getMaxWaitTimeMs() >= 50);
+    assertEquals(contention.getMaxWaitTimeMs(), contention.getTotalWaitTimeMs());
+
+    pathLockFactory.resetContentionReport();
+    assertTrue(pathLockFactory.getContentionReport().isEmpty());
+  }
+
+  /** Starts thread which acquires lock on the path and keeps it until the latch is released. */
+  private Thread holdLock(Path lockPath, boolean exclusive, CountDownLatch release)
+      throws InterruptedException {
+    final CountDownLatch acquired = new CountDownLatch(1);
+    Thread holder =
+        new Thread() {
+          @Override
+          public void run() {
+            PathLockFactory.PathLock lock = pathLockFactory.getLock(lockPath, exclusive).acquire();
+            acquired.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException ignored) {
+            } finally {
+              lock.release();
+            }
+          }
+        };
+    holder.start();
+    acquired.await();
+    return holder;
+  }
 }
@@ -16,6 +16,7 @@ import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -90,4 +91,18 @@ public class DefaultFileWatcherNotificationHandlerTest {
     verify(notificationListener).shouldBeNotifiedFor(virtualFile);
     verify(notificationListener).onFileWatcherEvent(virtualFile, MODIFIED);
   }
+
+  @Test
+  public void invalidatesCachedListingsWhenPathIsCreated() throws Exception {
+    notificationHandler.handleFileWatcherEvent(CREATED, testDirectory, "/a/b/c", true);
+
+    verify(virtualFileSystem).invalidateListings(virtualFilePath);
+  }
+
+  @Test
+  public void doesNotInvalidateCachedListingsWhenPathIsModified() throws Exception {
+    notificationHandler.handleFileWatcherEvent(MODIFIED, testDirectory, "/a/b/c", true);
+
+    verify(virtualFileSystem, never()).invalidateListings(virtualFilePath);
+  }
 }
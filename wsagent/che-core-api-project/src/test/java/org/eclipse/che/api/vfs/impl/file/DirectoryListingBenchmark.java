@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.file;
+
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures expansion of the whole project tree of a monorepo with 100 000 files (100 modules, 10
+ * packages with 100 files in each module) as the project explorer does it, folder by folder with
+ * {@link VirtualFile#getChildren()}.
+ *
+ * <p>{@code legacy} benchmarks reproduce the former listing: {@code File.list()} under the file
+ * system wide monitor followed by a sort which checks type of the compared files on every
+ * comparison. Not a part of the regular test run, execute {@link #main(String[])} to get the
+ * results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DirectoryListingBenchmark {
+  private static final int MODULES = 100;
+  private static final int PACKAGES = 10;
+  private static final int FILES = 100;
+
+  /** Time children of folders are cached for, zero disables the listing cache. */
+  @Param({"0", "2000"})
+  public long listingCacheTtlMs;
+
+  private File root;
+  private LocalVirtualFileSystem fileSystem;
+
+  @Setup
+  public void setUp() throws Exception {
+    root = Files.createTempDirectory("monorepo-").toFile();
+    for (int m = 0; m < MODULES; m++) {
+      File module = new File(root, "module-" + m);
+      for (int p = 0; p < PACKAGES; p++) {
+        File pkg = new File(module, "src/main/java/org/eclipse/che/p" + p);
+        if (!pkg.mkdirs()) {
+          throw new IOException("Unable create " + pkg);
+        }
+        for (int f = 0; f < FILES; f++) {
+          if (!new File(pkg, "Class" + f + ".java").createNewFile()) {
+            throw new IOException("Unable create file in " + pkg);
+          }
+        }
+      }
+    }
+    fileSystem =
+        new LocalVirtualFileSystem(
+            root,
+            mock(ArchiverFactory.class),
+            null,
+            mock(AbstractVirtualFileSystemProvider.CloseCallback.class),
+            listingCacheTtlMs);
+  }
+
+  @TearDown
+  public void tearDown() {
+    IoUtil.deleteRecursive(root);
+  }
+
+  @Benchmark
+  public int expandTree() throws Exception {
+    return expand(fileSystem.getRoot());
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int expandTreeConcurrently() throws Exception {
+    return expand(fileSystem.getRoot());
+  }
+
+  @Benchmark
+  public int legacyExpandTree() throws Exception {
+    return legacyExpand((LocalVirtualFile) fileSystem.getRoot());
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int legacyExpandTreeConcurrently() throws Exception {
+    return legacyExpand((LocalVirtualFile) fileSystem.getRoot());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(DirectoryListingBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  private static int expand(VirtualFile folder) throws ServerException {
+    int count = 0;
+    for (VirtualFile child : folder.getChildren()) {
+      count += child.isFolder() ? expand(child) : 1;
+    }
+    return count;
+  }
+
+  private int legacyExpand(LocalVirtualFile folder) throws ServerException {
+    int count = 0;
+    for (VirtualFile child : legacyGetChildren(folder)) {
+      count += child.isFolder() ? legacyExpand((LocalVirtualFile) child) : 1;
+    }
+    return count;
+  }
+
+  private List<VirtualFile> legacyGetChildren(LocalVirtualFile parent) {
+    synchronized (fileSystem) {
+      final String[] names = parent.toIoFile().list((dir, name) -> !".vfs".equals(name));
+      final List<VirtualFile> children = new ArrayList<>(names.length);
+      for (String name : names) {
+        final Path childPath = parent.getPath().newPath(name);
+        children.add(
+            new LocalVirtualFile(new File(parent.toIoFile(), name), childPath, fileSystem));
+      }
+      Collections.sort(children);
+      return children;
+    }
+  }
+}
@@ -10,6 +10,10 @@
  */
 package org.eclipse.che.api.vfs.impl.file;
 
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -17,9 +21,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.util.List;
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -30,6 +37,7 @@ import org.junit.Test;
 
 public class LocalVirtualFileSystemTest {
   private LocalVirtualFileSystem fileSystem;
+  private LocalVirtualFileSystem cachingFileSystem;
   private Searcher searcher;
   private AbstractVirtualFileSystemProvider.CloseCallback closeCallback;
   private File testDirectory;
@@ -43,11 +51,20 @@ public class LocalVirtualFileSystemTest {
         new File(Thread.currentThread().getContextClassLoader().getResource(".").getPath())
             .getParentFile();
     testDirectory = new File(targetDir, NameGenerator.generate("fs-", 4));
+    assertTrue(testDirectory.mkdir());
     fileSystem =
         new LocalVirtualFileSystem(
             testDirectory, mock(ArchiverFactory.class), searcherProvider, closeCallback);
     when(searcherProvider.getSearcher(eq(fileSystem), anyBoolean())).thenReturn(searcher);
     when(searcherProvider.getSearcher(eq(fileSystem))).thenReturn(searcher);
+    cachingFileSystem =
+        new LocalVirtualFileSystem(
+            testDirectory,
+            mock(ArchiverFactory.class),
+            searcherProvider,
+            closeCallback,
+            60_000);
+    when(searcherProvider.getSearcher(eq(cachingFileSystem))).thenReturn(searcher);
   }
 
   @After
@@ -67,4 +84,66 @@ public class LocalVirtualFileSystemTest {
     fileSystem.close();
     verify(searcher).close();
   }
+
+  @Test
+  public void listsFoldersFirstThenFilesSortedByName() throws Exception {
+    VirtualFile root = fileSystem.getRoot();
+    root.createFile("b.txt", "");
+    root.createFolder("z");
+    root.createFile("a.txt", "");
+    root.createFolder("c");
+
+    assertEquals(asList("c", "z", "a.txt", "b.txt"), names(root.getChildren()));
+  }
+
+  @Test
+  public void doesNotListVfsServiceDirectory() throws Exception {
+    VirtualFile file = fileSystem.getRoot().createFile("file.txt", "");
+    file.setProperty("property", "value");
+
+    assertEquals(asList("file.txt"), names(fileSystem.getRoot().getChildren()));
+  }
+
+  @Test
+  public void cachedListingIsUpdatedWhenItemsAreCreatedOrDeletedThroughFileSystem()
+      throws Exception {
+    VirtualFile root = cachingFileSystem.getRoot();
+    VirtualFile folder = root.createFolder("folder");
+    assertEquals(asList("folder"), names(root.getChildren()));
+
+    VirtualFile file = root.createFile("file.txt", "");
+    folder.createFile("nested.txt", "");
+    assertEquals(asList("folder", "file.txt"), names(root.getChildren()));
+    assertEquals(asList("nested.txt"), names(folder.getChildren()));
+
+    file.delete(null);
+    assertEquals(asList("folder"), names(root.getChildren()));
+  }
+
+  @Test
+  public void cachedListingIsUpdatedWhenListingsAreInvalidated() throws Exception {
+    VirtualFile root = cachingFileSystem.getRoot();
+    root.createFolder("folder");
+    assertEquals(asList("folder"), names(root.getChildren()));
+
+    new File(testDirectory, "external.txt").createNewFile();
+    assertEquals(asList("folder"), names(root.getChildren()));
+
+    cachingFileSystem.invalidateListings(Path.of("/external.txt"));
+    assertEquals(asList("folder", "external.txt"), names(root.getChildren()));
+  }
+
+  @Test
+  public void appliesFilterToCachedListing() throws Exception {
+    VirtualFile root = cachingFileSystem.getRoot();
+    root.createFile("a.txt", "");
+    root.createFile("b.txt", "");
+
+    assertEquals(asList("b.txt"), names(root.getChildren(file -> file.getName().startsWith("b"))));
+    assertEquals(asList("a.txt", "b.txt"), names(root.getChildren()));
+  }
+
+  private static List<String> names(List<VirtualFile> files) {
+    return files.stream().map(VirtualFile::getName).collect(toList());
+  }
 }
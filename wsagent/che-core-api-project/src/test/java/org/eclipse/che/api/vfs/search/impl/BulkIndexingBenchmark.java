@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingStatus;
+import org.eclipse.che.api.vfs.search.MediaTypeFilter;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures initial indexing of a synthetic tree of source files (modules of 10 packages with 100
+ * files in each package, 200 000 files by default) with {@link FSLuceneSearcher}.
+ *
+ * <p>{@code indexFromScratch} builds a new index, {@code reconcileUnchanged} starts with the index
+ * built before and none of files changed. Along with the time of the single shot each iteration
+ * prints indexing rate in files per second and peak usage of heap memory. Not a part of the regular
+ * test run, execute {@link #main(String[])} to get the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BulkIndexingBenchmark {
+  private static final int PACKAGES = 10;
+  private static final int FILES = 100;
+
+  @Param({"200000"})
+  public int files;
+
+  private File root;
+  private LocalVirtualFileSystem fileSystem;
+
+  @Setup
+  public void setUp() throws Exception {
+    root = Files.createTempDirectory("monorepo-").toFile();
+    for (int m = 0; m < files / (PACKAGES * FILES); m++) {
+      for (int p = 0; p < PACKAGES; p++) {
+        File pkg = new File(root, "module-" + m + "/src/main/java/org/eclipse/che/p" + p);
+        if (!pkg.mkdirs()) {
+          throw new IOException("Unable create " + pkg);
+        }
+        for (int f = 0; f < FILES; f++) {
+          Files.write(new File(pkg, "Class" + f + ".java").toPath(), source(m, p, f));
+        }
+      }
+    }
+    fileSystem =
+        new LocalVirtualFileSystem(
+            root,
+            mock(ArchiverFactory.class),
+            null,
+            mock(AbstractVirtualFileSystemProvider.CloseCallback.class));
+  }
+
+  @TearDown
+  public void tearDown() {
+    IoUtil.deleteRecursive(root);
+  }
+
+  @State(Scope.Thread)
+  public static class Index {
+    File indexDirectory;
+    FSLuceneSearcher searcher;
+    long startTime;
+
+    void prepare(BulkIndexingBenchmark benchmark, boolean build) throws Exception {
+      indexDirectory = Files.createTempDirectory("index-").toFile();
+      if (build) {
+        FSLuceneSearcher builder = new FSLuceneSearcher(indexDirectory, new MediaTypeFilter());
+        builder.init(benchmark.fileSystem);
+        builder.close();
+      }
+      searcher = new FSLuceneSearcher(indexDirectory, new MediaTypeFilter());
+      System.gc();
+      for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+        pool.resetPeakUsage();
+      }
+      startTime = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+      final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+      final IndexingStatus status = searcher.getIndexingStatus();
+      long peakHeap = 0;
+      for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+        if (pool.getType() == MemoryType.HEAP) {
+          peakHeap += pool.getPeakUsage().getUsed();
+        }
+      }
+      System.out.printf(
+          "%n%d files/sec, %d files indexed, peak heap %d MB%n",
+          status.getProcessedFiles() * 1000L / Math.max(1, elapsedMillis),
+          status.getAddedFiles() + status.getUpdatedFiles(),
+          peakHeap / (1024 * 1024));
+      searcher.close();
+      IoUtil.deleteRecursive(indexDirectory);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class EmptyIndex extends Index {
+    @Setup(Level.Iteration)
+    public void setUp(BulkIndexingBenchmark benchmark) throws Exception {
+      prepare(benchmark, false);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class BuiltIndex extends Index {
+    @Setup(Level.Iteration)
+    public void setUp(BulkIndexingBenchmark benchmark) throws Exception {
+      prepare(benchmark, true);
+    }
+  }
+
+  @Benchmark
+  public IndexingStatus indexFromScratch(EmptyIndex index) throws Exception {
+    index.searcher.init(fileSystem);
+    return index.searcher.getIndexingStatus();
+  }
+
+  @Benchmark
+  public IndexingStatus reconcileUnchanged(BuiltIndex index) throws Exception {
+    index.searcher.init(fileSystem);
+    return index.searcher.getIndexingStatus();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(BulkIndexingBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  private static byte[] source(int module, int pkg, int file) {
+    StringBuilder source = new StringBuilder();
+    source
+        .append("package org.eclipse.che.p")
+        .append(pkg)
+        .append(";\n\nimport java.util.List;\n\n/** Generated class of module ")
+        .append(module)
+        .append(". */\npublic class Class")
+        .append(file)
+        .append(" {\n");
+    for (int i = 0; i < 20; i++) {
+      source
+          .append("  public String getValue")
+          .append(i)
+          .append("(List<String> values) {\n    return values.get(")
+          .append(i)
+          .append(") + \"module")
+          .append(module)
+          .append("\";\n  }\n\n");
+    }
+    return source.append("}\n").toString().getBytes(UTF_8);
+  }
+}
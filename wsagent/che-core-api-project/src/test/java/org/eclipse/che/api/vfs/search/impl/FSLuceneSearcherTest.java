@@ -14,6 +14,7 @@ import static com.google.common.collect.Lists.newArrayList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -22,13 +23,24 @@ import static org.testng.Assert.assertTrue;
 
 import com.google.common.base.Optional;
 import java.io.File;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.List;
+import org.apache.lucene.analysis.core.SimpleAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.FSDirectory;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingStatus;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -306,6 +318,131 @@ public class FSLuceneSearcherTest {
     verify(closeCallback).onClose();
   }
 
+  @Test
+  public void keepsIndexAfterSearcherClosed() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[1]);
+    searcher.init(virtualFileSystem);
+    searcher.close();
+
+    searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+    searcher.init(virtualFileSystem);
+
+    IndexingStatus status = searcher.getIndexingStatus();
+    assertTrue(status.isReady());
+    assertEquals(status.getScannedFiles(), 1);
+    assertEquals(status.getProcessedFiles(), 1);
+    assertEquals(status.getAddedFiles(), 0);
+    assertEquals(status.getUpdatedFiles(), 0);
+    List<String> paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+    assertEquals(newArrayList("/folder/xxx.txt"), paths);
+  }
+
+  @Test
+  public void reconcilesIndexWithFilesChangedWhileSearcherClosed() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    VirtualFile changed = folder.createFile("changed.txt", TEST_CONTENT[1]);
+    VirtualFile deleted = folder.createFile("deleted.txt", TEST_CONTENT[2]);
+    folder.createFile("unchanged.txt", TEST_CONTENT[3]);
+    searcher.init(virtualFileSystem);
+    searcher.close();
+
+    changed.updateContent(TEST_CONTENT[4]);
+    deleted.delete();
+    folder.createFile("added.txt", TEST_CONTENT[0]);
+    searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+    searcher.init(virtualFileSystem);
+
+    IndexingStatus status = searcher.getIndexingStatus();
+    assertTrue(status.isReady());
+    assertEquals(status.getScannedFiles(), 3);
+    assertEquals(status.getProcessedFiles(), 3);
+    assertEquals(status.getAddedFiles(), 1);
+    assertEquals(status.getUpdatedFiles(), 1);
+    assertEquals(status.getDeletedFiles(), 1);
+    assertEquals(
+        searcher.search(new QueryExpression().setText("think")).getFilePaths(),
+        newArrayList("/folder/changed.txt"));
+    assertEquals(
+        searcher.search(new QueryExpression().setText("apollo")).getFilePaths(),
+        newArrayList("/folder/added.txt"));
+    assertTrue(searcher.search(new QueryExpression().setText("be")).getFilePaths().isEmpty());
+    assertEquals(
+        searcher.search(new QueryExpression().setText("nasa")).getFilePaths(),
+        newArrayList("/folder/unchanged.txt"));
+  }
+
+  @Test
+  public void doesNotReadTouchedFileAgainAfterItsStateIsUpdated() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile file =
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[1]);
+    searcher.init(virtualFileSystem);
+    searcher.close();
+    long modificationDate = file.getLastModificationDate();
+    while (file.getLastModificationDate() == modificationDate) {
+      file.updateContent(TEST_CONTENT[1]);
+    }
+    searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+    searcher.init(virtualFileSystem);
+    assertEquals(searcher.getIndexingStatus().getUpdatedFiles(), 0);
+    searcher.close();
+
+    searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+    searcher.init(virtualFileSystem);
+
+    verify(filter, times(2)).accept(withName("xxx.txt"));
+    assertEquals(searcher.getIndexingStatus().getProcessedFiles(), 1);
+    assertEquals(
+        searcher.search(new QueryExpression().setText("should")).getFilePaths(),
+        newArrayList("/folder/xxx.txt"));
+  }
+
+  @Test
+  public void reindexesUnchangedFilesIndexedWithPreviousVersion() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile file =
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[1]);
+    // document of the file written without fields added by later versions of the index
+    try (IndexWriter writer =
+        new IndexWriter(
+            FSDirectory.open(indexDirectory.toPath()),
+            new IndexWriterConfig(new SimpleAnalyzer()))) {
+      Document doc = new Document();
+      doc.add(new StringField("path", "/folder/xxx.txt", Field.Store.YES));
+      doc.add(new StoredField("modificationDate", file.getLastModificationDate()));
+      doc.add(new StoredField("length", file.getLength()));
+      doc.add(new TextField("text", TEST_CONTENT[1], Field.Store.YES));
+      writer.addDocument(doc);
+    }
+
+    searcher.init(virtualFileSystem);
+
+    assertEquals(searcher.getIndexingStatus().getUpdatedFiles(), 1);
+    assertEquals(
+        searcher
+            .search(
+                new QueryExpression()
+                    .setText("should think")
+                    .setTextMode(QueryExpression.TextMode.SUBSTRING))
+            .getFilePaths(),
+        newArrayList("/folder/xxx.txt"));
+  }
+
+  @Test
+  public void recreatesIndexWhichCanNotBeRead() throws Exception {
+    Files.write(new File(indexDirectory, "segments_1").toPath(), "corrupted".getBytes());
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[1]);
+
+    searcher.init(virtualFileSystem);
+
+    List<String> paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+    assertEquals(newArrayList("/folder/xxx.txt"), paths);
+    assertEquals(searcher.getIndexingStatus().getAddedFiles(), 1);
+  }
+
   @Test
   public void excludesFilesFromIndexWithFilter() throws Exception {
     VirtualFileSystem virtualFileSystem = virtualFileSystem();
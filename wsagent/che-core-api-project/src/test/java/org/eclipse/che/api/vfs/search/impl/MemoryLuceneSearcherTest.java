@@ -13,6 +13,7 @@ package org.eclipse.che.api.vfs.search.impl;
 import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
@@ -21,8 +22,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.base.Optional;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
@@ -30,6 +34,7 @@ import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
+import org.eclipse.che.api.vfs.search.impl.LuceneSearcher.OffsetData;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -101,6 +106,172 @@ public class MemoryLuceneSearcherTest {
     assertEquals(newArrayList("/folder/zzz.txt"), paths);
   }
 
+  @Test
+  public void addsFileTreeWithManyFilesInIndexWithoutDuplicates() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    searcher.init(virtualFileSystem);
+    for (int i = 0; i < 5; i++) {
+      VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder" + i);
+      for (int j = 0; j < 50; j++) {
+        folder.createFile("file" + j + ".txt", TEST_CONTENT[j % TEST_CONTENT.length]);
+      }
+    }
+
+    searcher.add(virtualFileSystem.getRoot());
+    searcher.add(virtualFileSystem.getRoot());
+
+    assertEquals(250, searcher.search(new QueryExpression().setName("*.txt")).getTotalHits());
+    assertEquals(65, searcher.search(new QueryExpression().setText("should")).getTotalHits());
+  }
+
+  @Test
+  public void indexesLargeFileWithoutReadingItInMemory() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    searcher.init(virtualFileSystem);
+    StringBuilder content = new StringBuilder();
+    while (content.length() <= 1024 * 1024) {
+      content.append(TEST_CONTENT[0]).append('\n');
+    }
+    content.append(TEST_CONTENT[1]);
+    VirtualFile file =
+        virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", content.toString());
+
+    searcher.add(file);
+
+    SearchResult result =
+        searcher.search(new QueryExpression().setText("should").setIncludePositions(true));
+    assertEquals(newArrayList(file.getPath().toString()), result.getFilePaths());
+    assertTrue(result.getResults().get(0).getData().isEmpty());
+  }
+
+  @Test
+  public void searchesSubstringOnlyInLeadingTextOfLargeFile() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    searcher.init(virtualFileSystem);
+    StringBuilder content = new StringBuilder();
+    while (content.length() <= 1024 * 1024) {
+      content.append(TEST_CONTENT[0]).append('\n');
+    }
+    content.append(TEST_CONTENT[1]);
+    VirtualFile file =
+        virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", content.toString());
+
+    searcher.add(file);
+
+    SearchResult result =
+        searcher.search(
+            new QueryExpression()
+                .setText("major human")
+                .setTextMode(QueryExpression.TextMode.SUBSTRING)
+                .setIncludePositions(true));
+    assertEquals(newArrayList(file.getPath().toString()), result.getFilePaths());
+    OffsetData first = result.getResults().get(0).getData().get(0);
+    assertEquals(0, first.lineNum);
+    assertEquals(TEST_CONTENT[0], first.line);
+    assertTrue(
+        searcher
+            .search(
+                new QueryExpression()
+                    .setText("should think")
+                    .setTextMode(QueryExpression.TextMode.SUBSTRING))
+            .getFilePaths()
+            .isEmpty());
+  }
+
+  @Test
+  public void findsLinesOfMatches() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    virtualFileSystem
+        .getRoot()
+        .createFolder("aaa")
+        .createFile(
+            "aaa.txt", TEST_CONTENT[2] + "\r\n" + TEST_CONTENT[1] + "\n\n" + TEST_CONTENT[1]);
+    searcher.init(virtualFileSystem);
+
+    List<OffsetData> positions =
+        searcher
+            .search(new QueryExpression().setText("thin*").setIncludePositions(true))
+            .getResults()
+            .get(0)
+            .getData();
+
+    assertEquals(2, positions.size());
+    assertEquals("think", positions.get(0).phrase);
+    assertEquals(1, positions.get(0).lineNum);
+    assertEquals(TEST_CONTENT[1], positions.get(0).line);
+    assertEquals(TEST_CONTENT[2].length() + 2 + 17, positions.get(0).startOffset);
+    assertEquals(3, positions.get(1).lineNum);
+    assertEquals(TEST_CONTENT[1], positions.get(1).line);
+  }
+
+  @Test
+  public void findsPositionsOfPhraseMatchesOnly() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    virtualFileSystem
+        .getRoot()
+        .createFolder("aaa")
+        .createFile("aaa.txt", "think twice\nyou should think twice\ntwice think");
+    searcher.init(virtualFileSystem);
+
+    List<OffsetData> positions =
+        searcher
+            .search(new QueryExpression().setText("\"should think\"").setIncludePositions(true))
+            .getResults()
+            .get(0)
+            .getData();
+
+    assertEquals(2, positions.size());
+    assertEquals("should", positions.get(0).phrase);
+    assertEquals("think", positions.get(1).phrase);
+    assertEquals(1, positions.get(1).lineNum);
+    assertEquals("you should think twice", positions.get(1).line);
+  }
+
+  @Test
+  public void findsPositionsOfMatchesWithinLimit() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    virtualFileSystem
+        .getRoot()
+        .createFolder("aaa")
+        .createFile("aaa.txt", TEST_CONTENT[1] + '\n' + TEST_CONTENT[1]);
+    searcher.setMaxHighlightedChars(TEST_CONTENT[1].length());
+    searcher.init(virtualFileSystem);
+
+    List<OffsetData> positions =
+        searcher
+            .search(new QueryExpression().setText("think").setIncludePositions(true))
+            .getResults()
+            .get(0)
+            .getData();
+
+    assertEquals(1, positions.size());
+    assertEquals(0, positions.get(0).lineNum);
+  }
+
+  @Test
+  public void findsPositionsOfFuzzyMatches() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    virtualFileSystem
+        .getRoot()
+        .createFolder("aaa")
+        .createFile("aaa.txt", "think twice\nthing\nthin ice");
+    searcher.init(virtualFileSystem);
+
+    List<OffsetData> positions =
+        searcher
+            .search(new QueryExpression().setText("thinc~1").setIncludePositions(true))
+            .getResults()
+            .get(0)
+            .getData();
+
+    assertEquals(3, positions.size());
+    assertEquals("think", positions.get(0).phrase);
+    assertEquals("thing", positions.get(1).phrase);
+    assertEquals(1, positions.get(1).lineNum);
+    assertEquals("thin", positions.get(2).phrase);
+    assertEquals(2, positions.get(2).lineNum);
+  }
+
   @Test
   public void updatesSingleFileInIndex() throws Exception {
     VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -298,6 +469,242 @@ public class MemoryLuceneSearcherTest {
     assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
   }
 
+  @Test
+  public void retrievesAllPagesOfSearchResultWithCursor() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    for (int i = 0; i < 100; i++) {
+      virtualFileSystem
+          .getRoot()
+          .createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.init(virtualFileSystem);
+
+    Set<String> paths = new LinkedHashSet<>();
+    QueryExpression query = new QueryExpression().setText("spaceflight").setMaxItems(7);
+    int pages = 0;
+    while (query != null) {
+      SearchResult page = searcher.search(query);
+      paths.addAll(page.getFilePaths());
+      pages++;
+      query = page.getNextPageQueryExpression().orNull();
+      if (query != null) {
+        assertNotNull(query.getCursor());
+        // Position of the next page is taken from the cursor
+        query.setSkipCount(0);
+      }
+    }
+
+    assertEquals(4, pages);
+    assertEquals(25, paths.size());
+  }
+
+  @Test
+  public void skipsItemsOfPreviousPagesWhenIndexIsChangedAfterCursorIsCreated() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    for (int i = 0; i < 100; i++) {
+      virtualFileSystem
+          .getRoot()
+          .createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.init(virtualFileSystem);
+    SearchResult firstPage =
+        searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(7));
+    QueryExpression nextPageQuery = firstPage.getNextPageQueryExpression().get();
+
+    searcher.add(virtualFileSystem.getRoot().createFile("new", TEST_CONTENT[1]));
+    SearchResult nextPage = searcher.search(nextPageQuery.setSkipCount(0));
+
+    List<String> expectedPaths =
+        searcher
+            .search(new QueryExpression().setText("spaceflight").setMaxItems(7).setSkipCount(7))
+            .getFilePaths();
+    assertEquals(expectedPaths, nextPage.getFilePaths());
+    List<String> allPaths = new ArrayList<>(firstPage.getFilePaths());
+    allPaths.addAll(nextPage.getFilePaths());
+    assertEquals(14, new LinkedHashSet<>(allPaths).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsCursorCreatedForOtherQuery() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    for (int i = 0; i < 100; i++) {
+      virtualFileSystem
+          .getRoot()
+          .createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.init(virtualFileSystem);
+    SearchResult firstPage =
+        searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(7));
+    String cursor = firstPage.getNextPageQueryExpression().get().getCursor();
+
+    searcher.search(new QueryExpression().setText("mission").setCursor(cursor));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsMalformedCursor() throws Exception {
+    searcher.init(virtualFileSystem());
+
+    searcher.search(new QueryExpression().setText("mission").setCursor("not a cursor"));
+  }
+
+  @Test
+  public void findsFilesContainingExactSubstring() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    folder.createFile("xxx.java", "class Xxx {\n  int size() { return list.size(); }\n}");
+    folder.createFile("zzz.java", "class Zzz {\n  int size = list.size;\n}");
+    searcher.init(virtualFileSystem);
+
+    SearchResult result =
+        searcher.search(
+            new QueryExpression()
+                .setText("list.size()")
+                .setTextMode(QueryExpression.TextMode.SUBSTRING)
+                .setIncludePositions(true));
+
+    assertEquals(newArrayList("/folder/xxx.java"), result.getFilePaths());
+    List<OffsetData> matches = result.getResults().get(0).getData();
+    assertEquals(1, matches.size());
+    assertEquals("list.size()", matches.get(0).phrase);
+    assertEquals(34, matches.get(0).startOffset);
+    assertEquals(1, matches.get(0).lineNum);
+    assertEquals("  int size() { return list.size(); }", matches.get(0).line);
+  }
+
+  @Test
+  public void matchesCaseOfSubstringIfQueryIsCaseSensitive() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    folder.createFile("xxx.txt", TEST_CONTENT[0]);
+    folder.createFile("zzz.txt", TEST_CONTENT[0].toLowerCase());
+    searcher.init(virtualFileSystem);
+
+    QueryExpression query =
+        new QueryExpression()
+            .setText("Apollo set")
+            .setTextMode(QueryExpression.TextMode.SUBSTRING);
+    assertEquals(2, searcher.search(query).getFilePaths().size());
+    assertEquals(
+        newArrayList("/folder/xxx.txt"),
+        searcher.search(query.setCaseSensitive(true)).getFilePaths());
+  }
+
+  @Test
+  public void findsFilesMatchingRegularExpression() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    folder.createFile("xxx.java", "String getName() {\n  return getFirstName() + name;\n}");
+    folder.createFile("yyy.java", "String name() {\n  return getname;\n}");
+    folder.createFile("zzz.java", "void setName(String name) {}");
+    searcher.init(virtualFileSystem);
+
+    SearchResult result =
+        searcher.search(
+            new QueryExpression()
+                .setText("get[A-Z]\\w*\\(\\)")
+                .setTextMode(QueryExpression.TextMode.REGEX)
+                .setCaseSensitive(true)
+                .setIncludePositions(true));
+
+    assertEquals(newArrayList("/folder/xxx.java"), result.getFilePaths());
+    List<OffsetData> matches = result.getResults().get(0).getData();
+    assertEquals(2, matches.size());
+    assertEquals("getName()", matches.get(0).phrase);
+    assertEquals(0, matches.get(0).lineNum);
+    assertEquals("getFirstName()", matches.get(1).phrase);
+    assertEquals(1, matches.get(1).lineNum);
+  }
+
+  @Test
+  public void findsFilesMatchingRegularExpressionWithAlternation() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    for (int i = 0; i < TEST_CONTENT.length; i++) {
+      folder.createFile("file" + i + ".txt", TEST_CONTENT[i]);
+    }
+    searcher.init(virtualFileSystem);
+
+    List<String> paths =
+        searcher
+            .search(
+                new QueryExpression()
+                    .setText("^to be|twice$")
+                    .setTextMode(QueryExpression.TextMode.REGEX))
+            .getFilePaths();
+
+    assertEquals(newArrayList("/folder/file1.txt", "/folder/file2.txt"), paths);
+  }
+
+  @Test
+  public void extractsLiteralsRequiredByRegularExpression() throws Exception {
+    assertEquals(
+        newArrayList("ge", "Name", "(", ")"),
+        CodePattern.getRequiredLiterals("get?Name\\s*\\(\\w+\\)"));
+    assertEquals(newArrayList("abc", "def"), CodePattern.getRequiredLiterals("abc(x|y)*def"));
+    assertEquals(newArrayList("ab", "b"), CodePattern.getRequiredLiterals("ab+[c-z]{2}b"));
+    assertTrue(CodePattern.getRequiredLiterals("abc|def").isEmpty());
+    assertTrue(CodePattern.getRequiredLiterals("\\Qa.b\\E").isEmpty());
+  }
+
+  @Test
+  public void skipsFilesWhereRegularExpressionMatchesOnlyEmptyText() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    folder.createFile("xxx.txt", "axxb");
+    folder.createFile("zzz.txt", "ab");
+    searcher.init(virtualFileSystem);
+
+    SearchResult result =
+        searcher.search(
+            new QueryExpression()
+                .setText("x*")
+                .setTextMode(QueryExpression.TextMode.REGEX)
+                .setIncludePositions(true));
+
+    assertEquals(newArrayList("/folder/xxx.txt"), result.getFilePaths());
+    assertEquals("xx", result.getResults().get(0).getData().get(0).phrase);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsInvalidRegularExpression() throws Exception {
+    searcher.init(virtualFileSystem());
+
+    searcher.search(
+        new QueryExpression().setText("get(").setTextMode(QueryExpression.TextMode.REGEX));
+  }
+
+  @Test
+  public void retrievesAllPagesOfCodeSearchResultWithCursor() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    for (int i = 0; i < 100; i++) {
+      virtualFileSystem
+          .getRoot()
+          .createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.init(virtualFileSystem);
+
+    Set<String> paths = new LinkedHashSet<>();
+    QueryExpression query =
+        new QueryExpression()
+            .setText("human space")
+            .setTextMode(QueryExpression.TextMode.SUBSTRING)
+            .setMaxItems(7);
+    int pages = 0;
+    while (query != null) {
+      SearchResult page = searcher.search(query);
+      paths.addAll(page.getFilePaths());
+      pages++;
+      query = page.getNextPageQueryExpression().orNull();
+      if (query != null) {
+        assertEquals(QueryExpression.TextMode.SUBSTRING, query.getTextMode());
+        query.setSkipCount(0);
+      }
+    }
+
+    assertEquals(4, pages);
+    assertEquals(25, paths.size());
+  }
+
   private VirtualFileSystem virtualFileSystem() throws Exception {
     return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
   }
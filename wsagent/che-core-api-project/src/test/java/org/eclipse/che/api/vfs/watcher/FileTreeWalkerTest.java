@@ -13,8 +13,11 @@ package org.eclipse.che.api.vfs.watcher;
 import static java.io.File.createTempFile;
 import static java.lang.Thread.sleep;
 import static org.apache.commons.io.FileUtils.write;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.nio.file.Path;
@@ -62,6 +65,8 @@ public class FileTreeWalkerTest {
 
   @Mock Consumer<Path> directoryDeleteConsumerMock;
 
+  @Mock FileWatcherService fileWatcherServiceMock;
+
   @Before
   public void setUp() throws Exception {
     fileTreeWalker =
@@ -190,4 +195,126 @@ public class FileTreeWalkerTest {
     fileTreeWalker.walk();
     verify(directoryCreatedConsumerMock, never()).accept(file.toPath());
   }
+
+  @Test
+  public void shouldRunFileCreatedConsumerOnFileWatcherEvent() throws Exception {
+    FileWatcherEventHandler eventHandler = watchTree();
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    fileTreeWalker.walk();
+
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+    eventHandler.handleDirectoryChange(folder.toPath());
+    fileTreeWalker.walkChanged();
+
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+    assertEquals(1, fileTreeWalker.getChangesMetrics().getLastListedDirectories());
+  }
+
+  @Test
+  public void shouldRunFileUpdateConsumerOnFileWatcherEvent() throws Exception {
+    FileWatcherEventHandler eventHandler = watchTree();
+    fileUpdateConsumers.add(fileUpdateConsumerMock);
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+    sleep(FS_LATENCY_DELAY);
+    fileTreeWalker.walk();
+
+    write(file, TEST_FILE_CONTENT);
+    eventHandler.handleDirectoryChange(rootFolder.getRoot().toPath());
+    fileTreeWalker.walkChanged();
+
+    verify(fileUpdateConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldRunDeleteConsumersForSubtreeOfDeletedDirectory() throws Exception {
+    FileWatcherEventHandler eventHandler = watchTree();
+    fileDeleteConsumers.add(fileDeleteConsumerMock);
+    directoryDeleteConsumers.add(directoryDeleteConsumerMock);
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+    fileTreeWalker.walk();
+
+    file.delete();
+    folder.delete();
+    eventHandler.handleDirectoryChange(rootFolder.getRoot().toPath());
+    fileTreeWalker.walkChanged();
+
+    verify(fileDeleteConsumerMock).accept(file.toPath());
+    verify(directoryDeleteConsumerMock).accept(folder.toPath());
+  }
+
+  @Test
+  public void shouldNotRescanTreeWithoutFileWatcherEvents() throws Exception {
+    watchTree();
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    fileTreeWalker.walk();
+
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+    fileTreeWalker.walkChanged();
+
+    verify(fileCreatedConsumerMock, never()).accept(file.toPath());
+    assertEquals(0, fileTreeWalker.getChangesMetrics().getScans());
+  }
+
+  @Test
+  public void shouldListOnlyModifiedDirectoriesOfWatchedTreeOnCheckpoint() throws Exception {
+    watchTree();
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    rootFolder.newFolder("other");
+    sleep(FS_LATENCY_DELAY);
+    fileTreeWalker.walk();
+    assertEquals(3, fileTreeWalker.getCheckpointMetrics().getLastListedDirectories());
+
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+    fileTreeWalker.walk();
+
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+    assertEquals(3, fileTreeWalker.getCheckpointMetrics().getLastVisitedDirectories());
+    assertEquals(1, fileTreeWalker.getCheckpointMetrics().getLastListedDirectories());
+  }
+
+  @Test
+  public void shouldListUnwatchedDirectoriesOnEachCheckpoint() throws Exception {
+    FileWatcherEventHandler eventHandler = new FileWatcherEventHandler(rootFolder.getRoot());
+    fileTreeWalker.setFileWatcher(fileWatcherServiceMock, eventHandler);
+    fileUpdateConsumers.add(fileUpdateConsumerMock);
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+    sleep(FS_LATENCY_DELAY);
+    fileTreeWalker.walk();
+
+    write(file, TEST_FILE_CONTENT);
+    fileTreeWalker.walk();
+
+    verify(fileUpdateConsumerMock).accept(file.toPath());
+    assertEquals(2, fileTreeWalker.getCheckpointMetrics().getLastListedDirectories());
+    verify(fileWatcherServiceMock, never()).register(any(Path.class));
+  }
+
+  @Test
+  public void shouldListDirectoryOnceMoreAfterItBecomesWatched() throws Exception {
+    FileWatcherEventHandler eventHandler = new FileWatcherEventHandler(rootFolder.getRoot());
+    fileTreeWalker.setFileWatcher(fileWatcherServiceMock, eventHandler);
+    fileTreeWalker.walk();
+
+    when(fileWatcherServiceMock.isRegistered(any(Path.class))).thenReturn(true);
+    fileTreeWalker.walk();
+    assertEquals(1, fileTreeWalker.getCheckpointMetrics().getLastListedDirectories());
+    fileTreeWalker.walk();
+
+    assertEquals(0, fileTreeWalker.getCheckpointMetrics().getLastListedDirectories());
+  }
+
+  private FileWatcherEventHandler watchTree() {
+    FileWatcherEventHandler eventHandler = new FileWatcherEventHandler(rootFolder.getRoot());
+    when(fileWatcherServiceMock.isRegistered(any(Path.class))).thenReturn(true);
+    fileTreeWalker.setFileWatcher(fileWatcherServiceMock, eventHandler);
+    return eventHandler;
+  }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.watcher;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures lookup of matchers of file watcher events among hundreds of registered glob patterns,
+ * e.g. watch patterns of several language servers and excludes. Most of the patterns end with a
+ * file name or an extension, a few of them end with a wildcard and a few are lambdas. {@code
+ * linearScan} reproduces the former check of each matcher for each event.
+ *
+ * <p>Not a part of the regular test run, execute {@link #main(String[])} to get the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathMatcherIndexBenchmark {
+  private static final int PATHS = 1024;
+
+  @Param({"100", "500"})
+  public int patterns;
+
+  private List<PathMatcher> matchers;
+  private PathMatcherIndex index;
+  private Path[] paths;
+
+  @Setup
+  public void setUp() {
+    matchers = new ArrayList<>(patterns);
+    for (int i = 0; matchers.size() < patterns; i++) {
+      matchers.add(PathMatchers.of("glob:**/*.ext" + i));
+      matchers.add(PathMatchers.of("glob:**/config-" + i + ".{json,yaml}"));
+      matchers.add(PathMatchers.of("glob:**/Build" + i));
+      if (i % 20 == 0) {
+        matchers.add(PathMatchers.of("glob:**/generated-" + i + "/**"));
+        final String name = "tmp-" + i;
+        matchers.add(path -> path.getFileName().toString().startsWith(name));
+      }
+    }
+    index = PathMatcherIndex.of(matchers);
+
+    final Random random = new Random(42);
+    paths = new Path[PATHS];
+    for (int i = 0; i < PATHS; i++) {
+      final String dir = "/projects/module-" + random.nextInt(100) + "/src/main/";
+      switch (i % 4) {
+        case 0:
+          paths[i] = Paths.get(dir + "File" + i + ".ext" + random.nextInt(patterns));
+          break;
+        case 1:
+          paths[i] = Paths.get(dir + "config-" + random.nextInt(patterns) + ".json");
+          break;
+        default:
+          paths[i] = Paths.get(dir + "File" + i + ".java");
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PATHS)
+  public void linearScan(Blackhole blackhole) {
+    for (Path path : paths) {
+      boolean matches = false;
+      for (PathMatcher matcher : matchers) {
+        if (matcher.matches(path)) {
+          matches = true;
+          break;
+        }
+      }
+      blackhole.consume(matches);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PATHS)
+  public void index(Blackhole blackhole) {
+    for (Path path : paths) {
+      blackhole.consume(index.anyMatch(path));
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(PathMatcherIndexBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.watcher;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.che.api.vfs.watcher.IndexablePathMatcher.KeyType;
+import org.junit.Test;
+
+/** Tests for {@link PathMatcherIndex} and {@link PathMatchers} */
+public class PathMatcherIndexTest {
+
+  @Test
+  public void shouldIndexGlobEndingWithFileName() throws Exception {
+    IndexablePathMatcher matcher = (IndexablePathMatcher) PathMatchers.of("glob:**/pom.xml");
+
+    assertEquals(KeyType.FILE_NAME, matcher.getKeyType());
+    assertEquals(ImmutableSet.of("pom.xml"), matcher.getKeys());
+  }
+
+  @Test
+  public void shouldIndexGlobWithGroupOfAlternatives() throws Exception {
+    IndexablePathMatcher matcher = (IndexablePathMatcher) PathMatchers.of("glob:{pom,build}.xml");
+
+    assertEquals(KeyType.EXTENSION, matcher.getKeyType());
+    assertEquals(ImmutableSet.of("xml"), matcher.getKeys());
+
+    matcher = (IndexablePathMatcher) PathMatchers.of("glob:{pom.xml,build.gradle}");
+
+    assertEquals(KeyType.FILE_NAME, matcher.getKeyType());
+    assertEquals(ImmutableSet.of("pom.xml", "build.gradle"), matcher.getKeys());
+  }
+
+  @Test
+  public void shouldIndexGlobEndingWithExtensions() throws Exception {
+    IndexablePathMatcher matcher = (IndexablePathMatcher) PathMatchers.of("glob:**/*.{java,kt}");
+
+    assertEquals(KeyType.EXTENSION, matcher.getKeyType());
+    assertEquals(ImmutableSet.of("java", "kt"), matcher.getKeys());
+  }
+
+  @Test
+  public void shouldNotIndexGlobEndingWithWildcard() throws Exception {
+    assertFalse(PathMatchers.of("glob:**/target/**") instanceof IndexablePathMatcher);
+    assertFalse(PathMatchers.of("glob:**/*.{java,k*}") instanceof IndexablePathMatcher);
+    assertFalse(PathMatchers.of("glob:**/Makefile*") instanceof IndexablePathMatcher);
+    assertFalse(PathMatchers.of("regex:.*\\.java") instanceof IndexablePathMatcher);
+  }
+
+  @Test
+  public void shouldFindMatchersOfPath() throws Exception {
+    PathMatcher pom = PathMatchers.of("glob:**/pom.xml");
+    PathMatcher java = PathMatchers.of("glob:**/*.java");
+    PathMatcher git = PathMatchers.nameElement(".git");
+    PathMatcher target = PathMatchers.of("glob:**/target/**");
+    PathMatcher lambda = path -> path.toString().contains("src");
+    PathMatcherIndex index = PathMatcherIndex.of(asList(pom, java, git, target, lambda));
+
+    assertEquals(asList(java, lambda), findMatches(index, Paths.get("/p/src/Main.java")));
+    assertEquals(asList(pom), findMatches(index, Paths.get("/p/pom.xml")));
+    assertEquals(asList(git), findMatches(index, Paths.get("/p/.git/pom.xml.orig")));
+    assertEquals(asList(target), findMatches(index, Paths.get("/p/target/classes")));
+    assertEquals(asList(), findMatches(index, Paths.get("/p/pom.xml/java")));
+    assertTrue(index.anyMatch(Paths.get("/p/.git/.git")));
+    assertFalse(index.anyMatch(Paths.get("/p/Main.class")));
+  }
+
+  @Test
+  public void shouldNotFindRemovedMatchers() throws Exception {
+    PathMatcher java = PathMatchers.of("glob:**/*.java");
+    PathMatcherIndex index = new PathMatcherIndex();
+
+    assertTrue(index.add(java));
+    assertFalse(index.add(java));
+    assertTrue(index.anyMatch(Paths.get("/p/Main.java")));
+
+    assertTrue(index.remove(java));
+    assertFalse(index.anyMatch(Paths.get("/p/Main.java")));
+    assertTrue(index.isEmpty());
+  }
+
+  @Test
+  public void shouldVerifyConditionOfFileNameMatcher() throws Exception {
+    PathMatcher matcher =
+        PathMatchers.fileName("HEAD", path -> path.getParent().endsWith(".git"));
+    PathMatcherIndex index = PathMatcherIndex.of(asList(matcher));
+
+    assertTrue(index.anyMatch(Paths.get("/p/.git/HEAD")));
+    assertFalse(index.anyMatch(Paths.get("/p/src/HEAD")));
+  }
+
+  private static List<PathMatcher> findMatches(PathMatcherIndex index, Path path) {
+    List<PathMatcher> matches = new ArrayList<>();
+    index.forEachMatch(path, matches::add);
+    return matches;
+  }
+}
@@ -731,6 +731,8 @@ class JGitConnection implements GitConnection {
 
   @Override
   public DiffPage diff(DiffParams params) throws GitException {
+    // The page closes the repository after writing, which may happen after closing of connection
+    repository.incrementOpen();
     return new JGitDiffPage(params, repository);
   }
 
@@ -11,11 +11,19 @@
  */
 package org.eclipse.che.git.impl.jgit;
 
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutionException;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
@@ -35,8 +43,12 @@ import org.eclipse.jgit.transport.UserAgent;
 /**
  * JGit implementation for GitConnectionFactory
  *
+ * <p>Repositories are cached by work directory and shared by connections, so pack files, refs and
+ * config of a repository aren't opened and parsed again for each connection.
+ *
  * @author Tareq Sharafy (tareq.sha@gmail.com)
  */
+@Singleton
 public class JGitConnectionFactory extends GitConnectionFactory {
 
   private static final String USER_AGENT = "git/2.1.0";
@@ -45,6 +57,24 @@ public class JGitConnectionFactory extends GitConnectionFactory {
   private final SshKeyProvider sshKeyProvider;
   private final EventService eventService;
   private final GitUserResolver userResolver;
+  /**
+   * Guards usage counters of cached repositories, so an evicted repository can't be closed between
+   * its lookup and the increment of its usage counter by a new connection.
+   */
+  private final Object repositoriesLock = new Object();
+  /** Work directory -> repository, the cache keeps one usage of the repository open. */
+  private final Cache<Path, Repository> repositories =
+      CacheBuilder.newBuilder()
+          .concurrencyLevel(8)
+          .maximumSize(256)
+          .expireAfterAccess(10, MINUTES)
+          .removalListener(
+              (RemovalNotification<Path, Repository> notification) -> {
+                synchronized (repositoriesLock) {
+                  notification.getValue().close();
+                }
+              })
+          .build();
 
   @Inject
   public JGitConnectionFactory(
@@ -87,13 +117,35 @@ public class JGitConnectionFactory extends GitConnectionFactory {
   @Override
   public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory)
       throws GitException {
-    Repository gitRepo = createRepository(workDir);
+    Repository gitRepo = getRepository(workDir);
     JGitConnection conn =
         new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, eventService, userResolver);
     conn.setOutputLineConsumerFactory(outputPublisherFactory);
     return conn;
   }
 
+  /**
+   * Returns cached repository of the work directory. A connection closes its repository, so the
+   * usage counter of the repository is incremented for each connection. A work directory without
+   * git directory, e.g. before clone or init, gets a new repository which isn't cached.
+   */
+  private Repository getRepository(File workDir) throws GitException {
+    final Path key = workDir.toPath().toAbsolutePath().normalize();
+    if (!new File(workDir, Constants.DOT_GIT).isDirectory()) {
+      repositories.invalidate(key);
+      return createRepository(workDir);
+    }
+    try {
+      synchronized (repositoriesLock) {
+        final Repository repository = repositories.get(key, () -> createRepository(workDir));
+        repository.incrementOpen();
+        return repository;
+      }
+    } catch (ExecutionException e) {
+      throw new GitException(e.getCause().getMessage(), e.getCause());
+    }
+  }
+
   private static Repository createRepository(File workDir) throws GitException {
     try {
       return new FileRepository(new File(workDir, Constants.DOT_GIT));
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.dto.shared.DTO;
+
+/** Workspace without its configuration and runtime, used for listing of workspaces. */
+@DTO
+public interface WorkspaceSummaryDto {
+
+  String getId();
+
+  void setId(String id);
+
+  WorkspaceSummaryDto withId(String id);
+
+  String getName();
+
+  void setName(String name);
+
+  WorkspaceSummaryDto withName(String name);
+
+  String getNamespace();
+
+  void setNamespace(String namespace);
+
+  WorkspaceSummaryDto withNamespace(String namespace);
+
+  /** Time of the last update of the workspace in milliseconds, or null if it is unknown. */
+  Long getUpdated();
+
+  void setUpdated(Long updated);
+
+  WorkspaceSummaryDto withUpdated(Long updated);
+
+  WorkspaceStatus getStatus();
+
+  void setStatus(WorkspaceStatus status);
+
+  WorkspaceSummaryDto withStatus(WorkspaceStatus status);
+}
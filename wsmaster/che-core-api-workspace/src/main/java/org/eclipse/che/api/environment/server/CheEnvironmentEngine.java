@@ -20,6 +20,7 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayDeque;
@@ -30,6 +31,7 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Pattern;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -82,6 +84,7 @@ import org.eclipse.che.api.machine.server.spi.InstanceProvider;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
+import org.eclipse.che.api.workspace.server.ConcurrentTaskGroup;
 import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
@@ -548,13 +551,13 @@ public class CheEnvironmentEngine {
 
     normalize(ownerName, workspaceId, internalEnv);
 
-    List<String> servicesOrder = startStrategy.order(internalEnv);
+    List<List<String>> startLevels = startStrategy.orderByLevels(internalEnv);
 
     normalizeNames(internalEnv);
 
     EnvironmentHolder environmentHolder =
         new EnvironmentHolder(
-            servicesOrder,
+            startLevels,
             internalEnv,
             envConfig,
             messageConsumer,
@@ -697,7 +700,13 @@ public class CheEnvironmentEngine {
             workspaceId, service.getId(), ownerName, machineName));
   }
 
-  /** Starts all machine from machine queue of environment. */
+  /**
+   * Starts all machine from machine queue of environment.
+   *
+   * <p>Machines are started level by level of the dependency graph. Machines of a level depend only
+   * on machines of the previous levels, so they are started in parallel, and the next level is
+   * started when all machines of the level are running.
+   */
   private void startEnvironmentQueue(
       String ownerName,
       String workspaceId,
@@ -706,10 +715,8 @@ public class CheEnvironmentEngine {
       boolean recover,
       MachineStartedHandler startedHandler)
       throws ServerException, AgentException, EnvironmentException {
-    // Starting all machines in environment one by one by getting configs
-    // from the corresponding starting queue.
-    // Config will be null only if there are no machines left in the queue
     String envName;
+    List<List<String>> startLevels;
     MessageConsumer<MachineLogMessage> envLogger;
     String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
     try (@SuppressWarnings("unused")
@@ -719,137 +726,46 @@ public class CheEnvironmentEngine {
         throw new ServerException("Environment start is interrupted.");
       }
       envName = environmentHolder.name;
+      startLevels = environmentHolder.startLevels;
       envLogger = environmentHolder.logger;
     }
 
     try {
       machineProvider.createNetwork(networkId);
 
-      String machineName = queuePeekOrFail(workspaceId);
-      while (machineName != null) {
-        boolean isDev = devMachineName.equals(machineName);
-        // Environment start is failed when any machine start is failed, so if any error
-        // occurs during machine creation then environment start fail is reported and
-        // start resources such as queue and descriptor must be cleaned up
-
-        CheServiceImpl service;
-        @Nullable ExtendedMachine extendedMachine;
-        try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.readLock(workspaceId)) {
-          EnvironmentHolder environmentHolder = environments.get(workspaceId);
-          if (environmentHolder == null) {
-            throw new EnvironmentStartInterruptedException(workspaceId, envName);
-          }
-          service = environmentHolder.environment.getServices().get(machineName);
-          extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
-        }
-        // should not happen
-        if (service == null) {
-          LOG.error(
-              "Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-              machineName,
-              workspaceId);
-          throw new ServerException(
-              format(
-                  "Environment of workspace with ID '%s' failed due to internal error",
-                  workspaceId));
-        }
-
-        final String finalMachineName = machineName;
-        // needed to reuse startInstance method and
-        // create machine instances by different implementation-specific providers
-        MachineStarter machineStarter =
-            (machineLogger, machineSource) -> {
-              CheServiceImpl serviceWithNormalizedSource =
-                  normalizeServiceSource(service, machineSource);
-              return machineProvider.startService(
-                  ownerName,
-                  workspaceId,
-                  envName,
-                  finalMachineName,
-                  isDev,
-                  networkId,
-                  serviceWithNormalizedSource,
-                  machineLogger);
-            };
-
-        MachineImpl machine =
-            MachineImpl.builder()
-                .setConfig(
-                    MachineConfigImpl.builder()
-                        .setDev(isDev)
-                        .setLimits(new MachineLimitsImpl(bytesToMB(service.getMemLimit())))
-                        .setType("docker")
-                        .setName(machineName)
-                        .setEnvVariables(service.getEnvironment())
-                        .build())
-                .setId(service.getId())
-                .setWorkspaceId(workspaceId)
-                .setStatus(MachineStatus.CREATING)
-                .setEnvName(envName)
-                .setOwner(creator)
-                .build();
-
-        checkInterruption(workspaceId, envName);
-        Instance instance = startInstance(recover, envLogger, machine, machineStarter);
-        checkInterruption(workspaceId, envName);
-
-        startedHandler.started(instance, extendedMachine);
-        checkInterruption(workspaceId, envName);
-
-        // Machine destroying is an expensive operation which must be
-        // performed outside of the lock, this section checks if
-        // the environment wasn't stopped while it is starting and sets
-        // polled flag to true if the environment wasn't stopped.
-        // Also polls the proceeded machine configuration from the queue
-        boolean queuePolled = false;
-        try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.writeLock(workspaceId)) {
-          ensurePreDestroyIsNotExecuted();
-          EnvironmentHolder environmentHolder = environments.get(workspaceId);
-          if (environmentHolder != null) {
-            final Queue<String> queue = environmentHolder.startQueue;
-            if (queue != null) {
-              queue.poll();
-              queuePolled = true;
-            }
-          }
+      for (List<String> level : startLevels) {
+        checkStartQueueExists(workspaceId);
+        ConcurrentTaskGroup levelStart = new ConcurrentTaskGroup(sharedPool);
+        for (String machineName : level) {
+          levelStart.add(
+              () -> {
+                startQueuedMachine(
+                    ownerName,
+                    workspaceId,
+                    envName,
+                    machineName,
+                    devMachineName.equals(machineName),
+                    networkId,
+                    recover,
+                    creator,
+                    envLogger,
+                    startedHandler);
+                return null;
+              });
         }
-
-        // If machine config is not polled from the queue
-        // then environment was stopped and newly created machine
-        // must be destroyed
-        if (!queuePolled) {
-          try {
-            eventService.publish(
-                newDto(MachineStatusEvent.class)
-                    .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                    .withDev(isDev)
-                    .withMachineName(machineName)
-                    .withMachineId(instance.getId())
-                    .withWorkspaceId(workspaceId));
-
-            instance.destroy();
-
-            removeMachine(workspaceId, instance.getId());
-
-            eventService.publish(
-                newDto(MachineStatusEvent.class)
-                    .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                    .withDev(isDev)
-                    .withMachineName(machineName)
-                    .withMachineId(instance.getId())
-                    .withWorkspaceId(workspaceId));
-          } catch (MachineException e) {
-            LOG.error(e.getLocalizedMessage(), e);
+        try {
+          levelStart.run();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new EnvironmentStartInterruptedException(workspaceId, envName);
+        } catch (ExecutionException e) {
+          Throwables.propagateIfPossible(
+              e.getCause(), ServerException.class, AgentException.class);
+          if (e.getCause() instanceof EnvironmentException) {
+            throw (EnvironmentException) e.getCause();
           }
-          throw new ServerException(
-              "Workspace '"
-                  + workspaceId
-                  + "' start interrupted. Workspace stopped before all its machines started");
+          throw new ServerException(e.getCause().getLocalizedMessage(), e.getCause());
         }
-
-        machineName = queuePeekOrFail(workspaceId);
       }
     } catch (Exception e) {
       boolean interrupted = Thread.interrupted();
@@ -878,6 +794,139 @@ public class CheEnvironmentEngine {
     }
   }
 
+  /** Starts machine from the machine queue of environment and removes it from the queue. */
+  private void startQueuedMachine(
+      String ownerName,
+      String workspaceId,
+      String envName,
+      String machineName,
+      boolean isDev,
+      String networkId,
+      boolean recover,
+      String creator,
+      MessageConsumer<MachineLogMessage> envLogger,
+      MachineStartedHandler startedHandler)
+      throws ServerException, AgentException, EnvironmentException {
+    // Environment start is failed when any machine start is failed, so if any error
+    // occurs during machine creation then environment start fail is reported and
+    // start resources such as queue and descriptor must be cleaned up
+
+    CheServiceImpl service;
+    @Nullable ExtendedMachine extendedMachine;
+    try (@SuppressWarnings("unused")
+        Unlocker u = stripedLocks.readLock(workspaceId)) {
+      EnvironmentHolder environmentHolder = environments.get(workspaceId);
+      if (environmentHolder == null) {
+        throw new EnvironmentStartInterruptedException(workspaceId, envName);
+      }
+      service = environmentHolder.environment.getServices().get(machineName);
+      extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
+    }
+    // should not happen
+    if (service == null) {
+      LOG.error(
+          "Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+          machineName,
+          workspaceId);
+      throw new ServerException(
+          format(
+              "Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+    }
+
+    // needed to reuse startInstance method and
+    // create machine instances by different implementation-specific providers
+    MachineStarter machineStarter =
+        (machineLogger, machineSource) -> {
+          CheServiceImpl serviceWithNormalizedSource =
+              normalizeServiceSource(service, machineSource);
+          return machineProvider.startService(
+              ownerName,
+              workspaceId,
+              envName,
+              machineName,
+              isDev,
+              networkId,
+              serviceWithNormalizedSource,
+              machineLogger);
+        };
+
+    MachineImpl machine =
+        MachineImpl.builder()
+            .setConfig(
+                MachineConfigImpl.builder()
+                    .setDev(isDev)
+                    .setLimits(new MachineLimitsImpl(bytesToMB(service.getMemLimit())))
+                    .setType("docker")
+                    .setName(machineName)
+                    .setEnvVariables(service.getEnvironment())
+                    .build())
+            .setId(service.getId())
+            .setWorkspaceId(workspaceId)
+            .setStatus(MachineStatus.CREATING)
+            .setEnvName(envName)
+            .setOwner(creator)
+            .build();
+
+    checkInterruption(workspaceId, envName);
+    Instance instance = startInstance(recover, envLogger, machine, machineStarter);
+    checkInterruption(workspaceId, envName);
+
+    startedHandler.started(instance, extendedMachine);
+    checkInterruption(workspaceId, envName);
+
+    // Machine destroying is an expensive operation which must be
+    // performed outside of the lock, this section checks if
+    // the environment wasn't stopped while it is starting and sets
+    // polled flag to true if the environment wasn't stopped.
+    // Also removes the proceeded machine from the queue
+    boolean queuePolled = false;
+    try (@SuppressWarnings("unused")
+        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+      ensurePreDestroyIsNotExecuted();
+      EnvironmentHolder environmentHolder = environments.get(workspaceId);
+      if (environmentHolder != null) {
+        final Queue<String> queue = environmentHolder.startQueue;
+        if (queue != null) {
+          queue.remove(machineName);
+          queuePolled = true;
+        }
+      }
+    }
+
+    // If machine config is not polled from the queue
+    // then environment was stopped and newly created machine
+    // must be destroyed
+    if (!queuePolled) {
+      try {
+        eventService.publish(
+            newDto(MachineStatusEvent.class)
+                .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                .withDev(isDev)
+                .withMachineName(machineName)
+                .withMachineId(instance.getId())
+                .withWorkspaceId(workspaceId));
+
+        instance.destroy();
+
+        removeMachine(workspaceId, instance.getId());
+
+        eventService.publish(
+            newDto(MachineStatusEvent.class)
+                .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                .withDev(isDev)
+                .withMachineName(machineName)
+                .withMachineId(instance.getId())
+                .withWorkspaceId(workspaceId));
+      } catch (MachineException e) {
+        LOG.error(e.getLocalizedMessage(), e);
+      }
+      throw new ServerException(
+          "Workspace '"
+              + workspaceId
+              + "' start interrupted. Workspace stopped before all its machines started");
+    }
+  }
+
   private void checkInterruption(String workspaceId, String envName)
       throws EnvironmentStartInterruptedException {
     if (Thread.interrupted()) {
@@ -1111,18 +1160,15 @@ public class CheEnvironmentEngine {
   }
 
   /**
-   * Gets head config from the queue associated with the given {@code workspaceId}.
-   *
-   * <p>Note that this method won't actually poll the queue.
+   * Checks that the queue associated with the given {@code workspaceId} exists.
    *
    * <p>Fails if environment start was interrupted by stop(queue doesn't exist).
    *
-   * @return machine config which is in the queue head, or null if there are no machine configs left
    * @throws ServerException if queue doesn't exist which means that {@link #stop(String)} executed
    *     before all the machines started
-   * @throws ServerException if pre destroy has been invoked before peek config retrieved
+   * @throws ServerException if pre destroy has been invoked before the check
    */
-  private String queuePeekOrFail(String workspaceId) throws ServerException {
+  private void checkStartQueueExists(String workspaceId) throws ServerException {
     try (@SuppressWarnings("unused")
         Unlocker u = stripedLocks.readLock(workspaceId)) {
       ensurePreDestroyIsNotExecuted();
@@ -1133,7 +1179,6 @@ public class CheEnvironmentEngine {
                 + workspaceId
                 + " start interrupted. Workspace was stopped before all its machines were started");
       }
-      return environmentHolder.startQueue.peek();
     }
   }
 
@@ -1311,6 +1356,7 @@ public class CheEnvironmentEngine {
   }
 
   private static class EnvironmentHolder {
+    final List<List<String>> startLevels;
     final Queue<String> startQueue;
     final CheServicesEnvironmentImpl environment;
     final MessageConsumer<MachineLogMessage> logger;
@@ -1322,14 +1368,16 @@ public class CheEnvironmentEngine {
     EnvStatus status;
 
     EnvironmentHolder(
-        List<String> startQueue,
+        List<List<String>> startLevels,
         CheServicesEnvironmentImpl environment,
         Environment environmentConfig,
         MessageConsumer<MachineLogMessage> envLogger,
         EnvStatus envStatus,
         String name,
         String networkId) {
-      this.startQueue = new ArrayDeque<>(startQueue);
+      this.startLevels = startLevels;
+      this.startQueue = new ArrayDeque<>();
+      startLevels.forEach(startQueue::addAll);
       this.machines = new CopyOnWriteArrayList<>();
       this.logger = envLogger;
       this.status = envStatus;
@@ -1360,7 +1408,6 @@ public class CheEnvironmentEngine {
     }
   }
 
-  // cleanup machine if event about instance failure comes
   private class MachineCleaner implements EventSubscriber<InstanceStateEvent> {
     @Override
     public void onEvent(InstanceStateEvent event) {
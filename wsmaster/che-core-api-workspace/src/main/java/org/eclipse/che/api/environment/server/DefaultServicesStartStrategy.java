@@ -14,12 +14,14 @@ import static java.lang.String.format;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.Sets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import org.eclipse.che.api.environment.server.model.CheServiceImpl;
 import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
@@ -44,6 +46,24 @@ public class DefaultServicesStartStrategy {
     return sortByWeight(weights);
   }
 
+  /**
+   * Resolves groups of machines in an environment which can be started in parallel. Machines of a
+   * group depend only on machines of the previous groups, groups are returned in order of start.
+   *
+   * @throws IllegalArgumentException if order of machines can not be calculated
+   */
+  public List<List<String>> orderByLevels(CheServicesEnvironmentImpl composeEnvironment)
+      throws IllegalArgumentException {
+
+    Map<String, Integer> weights = weightMachines(composeEnvironment.getServices());
+
+    // weight of machine is the length of the longest path of dependencies from it
+    TreeMap<Integer, List<String>> levels = new TreeMap<>();
+    weights.forEach(
+        (machine, weight) -> levels.computeIfAbsent(weight, w -> new ArrayList<>()).add(machine));
+    return new ArrayList<>(levels.values());
+  }
+
   /**
    * Returns mapping of names of machines to its weights in dependency graph.
    *
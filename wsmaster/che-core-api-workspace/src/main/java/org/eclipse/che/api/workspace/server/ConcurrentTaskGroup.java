@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Group of tasks which are run concurrently in the {@link WorkspaceSharedPool}, e.g. starts of
+ * machines or launches of agents which don't depend on each other.
+ *
+ * <p>The thread which runs the group itself runs the tasks which aren't taken by the pool yet, so a
+ * busy pool doesn't block the caller. The first failed task cancels the others, the group returns
+ * only when all the cancelled tasks are actually finished, so the caller may safely clean up
+ * resources used by them.
+ *
+ * <p>The group must be run once by the thread which created it.
+ */
+public class ConcurrentTaskGroup {
+  private final WorkspaceSharedPool sharedPool;
+  private final List<GroupTask> tasks = new ArrayList<>();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final Thread runningThread = Thread.currentThread();
+
+  private volatile GroupTask runningThreadTask;
+  private volatile boolean runningThreadCancelled;
+
+  public ConcurrentTaskGroup(WorkspaceSharedPool sharedPool) {
+    this.sharedPool = sharedPool;
+  }
+
+  /** Adds the task to the group. */
+  public ConcurrentTaskGroup add(Callable<Void> task) {
+    tasks.add(new GroupTask(task));
+    return this;
+  }
+
+  /**
+   * Runs all the tasks of the group and waits until they are completed. Whatever the result is, no
+   * task of the group is running when this method returns.
+   *
+   * @throws ExecutionException if any of the tasks failed, the cause is the first failure
+   * @throws InterruptedException if the running thread was interrupted while no task failed
+   */
+  public void run() throws ExecutionException, InterruptedException {
+    try {
+      for (GroupTask task : tasks.subList(Math.min(1, tasks.size()), tasks.size())) {
+        sharedPool.runAsync(task);
+      }
+      for (GroupTask task : tasks) {
+        // does nothing if the task is already taken by the pool
+        runningThreadTask = task;
+        task.run();
+      }
+      runningThreadTask = null;
+      for (GroupTask task : tasks) {
+        task.get();
+      }
+    } catch (InterruptedException | CancellationException | ExecutionException e) {
+      Throwable cause = failure.get();
+      if (cause == null) {
+        Thread.interrupted();
+        throw new InterruptedException();
+      }
+      if (runningThreadCancelled) {
+        // the interruption comes from cancellation of the task which this thread was running
+        Thread.interrupted();
+      }
+      throw new ExecutionException(cause.getLocalizedMessage(), cause);
+    } finally {
+      runningThreadTask = null;
+      cancelTasks();
+      awaitTasks();
+    }
+  }
+
+  private void cancelTasks() {
+    for (GroupTask task : tasks) {
+      boolean runByRunningThread =
+          task == runningThreadTask && Thread.currentThread() != runningThread;
+      if (task.cancel(true) && runByRunningThread) {
+        runningThreadCancelled = true;
+      }
+    }
+  }
+
+  /**
+   * Waits until every task is finished. Tasks which weren't taken by anyone yet are claimed, so
+   * they won't run when the pool takes them later.
+   */
+  private void awaitTasks() {
+    boolean interrupted = false;
+    for (GroupTask task : tasks) {
+      if (task.taken.compareAndSet(false, true)) {
+        continue;
+      }
+      while (true) {
+        try {
+          task.finished.await();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private class GroupTask extends FutureTask<Void> {
+    final AtomicBoolean taken = new AtomicBoolean();
+    final CountDownLatch finished = new CountDownLatch(1);
+
+    GroupTask(Callable<Void> callable) {
+      super(callable);
+    }
+
+    @Override
+    public void run() {
+      // does nothing if the task is already taken by the pool or the running thread
+      if (taken.compareAndSet(false, true)) {
+        try {
+          super.run();
+        } finally {
+          finished.countDown();
+        }
+      }
+    }
+
+    @Override
+    protected void setException(Throwable t) {
+      boolean first = failure.compareAndSet(null, t);
+      super.setException(t);
+      if (first) {
+        cancelTasks();
+      }
+    }
+  }
+}
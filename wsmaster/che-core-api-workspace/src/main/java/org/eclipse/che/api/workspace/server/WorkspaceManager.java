@@ -53,6 +53,7 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -249,6 +250,32 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets a page of summaries of workspaces which user can read ordered by workspace name.
+   *
+   * <p>Returned summaries have either {@link WorkspaceStatus#STOPPED} status or status defined by
+   * their runtime instances(if those exist).
+   *
+   * @param user the id of the user
+   * @param afterName the name of the last workspace of the previous page, or null to get the first
+   *     page
+   * @param maxItems the maximum number of summaries to return
+   * @return the list of summaries or empty list if there are no more workspaces
+   * @throws NullPointerException when {@code user} is null
+   * @throws ServerException when any server error occurs while getting summaries with {@link
+   *     WorkspaceDao#getSummaries(String, String, int)}
+   */
+  public List<WorkspaceSummaryImpl> getSummaries(
+      String user, @Nullable String afterName, int maxItems) throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    final List<WorkspaceSummaryImpl> summaries =
+        workspaceDao.getSummaries(user, afterName, maxItems);
+    for (WorkspaceSummaryImpl summary : summaries) {
+      summary.setStatus(runtimes.getStatus(summary.getId()));
+    }
+    return summaries;
+  }
+
   /**
    * Gets list of workspaces which has given namespace. Runtimes are included
    *
@@ -21,6 +21,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -669,20 +670,43 @@ public class WorkspaceRuntimes {
     return state;
   }
 
+  /**
+   * Launches agents in the machine respecting dependencies between them. Agents are launched one
+   * after another even if they don't depend on each other, as their scripts install packages with
+   * the package manager of the machine which doesn't allow concurrent installations.
+   */
   protected void launchAgents(Instance instance, List<String> agents)
       throws ServerException, AgentException {
     for (AgentKey agentKey : agentSorter.sort(agents)) {
       if (!Thread.currentThread().isInterrupted()) {
-        LOG.info(
-            "Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
-        Agent agent = agentRegistry.getAgent(agentKey);
-        AgentLauncher launcher =
-            launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
-        launcher.launch(instance, agent);
+        launchAgent(instance, agentKey);
       }
     }
   }
 
+  private void launchAgent(Instance instance, AgentKey agentKey)
+      throws ServerException, AgentException {
+    LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
+    long launchStart = System.currentTimeMillis();
+    Agent agent = agentRegistry.getAgent(agentKey);
+    AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
+    launcher.launch(instance, agent);
+    long launchTime = System.currentTimeMillis() - launchStart;
+    LOG.info(
+        "Agent '{}' launched at workspace {} machine {} in {} ms",
+        agentKey.getId(),
+        instance.getWorkspaceId(),
+        instance.getConfig().getName(),
+        launchTime);
+    // the machine log is a part of the workspace start output, so the time becomes visible there
+    try {
+      instance
+          .getLogger()
+          .writeLine(format("[AGENT] '%s' launched in %d ms", agentKey.getId(), launchTime));
+    } catch (IOException ignore) {
+    }
+  }
+
   /**
    * Starts the environment publishing all the necessary events. Respects task interruption & stops
    * the workspace if starting task is cancelled.
@@ -72,6 +72,7 @@ import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
@@ -271,6 +272,40 @@ public class WorkspaceService extends Service {
         .collect(toList());
   }
 
+  @GET
+  @Path("/summary")
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Get summaries of workspaces which user can read ordered by workspace name",
+    notes =
+        "This operation can be performed only by authorized user. "
+            + "To get the next page pass the name of the last workspace of the previous page",
+    response = WorkspaceSummaryDto.class,
+    responseContainer = "List"
+  )
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The summaries successfully fetched"),
+    @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+    @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")
+  })
+  public List<WorkspaceSummaryDto> getSummaries(
+      @ApiParam("The name of the last workspace of the previous page") @QueryParam("after")
+          String afterName,
+      @ApiParam("The limit of the items in the response, default is 30")
+          @DefaultValue("30")
+          @QueryParam("maxItems")
+          Integer maxItems)
+      throws ServerException, BadRequestException {
+    if (maxItems < 0) {
+      throw new BadRequestException("The number of items to return can't be negative");
+    }
+    return workspaceManager
+        .getSummaries(EnvironmentContext.getCurrent().getSubject().getUserId(), afterName, maxItems)
+        .stream()
+        .map(DtoConverter::asDto)
+        .collect(toList());
+  }
+
   @PUT
   @Path("/{id}")
   @Consumes(APPLICATION_JSON)
@@ -21,13 +21,16 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.notification.AsyncEventSubscriber;
 import org.eclipse.che.api.core.notification.EventService;
-import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 
-/** Send workspace events using JSON RPC to the clients */
+/**
+ * Send workspace events using JSON RPC to the clients. Events are sent asynchronously, events of
+ * the same workspace are sent in the order they were published.
+ */
 @Singleton
-public class WorkspaceJsonRpcMessenger implements EventSubscriber<WorkspaceStatusEvent> {
+public class WorkspaceJsonRpcMessenger implements AsyncEventSubscriber<WorkspaceStatusEvent> {
   private final RequestTransmitter transmitter;
   private final EventService eventService;
 
@@ -39,6 +42,11 @@ public class WorkspaceJsonRpcMessenger implements EventSubscriber<WorkspaceStatu
     this.eventService = eventService;
   }
 
+  @Override
+  public Object getOrderingKey(WorkspaceStatusEvent event) {
+    return event.getWorkspaceId();
+  }
+
   @Override
   public void onEvent(WorkspaceStatusEvent event) {
     String id = event.getWorkspaceId();
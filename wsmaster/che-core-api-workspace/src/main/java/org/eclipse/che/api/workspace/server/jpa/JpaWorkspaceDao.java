@@ -12,11 +12,18 @@ package org.eclipse.che.api.workspace.server.jpa;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
 
+import com.google.common.primitives.Longs;
 import com.google.inject.persist.Transactional;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
@@ -36,7 +43,9 @@ import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
@@ -150,13 +159,20 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>User can read workspaces of the personal account of the user, which has the same id.
+   */
   @Override
   @Transactional
   public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
+    requireNonNull(userId, "Required non-null user id");
     try {
       return managerProvider
           .get()
-          .createNamedQuery("Workspace.getAll", WorkspaceImpl.class)
+          .createNamedQuery("Workspace.getByAccountId", WorkspaceImpl.class)
+          .setParameter("accountId", userId)
           .getResultList()
           .stream()
           .map(WorkspaceImpl::new)
@@ -166,6 +182,48 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public List<WorkspaceSummaryImpl> getSummaries(
+      String userId, @Nullable String afterName, int maxItems) throws ServerException {
+    requireNonNull(userId, "Required non-null user id");
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    try {
+      final EntityManager manager = managerProvider.get();
+      final List<WorkspaceSummaryImpl> summaries =
+          manager
+              .createNamedQuery("Workspace.getSummariesByAccountId", WorkspaceSummaryImpl.class)
+              .setParameter("accountId", userId)
+              .setParameter("afterName", afterName == null ? "" : afterName)
+              .setMaxResults(maxItems)
+              .getResultList();
+      if (summaries.isEmpty()) {
+        return summaries;
+      }
+
+      // fetch only the attributes with update time instead of whole attributes of each workspace
+      final Map<String, WorkspaceSummaryImpl> byId =
+          summaries.stream().collect(toMap(WorkspaceSummaryImpl::getId, identity()));
+      final List<Object[]> times =
+          manager
+              .createNamedQuery("Workspace.getAttributes", Object[].class)
+              .setParameter("ids", byId.keySet())
+              .setParameter("names", asList(CREATED_ATTRIBUTE_NAME, UPDATED_ATTRIBUTE_NAME))
+              .getResultList();
+      for (Object[] time : times) {
+        final WorkspaceSummaryImpl summary = byId.get((String) time[0]);
+        final Long value = Longs.tryParse((String) time[2]);
+        if (value != null
+            && (summary.getUpdated() == null || UPDATED_ATTRIBUTE_NAME.equals(time[1]))) {
+          summary.setUpdated(value);
+        }
+      }
+      return summaries;
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems)
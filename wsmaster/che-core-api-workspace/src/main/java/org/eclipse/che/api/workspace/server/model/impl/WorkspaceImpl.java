@@ -61,6 +61,29 @@ import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
     query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace AND w.name = :name"
   ),
   @NamedQuery(name = "Workspace.getAll", query = "SELECT w FROM Workspace w"),
+  @NamedQuery(
+    name = "Workspace.getByAccountId",
+    query = "SELECT w FROM Workspace w WHERE w.account.id = :accountId"
+  ),
+  @NamedQuery(
+    name = "Workspace.getSummariesByAccountId",
+    query =
+        "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl("
+            + "         w.id, w.name, w.account.name) "
+            + "FROM Workspace w "
+            + "WHERE w.account.id = :accountId "
+            + "  AND w.name > :afterName "
+            + "ORDER BY w.name"
+  ),
+  @NamedQuery(
+    name = "Workspace.getAttributes",
+    query =
+        "SELECT w.id, KEY(attribute), VALUE(attribute) "
+            + "FROM Workspace w "
+            + "JOIN w.attributes attribute "
+            + "WHERE w.id IN :ids "
+            + "  AND KEY(attribute) IN :names"
+  ),
   @NamedQuery(
     name = "Workspace.getByTemporary",
     query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary"
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.model.impl;
+
+import java.util.Objects;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Lightweight projection of {@link WorkspaceImpl} for listing of workspaces, which is fetched
+ * without the workspace configuration.
+ */
+public class WorkspaceSummaryImpl {
+
+  private String id;
+  private String name;
+  private String namespace;
+  private Long updated;
+  private WorkspaceStatus status;
+
+  public WorkspaceSummaryImpl() {}
+
+  public WorkspaceSummaryImpl(String id, String name, String namespace) {
+    this.id = id;
+    this.name = name;
+    this.namespace = namespace;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  /** Returns the name of the workspace which is the same as the name of its configuration. */
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getNamespace() {
+    return namespace;
+  }
+
+  public void setNamespace(String namespace) {
+    this.namespace = namespace;
+  }
+
+  /**
+   * Returns the time of the last update of the workspace or its creation time if the workspace
+   * wasn't updated, or null if the time is unknown.
+   */
+  @Nullable
+  public Long getUpdated() {
+    return updated;
+  }
+
+  public void setUpdated(Long updated) {
+    this.updated = updated;
+  }
+
+  public WorkspaceStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(WorkspaceStatus status) {
+    this.status = status;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (!(obj instanceof WorkspaceSummaryImpl)) return false;
+    final WorkspaceSummaryImpl other = (WorkspaceSummaryImpl) obj;
+    return Objects.equals(id, other.id)
+        && Objects.equals(name, other.name)
+        && Objects.equals(namespace, other.namespace)
+        && Objects.equals(updated, other.updated)
+        && Objects.equals(status, other.status);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 7;
+    hash = 31 * hash + Objects.hashCode(id);
+    hash = 31 * hash + Objects.hashCode(name);
+    hash = 31 * hash + Objects.hashCode(namespace);
+    hash = 31 * hash + Objects.hashCode(updated);
+    hash = 31 * hash + Objects.hashCode(status);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkspaceSummaryImpl{"
+        + "id='"
+        + id
+        + '\''
+        + ", name='"
+        + name
+        + '\''
+        + ", namespace='"
+        + namespace
+        + '\''
+        + ", updated="
+        + updated
+        + ", status="
+        + status
+        + '}';
+  }
+}
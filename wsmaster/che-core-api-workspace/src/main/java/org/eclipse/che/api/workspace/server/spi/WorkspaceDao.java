@@ -15,6 +15,8 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.commons.annotation.Nullable;
 
 /**
  * Defines data access object contract for {@link WorkspaceImpl}.
@@ -116,6 +118,24 @@ public interface WorkspaceDao {
    */
   List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException;
 
+  /**
+   * Gets summaries of workspaces which user can read ordered by workspace name. The summaries are
+   * paged by the name of the last workspace of the previous page, so the page is found by index
+   * instead of skipping the previous pages.
+   *
+   * @param userId id of user
+   * @param afterName name of the last workspace of the previous page, or null to get the first
+   *     page
+   * @param maxItems the maximum number of summaries to return
+   * @return list of summaries or empty list if there are no more workspaces, status of summaries
+   *     isn't set
+   * @throws ServerException when any other error occurs during summaries fetching
+   * @throws NullPointerException when {@code userId} is null
+   * @throws IllegalArgumentException when {@code maxItems} is negative
+   */
+  List<WorkspaceSummaryImpl> getSummaries(String userId, @Nullable String afterName, int maxItems)
+      throws ServerException;
+
   /**
    * Gets workspaces by temporary attribute.
    *
@@ -45,6 +45,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
 import org.eclipse.che.api.agent.shared.model.Agent;
@@ -258,6 +263,61 @@ public class CheEnvironmentEngineTest {
     }
   }
 
+  @Test
+  public void shouldStartMachinesWithoutDependenciesInParallel() throws Exception {
+    // given
+    EnvironmentImpl env = createEnv();
+    String envName = "env-1";
+    String workspaceId = "wsId";
+    ExecutorService executor = Executors.newCachedThreadPool();
+    when(sharedPool.runAsync(any(Runnable.class)))
+        .thenAnswer(
+            invocationOnMock -> {
+              Runnable runnable = (Runnable) invocationOnMock.getArguments()[0];
+              return CompletableFuture.runAsync(runnable, executor);
+            });
+    // each machine waits until all the machines are being started
+    CountDownLatch startLatch = new CountDownLatch(env.getMachines().size());
+    when(machineProvider.startService(
+            anyString(),
+            eq(workspaceId),
+            eq(envName),
+            anyString(),
+            anyBoolean(),
+            anyString(),
+            any(CheServiceImpl.class),
+            any(LineConsumer.class)))
+        .thenAnswer(
+            invocationOnMock -> {
+              startLatch.countDown();
+              if (!startLatch.await(10, TimeUnit.SECONDS)) {
+                throw new ServerException("machines are not started in parallel");
+              }
+              Object[] arguments = invocationOnMock.getArguments();
+              return spy(
+                  new NoOpMachineInstance(
+                      createMachine(
+                          workspaceId,
+                          envName,
+                          (CheServiceImpl) arguments[6],
+                          (String) arguments[3],
+                          (boolean) arguments[4])));
+            });
+    when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+    try {
+      // when
+      List<Instance> machines =
+          engine.start(workspaceId, envName, env, false, messageConsumer, startedHandler);
+
+      // then
+      assertEquals(machines.size(), env.getMachines().size());
+      verify(sharedPool, times(env.getMachines().size() - 1)).runAsync(any(Runnable.class));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void stopsTheEnvironmentWhileStartOfMachineIsInterrupted() throws Exception {
     // given
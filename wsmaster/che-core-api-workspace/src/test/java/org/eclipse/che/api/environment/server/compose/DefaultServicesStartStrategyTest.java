@@ -130,6 +130,35 @@ public class DefaultServicesStartStrategyTest {
     assertTrue(actual.contains("fifth"));
   }
 
+  @Test
+  public void shouldGroupServicesWhichCanBeStartedInParallel() throws Exception {
+    // given
+    CheServicesEnvironmentImpl composeEnvironment = new CheServicesEnvironmentImpl();
+    composeEnvironment
+        .getServices()
+        .put("second", new CheServiceImpl().withDependsOn(singletonList("first")));
+    composeEnvironment
+        .getServices()
+        .put("third", new CheServiceImpl().withLinks(singletonList("first:alias")));
+    composeEnvironment.getServices().put("first", new CheServiceImpl().withDependsOn(emptyList()));
+    composeEnvironment.getServices().put("db", new CheServiceImpl());
+    composeEnvironment
+        .getServices()
+        .put("forth", new CheServiceImpl().withVolumesFrom(singletonList("third:ro")));
+    composeEnvironment
+        .getServices()
+        .put("fifth", new CheServiceImpl().withDependsOn(asList("second", "db")));
+
+    // when
+    List<List<String>> actual = strategy.orderByLevels(composeEnvironment);
+
+    // then
+    assertEquals(actual.size(), 3);
+    assertEqualsNoOrder(actual.get(0).toArray(), new String[] {"first", "db"});
+    assertEqualsNoOrder(actual.get(1).toArray(), new String[] {"second", "third"});
+    assertEqualsNoOrder(actual.get(2).toArray(), new String[] {"forth", "fifth"});
+  }
+
   @Test(
     expectedExceptions = IllegalArgumentException.class,
     expectedExceptionsMessageRegExp =
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ConcurrentTaskGroup}. */
+@Listeners(MockitoTestNGListener.class)
+public class ConcurrentTaskGroupTest {
+
+  @Mock private WorkspaceSharedPool sharedPool;
+
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+    when(sharedPool.runAsync(any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.runAsync((Runnable) invocation.getArguments()[0], executor));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldWaitUntilCancelledTasksAreFinished() throws Exception {
+    // given
+    CountDownLatch siblingStarted = new CountDownLatch(1);
+    AtomicBoolean siblingFinished = new AtomicBoolean();
+    ConcurrentTaskGroup group =
+        new ConcurrentTaskGroup(sharedPool)
+            .add(
+                () -> {
+                  assertTrue(siblingStarted.await(10, SECONDS));
+                  throw new IllegalStateException("start failed");
+                })
+            .add(
+                () -> {
+                  siblingStarted.countDown();
+                  try {
+                    new CountDownLatch(1).await();
+                  } catch (InterruptedException e) {
+                    // cleanup which takes time and can't be interrupted
+                    Uninterruptibles.sleepUninterruptibly(200, MILLISECONDS);
+                    siblingFinished.set(true);
+                  }
+                  return null;
+                });
+
+    // when
+    try {
+      group.run();
+      fail("Failure of the task is expected");
+    } catch (ExecutionException e) {
+      // then
+      assertEquals(e.getCause().getMessage(), "start failed");
+      assertTrue(siblingFinished.get());
+    }
+  }
+
+  @Test
+  public void shouldCancelSubmittedTasksWhenPoolRejectsTask() throws Exception {
+    // given
+    CountDownLatch submittedStarted = new CountDownLatch(1);
+    AtomicBoolean submittedFinished = new AtomicBoolean();
+    AtomicBoolean notSubmittedRun = new AtomicBoolean();
+    doAnswer(
+            invocation -> {
+              CompletableFuture<Void> future =
+                  CompletableFuture.runAsync((Runnable) invocation.getArguments()[0], executor);
+              assertTrue(submittedStarted.await(10, SECONDS));
+              return future;
+            })
+        .doThrow(new RejectedExecutionException("pool is terminated"))
+        .when(sharedPool)
+        .runAsync(any());
+    ConcurrentTaskGroup group =
+        new ConcurrentTaskGroup(sharedPool)
+            .add(
+                () -> {
+                  notSubmittedRun.set(true);
+                  return null;
+                })
+            .add(
+                () -> {
+                  submittedStarted.countDown();
+                  try {
+                    new CountDownLatch(1).await();
+                  } catch (InterruptedException e) {
+                    Uninterruptibles.sleepUninterruptibly(200, MILLISECONDS);
+                    submittedFinished.set(true);
+                  }
+                  return null;
+                })
+            .add(
+                () -> {
+                  notSubmittedRun.set(true);
+                  return null;
+                });
+
+    // when
+    try {
+      group.run();
+      fail("Rejection of the task is expected");
+    } catch (RejectedExecutionException e) {
+      // then
+      assertTrue(submittedFinished.get());
+      assertFalse(notSubmittedRun.get());
+    }
+  }
+}
@@ -73,6 +73,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -269,6 +270,24 @@ public class WorkspaceManagerTest {
     assertFalse(res2.isTemporary(), "Workspace must be permanent");
   }
 
+  @Test
+  public void shouldGetSummariesWithStatusesOfRuntimes() throws Exception {
+    // given
+    final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl("ws1", "name-1", NAMESPACE);
+    final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl("ws2", "name-2", NAMESPACE);
+    when(workspaceDao.getSummaries(NAMESPACE, "name-0", 2)).thenReturn(asList(summary1, summary2));
+    when(runtimes.getStatus("ws1")).thenReturn(STOPPED);
+    when(runtimes.getStatus("ws2")).thenReturn(RUNNING);
+
+    // when
+    final List<WorkspaceSummaryImpl> result = workspaceManager.getSummaries(NAMESPACE, "name-0", 2);
+
+    // then
+    assertEquals(result.size(), 2);
+    assertEquals(result.get(0).getStatus(), STOPPED);
+    assertEquals(result.get(1).getStatus(), RUNNING);
+  }
+
   @Test
   public void shouldBeAbleToGetWorkspacesByNamespace() throws Exception {
     // given
@@ -16,9 +16,12 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.matches;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -52,9 +55,13 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.eclipse.che.api.agent.server.AgentRegistry;
+import org.eclipse.che.api.agent.server.exception.AgentStartException;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
+import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -65,6 +72,7 @@ import org.eclipse.che.api.core.model.workspace.ExtendedMachine;
 import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.environment.server.CheEnvironmentEngine;
 import org.eclipse.che.api.environment.server.NoOpMachineInstance;
 import org.eclipse.che.api.environment.server.exception.EnvironmentException;
@@ -90,6 +98,7 @@ import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.Event
 import org.eclipse.che.dto.server.DtoFactory;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.testng.MockitoTestNGListener;
@@ -658,6 +667,93 @@ public class WorkspaceRuntimesTest {
     verify(envEngine).startMachine(eq("workspace"), eq(config), any());
   }
 
+  @Test
+  public void shouldLaunchIndependentAgentsOneAfterAnother() throws Exception {
+    // given
+    setRuntime("workspace", WorkspaceStatus.RUNNING, "env-name");
+    MachineConfig config = newMachine("workspace", "env-name", "new", false).getConfig();
+    Instance instance = mock(Instance.class);
+    when(envEngine.startMachine(anyString(), any(MachineConfig.class), any())).thenReturn(instance);
+    when(instance.getConfig()).thenReturn(config);
+    when(instance.getLogger()).thenReturn(LineConsumer.DEV_NULL);
+    when(agentSorter.sort(any()))
+        .thenReturn(
+            Arrays.asList(
+                AgentKeyImpl.parse("org.eclipse.che.exec"),
+                AgentKeyImpl.parse("org.eclipse.che.terminal")));
+    AgentLauncher launcher = mock(AgentLauncher.class);
+    when(launcherFactory.find(anyString(), anyString())).thenReturn(launcher);
+    // scripts of the agents install packages, so the second one must not start before the first
+    AtomicBoolean launching = new AtomicBoolean();
+    doAnswer(
+            invocation -> {
+              assertTrue(launching.compareAndSet(false, true));
+              launching.set(false);
+              return null;
+            })
+        .when(launcher)
+        .launch(any(Instance.class), any());
+
+    // when
+    runtimes.startMachine("workspace", config);
+
+    // then
+    InOrder inOrder = inOrder(launcherFactory, launcher);
+    inOrder.verify(launcherFactory).find(eq("org.eclipse.che.exec"), anyString());
+    inOrder.verify(launcher).launch(eq(instance), any());
+    inOrder.verify(launcherFactory).find(eq("org.eclipse.che.terminal"), anyString());
+    inOrder.verify(launcher).launch(eq(instance), any());
+    verify(sharedPool, never()).runAsync(any());
+  }
+
+  @Test
+  public void shouldWriteAgentLaunchTimeToMachineLog() throws Exception {
+    // given
+    setRuntime("workspace", WorkspaceStatus.RUNNING, "env-name");
+    MachineConfig config = newMachine("workspace", "env-name", "new", false).getConfig();
+    Instance instance = mock(Instance.class);
+    LineConsumer machineLogger = mock(LineConsumer.class);
+    when(envEngine.startMachine(anyString(), any(MachineConfig.class), any())).thenReturn(instance);
+    when(instance.getConfig()).thenReturn(config);
+    when(instance.getLogger()).thenReturn(machineLogger);
+    when(agentSorter.sort(any()))
+        .thenReturn(singletonList(AgentKeyImpl.parse("org.eclipse.che.exec")));
+    when(launcherFactory.find(anyString(), anyString())).thenReturn(mock(AgentLauncher.class));
+
+    // when
+    runtimes.startMachine("workspace", config);
+
+    // then
+    verify(machineLogger)
+        .writeLine(matches("\\[AGENT\\] 'org.eclipse.che.exec' launched in \\d+ ms"));
+  }
+
+  @Test(
+    expectedExceptions = AgentStartException.class,
+    expectedExceptionsMessageRegExp = "launch failed"
+  )
+  public void shouldRethrowFailureOfAgentLaunch() throws Exception {
+    // given
+    setRuntime("workspace", WorkspaceStatus.RUNNING, "env-name");
+    MachineConfig config = newMachine("workspace", "env-name", "new", false).getConfig();
+    Instance instance = mock(Instance.class);
+    when(envEngine.startMachine(anyString(), any(MachineConfig.class), any())).thenReturn(instance);
+    when(instance.getConfig()).thenReturn(config);
+    when(agentSorter.sort(any()))
+        .thenReturn(
+            Arrays.asList(
+                AgentKeyImpl.parse("org.eclipse.che.exec"),
+                AgentKeyImpl.parse("org.eclipse.che.terminal")));
+    AgentLauncher launcher = mock(AgentLauncher.class);
+    when(launcherFactory.find(anyString(), anyString())).thenReturn(launcher);
+    doThrow(new AgentStartException("launch failed"))
+        .when(launcher)
+        .launch(any(Instance.class), any());
+
+    // when
+    runtimes.startMachine("workspace", config);
+  }
+
   @Test(
     expectedExceptions = NotFoundException.class,
     expectedExceptionsMessageRegExp = "Workspace with id '.*' is not running"
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspace;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.google.inject.persist.UnitOfWork;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.commons.test.tck.TckResourcesCleaner;
+import org.eclipse.che.commons.test.tck.repository.TckRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures listing of workspaces of a user in the H2 database with 50 000 workspaces of 50
+ * accounts. {@code legacy} reproduces the former listing which loaded and copied all the workspaces
+ * regardless of the user, {@code userWorkspaces} loads the workspaces of the user and {@code
+ * summaryPage} fetches a page of workspace summaries of the user.
+ *
+ * <p>Not a part of the regular test run, execute {@link #main(String[])} to get the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkspaceListingBenchmark {
+  private static final int ACCOUNTS = 50;
+  private static final int WORKSPACES_PER_ACCOUNT = 1000;
+  private static final int PAGE_SIZE = 30;
+
+  private Injector injector;
+  private UnitOfWork unitOfWork;
+  private WorkspaceDao workspaceDao;
+  private String userId;
+
+  @Setup
+  public void setUp() throws Exception {
+    injector = Guice.createInjector(new WorkspaceTckModule());
+    unitOfWork = injector.getInstance(UnitOfWork.class);
+    workspaceDao = injector.getInstance(WorkspaceDao.class);
+    final TckRepository<AccountImpl> accountRepository =
+        injector.getInstance(Key.get(new TypeLiteral<TckRepository<AccountImpl>>() {}));
+    final TckRepository<WorkspaceImpl> workspaceRepository =
+        injector.getInstance(Key.get(new TypeLiteral<TckRepository<WorkspaceImpl>>() {}));
+
+    final List<AccountImpl> accounts = new ArrayList<>(ACCOUNTS);
+    for (int i = 0; i < ACCOUNTS; i++) {
+      accounts.add(new AccountImpl("account" + i, "account" + i, "personal"));
+    }
+    accountRepository.createAll(accounts);
+    for (AccountImpl account : accounts) {
+      final List<WorkspaceImpl> workspaces = new ArrayList<>(WORKSPACES_PER_ACCOUNT);
+      for (int i = 0; i < WORKSPACES_PER_ACCOUNT; i++) {
+        workspaces.add(
+            createWorkspace(account.getId() + "-workspace" + i, account, "workspace-" + i));
+      }
+      workspaceRepository.createAll(workspaces);
+    }
+    userId = accounts.get(ACCOUNTS / 2).getId();
+  }
+
+  @TearDown
+  public void tearDown() {
+    injector.getInstance(TckResourcesCleaner.class).clean();
+  }
+
+  /**
+   * Each invocation has its own unit of work like the former listing in a request had, otherwise
+   * the loaded workspaces would stay in the persistence context between invocations.
+   */
+  @Benchmark
+  public Object legacy() {
+    unitOfWork.begin();
+    try {
+      return injector
+          .getInstance(EntityManager.class)
+          .createNamedQuery("Workspace.getAll", WorkspaceImpl.class)
+          .getResultList()
+          .stream()
+          .map(WorkspaceImpl::new)
+          .collect(toList());
+    } finally {
+      unitOfWork.end();
+    }
+  }
+
+  @Benchmark
+  public Object userWorkspaces() throws Exception {
+    return workspaceDao.getWorkspaces(userId);
+  }
+
+  @Benchmark
+  public Object summaryPage() throws Exception {
+    return workspaceDao.getSummaries(userId, "workspace-500", PAGE_SIZE);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(WorkspaceListingBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -14,6 +14,8 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
@@ -49,6 +51,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.commons.test.tck.TckListener;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
@@ -250,6 +253,59 @@ public class WorkspaceDaoTest {
     workspaceDao.getWorkspaces(true, -2, 0);
   }
 
+  @Test
+  public void shouldGetWorkspacesOfUser() throws Exception {
+    final List<WorkspaceImpl> result = workspaceDao.getWorkspaces(accounts[0].getId());
+
+    assertEquals(new HashSet<>(result), new HashSet<>(asList(workspaces[0], workspaces[1])));
+  }
+
+  @Test
+  public void shouldGetSummariesOfUserPageByPage() throws Exception {
+    final WorkspaceImpl workspace = workspaces[1];
+    workspace.getAttributes().put(CREATED_ATTRIBUTE_NAME, "1000");
+    workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, "2000");
+    workspaceDao.update(workspace);
+
+    final List<WorkspaceSummaryImpl> first =
+        workspaceDao.getSummaries(accounts[0].getId(), null, 1);
+    final List<WorkspaceSummaryImpl> second =
+        workspaceDao.getSummaries(accounts[0].getId(), "name-0", 1);
+    final List<WorkspaceSummaryImpl> third =
+        workspaceDao.getSummaries(accounts[0].getId(), "name-1", 1);
+
+    final WorkspaceSummaryImpl firstSummary =
+        new WorkspaceSummaryImpl(workspaces[0].getId(), "name-0", accounts[0].getName());
+    final WorkspaceSummaryImpl secondSummary =
+        new WorkspaceSummaryImpl(workspaces[1].getId(), "name-1", accounts[0].getName());
+    secondSummary.setUpdated(2000L);
+    assertEquals(first, singletonList(firstSummary));
+    assertEquals(second, singletonList(secondSummary));
+    assertTrue(third.isEmpty());
+  }
+
+  @Test
+  public void shouldGetAllSummariesOfUserWhenMaxItemsIsGreaterThanNumberOfWorkspaces()
+      throws Exception {
+    final List<WorkspaceSummaryImpl> result =
+        workspaceDao.getSummaries(accounts[1].getId(), null, 30);
+
+    assertEquals(
+        result.stream().map(WorkspaceSummaryImpl::getId).collect(toList()),
+        asList(workspaces[2].getId(), workspaces[3].getId()));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionOnNegativeMaxItemsOfSummaries()
+      throws Exception {
+    workspaceDao.getSummaries(accounts[0].getId(), null, -1);
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void shouldThrowNpeWhenGettingSummariesOfNullUser() throws Exception {
+    workspaceDao.getSummaries(null, null, 30);
+  }
+
   @Test
   public void shouldPublicRemoveWorkspaceEventAfterRemoveWorkspace() throws Exception {
     final boolean[] isNotified = new boolean[] {false};